@@ -46,6 +46,14 @@ tasks.register<JavaExec>("jmh") {
 	dependsOn(tasks.named("jmhClasses"))
 	mainClass.set("org.openjdk.jmh.Main")
 	classpath = jmh.runtimeClasspath
+	// Save the results in a machine-readable format to compare them between releases.
+	val resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+	argumentProviders.add(CommandLineArgumentProvider {
+		listOf("-rf", "json", "-rff", resultsFile.get().asFile.absolutePath)
+	})
+	doFirst {
+		resultsFile.get().asFile.parentFile.mkdirs()
+	}
 }
 
 EclipseUtils.patchClasspathEntries(eclipse) { entry ->
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -48,8 +48,15 @@ export default class ModelGenerationService {
     this.nextRandomSeed = randomSeedOrNext + 1;
     const result =
       await this.updateService.startModelGeneration(randomSeedOrNext);
-    if (!result.cancelled) {
-      this.store.addGeneratedModel(result.data.uuid, randomSeedOrNext);
+    if (result.cancelled) {
+      return;
+    }
+    const { uuid, status, error } = result.data;
+    this.store.addGeneratedModel(uuid, randomSeedOrNext);
+    if (error !== undefined) {
+      this.store.setGeneratedModelError(uuid, error);
+    } else if (status !== undefined) {
+      this.store.setGeneratedModelMessage(uuid, status);
     }
   }
 
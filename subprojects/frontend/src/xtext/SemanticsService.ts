@@ -7,17 +7,55 @@
 import { runInAction } from 'mobx';
 
 import type EditorStore from '../editor/EditorStore';
+import getLogger from '../utils/getLogger';
 
+import type UpdateService from './UpdateService';
 import type ValidationService from './ValidationService';
-import { SemanticsResult } from './xtextServiceResults';
+import {
+  type PartialInterpretation,
+  type PartialInterpretationDelta,
+  type SemanticsModelUpdate,
+  SemanticsResult,
+} from './xtextServiceResults';
+
+const log = getLogger('xtext.SemanticsService');
+
+function getTupleKey(tuple: (number | string)[], arity: number): string {
+  return tuple.slice(0, arity).join(',');
+}
+
+function applyDelta(
+  base: PartialInterpretation,
+  { changed, removed }: PartialInterpretationDelta,
+): PartialInterpretation {
+  const result = { ...base };
+  const names = new Set([...Object.keys(changed), ...Object.keys(removed)]);
+  names.forEach((name) => {
+    const tuples = new Map<string, (number | string)[]>();
+    (base[name] ?? []).forEach((tuple) => {
+      tuples.set(getTupleKey(tuple, tuple.length - 1), tuple);
+    });
+    removed[name]?.forEach((tuple) => {
+      tuples.delete(getTupleKey(tuple, tuple.length));
+    });
+    changed[name]?.forEach((tuple) => {
+      tuples.set(getTupleKey(tuple, tuple.length - 1), tuple);
+    });
+    result[name] = Array.from(tuples.values());
+  });
+  return result;
+}
 
 export default class SemanticsService {
+  private partialInterpretation: PartialInterpretation | undefined;
+
   constructor(
     private readonly store: EditorStore,
+    private readonly updateService: UpdateService,
     private readonly validationService: ValidationService,
   ) {}
 
-  onPush(push: unknown): void {
+  onPush(stateId: string, push: unknown): void {
     const result = SemanticsResult.parse(push);
     runInAction(() => {
       if ('issues' in result && result.issues !== undefined) {
@@ -32,9 +70,61 @@ export default class SemanticsService {
         this.store.setSemanticsError(undefined, propagationRejected);
       }
       if ('model' in result && result.model !== undefined) {
-        this.store.setSemantics(result.model);
+        this.setModel(stateId, result.model);
       }
       this.store.analysisCompleted();
     });
   }
+
+  onDisconnect(): void {
+    this.invalidate();
+  }
+
+  private invalidate(): void {
+    this.partialInterpretation = undefined;
+    this.updateService.semanticsStateId = undefined;
+  }
+
+  private setModel(
+    stateId: string,
+    {
+      nodes,
+      relations,
+      partialInterpretation,
+      partialInterpretationDelta,
+    }: SemanticsModelUpdate,
+  ): void {
+    let newPartialInterpretation = partialInterpretation;
+    if (partialInterpretationDelta !== undefined) {
+      if (
+        this.partialInterpretation === undefined ||
+        partialInterpretationDelta.base !== this.updateService.semanticsStateId
+      ) {
+        log.warn(
+          'Partial interpretation delta for unknown state:',
+          partialInterpretationDelta.base,
+        );
+        this.invalidate();
+        this.updateService.refreshSemantics().catch((error) => {
+          log.error('Error while refreshing semantics', error);
+        });
+        return;
+      }
+      newPartialInterpretation = applyDelta(
+        this.partialInterpretation,
+        partialInterpretationDelta,
+      );
+    }
+    if (newPartialInterpretation === undefined) {
+      log.error('Semantics without partial interpretation');
+      return;
+    }
+    this.partialInterpretation = newPartialInterpretation;
+    this.updateService.semanticsStateId = stateId;
+    this.store.setSemantics({
+      nodes,
+      relations,
+      partialInterpretation: newPartialInterpretation,
+    });
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -47,6 +47,14 @@ export interface ContentAssistParams {
 export default class UpdateService {
   readonly resourceName: string;
 
+  /**
+   * The state id of the partial interpretation we have last received.
+   *
+   * Sent with updates to let the server only send the changes in the
+   * partial interpretation.
+   */
+  semanticsStateId: string | undefined;
+
   private readonly tracker: UpdateStateTracker;
 
   private readonly idleUpdateLater = debounce(
@@ -142,6 +150,7 @@ export default class UpdateService {
       resource: this.resourceName,
       serviceType: 'update',
       requiredStateId: this.xtextStateId,
+      semanticsStateId: this.semanticsStateId,
       ...delta,
     });
     await this.handleDocumentUpdateResult(result);
@@ -172,6 +181,7 @@ export default class UpdateService {
       serviceType: 'update',
       fullText: this.store.state.doc.sliceString(0),
       concretize: this.store.concretize,
+      semanticsStateId: this.semanticsStateId,
     });
     const { stateId } = DocumentStateResult.parse(result);
     this.tracker.setStateIdExclusive(stateId);
@@ -184,6 +194,16 @@ export default class UpdateService {
     await this.tracker.runExclusive(() => this.updateConcretizeExclusive());
   }
 
+  /**
+   * Makes the server compute and send the semantics of the current state
+   * again, e.g., because we couldn't apply the last partial interpretation
+   * delta.
+   */
+  refreshSemantics(): Promise<void> {
+    // Sending the current value of `this.store.concretize` again does no harm.
+    return this.updateConcretize();
+  }
+
   private async updateConcretizeExclusive(): Promise<void> {
     if (this.xtextStateId === undefined) {
       await this.updateFullTextExclusive();
@@ -203,6 +223,7 @@ export default class UpdateService {
       resource: this.resourceName,
       serviceType: 'update',
       requiredStateId: this.xtextStateId,
+      semanticsStateId: this.semanticsStateId,
       ...delta,
       concretize,
     });
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -73,7 +73,11 @@ export default class XtextClient {
     this.validationService = new ValidationService(store, this.updateService);
     this.occurrencesService = new OccurrencesService(store, this.updateService);
     this.hoverService = new HoverService(store, this.updateService);
-    this.semanticsService = new SemanticsService(store, this.validationService);
+    this.semanticsService = new SemanticsService(
+      store,
+      this.updateService,
+      this.validationService,
+    );
     this.modelGenerationService = new ModelGenerationService(
       store,
       this.updateService,
@@ -99,6 +103,7 @@ export default class XtextClient {
     this.store.onDisconnect();
     this.highlightingService.onDisconnect();
     this.validationService.onDisconnect();
+    this.semanticsService.onDisconnect();
     this.occurrencesService.onDisconnect();
     this.modelGenerationService.onDisconnect();
   }
@@ -147,7 +152,7 @@ export default class XtextClient {
         this.validationService.onPush(push);
         return;
       case 'semantics':
-        this.semanticsService.onPush(push);
+        this.semanticsService.onPush(stateId, push);
         return;
       case 'modelGeneration':
         this.modelGenerationService.onPush(push);
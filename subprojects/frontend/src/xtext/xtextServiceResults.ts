@@ -135,6 +135,10 @@ export type FormattingResult = z.infer<typeof FormattingResult>;
 
 export const ModelGenerationStartedResult = z.object({
   uuid: z.string().min(1),
+  // Set if the model generation is waiting in the queue of the server.
+  status: z.string().optional(),
+  // Set if the server rejected the model generation request.
+  error: z.string().optional(),
 });
 
 export type ModelGenerationStartedResult = z.infer<
@@ -177,19 +181,42 @@ export const RelationMetadata = z.object({
 
 export type RelationMetadata = z.infer<typeof RelationMetadata>;
 
+export const PartialInterpretation = z.record(
+  z.string(),
+  z.union([z.number(), z.string()]).array().array(),
+);
+
+export type PartialInterpretation = z.infer<typeof PartialInterpretation>;
+
 export const SemanticsModelResult = z.object({
   nodes: NodeMetadata.array(),
   relations: RelationMetadata.array(),
-  partialInterpretation: z.record(
-    z.string(),
-    z.union([z.number(), z.string()]).array().array(),
-  ),
+  partialInterpretation: PartialInterpretation,
 });
 
 export type SemanticsModelResult = z.infer<typeof SemanticsModelResult>;
 
+export const PartialInterpretationDelta = z.object({
+  base: z.string().min(1),
+  changed: PartialInterpretation,
+  removed: z.record(z.string(), z.number().array().array()),
+});
+
+export type PartialInterpretationDelta = z.infer<
+  typeof PartialInterpretationDelta
+>;
+
+// The server only sends the changes of the partial interpretation if we have
+// acknowledged the `base` state of the delta.
+export const SemanticsModelUpdate = SemanticsModelResult.extend({
+  partialInterpretation: PartialInterpretation.optional(),
+  partialInterpretationDelta: PartialInterpretationDelta.optional(),
+});
+
+export type SemanticsModelUpdate = z.infer<typeof SemanticsModelUpdate>;
+
 export const SemanticsResult = z.object({
-  model: SemanticsModelResult.optional(),
+  model: SemanticsModelUpdate.optional(),
   error: z.string().min(1).optional(),
   propagationRejected: z.boolean().optional(),
   issues: Issue.array().optional(),
@@ -198,8 +225,8 @@ export const SemanticsResult = z.object({
 export type SemanticsResult = z.infer<typeof SemanticsResult>;
 
 export const GeneratedModelSemanticsResult = SemanticsModelResult.extend({
-  // The `source` is only sent for small models, because running the Xtext serializer on
-  // large models would use excessive resources on the server.
+  // The `source` is streamed directly from the generated model by the server,
+  // so it is available regardless of the size of the model.
   source: z.string().optional(),
 });
 
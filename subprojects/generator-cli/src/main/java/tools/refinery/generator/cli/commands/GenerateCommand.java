@@ -30,6 +30,7 @@ public class GenerateCommand implements Command {
 	private List<String> overrideScopes = new ArrayList<>();
 	private long randomSeed = 1;
 	private int count = 1;
+	private int threads = 1;
 
 	@Inject
 	public GenerateCommand(CliProblemLoader loader, ModelGeneratorFactory generatorFactory,
@@ -72,6 +73,14 @@ public class GenerateCommand implements Command {
 		this.count = count;
 	}
 
+	@Parameter(names = {"-threads", "-t"}, description = "Number of parallel explorer threads")
+	public void setThreads(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("Number of threads must be positive");
+		}
+		this.threads = threads;
+	}
+
 	@Override
 	public int run() throws IOException {
 		if (count > 1 && CliUtils.isStandardStream(outputPath)) {
@@ -82,6 +91,7 @@ public class GenerateCommand implements Command {
 		var generator = generatorFactory.createGenerator(problem);
 		generator.setRandomSeed(randomSeed);
 		generator.setMaxNumberOfSolutions(count);
+		generator.setNumberOfExplorers(threads);
 		generator.generate();
 		if (count == 1) {
 			serializer.saveModel(generator, outputPath);
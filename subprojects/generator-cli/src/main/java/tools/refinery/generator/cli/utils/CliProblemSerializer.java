@@ -5,12 +5,13 @@
  */
 package tools.refinery.generator.cli.utils;
 
-import org.eclipse.emf.ecore.resource.Resource;
 import tools.refinery.generator.ModelFacade;
 
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Map;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 
 public class CliProblemSerializer {
 	public void saveModel(ModelFacade modelFacade, String outputPath) throws IOException {
@@ -19,25 +20,26 @@ public class CliProblemSerializer {
 
 	public void saveModel(ModelFacade modelFacade, String outputPath,
 						  boolean allowStandardOutput) throws IOException {
-		var problem = modelFacade.serialize();
-		var resource = problem.eResource();
-		var saveOptions = Map.of();
 		if (CliUtils.isStandardStream(outputPath)) {
 			if (!allowStandardOutput) {
 				throw new IllegalArgumentException("Refusing to save model to standard output '" +
 						CliUtils.STANDARD_OUTPUT_PATH + "'");
 			}
-			printSolution(resource, saveOptions);
+			printSolution(modelFacade);
 		} else {
-			try (var outputStream = new FileOutputStream(outputPath)) {
-				resource.save(outputStream, saveOptions);
+			try (var writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputPath),
+					StandardCharsets.UTF_8))) {
+				modelFacade.serialize(writer);
 			}
 		}
 	}
 
 	// We deliberately write to the standard output if no output path is specified.
 	@SuppressWarnings("squid:S106")
-	private static void printSolution(Resource solutionResource, Map<?, ?> saveOptions) throws IOException {
-		solutionResource.save(System.out, saveOptions);
+	private static void printSolution(ModelFacade modelFacade) throws IOException {
+		// Do not close the writer to keep the standard output open.
+		var writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+		modelFacade.serialize(writer);
+		writer.flush();
 	}
 }
@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.refinery.generator.ModelGenerator;
+import tools.refinery.generator.standalone.StandaloneRefinery;
+import tools.refinery.language.model.problem.Problem;
+
+import java.io.IOException;
+
+@State(Scope.Benchmark)
+public class ModelGeneratorExecutionPlan {
+	@Param({"filesystem", "socialNetwork"})
+	public String problemName;
+
+	@Param({"1"})
+	public int nExplorers;
+
+	private Problem problem;
+
+	private ModelGenerator generator;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() throws IOException {
+		var resourceName = problemName + ".problem";
+		try (var inputStream = ModelGeneratorExecutionPlan.class.getResourceAsStream(resourceName)) {
+			if (inputStream == null) {
+				throw new IllegalArgumentException("Unknown reference problem: " + problemName);
+			}
+			problem = StandaloneRefinery.getProblemLoader().loadStream(inputStream);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation() {
+		// Creating the generator is not part of the measurement, but it is needed to start from the initial model.
+		generator = StandaloneRefinery.getGeneratorFactory().createGenerator(problem);
+		// Use a fixed seed so that results of different runs are comparable.
+		generator.setRandomSeed(1);
+		generator.setNumberOfExplorers(nExplorers);
+	}
+
+	public ModelGenerator getGenerator() {
+		return generator;
+	}
+}
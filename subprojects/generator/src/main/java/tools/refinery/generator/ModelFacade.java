@@ -18,7 +18,12 @@ import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.representation.AnyPartialSymbol;
 import tools.refinery.store.reasoning.representation.PartialSymbol;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 public interface ModelFacade {
 	ProblemTrace getProblemTrace();
@@ -46,4 +51,23 @@ public interface ModelFacade {
 	ConsistencyCheckResult checkConsistency();
 
 	Problem serialize();
+
+	/**
+	 * Writes the textual form of the model returned by {@link #serialize()}.
+	 * <p>
+	 * Implementations for concrete models write the text directly without creating a {@link Problem}, so this
+	 * method should be preferred for large models.
+	 * </p>
+	 *
+	 * @param writer The writer to output the model to.
+	 * @throws IOException If writing the model fails.
+	 */
+	default void serialize(Writer writer) throws IOException {
+		var resource = serialize().eResource();
+		try (var outputStream = new ByteArrayOutputStream()) {
+			resource.save(outputStream, Map.of());
+			writer.write(outputStream.toString(StandardCharsets.UTF_8));
+		}
+		writer.flush();
+	}
 }
@@ -63,6 +63,10 @@ public abstract sealed class ModelFacadeFactory<T extends ModelFacadeFactory<T>>
 		return keepNonExistingObjects;
 	}
 
+	protected boolean isKeepShadowPredicates() {
+		return keepShadowPredicates;
+	}
+
 	protected void checkCancelled() {
 		cancellationToken.checkCancelled();
 	}
@@ -5,6 +5,11 @@
  */
 package tools.refinery.generator;
 
+import tools.refinery.store.dse.metrics.ExplorationMetrics;
+import tools.refinery.store.dse.strategy.RestoreTargetPolicy;
+
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 public interface ModelGenerator extends ModelFacade {
@@ -16,6 +21,73 @@ public interface ModelGenerator extends ModelFacade {
 
 	void setMaxNumberOfSolutions(int maxNumberOfSolutions);
 
+	int getNumberOfExplorers();
+
+	void setNumberOfExplorers(int numberOfExplorers);
+
+	int getMaxFrontierSize();
+
+	/**
+	 * Bounds the memory used by generation by limiting the number of unexplored states kept in memory.
+	 * <p>
+	 * The least promising states are discarded once the limit is reached, so generation may fail to find a solution
+	 * even if one exists.
+	 * </p>
+	 *
+	 * @param maxFrontierSize The maximal number of unexplored states, or {@link Integer#MAX_VALUE} for no limit.
+	 */
+	void setMaxFrontierSize(int maxFrontierSize);
+
+	/**
+	 * Gets how generation chooses the state to continue from when it backtracks.
+	 *
+	 * @return The restore target policy, {@link RestoreTargetPolicy#CLOSEST_AMONG_EQUAL} by default.
+	 */
+	RestoreTargetPolicy getRestoreTargetPolicy();
+
+	/**
+	 * Sets how generation chooses the state to continue from when it backtracks.
+	 * <p>
+	 * The policy is consulted whenever the exploration leaves its current state, i.e., when the current state has no
+	 * more unexplored transitions, is rejected, or a solution was found, and it continues from the most promising
+	 * states of the frontier instead of a randomly chosen one. The default
+	 * {@link RestoreTargetPolicy#CLOSEST_AMONG_EQUAL} policy prefers states that are cheap to restore among the most
+	 * promising ones. Use {@link RestoreTargetPolicy#BEST} to always continue from the most promising state.
+	 * </p>
+	 * <p>
+	 * Changing the policy discards the solutions found by previous calls to {@link #generate()}.
+	 * </p>
+	 *
+	 * @param restoreTargetPolicy The policy to use.
+	 */
+	void setRestoreTargetPolicy(RestoreTargetPolicy restoreTargetPolicy);
+
+	/**
+	 * Sets the receiver of measurements taken during generation.
+	 * <p>
+	 * Use {@link tools.refinery.store.dse.metrics.ExplorationStatistics} to inspect where generation spends its time,
+	 * e.g., to tune the depth of state coding or the scopes of the problem.
+	 * </p>
+	 *
+	 * @param metrics The receiver of the measurements, or {@link ExplorationMetrics#NONE} to disable measurements.
+	 */
+	void setExplorationMetrics(ExplorationMetrics metrics);
+
+	/**
+	 * Makes generation periodically save its state space to a file.
+	 * <p>
+	 * If the file already exists when generation starts, the generation resumes from the saved state space instead
+	 * of starting from scratch. The file must have been written for the same problem and random seed, otherwise
+	 * generation fails with an {@link IllegalArgumentException}. Since each call to {@link #tryGenerate()} advances the
+	 * random seed, an interrupted generation can be resumed by the first call of a new generator created for the same
+	 * problem with the same random seed. The file is deleted once the generation finishes without being interrupted.
+	 * </p>
+	 *
+	 * @param path     The checkpoint file, or {@code null} to disable checkpoints.
+	 * @param interval The time between two checkpoints.
+	 */
+	void setCheckpoint(Path path, Duration interval);
+
 	int getSolutionCount();
 
 	void loadSolution(int index);
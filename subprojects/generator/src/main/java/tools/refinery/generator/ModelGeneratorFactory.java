@@ -17,6 +17,7 @@ import tools.refinery.store.reasoning.interpretation.PartialNeighborhoodCalculat
 import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
 import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.statecoding.neighborhood.IncrementalNeighborhoodCalculator;
 import tools.refinery.store.statecoding.neighborhood.NeighborhoodCalculator;
 
 import java.util.Collection;
@@ -29,6 +30,8 @@ public final class ModelGeneratorFactory extends ModelFacadeFactory<ModelGenerat
 
 	private boolean partialInterpretationBasedNeighborhoods;
 
+	private boolean incrementalStateCoding;
+
 	private int stateCoderDepth = NeighborhoodCalculator.DEFAULT_DEPTH;
 
 	public ModelGeneratorFactory() {
@@ -51,6 +54,11 @@ public final class ModelGeneratorFactory extends ModelFacadeFactory<ModelGenerat
 		return this;
 	}
 
+	public ModelGeneratorFactory incrementalStateCoding(boolean incrementalStateCoding) {
+		this.incrementalStateCoding = incrementalStateCoding;
+		return this;
+	}
+
 	public ModelGeneratorFactory stateCoderDepth(int stateCoderDepth) {
 		this.stateCoderDepth = stateCoderDepth;
 		return this;
@@ -86,8 +94,10 @@ public final class ModelGeneratorFactory extends ModelFacadeFactory<ModelGenerat
 	}
 
 	private StateCodeCalculatorFactory getStateCodeCalculatorFactory() {
-		return partialInterpretationBasedNeighborhoods ?
-				PartialNeighborhoodCalculator.factory(Concreteness.PARTIAL, stateCoderDepth) :
+		if (partialInterpretationBasedNeighborhoods) {
+			return PartialNeighborhoodCalculator.factory(Concreteness.PARTIAL, stateCoderDepth);
+		}
+		return incrementalStateCoding ? IncrementalNeighborhoodCalculator.factory(stateCoderDepth) :
 				NeighborhoodCalculator.factory(stateCoderDepth);
 	}
 }
@@ -5,5 +5,14 @@
  */
 package tools.refinery.generator;
 
-public interface ModelSemantics extends ModelFacade {
+public interface ModelSemantics extends ModelFacade, AutoCloseable {
+	/**
+	 * Signals that the model of this semantics is no longer needed.
+	 * <p>
+	 * If the semantics was created with a {@link ModelStoreCache}, the model is returned to the cache for reuse.
+	 * The semantics must not be used after it was closed.
+	 * </p>
+	 */
+	@Override
+	void close();
 }
@@ -5,16 +5,27 @@
  */
 package tools.refinery.generator;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.generator.impl.ConcreteModelSemantics;
+import tools.refinery.generator.impl.ModelFacadeImpl;
 import tools.refinery.generator.impl.ModelSemanticsImpl;
 import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.semantics.ModelInitializer;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
 import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
 import tools.refinery.store.reasoning.literal.Concreteness;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.seed.PropagatedModel;
+import tools.refinery.store.reasoning.translator.TranslationException;
+import tools.refinery.store.util.CancellationToken;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 // This class is used as a fluent builder, so it's not necessary to use the return value of all of its methods.
@@ -22,6 +33,8 @@ import java.util.Set;
 public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanticsFactory> {
 	private boolean withCandidateInterpretations;
 	private boolean concretize;
+	private ModelStoreCache modelStoreCache;
+	private ModelSemanticsSession session;
 
 	@Override
 	protected ModelSemanticsFactory getSelf() {
@@ -38,32 +51,214 @@ public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanti
 		return this;
 	}
 
+	/**
+	 * Reuses model stores and models from the given cache for problems that only differ in their assertions.
+	 * <p>
+	 * Semantics created with a cache should be closed after use to return their model to the cache.
+	 * </p>
+	 *
+	 * @param modelStoreCache The cache to use, or {@code null} to always build a new model store.
+	 * @return This factory.
+	 */
+	public ModelSemanticsFactory modelStoreCache(@Nullable ModelStoreCache modelStoreCache) {
+		this.modelStoreCache = modelStoreCache;
+		return this;
+	}
+
+	/**
+	 * Updates the model of a session incrementally instead of initializing a model from scratch.
+	 * <p>
+	 * Only has an effect if a {@link ModelStoreCache} is also set with {@link #modelStoreCache(ModelStoreCache)}.
+	 * Semantics created with a session must be closed after use to return their model to the session.
+	 * </p>
+	 *
+	 * @param session The session to use, or {@code null} to always initialize the model from scratch.
+	 * @return This factory.
+	 */
+	public ModelSemanticsFactory session(@Nullable ModelSemanticsSession session) {
+		this.session = session;
+		return this;
+	}
+
 	public ModelSemantics createSemantics(Problem problem) {
 		var semantics = tryCreateSemantics(problem);
-		semantics.getInitializationResult().throwIfRejected();
+		try {
+			semantics.getInitializationResult().throwIfRejected();
+		} catch (RuntimeException e) {
+			semantics.close();
+			throw e;
+		}
 		return semantics;
 	}
 
 	public ModelSemantics tryCreateSemantics(Problem problem) {
 		var initializer = createModelInitializer();
-		initializer.readProblem(problem);
+		initializer.loadProblem(problem);
+		var cacheKey = getCacheKey(initializer);
+		if (cacheKey == null) {
+			initializer.readProblem();
+			checkCancelled();
+			var store = createStoreBuilder(initializer, getCancellationToken()).build();
+			return createSemantics(initializer, store, null);
+		}
+		if (session != null) {
+			var sessionSemantics = tryCreateSessionSemantics(initializer, cacheKey);
+			if (sessionSemantics != null) {
+				return sessionSemantics;
+			}
+		}
+		var entry = modelStoreCache.acquire(cacheKey);
+		if (entry == null) {
+			initializer.readProblem();
+			checkCancelled();
+			entry = new ModelStoreCache.Entry(cancellationToken -> createStoreBuilder(initializer, cancellationToken)
+					.build(), initializer::getSymbolTable);
+		} else {
+			try {
+				readProblemForStore(initializer, entry);
+			} catch (RuntimeException e) {
+				// The model of the entry was not touched yet, so it can be used by other problems.
+				modelStoreCache.release(cacheKey, entry);
+				throw e;
+			}
+		}
+		var emptyModel = entry.lease(getCancellationToken());
+		ModelSemantics semantics;
+		try {
+			semantics = createSemantics(initializer, entry.getStore(), emptyModel);
+		} catch (RuntimeException e) {
+			// Do not return the model to the cache, because initialization might have left it in an invalid state.
+			entry.endLease();
+			throw e;
+		}
+		setReleaseAction(semantics, cacheKey, entry, initializer.getModelSeed(),
+				ModelSemanticsSession.UpdateKind.STRUCTURAL);
+		return semantics;
+	}
+
+	/**
+	 * Translates the problem for an existing model store.
+	 * <p>
+	 * The store only accepts model seeds with the symbols it was built with, so the symbols of the problem the store
+	 * was built from are reused instead of creating new ones.
+	 * </p>
+	 *
+	 * @param initializer The initializer with the problem already loaded.
+	 * @param entry       The cache entry of the model store.
+	 */
+	private void readProblemForStore(ModelInitializer initializer, ModelStoreCache.Entry entry) {
+		initializer.setReusedSymbols(entry.getSymbolTable());
+		initializer.readProblem();
 		checkCancelled();
+		// Populate the problem trace for the current problem without building a new store.
+		createStoreBuilder(initializer, getCancellationToken());
+	}
+
+	@Nullable
+	private ModelSemantics tryCreateSessionSemantics(ModelInitializer initializer, ModelStoreCache.Key cacheKey) {
+		var entry = session.acquire(cacheKey);
+		if (entry == null) {
+			return null;
+		}
+		try {
+			readProblemForStore(initializer, entry);
+		} catch (RuntimeException e) {
+			// The model of the session was not touched yet, so the next edit can still build on it.
+			session.abort(entry);
+			throw e;
+		}
+		var previousModelSeed = session.getRefinableModelSeed();
+		ModelSemantics semantics = null;
+		var updateKind = ModelSemanticsSession.UpdateKind.REFINED;
+		boolean success = false;
+		try {
+			if (!concretize && previousModelSeed != null) {
+				semantics = tryRefineSemantics(initializer, entry, previousModelSeed);
+			}
+			if (semantics == null) {
+				semantics = createSemantics(initializer, entry.getStore(), entry.lease(getCancellationToken()));
+				updateKind = ModelSemanticsSession.UpdateKind.REINITIALIZED;
+			}
+			success = true;
+		} finally {
+			if (!success) {
+				// Do not keep the model in the session, because the update might have left it in an invalid state.
+				entry.endLease();
+				session.discard(entry);
+			}
+		}
+		setReleaseAction(semantics, cacheKey, entry, initializer.getModelSeed(), updateKind);
+		return semantics;
+	}
+
+	@Nullable
+	private ModelSemantics tryRefineSemantics(ModelInitializer initializer, ModelStoreCache.Entry entry,
+											  ModelSeed previousModelSeed) {
+		var problemTrace = initializer.getProblemTrace();
+		var store = entry.getStore();
+		var model = entry.resume(getCancellationToken());
+		Optional<PropagatedModel> result;
+		try {
+			result = store.getAdapter(ReasoningStoreAdapter.class).tryRefineModel(model, previousModelSeed,
+					initializer.getModelSeed());
+		} catch (TranslationException e) {
+			throw problemTrace.wrapException(e);
+		}
+		return result.map(propagatedModel -> new ModelSemanticsImpl(problemTrace, store,
+				propagatedModel, getMetadataCreatorProvider())).orElse(null);
+	}
+
+	private void setReleaseAction(ModelSemantics semantics, ModelStoreCache.Key cacheKey,
+								  ModelStoreCache.Entry entry, ModelSeed modelSeed,
+								  ModelSemanticsSession.UpdateKind updateKind) {
+		var currentCache = modelStoreCache;
+		var currentSession = session;
+		// Concretized models and models with rejected propagation can't be refined further.
+		var refinableModelSeed = concretize || semantics.getInitializationResult().isRejected() ? null : modelSeed;
+		((ModelFacadeImpl) semantics).setReleaseAction(() -> {
+			entry.endLease();
+			if (currentSession == null) {
+				currentCache.release(cacheKey, entry);
+			} else {
+				currentSession.release(currentCache, cacheKey, entry, refinableModelSeed, updateKind);
+			}
+		});
+	}
+
+	private ModelStoreBuilder createStoreBuilder(ModelInitializer initializer, CancellationToken cancellationToken) {
 		var storeBuilder = ModelStore.builder()
-				.cancellationToken(getCancellationToken())
+				.cancellationToken(cancellationToken)
 				.with(QueryInterpreterAdapter.builder())
 				.with(PropagationAdapter.builder()
 						.throwOnFatalRejection(false))
 				.with(ReasoningAdapter.builder()
 						.requiredInterpretations(getRequiredInterpretations()));
 		initializer.configureStoreBuilder(storeBuilder);
-		var store = storeBuilder.build();
+		return storeBuilder;
+	}
+
+	private ModelSemantics createSemantics(ModelInitializer initializer, ModelStore store,
+										   @Nullable Model emptyModel) {
 		var problemTrace = initializer.getProblemTrace();
 		var modelSeed = initializer.getModelSeed();
 		if (concretize) {
-			return new ConcreteModelSemantics(problemTrace, store, modelSeed, getSolutionSerializerProvider(),
-					getMetadataCreatorProvider(), isKeepNonExistingObjects());
+			return new ConcreteModelSemantics(problemTrace, store, emptyModel, modelSeed,
+					getSolutionSerializerProvider(), getMetadataCreatorProvider(), isKeepNonExistingObjects());
+		}
+		return new ModelSemanticsImpl(problemTrace, store, emptyModel, modelSeed, getMetadataCreatorProvider());
+	}
+
+	@Nullable
+	private ModelStoreCache.Key getCacheKey(ModelInitializer initializer) {
+		if (modelStoreCache == null) {
+			return null;
+		}
+		var structure = ModelStoreCache.getStructure(initializer.getImportedProblems());
+		if (structure == null) {
+			return null;
 		}
-		return new ModelSemanticsImpl(problemTrace, store, modelSeed, getMetadataCreatorProvider());
+		return new ModelStoreCache.Key(structure, Set.copyOf(getRequiredInterpretations()), concretize,
+				isKeepNonExistingObjects(), isKeepShadowPredicates());
 	}
 
 	private Collection<Concreteness> getRequiredInterpretations() {
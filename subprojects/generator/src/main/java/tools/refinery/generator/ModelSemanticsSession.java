@@ -0,0 +1,165 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+
+/**
+ * Keeps the model of the last semantics computed for a document, so that it can be updated incrementally after the
+ * document is edited.
+ * <p>
+ * Edits that change the structure of the problem need a different model store, so the model is returned to the
+ * {@link ModelStoreCache} and a matching one is taken from the cache instead. If only the assertions change, the
+ * model of the session is kept. If the new assertions refine the previous ones, e.g., because assertions were added
+ * or made more specific, only the changed facts are merged into the already propagated model before propagating it
+ * again. Otherwise, the model is restored to its empty state and initialized again, which still avoids building a
+ * new model store and query engine.
+ * </p>
+ * <p>
+ * A session holds at most one model. If several semantics are created concurrently with the same session, only one
+ * of them uses the model of the session, while the others fall back to the cache. The model of a semantics created
+ * with a session must not be modified, because the next semantics may build on its state.
+ * </p>
+ */
+public class ModelSemanticsSession implements AutoCloseable {
+	public enum UpdateKind {
+		/**
+		 * The structure of the problem has changed, so the model was taken from the {@link ModelStoreCache} or
+		 * created from scratch.
+		 */
+		STRUCTURAL,
+
+		/**
+		 * The assertions of the problem have changed, so the model was restored to its empty state and initialized
+		 * again.
+		 */
+		REINITIALIZED,
+
+		/**
+		 * The assertions of the problem were refined, so only the changed facts were merged into the model.
+		 */
+		REFINED
+	}
+
+	private ModelStoreCache modelStoreCache;
+	private ModelStoreCache.Key key;
+	private ModelStoreCache.Entry entry;
+	private ModelSeed refinableModelSeed;
+	private boolean leased;
+	private boolean closed;
+	private UpdateKind lastUpdateKind;
+
+	/**
+	 * Gets how the model of the semantics last returned to this session was computed.
+	 *
+	 * @return The kind of the last update, or {@code null} if no semantics was returned to this session yet.
+	 */
+	@Nullable
+	public synchronized UpdateKind getLastUpdateKind() {
+		return lastUpdateKind;
+	}
+
+	@Nullable
+	synchronized ModelStoreCache.Entry acquire(ModelStoreCache.Key key) {
+		if (closed || entry == null || leased) {
+			return null;
+		}
+		if (!this.key.equals(key)) {
+			returnToCache();
+			return null;
+		}
+		leased = true;
+		return entry;
+	}
+
+	/**
+	 * Gets the model seed the model of this session can be refined from.
+	 *
+	 * @return The model seed the propagated model was computed from, or {@code null} if the model can't be refined,
+	 * e.g., because its propagation was rejected or it was concretized.
+	 */
+	@Nullable
+	synchronized ModelSeed getRefinableModelSeed() {
+		return refinableModelSeed;
+	}
+
+	synchronized void release(ModelStoreCache modelStoreCache, ModelStoreCache.Key key, ModelStoreCache.Entry entry,
+							  @Nullable ModelSeed refinableModelSeed, UpdateKind updateKind) {
+		if (this.entry == entry) {
+			leased = false;
+		} else if (this.entry == null && !closed) {
+			this.modelStoreCache = modelStoreCache;
+			this.key = key;
+			this.entry = entry;
+		} else {
+			// Another semantics is already using the model of this session.
+			modelStoreCache.release(key, entry);
+			return;
+		}
+		this.refinableModelSeed = refinableModelSeed;
+		lastUpdateKind = updateKind;
+		if (closed) {
+			returnToCache();
+		}
+	}
+
+	/**
+	 * Gives back the model of this session without changing it, e.g., because the problem could not be translated.
+	 *
+	 * @param entry The cache entry of the model.
+	 */
+	synchronized void abort(ModelStoreCache.Entry entry) {
+		if (this.entry != entry) {
+			return;
+		}
+		leased = false;
+		if (closed) {
+			returnToCache();
+		}
+	}
+
+	/**
+	 * Forgets the model of this session without returning it to the cache, e.g., because an update was interrupted
+	 * and left the model in an invalid state.
+	 *
+	 * @param entry The cache entry of the model.
+	 */
+	synchronized void discard(ModelStoreCache.Entry entry) {
+		if (this.entry == entry) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns the model of this session to the cache.
+	 * <p>
+	 * If the model is currently used by a semantics, it will be returned to the cache when the semantics is closed.
+	 * </p>
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (!leased) {
+			returnToCache();
+		}
+	}
+
+	private void returnToCache() {
+		if (entry != null) {
+			modelStoreCache.release(key, entry);
+		}
+		clear();
+	}
+
+	private void clear() {
+		modelStoreCache = null;
+		key = null;
+		entry = null;
+		refinableModelSeed = null;
+		leased = false;
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Singleton;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.language.model.problem.Assertion;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.semantics.SymbolTable;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.reasoning.literal.Concreteness;
+import tools.refinery.store.util.CancellationToken;
+
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of model stores and their query engines for problems with the same structure.
+ * <p>
+ * Problems that only differ in their assertions are translated to the same model store, so the store, and a model
+ * with its already constructed query engines can be reused by restoring the model to its empty state and
+ * initializing it with the new model seed. Since partial symbols and rules are compared by identity, the new problem
+ * must be translated with the {@link SymbolTable} of the problem the store was built from. Each cached model is
+ * leased to a single {@link ModelSemantics} at a time and returned to the cache when the semantics is closed.
+ * </p>
+ * <p>
+ * The cache evicts the least recently used entries above its maximum size. Entries are only softly reachable, so
+ * they are also evicted by the garbage collector when memory is running low.
+ * </p>
+ */
+@Singleton
+public class ModelStoreCache {
+	public static final int DEFAULT_MAXIMUM_SIZE = 8;
+
+	private final int maximumSize;
+
+	private final LinkedHashMap<Key, SoftReference<Entry>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	public ModelStoreCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public ModelStoreCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum cache size must be positive, got %d instead"
+					.formatted(maximumSize));
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public synchronized int size() {
+		entries.values().removeIf(reference -> reference.get() == null);
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	@Nullable
+	synchronized Entry acquire(Key key) {
+		var reference = entries.remove(key);
+		return reference == null ? null : reference.get();
+	}
+
+	synchronized void release(Key key, Entry entry) {
+		entries.put(key, new SoftReference<>(entry));
+		entries.values().removeIf(reference -> reference.get() == null);
+		var iterator = entries.values().iterator();
+		while (entries.size() > maximumSize) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Computes the part of the cache key that describes the structure of the problems.
+	 *
+	 * @param problems The problems read by a model initializer.
+	 * @return The text of all statements except for assertions, or {@code null} if some statement has no textual
+	 * representation, e.g., because it was created programmatically.
+	 */
+	@Nullable
+	static String getStructure(Collection<Problem> problems) {
+		var builder = new StringBuilder();
+		for (var problem : problems) {
+			builder.append("problem\n");
+			for (var statement : problem.getStatements()) {
+				if (statement instanceof Assertion) {
+					continue;
+				}
+				var node = NodeModelUtils.findActualNodeFor(statement);
+				if (node == null) {
+					return null;
+				}
+				builder.append(NodeModelUtils.getTokenText(node)).append('\n');
+			}
+		}
+		return builder.toString();
+	}
+
+	record Key(String structure, Set<Concreteness> requiredInterpretations, boolean concretize,
+			   boolean keepNonExistingObjects, boolean keepShadowPredicates) {
+	}
+
+	static final class Entry {
+		private final ModelStore store;
+		private final SymbolTable symbolTable;
+		private final Model model;
+		private final Version emptyVersion;
+		private volatile CancellationToken cancellationToken = CancellationToken.NONE;
+		private boolean used;
+
+		/**
+		 * Creates a new cache entry.
+		 *
+		 * @param storeFactory Function to build the store with the given cancellation token. The store outlives the
+		 *                     request that created it, so it must check for cancellation of the request that is
+		 *                     currently using the entry.
+		 * @param symbolTable  Function to get the symbols the store was built with. Called after building the store.
+		 */
+		Entry(Function<CancellationToken, ModelStore> storeFactory, Supplier<SymbolTable> symbolTable) {
+			store = storeFactory.apply(() -> cancellationToken.checkCancelled());
+			this.symbolTable = symbolTable.get();
+			model = store.createEmptyModel();
+			emptyVersion = model.commit();
+		}
+
+		ModelStore getStore() {
+			return store;
+		}
+
+		SymbolTable getSymbolTable() {
+			return symbolTable;
+		}
+
+		/**
+		 * Prepares the model of this entry for a new request.
+		 *
+		 * @param cancellationToken The cancellation token of the request.
+		 * @return The model with no facts that can be initialized with a model seed.
+		 */
+		Model lease(CancellationToken cancellationToken) {
+			this.cancellationToken = cancellationToken;
+			if (used) {
+				model.restore(emptyVersion);
+			}
+			used = true;
+			return model;
+		}
+
+		/**
+		 * Prepares the model of this entry for a new request without discarding the facts of the previous request.
+		 *
+		 * @param cancellationToken The cancellation token of the request.
+		 * @return The model in the state the previous request left it in.
+		 */
+		Model resume(CancellationToken cancellationToken) {
+			this.cancellationToken = cancellationToken;
+			used = true;
+			return model;
+		}
+
+		void endLease() {
+			cancellationToken = CancellationToken.NONE;
+		}
+	}
+}
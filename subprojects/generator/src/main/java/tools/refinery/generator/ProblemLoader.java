@@ -26,6 +26,7 @@ import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.model.problem.Relation;
 import tools.refinery.language.model.problem.ScopeDeclaration;
 import tools.refinery.language.naming.NamingUtil;
+import tools.refinery.language.resource.LibraryResourceCache;
 import tools.refinery.language.resource.ProblemResourceDescriptionStrategy;
 import tools.refinery.language.resource.ProblemResourceDescriptionStrategy.ShadowingKey;
 import tools.refinery.language.scoping.imports.ImportAdapterProvider;
@@ -67,6 +68,9 @@ public class ProblemLoader {
 	@Inject
 	private ImportAdapterProvider importAdapterProvider;
 
+	@Inject
+	private LibraryResourceCache libraryResourceCache;
+
 	private CancellationToken cancellationToken = CancellationToken.NONE;
 
 	private final List<Path> extraPaths = new ArrayList<>();
@@ -131,6 +135,10 @@ public class ProblemLoader {
 
 	private XtextResourceSet createResourceSet() {
 		var resourceSet = resourceSetProvider.get();
+		if (extraPaths.isEmpty()) {
+			// Shared library modules were resolved without the extra paths, which could shadow their imports.
+			libraryResourceCache.install(resourceSet);
+		}
 		var adapter = importAdapterProvider.getOrInstall(resourceSet);
 		adapter.getLibraryPaths().addAll(0, extraPaths);
 		return resourceSet;
@@ -172,7 +180,10 @@ public class ProblemLoader {
 
 	private void findShadowedNames(Resource importedResource,
 								   LinkedHashMap<ShadowingKey, Set<IEObjectDescription>> shadowedNames) {
-		var resourceDescription = globalResourceDescriptionProvider.getResourceDescription(importedResource);
+		var resourceDescription = LibraryResourceCache.getCachedResourceDescription(importedResource);
+		if (resourceDescription == null) {
+			resourceDescription = globalResourceDescriptionProvider.getResourceDescription(importedResource);
+		}
 		for (var eObjectDescription : resourceDescription.getExportedObjects()) {
 			var name = eObjectDescription.getName();
 			if (NamingUtil.isFullyQualified(name)) {
@@ -186,7 +197,12 @@ public class ProblemLoader {
 
 	private void validateResource(Resource importedResource, ArrayList<Issue> issues,
 								  CancelIndicator cancelIndicator) {
-		issues.addAll(resourceValidator.validate(importedResource, CheckMode.ALL, cancelIndicator));
+		var cachedIssues = LibraryResourceCache.getCachedIssues(importedResource);
+		if (cachedIssues == null) {
+			issues.addAll(resourceValidator.validate(importedResource, CheckMode.ALL, cancelIndicator));
+		} else {
+			issues.addAll(cachedIssues);
+		}
 		cancellationToken.checkCancelled();
 	}
 
@@ -6,12 +6,14 @@
 package tools.refinery.generator.impl;
 
 import com.google.inject.Provider;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.semantics.ProblemTrace;
 import tools.refinery.language.semantics.SolutionSerializer;
 import tools.refinery.language.semantics.metadata.MetadataCreator;
 import tools.refinery.logic.AbstractValue;
 import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.interpretation.PartialInterpretation;
@@ -19,6 +21,9 @@ import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.representation.PartialSymbol;
 import tools.refinery.store.reasoning.seed.ModelSeed;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public class ConcreteModelFacade extends ModelFacadeImpl {
 	private final Provider<SolutionSerializer> solutionSerializerProvider;
 	private final boolean keepNonExistingObjects;
@@ -28,7 +33,15 @@ public class ConcreteModelFacade extends ModelFacadeImpl {
 			ProblemTrace problemTrace, ModelStore store, ModelSeed modelSeed,
 			Provider<SolutionSerializer> solutionSerializerProvider,
 			Provider<MetadataCreator> metadataCreatorProvider, boolean keepNonExistingObjects) {
-		super(problemTrace, store, modelSeed, metadataCreatorProvider);
+		this(problemTrace, store, null, modelSeed, solutionSerializerProvider, metadataCreatorProvider,
+				keepNonExistingObjects);
+	}
+
+	protected ConcreteModelFacade(
+			ProblemTrace problemTrace, ModelStore store, @Nullable Model emptyModel, ModelSeed modelSeed,
+			Provider<SolutionSerializer> solutionSerializerProvider,
+			Provider<MetadataCreator> metadataCreatorProvider, boolean keepNonExistingObjects) {
+		super(problemTrace, store, emptyModel, modelSeed, metadataCreatorProvider);
 		this.solutionSerializerProvider = solutionSerializerProvider;
 		this.keepNonExistingObjects = keepNonExistingObjects;
 		existsInterpretation = keepNonExistingObjects ? null :
@@ -56,6 +69,12 @@ public class ConcreteModelFacade extends ModelFacadeImpl {
 		return serializer.serializeSolution(getProblemTrace(), getModel());
 	}
 
+	@Override
+	public void serialize(Writer writer) throws IOException {
+		var serializer = getSolutionSerializer();
+		serializer.writeSolution(getProblemTrace(), getModel(), writer);
+	}
+
 	protected SolutionSerializer getSolutionSerializer() {
 		return solutionSerializerProvider.get();
 	}
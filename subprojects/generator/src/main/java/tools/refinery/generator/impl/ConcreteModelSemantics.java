@@ -1,11 +1,12 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.generator.impl;
 
 import com.google.inject.Provider;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.generator.ModelFacadeResult;
 import tools.refinery.generator.ModelSemantics;
 import tools.refinery.language.model.problem.Problem;
@@ -15,15 +16,27 @@ import tools.refinery.language.semantics.metadata.MetadataCreator;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.dse.propagation.PropagationRejectedResult;
 import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.reasoning.seed.ModelSeed;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public class ConcreteModelSemantics extends ConcreteModelFacade implements ModelSemantics {
 	public ConcreteModelSemantics(
 			ProblemTrace problemTrace, ModelStore store, ModelSeed modelSeed,
 			Provider<SolutionSerializer> solutionSerializerProvider, Provider<MetadataCreator> metadataCreatorProvider,
 			boolean keepNonExistingObjects) {
-		super(problemTrace, store, modelSeed, solutionSerializerProvider, metadataCreatorProvider,
+		this(problemTrace, store, null, modelSeed, solutionSerializerProvider, metadataCreatorProvider,
+				keepNonExistingObjects);
+	}
+
+	public ConcreteModelSemantics(
+			ProblemTrace problemTrace, ModelStore store, @Nullable Model emptyModel, ModelSeed modelSeed,
+			Provider<SolutionSerializer> solutionSerializerProvider, Provider<MetadataCreator> metadataCreatorProvider,
+			boolean keepNonExistingObjects) {
+		super(problemTrace, store, emptyModel, modelSeed, solutionSerializerProvider, metadataCreatorProvider,
 				keepNonExistingObjects);
 	}
 
@@ -61,6 +74,18 @@ public class ConcreteModelSemantics extends ConcreteModelFacade implements Model
 		return super.serialize();
 	}
 
+	@Override
+	public void serialize(Writer writer) throws IOException {
+		getInitializationResult().throwIfRejected();
+		checkConsistency().throwIfInconsistent();
+		super.serialize(writer);
+	}
+
+	@Override
+	public void close() {
+		release();
+	}
+
 	@Override
 	protected SolutionSerializer getSolutionSerializer() {
 		var serializer = super.getSolutionSerializer();
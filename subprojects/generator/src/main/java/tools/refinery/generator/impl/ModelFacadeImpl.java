@@ -6,6 +6,7 @@
 package tools.refinery.generator.impl;
 
 import com.google.inject.Provider;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.generator.ConsistencyCheckResult;
 import tools.refinery.generator.ModelFacade;
 import tools.refinery.generator.ModelFacadeResult;
@@ -36,18 +37,24 @@ public abstract class ModelFacadeImpl implements ModelFacade {
 	private final Model model;
 	private final ReasoningAdapter reasoningAdapter;
 	private final Provider<MetadataCreator> metadataCreatorProvider;
+	private Runnable releaseAction;
 
 	protected ModelFacadeImpl(ProblemTrace problemTrace, ModelStore store, ModelSeed modelSeed,
 							  Provider<MetadataCreator> metadataCreatorProvider) {
+		this(problemTrace, store, null, modelSeed, metadataCreatorProvider);
+	}
+
+	protected ModelFacadeImpl(ProblemTrace problemTrace, ModelStore store, @Nullable Model emptyModel,
+							  ModelSeed modelSeed, Provider<MetadataCreator> metadataCreatorProvider) {
+		this(problemTrace, store, initializeModel(problemTrace, store, emptyModel, modelSeed),
+				metadataCreatorProvider);
+	}
+
+	protected ModelFacadeImpl(ProblemTrace problemTrace, ModelStore store, PropagatedModel propagatedModel,
+							  Provider<MetadataCreator> metadataCreatorProvider) {
 		this.problemTrace = problemTrace;
 		this.store = store;
 		this.metadataCreatorProvider = metadataCreatorProvider;
-		PropagatedModel propagatedModel;
-		try {
-			propagatedModel = store.getAdapter(ReasoningStoreAdapter.class).tryCreateInitialModel(modelSeed);
-		} catch (TranslationException e) {
-			throw problemTrace.wrapException(e);
-		}
 		model = propagatedModel.model();
 		var propagationResult = propagatedModel.propagationResult();
 		var createInitialModelResult = propagationResult instanceof PropagationRejectedResult rejectedResult ?
@@ -56,6 +63,17 @@ public abstract class ModelFacadeImpl implements ModelFacade {
 		reasoningAdapter = model.getAdapter(ReasoningAdapter.class);
 	}
 
+	private static PropagatedModel initializeModel(ProblemTrace problemTrace, ModelStore store,
+												  @Nullable Model emptyModel, ModelSeed modelSeed) {
+		var reasoningStoreAdapter = store.getAdapter(ReasoningStoreAdapter.class);
+		try {
+			return emptyModel == null ? reasoningStoreAdapter.tryCreateInitialModel(modelSeed) :
+					reasoningStoreAdapter.tryInitializeModel(emptyModel, modelSeed);
+		} catch (TranslationException e) {
+			throw problemTrace.wrapException(e);
+		}
+	}
+
 	@Override
 	public ProblemTrace getProblemTrace() {
 		return problemTrace;
@@ -75,6 +93,23 @@ public abstract class ModelFacadeImpl implements ModelFacade {
 		return createInitialModelResult;
 	}
 
+	/**
+	 * Sets an action to run when the model of this facade is no longer needed, e.g., to return the model to a cache.
+	 *
+	 * @param releaseAction The action to run at most once by {@link #release()}.
+	 */
+	public void setReleaseAction(Runnable releaseAction) {
+		this.releaseAction = releaseAction;
+	}
+
+	protected void release() {
+		if (releaseAction != null) {
+			var action = releaseAction;
+			releaseAction = null;
+			action.run();
+		}
+	}
+
 	@Override
 	public ModelFacadeResult getInitializationResult() {
 		return initializationResult;
@@ -14,7 +14,9 @@ import tools.refinery.language.semantics.ProblemTrace;
 import tools.refinery.language.semantics.SolutionSerializer;
 import tools.refinery.language.semantics.metadata.MetadataCreator;
 import tools.refinery.logic.AbstractValue;
+import tools.refinery.store.dse.metrics.ExplorationMetrics;
 import tools.refinery.store.dse.strategy.BestFirstStoreManager;
+import tools.refinery.store.dse.strategy.RestoreTargetPolicy;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.model.ModelStore;
@@ -22,6 +24,12 @@ import tools.refinery.store.reasoning.interpretation.PartialInterpretation;
 import tools.refinery.store.reasoning.representation.PartialSymbol;
 import tools.refinery.store.reasoning.seed.ModelSeed;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +38,12 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 	private final CancellableCancellationToken cancellationToken;
 	private long randomSeed = 1;
 	private int maxNumberOfSolutions = 1;
+	private int numberOfExplorers = 1;
+	private int maxFrontierSize = Integer.MAX_VALUE;
+	private RestoreTargetPolicy restoreTargetPolicy = RestoreTargetPolicy.CLOSEST_AMONG_EQUAL;
+	private ExplorationMetrics explorationMetrics = ExplorationMetrics.NONE;
+	private Path checkpointPath;
+	private Duration checkpointInterval;
 	private SolutionStore solutionStore;
 
 	public ModelGeneratorImpl(
@@ -64,6 +78,59 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		this.solutionStore = null;
 	}
 
+	@Override
+	public int getNumberOfExplorers() {
+		return numberOfExplorers;
+	}
+
+	@Override
+	public void setNumberOfExplorers(int numberOfExplorers) {
+		if (numberOfExplorers < 1) {
+			throw new IllegalArgumentException("Number of explorers must be positive");
+		}
+		this.numberOfExplorers = numberOfExplorers;
+		this.solutionStore = null;
+	}
+
+	@Override
+	public int getMaxFrontierSize() {
+		return maxFrontierSize;
+	}
+
+	@Override
+	public void setMaxFrontierSize(int maxFrontierSize) {
+		if (maxFrontierSize < 1) {
+			throw new IllegalArgumentException("Maximal frontier size must be positive");
+		}
+		this.maxFrontierSize = maxFrontierSize;
+		this.solutionStore = null;
+	}
+
+	@Override
+	public RestoreTargetPolicy getRestoreTargetPolicy() {
+		return restoreTargetPolicy;
+	}
+
+	@Override
+	public void setRestoreTargetPolicy(RestoreTargetPolicy restoreTargetPolicy) {
+		if (restoreTargetPolicy == null) {
+			throw new IllegalArgumentException("Restore target policy must not be null");
+		}
+		this.restoreTargetPolicy = restoreTargetPolicy;
+		this.solutionStore = null;
+	}
+
+	@Override
+	public void setExplorationMetrics(ExplorationMetrics metrics) {
+		explorationMetrics = metrics;
+	}
+
+	@Override
+	public void setCheckpoint(Path path, Duration interval) {
+		checkpointPath = path;
+		checkpointInterval = interval;
+	}
+
 	@Override
 	public int getSolutionCount() {
 		if (!isLastGenerationSuccessful()) {
@@ -91,8 +158,17 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		}
 		solutionStore = null;
 		randomSeed++;
-		var bestFirst = new BestFirstStoreManager(getModelStore(), maxNumberOfSolutions);
-		bestFirst.startExploration(initialVersion, randomSeed);
+		var storeStrategy = numberOfExplorers > 1 ? BestFirstStoreManager.StateSpaceStoreStrategy.CONCURRENT :
+				BestFirstStoreManager.StateSpaceStoreStrategy.SYNCHRONIZED;
+		var bestFirst = new BestFirstStoreManager(getModelStore(), maxNumberOfSolutions, storeStrategy);
+		bestFirst.setRestoreTargetPolicy(restoreTargetPolicy);
+		bestFirst.setMaxFrontierSize(maxFrontierSize);
+		bestFirst.setMetrics(explorationMetrics);
+		if (checkpointPath == null) {
+			bestFirst.startExploration(initialVersion, randomSeed, numberOfExplorers);
+		} else {
+			exploreWithCheckpoints(bestFirst);
+		}
 		var solutions = bestFirst.getSolutionStore().getSolutions();
 		if (solutions.isEmpty()) {
 			return GeneratorResult.UNSATISFIABLE;
@@ -102,6 +178,19 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		return GeneratorResult.SUCCESS;
 	}
 
+	private void exploreWithCheckpoints(BestFirstStoreManager bestFirst) {
+		bestFirst.setCheckpoint(checkpointPath, checkpointInterval);
+		try {
+			if (Files.exists(checkpointPath)) {
+				bestFirst.resumeExploration(initialVersion, checkpointPath, randomSeed, numberOfExplorers);
+			} else {
+				bestFirst.startExploration(initialVersion, randomSeed, numberOfExplorers);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read checkpoint " + checkpointPath, e);
+		}
+	}
+
 	@Override
 	public GeneratorResult tryGenerateWithTimeout(long l, TimeUnit timeUnit) {
 		try (var executorService = Executors.newSingleThreadScheduledExecutor()) {
@@ -130,6 +219,12 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		return super.serialize();
 	}
 
+	@Override
+	public void serialize(Writer writer) throws IOException {
+		checkSuccessfulGeneration();
+		super.serialize(writer);
+	}
+
 	private void checkSuccessfulGeneration() {
 		if (!isLastGenerationSuccessful()) {
 			throw new IllegalStateException("No generated model is available");
@@ -6,18 +6,31 @@
 package tools.refinery.generator.impl;
 
 import com.google.inject.Provider;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.generator.ModelSemantics;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.semantics.ProblemTrace;
 import tools.refinery.language.semantics.metadata.MetadataCreator;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.seed.PropagatedModel;
 
 public class ModelSemanticsImpl extends ModelFacadeImpl implements ModelSemantics {
 	public ModelSemanticsImpl(ProblemTrace problemTrace, ModelStore store, ModelSeed modelSeed,
 							  Provider<MetadataCreator> metadataCreatorProvider) {
-		super(problemTrace, store, modelSeed, metadataCreatorProvider);
+		this(problemTrace, store, null, modelSeed, metadataCreatorProvider);
+	}
+
+	public ModelSemanticsImpl(ProblemTrace problemTrace, ModelStore store, @Nullable Model emptyModel,
+							  ModelSeed modelSeed, Provider<MetadataCreator> metadataCreatorProvider) {
+		super(problemTrace, store, emptyModel, modelSeed, metadataCreatorProvider);
+	}
+
+	public ModelSemanticsImpl(ProblemTrace problemTrace, ModelStore store, PropagatedModel propagatedModel,
+							  Provider<MetadataCreator> metadataCreatorProvider) {
+		super(problemTrace, store, propagatedModel, metadataCreatorProvider);
 	}
 
 	@Override
@@ -36,4 +49,9 @@ public class ModelSemanticsImpl extends ModelFacadeImpl implements ModelSemantic
 	public Problem serialize() {
 		return getProblemTrace().getProblem();
 	}
+
+	@Override
+	public void close() {
+		release();
+	}
 }
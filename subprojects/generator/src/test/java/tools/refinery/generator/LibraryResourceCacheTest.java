@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.resource.LibraryResourceCache;
+import tools.refinery.language.scoping.imports.ImportAdapterProvider;
+import tools.refinery.language.tests.InjectWithRefinery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@InjectWithRefinery
+class LibraryResourceCacheTest {
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ProblemLoader> loaderProvider;
+
+	@Inject
+	private LibraryResourceCache cache;
+
+	@Inject
+	private ImportAdapterProvider importAdapterProvider;
+
+	@AfterEach
+	void afterEach() {
+		cache.clear();
+	}
+
+	@Test
+	void shareBuiltinLibraryTest() throws IOException {
+		var firstProblem = loader.loadString("class Foo.");
+		var secondProblem = loader.loadString("class Bar.");
+		var firstBuiltin = getBuiltinProblem(firstProblem);
+		var secondBuiltin = getBuiltinProblem(secondProblem);
+		assertThat(secondBuiltin, sameInstance(firstBuiltin));
+		assertThat(firstBuiltin.eResource().getResourceSet(),
+				not(sameInstance(firstProblem.eResource().getResourceSet())));
+		assertThat(LibraryResourceCache.getCachedIssues(firstBuiltin.eResource()), notNullValue());
+		assertThat(cache.size(), greaterThan(0));
+	}
+
+	@Test
+	void clearTest() throws IOException {
+		var firstBuiltin = getBuiltinProblem(loader.loadString("class Foo."));
+		cache.clear();
+		assertThat(cache.size(), is(0));
+		var secondProblem = loader.loadString("class Bar.");
+		var secondBuiltin = getBuiltinProblem(secondProblem);
+		assertThat(secondBuiltin, not(sameInstance(firstBuiltin)));
+		// The resource set of the first problem keeps using the library modules it has already seen.
+		assertThat(firstBuiltin.eResource().isLoaded(), is(true));
+	}
+
+	@Test
+	void validateWithCachedLibrariesTest() throws IOException {
+		loader.loadString("class Foo.");
+		assertThrows(ValidationErrorsException.class, () -> loader.loadString("class Foo extends Bar."));
+	}
+
+	@Test
+	void concurrentLoadTest() throws Exception {
+		int threadCount = 8;
+		var startLatch = new CountDownLatch(threadCount);
+		var tasks = new ArrayList<Callable<Problem>>(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			var problemString = """
+					class Foo%d {
+						contains Foo%d[] children
+					}
+
+					pred bar%d(Foo%d foo) <-> exists(foo); contains(foo, _).
+					""".formatted(i, i, i, i);
+			tasks.add(() -> {
+				// Start loading in all threads at the same time to make races on the shared library modules likely.
+				startLatch.countDown();
+				startLatch.await();
+				return loaderProvider.get().loadString(problemString);
+			});
+		}
+		var executorService = Executors.newFixedThreadPool(threadCount);
+		try {
+			var futures = executorService.invokeAll(tasks);
+			var firstBuiltin = getBuiltinProblem(futures.getFirst().get());
+			for (var future : futures) {
+				assertThat(getBuiltinProblem(future.get()), sameInstance(firstBuiltin));
+			}
+		} finally {
+			executorService.shutdownNow();
+			assertThat(executorService.awaitTermination(1, TimeUnit.MINUTES), is(true));
+		}
+	}
+
+	@Test
+	void extraPathTest() throws IOException {
+		var firstBuiltin = getBuiltinProblem(loader.loadString("class Foo."));
+		var otherLoader = loaderProvider.get().extraPath(".");
+		var secondBuiltin = getBuiltinProblem(otherLoader.loadString("class Bar."));
+		// Resource sets with extra library paths do not use the shared library modules.
+		assertThat(secondBuiltin, not(sameInstance(firstBuiltin)));
+	}
+
+	private Problem getBuiltinProblem(Problem problem) {
+		return importAdapterProvider.getOrInstall(problem).getBuiltinProblem();
+	}
+}
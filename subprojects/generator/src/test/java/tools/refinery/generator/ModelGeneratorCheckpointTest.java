@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.store.util.CancellationToken;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@InjectWithRefinery
+class ModelGeneratorCheckpointTest {
+	private static final String STRUCTURE = """
+			class Person {
+				Person[1..2] friend
+			}
+			""";
+
+	private static final Duration INTERVAL = Duration.ofNanos(1);
+
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ModelGeneratorFactory> generatorFactoryProvider;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void generateTwiceTest() throws IOException {
+		var checkpoint = tempDir.resolve("checkpoint");
+		var generator = createGenerator(loadProblem(""), CancellationToken.NONE);
+		generator.setCheckpoint(checkpoint, INTERVAL);
+		assertThat(generator.tryGenerate(), is(GeneratorResult.SUCCESS));
+		// Finished explorations must not be resumed by later generations.
+		assertThat(Files.exists(checkpoint), is(false));
+		assertThat(generator.tryGenerate(), is(GeneratorResult.SUCCESS));
+		assertThat(Files.exists(checkpoint), is(false));
+	}
+
+	@Test
+	void resumeTest() throws IOException {
+		var problem = loadProblem("");
+		var checkpoint = interruptGeneration(problem);
+		var generator = createGenerator(problem, CancellationToken.NONE);
+		generator.setCheckpoint(checkpoint, INTERVAL);
+		assertThat(generator.tryGenerate(), is(GeneratorResult.SUCCESS));
+		assertThat(Files.exists(checkpoint), is(false));
+	}
+
+	@Test
+	void differentProblemTest() throws IOException {
+		var checkpoint = interruptGeneration(loadProblem(""));
+		var generator = createGenerator(loadProblem("""
+				Person(a).
+				"""), CancellationToken.NONE);
+		generator.setCheckpoint(checkpoint, INTERVAL);
+		assertThrows(IllegalArgumentException.class, generator::tryGenerate);
+		assertThat(Files.exists(checkpoint), is(true));
+	}
+
+	@Test
+	void differentRandomSeedTest() throws IOException {
+		var problem = loadProblem("");
+		var checkpoint = interruptGeneration(problem);
+		var generator = createGenerator(problem, CancellationToken.NONE);
+		generator.setRandomSeed(5);
+		generator.setCheckpoint(checkpoint, INTERVAL);
+		assertThrows(IllegalArgumentException.class, generator::tryGenerate);
+		assertThat(Files.exists(checkpoint), is(true));
+	}
+
+	private Path interruptGeneration(Problem problem) {
+		var checkpoint = tempDir.resolve("checkpoint");
+		// Interrupt the generation as soon as the first checkpoint was written.
+		var generator = createGenerator(problem, () -> {
+			if (Files.exists(checkpoint)) {
+				throw new GeneratorTimeoutException();
+			}
+		});
+		generator.setCheckpoint(checkpoint, INTERVAL);
+		assertThrows(GeneratorTimeoutException.class, generator::tryGenerate);
+		assertThat(Files.exists(checkpoint), is(true));
+		return checkpoint;
+	}
+
+	private Problem loadProblem(String assertions) throws IOException {
+		return loader.loadString(STRUCTURE + assertions + """
+				scope Person = 8.
+				""");
+	}
+
+	private ModelGenerator createGenerator(Problem problem, CancellationToken cancellationToken) {
+		return generatorFactoryProvider.get()
+				.cancellationToken(cancellationToken)
+				.createGenerator(problem);
+	}
+}
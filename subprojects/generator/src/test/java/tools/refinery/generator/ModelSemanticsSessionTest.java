@@ -0,0 +1,185 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@InjectWithRefinery
+class ModelSemanticsSessionTest {
+	private static final String STRUCTURE = """
+			class Person {
+				Person[] friend
+			}
+			""";
+
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ModelSemanticsFactory> semanticsFactoryProvider;
+
+	@Test
+	void refineTest() throws IOException {
+		var cache = new ModelStoreCache();
+		try (var session = new ModelSemanticsSession()) {
+			var firstProblem = loader.loadString(STRUCTURE + """
+					friend(a, b).
+					?friend(b, a).
+					""");
+			ModelSemantics firstSemantics;
+			try (var semantics = createSemantics(cache, session, firstProblem)) {
+				firstSemantics = semantics;
+				assertThat(getFriend(semantics, "b", "a"), is(TruthValue.UNKNOWN));
+			}
+			assertThat(session.getLastUpdateKind(), is(ModelSemanticsSession.UpdateKind.STRUCTURAL));
+			assertThat(cache.size(), is(0));
+
+			var secondProblem = loader.loadString(STRUCTURE + """
+					friend(a, b).
+					!friend(b, a).
+					""");
+			try (var semantics = createSemantics(cache, session, secondProblem)) {
+				assertThat(semantics.getModel(), sameInstance(firstSemantics.getModel()));
+				assertThat(getFriend(semantics, "a", "b"), is(TruthValue.TRUE));
+				assertThat(getFriend(semantics, "b", "a"), is(TruthValue.FALSE));
+				assertSameAsFreshSemantics(semantics, secondProblem);
+			}
+			assertThat(session.getLastUpdateKind(), is(ModelSemanticsSession.UpdateKind.REFINED));
+		}
+		assertThat(cache.size(), is(1));
+	}
+
+	@Test
+	void refineAddedAssertionsTest() throws IOException {
+		var cache = new ModelStoreCache();
+		var structure = STRUCTURE + """
+				propagation rule symmetric(Person a, Person b) <-> friend(a, b) ==> friend(b, a).
+				""";
+		try (var session = new ModelSemanticsSession()) {
+			var firstProblem = loader.loadString(structure + """
+					declare a, b.
+					friend(a, b).
+					""");
+			Model model;
+			try (var semantics = createSemantics(cache, session, firstProblem)) {
+				model = semantics.getModel();
+				assertThat(getFriend(semantics, "b", "a"), is(TruthValue.TRUE));
+				assertThat(getFriend(semantics, "a", "a"), is(TruthValue.UNKNOWN));
+			}
+
+			// Only add assertions to a problem with the same structure loaded from a different resource.
+			var secondProblem = loader.loadString(structure + """
+					declare a, b.
+					friend(a, b).
+					!friend(a, a).
+					""");
+			try (var semantics = createSemantics(cache, session, secondProblem)) {
+				assertThat(semantics.getModel(), sameInstance(model));
+				assertThat(semantics.getInitializationResult().isRejected(), is(false));
+				assertThat(getFriend(semantics, "b", "a"), is(TruthValue.TRUE));
+				assertThat(getFriend(semantics, "a", "a"), is(TruthValue.FALSE));
+				assertSameAsFreshSemantics(semantics, secondProblem);
+			}
+			assertThat(session.getLastUpdateKind(), is(ModelSemanticsSession.UpdateKind.REFINED));
+		}
+	}
+
+	@Test
+	void reinitializeTest() throws IOException {
+		var cache = new ModelStoreCache();
+		try (var session = new ModelSemanticsSession()) {
+			createSemantics(cache, session, loader.loadString(STRUCTURE + """
+					friend(a, b).
+					friend(b, a).
+					""")).close();
+
+			var secondProblem = loader.loadString(STRUCTURE + """
+					friend(a, b).
+					?friend(b, a).
+					""");
+			try (var semantics = createSemantics(cache, session, secondProblem)) {
+				assertThat(getFriend(semantics, "a", "b"), is(TruthValue.TRUE));
+				assertThat(getFriend(semantics, "b", "a"), is(TruthValue.UNKNOWN));
+				assertSameAsFreshSemantics(semantics, secondProblem);
+			}
+			assertThat(session.getLastUpdateKind(), is(ModelSemanticsSession.UpdateKind.REINITIALIZED));
+		}
+	}
+
+	@Test
+	void structuralChangeTest() throws IOException {
+		var cache = new ModelStoreCache();
+		try (var session = new ModelSemanticsSession()) {
+			var firstSemantics = createSemantics(cache, session, loader.loadString(STRUCTURE));
+			var store = firstSemantics.getModelStore();
+			firstSemantics.close();
+
+			try (var semantics = createSemantics(cache, session, loader.loadString(STRUCTURE + """
+					class Animal.
+					"""))) {
+				assertThat(semantics.getModelStore(), not(sameInstance(store)));
+				// The model of the previous structure was returned to the cache.
+				assertThat(cache.size(), is(1));
+			}
+			assertThat(session.getLastUpdateKind(), is(ModelSemanticsSession.UpdateKind.STRUCTURAL));
+		}
+		assertThat(cache.size(), is(2));
+	}
+
+	@Test
+	void concurrentSemanticsTest() throws IOException {
+		var cache = new ModelStoreCache();
+		try (var session = new ModelSemanticsSession()) {
+			var problem = loader.loadString(STRUCTURE + """
+					friend(a, b).
+					""");
+			createSemantics(cache, session, problem).close();
+			try (var firstSemantics = createSemantics(cache, session, problem);
+				 var secondSemantics = createSemantics(cache, session, problem)) {
+				assertThat(secondSemantics.getModel(), not(sameInstance(firstSemantics.getModel())));
+				assertThat(getFriend(secondSemantics, "a", "b"), is(TruthValue.TRUE));
+			}
+			// Only the model of the session is kept, so the other model was returned to the cache.
+			assertThat(cache.size(), is(1));
+		}
+	}
+
+	private ModelSemantics createSemantics(ModelStoreCache cache, ModelSemanticsSession session, Problem problem) {
+		return semanticsFactoryProvider.get()
+				.modelStoreCache(cache)
+				.session(session)
+				.createSemantics(problem);
+	}
+
+	private void assertSameAsFreshSemantics(ModelSemantics semantics, Problem problem) {
+		try (var freshSemantics = semanticsFactoryProvider.get().createSemantics(problem)) {
+			for (var source : new String[]{"a", "b"}) {
+				for (var target : new String[]{"a", "b"}) {
+					assertThat(getFriend(semantics, source, target), is(getFriend(freshSemantics, source, target)));
+				}
+			}
+		}
+	}
+
+	private static TruthValue getFriend(ModelSemantics semantics, String source, String target) {
+		var trace = semantics.getProblemTrace();
+		var friend = trace.getPartialRelation("Person::friend");
+		var key = Tuple.of(trace.getNodeId(source), trace.getNodeId(target));
+		return semantics.getPartialInterpretation(friend).get(key);
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@InjectWithRefinery
+class ModelStoreCacheTest {
+	private static final String STRUCTURE = """
+			class Person {
+				Person[] friend
+			}
+			""";
+
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ModelSemanticsFactory> semanticsFactoryProvider;
+
+	@Test
+	void reuseStoreForSameStructureTest() throws IOException {
+		var cache = new ModelStoreCache();
+		var firstProblem = loader.loadString(STRUCTURE + """
+				friend(a, b).
+				""");
+		var secondProblem = loader.loadString(STRUCTURE + """
+				friend(c, d).
+				!friend(d, c).
+				""");
+
+		var firstSemantics = createSemantics(cache, firstProblem);
+		var store = firstSemantics.getModelStore();
+		assertThat(getFriend(firstSemantics, "a", "b"), is(TruthValue.TRUE));
+		firstSemantics.close();
+		assertThat(cache.size(), is(1));
+
+		try (var secondSemantics = createSemantics(cache, secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), sameInstance(store));
+			assertThat(cache.size(), is(0));
+			assertThat(getFriend(secondSemantics, "c", "d"), is(TruthValue.TRUE));
+			assertThat(getFriend(secondSemantics, "d", "c"), is(TruthValue.FALSE));
+			assertThat(getFriend(secondSemantics, "c", "c"), is(TruthValue.UNKNOWN));
+		}
+		assertThat(cache.size(), is(1));
+	}
+
+	@Test
+	void reuseSymbolsTest() throws IOException {
+		var cache = new ModelStoreCache();
+		var structure = STRUCTURE + """
+				propagation rule symmetric(Person a, Person b) <-> friend(a, b) ==> friend(b, a).
+				""";
+		var firstProblem = loader.loadString(structure + """
+				friend(a, b).
+				""");
+		var secondProblem = loader.loadString(structure + """
+				friend(c, d).
+				""");
+
+		PartialRelation friend;
+		Set<Rule> rules;
+		try (var firstSemantics = createSemantics(cache, firstProblem)) {
+			friend = firstSemantics.getProblemTrace().getPartialRelation("Person::friend");
+			rules = firstSemantics.getProblemTrace().getInverseRuleDefinitionTrace().keySet();
+		}
+
+		try (var secondSemantics = createSemantics(cache, secondProblem)) {
+			var trace = secondSemantics.getProblemTrace();
+			assertThat(trace.getPartialRelation("Person::friend"), sameInstance(friend));
+			assertThat(trace.getInverseRuleDefinitionTrace().keySet(), is(rules));
+			assertThat(getFriend(secondSemantics, "d", "c"), is(TruthValue.TRUE));
+		}
+	}
+
+	@Test
+	void differentStructureTest() throws IOException {
+		var cache = new ModelStoreCache();
+		var firstProblem = loader.loadString(STRUCTURE);
+		var secondProblem = loader.loadString(STRUCTURE + """
+				class Animal.
+				""");
+
+		var firstSemantics = createSemantics(cache, firstProblem);
+		var store = firstSemantics.getModelStore();
+		firstSemantics.close();
+
+		try (var secondSemantics = createSemantics(cache, secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(store)));
+		}
+		assertThat(cache.size(), is(2));
+	}
+
+	@Test
+	void evictLeastRecentlyUsedTest() throws IOException {
+		var cache = new ModelStoreCache(1);
+		createSemantics(cache, loader.loadString(STRUCTURE)).close();
+		createSemantics(cache, loader.loadString("class Animal.")).close();
+		assertThat(cache.size(), is(1));
+	}
+
+	private ModelSemantics createSemantics(ModelStoreCache cache, Problem problem) {
+		return semanticsFactoryProvider.get()
+				.modelStoreCache(cache)
+				.createSemantics(problem);
+	}
+
+	private static TruthValue getFriend(ModelSemantics semantics, String source, String target) {
+		var trace = semantics.getProblemTrace();
+		var friend = trace.getPartialRelation("Person::friend");
+		var key = Tuple.of(trace.getNodeId(source), trace.getNodeId(target));
+		return semantics.getPartialInterpretation(friend).get(key);
+	}
+}
@@ -79,6 +79,13 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     protected final IPlanProvider planProvider;
     private static final String PLAN_CACHE_KEY = AbstractLocalSearchResultProvider.class.getName() + "#planCache";
     private final Map<MatcherReference, IPlanDescriptor> planCache;
+    private static final String PLAN_STATISTICS_CACHE_KEY = AbstractLocalSearchResultProvider.class.getName() +
+            "#planStatisticsCache";
+    /**
+     * The number of input keys of a cached plan whose sizes are checked for drift on each plan lookup.
+     */
+    private static final int CHECKED_KEYS_PER_LOOKUP = 2;
+    private final Map<MatcherReference, PlanStatistics> planStatisticsCache;
     protected final ISearchContext searchContext;
     /**
      * @since 2.1
@@ -101,6 +108,7 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
         this.resultProviderRequestor = backend.getResultProviderRequestor(query, userHints);
         this.searchContext = new ISearchContext.SearchContext(backendContext, backend.getCache(), resultProviderRequestor);
         this.planCache = backend.getCache().getValue(PLAN_CACHE_KEY, Map.class, HashMap::new);
+        this.planStatisticsCache = backend.getCache().getValue(PLAN_STATISTICS_CACHE_KEY, Map.class, HashMap::new);
     }
 
     protected abstract IOperationCompiler getOperationCompiler(IQueryBackendContext backendContext, LocalSearchHints configuration);
@@ -118,29 +126,106 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     }
 
     private IPlanDescriptor getOrCreatePlan(MatcherReference key, IQueryBackendContext backendContext, IOperationCompiler compiler, LocalSearchHints configuration, IPlanProvider planProvider) {
-        if (planCache.containsKey(key)){
+        if (planCache.containsKey(key) && !shouldReplan(key, configuration)){
             return planCache.get(key);
         } else {
             IPlanDescriptor plan = planProvider.getPlan(backendContext, compiler,
                     resultProviderRequestor, configuration, key);
-            planCache.put(key, plan);
+            cachePlan(key, plan, configuration);
             return plan;
         }
     }
 
     private IPlanDescriptor getOrCreatePlan(MatcherReference key, IPlanProvider planProvider) {
-        if (planCache.containsKey(key)){
+        LocalSearchHints configuration = overrideDefaultHints(key.getQuery());
+        if (planCache.containsKey(key) && !shouldReplan(key, configuration)){
             return planCache.get(key);
         } else {
-            LocalSearchHints configuration = overrideDefaultHints(key.getQuery());
             IOperationCompiler compiler = getOperationCompiler(backendContext, configuration);
             IPlanDescriptor plan = planProvider.getPlan(backendContext, compiler,
                     resultProviderRequestor, configuration, key);
-            planCache.put(key, plan);
+            cachePlan(key, plan, configuration);
             return plan;
         }
     }
 
+    private void cachePlan(MatcherReference key, IPlanDescriptor plan, LocalSearchHints configuration) {
+        planCache.put(key, plan);
+        if (Double.isInfinite(configuration.getReplanningThreshold())) {
+            return;
+        }
+        // Save the statistics the plan was based on to detect when the model has changed significantly.
+        List<IInputKey> inputKeys = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        for (IInputKey inputKey : plan.getIteratedKeys()) {
+            estimateSize(inputKey).ifPresent(size -> {
+                inputKeys.add(inputKey);
+                sizes.add(size);
+            });
+        }
+        planStatisticsCache.put(key, new PlanStatistics(inputKeys, sizes));
+    }
+
+    /**
+     * Checks whether the sizes of the iterated input keys of a cached plan drifted past the replanning threshold
+     * since the plan was created.
+     * <p>
+     * Plan lookups are on the hot path of pattern matching, so only {@link #CHECKED_KEYS_PER_LOOKUP} input keys are
+     * checked per lookup in a round-robin fashion. A drift is detected after at most as many lookups as the number of
+     * input keys of the plan divided by {@link #CHECKED_KEYS_PER_LOOKUP}.
+     * </p>
+     */
+    private boolean shouldReplan(MatcherReference key, LocalSearchHints configuration) {
+        double threshold = configuration.getReplanningThreshold();
+        if (Double.isInfinite(threshold)) {
+            return false;
+        }
+        PlanStatistics statistics = planStatisticsCache.get(key);
+        if (statistics == null) {
+            return false;
+        }
+        int keyCount = statistics.inputKeys.size();
+        for (int i = 0; i < Math.min(keyCount, CHECKED_KEYS_PER_LOOKUP); i++) {
+            int index = statistics.nextIndex;
+            statistics.nextIndex = (index + 1) % keyCount;
+            Optional<Long> currentSize = estimateSize(statistics.inputKeys.get(index));
+            if (currentSize.isPresent()) {
+                // Add one to avoid division by zero for empty input keys.
+                double oldSize = statistics.sizes.get(index) + 1.0;
+                double newSize = currentSize.get() + 1.0;
+                if (Math.max(oldSize, newSize) / Math.min(oldSize, newSize) >= threshold) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sizes of the iterated input keys of a cached plan at the time of planning.
+     */
+    private static final class PlanStatistics {
+        private final List<IInputKey> inputKeys;
+        private final List<Long> sizes;
+        /**
+         * The index of the input key to check first on the next plan lookup.
+         */
+        private int nextIndex;
+
+        private PlanStatistics(List<IInputKey> inputKeys, List<Long> sizes) {
+            this.inputKeys = inputKeys;
+            this.sizes = sizes;
+        }
+    }
+
+    private Optional<Long> estimateSize(IInputKey inputKey) {
+        if (!inputKey.isEnumerable()) {
+            return Optional.empty();
+        }
+        return runtimeContext.estimateCardinality(inputKey, TupleMask.identity(inputKey.getArity()),
+                Accuracy.APPROXIMATION);
+    }
+
     private LocalSearchHints overrideDefaultHints(PQuery pQuery) {
         if (hintCache.containsKey(pQuery)) {
             return hintCache.get(pQuery);
@@ -79,6 +79,17 @@ public final class LocalSearchHintOptions {
 	public static final QueryHintOption<Boolean> CONSULT_SURROGATES =
 			hintOption("CONSULT_SURROGATES", false);
 
+	/**
+	 * Ratio of change in the estimated size of the input keys iterated by a cached search plan above which the plan
+	 * is recomputed.
+	 *
+	 * <p>For example, with a threshold of 2.0, the plan is recomputed when the size of some iterated input key
+	 * doubles or halves since planning. Replanning is only useful with cost functions that rely on the statistics of
+	 * the runtime context. The default value of {@link Double#POSITIVE_INFINITY} disables replanning.
+	 */
+	public static final QueryHintOption<Double> PLANNER_REPLANNING_THRESHOLD =
+			hintOption("PLANNER_REPLANNING_THRESHOLD", Double.POSITIVE_INFINITY);
+
     // internal helper for conciseness
     private static <T, V extends T> QueryHintOption<T> hintOption(String hintKeyLocalName, V defaultValue) {
         return new QueryHintOption<>(LocalSearchHintOptions.class, hintKeyLocalName, defaultValue);
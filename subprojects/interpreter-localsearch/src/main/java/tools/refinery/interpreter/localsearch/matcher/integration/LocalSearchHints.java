@@ -40,6 +40,8 @@ public final class LocalSearchHints implements IMatcherCapability {
 
 	private ICostFunction costFunction = null;
 
+	private Double replanningThreshold = null;
+
 	private IFlattenCallPredicate flattenCallPredicate = null;
 
 	private ICallDelegationStrategy callDelegationStrategy = null;
@@ -76,6 +78,7 @@ public final class LocalSearchHints implements IMatcherCapability {
 		result.useBase = true; // Should be unused; but a false value might cause surprises as an engine-default hint
 		result.rowCount = 4;
 		result.costFunction = new IndexerBasedConstraintCostFunction(StatisticsBasedConstraintCostFunction.INVERSE_NAVIGATION_PENALTY_GENERIC);
+		result.replanningThreshold = PLANNER_REPLANNING_THRESHOLD.getDefaultValue();
 		result.flattenCallPredicate = FLATTEN_CALL_PREDICATE.getDefaultValue();
 		result.callDelegationStrategy = ICallDelegationStrategy.FULL_BACKEND_ADHESION;
 		result.adornmentProvider = new LazyPlanningAdornments();
@@ -116,6 +119,7 @@ public final class LocalSearchHints implements IMatcherCapability {
 		result.flattenCallPredicate = FLATTEN_CALL_PREDICATE.getValueOrNull(hint);
 		result.callDelegationStrategy = CALL_DELEGATION_STRATEGY.getValueOrNull(hint);
 		result.costFunction = PLANNER_COST_FUNCTION.getValueOrNull(hint);
+		result.replanningThreshold = PLANNER_REPLANNING_THRESHOLD.getValueOrNull(hint);
 		result.adornmentProvider = ADORNMENT_PROVIDER.getValueOrNull(hint);
 		result.traceCollector = normalizationTraceCollector.getValueOrDefault(hint);
 
@@ -137,6 +141,9 @@ public final class LocalSearchHints implements IMatcherCapability {
 		if (costFunction != null){
 			PLANNER_COST_FUNCTION.insertOverridingValue(map, costFunction);
 		}
+		if (replanningThreshold != null){
+			PLANNER_REPLANNING_THRESHOLD.insertOverridingValue(map, replanningThreshold);
+		}
 		if (flattenCallPredicate != null){
 			FLATTEN_CALL_PREDICATE.insertOverridingValue(map, flattenCallPredicate);
 		}
@@ -191,6 +198,10 @@ public final class LocalSearchHints implements IMatcherCapability {
 		return costFunction;
 	}
 
+	public double getReplanningThreshold() {
+		return replanningThreshold == null ? PLANNER_REPLANNING_THRESHOLD.getDefaultValue() : replanningThreshold;
+	}
+
 	public IFlattenCallPredicate getFlattenCallPredicate() {
 		return flattenCallPredicate;
 	}
@@ -243,6 +254,11 @@ public final class LocalSearchHints implements IMatcherCapability {
 		return this;
 	}
 
+	public LocalSearchHints setReplanningThreshold(double replanningThreshold) {
+		this.replanningThreshold = replanningThreshold;
+		return this;
+	}
+
 	public LocalSearchHints setFlattenCallPredicate(IFlattenCallPredicate flattenCallPredicate) {
 		this.flattenCallPredicate = flattenCallPredicate;
 		return this;
@@ -173,6 +173,29 @@ public class ExternalInputEnumeratorNode extends StandardNode
         }
     }
 
+    /* Batch update from runtime context */
+    @Override
+    public void updateAll(IInputKey key, Collection<Tuple> updates, boolean isInsertion) {
+        final Direction direction = direction(isInsertion);
+        if (parallelExecutionEnabled) {
+            for (final Tuple update : updates) {
+                network.sendExternalUpdate(myAddress, direction, update);
+            }
+        } else {
+            if (qBackendContext.areUpdatesDelayed()) {
+                for (final Tuple update : updates) {
+                    mailbox.postMessage(direction, update, Timestamp.ZERO);
+                }
+            } else {
+                for (final Tuple update : updates) {
+                    update(direction, update, Timestamp.ZERO);
+                }
+            }
+            // wait only once for the whole batch instead of after every tuple
+            network.waitForReteTermination();
+        }
+    }
+
     private static Direction direction(boolean isInsertion) {
         return isInsertion ? Direction.INSERT : Direction.DELETE;
     }
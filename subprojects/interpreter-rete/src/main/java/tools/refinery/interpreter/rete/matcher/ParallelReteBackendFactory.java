@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.matcher;
+
+import tools.refinery.interpreter.matchers.backend.IQueryBackend;
+import tools.refinery.interpreter.matchers.context.IQueryBackendContext;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A {@link ReteBackendFactory} that creates {@link ReteEngine}s which deliver the pending updates of independent
+ * parts of the network in parallel when the engine is flushed.
+ * <p>
+ * Update listeners of pattern matchers are still notified on the thread that flushes the engine.
+ * </p>
+ */
+public class ParallelReteBackendFactory extends ReteBackendFactory {
+	private final ForkJoinPool pool;
+
+	@SuppressWarnings("deprecation")
+	public ParallelReteBackendFactory(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	@Override
+	public IQueryBackend create(IQueryBackendContext context) {
+		var engine = (ReteEngine) create(context, false, null);
+		engine.setUpdatePropagationPool(pool);
+		return engine;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		ParallelReteBackendFactory that = (ParallelReteBackendFactory) o;
+		return Objects.equals(pool, that.pool);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ParallelReteBackendFactory.class, pool);
+	}
+}
@@ -32,6 +32,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Gabor Bergmann
@@ -68,6 +69,8 @@ public class ReteEngine implements IQueryBackend {
 
     private HintConfigurator hintConfigurator;
 
+    private ForkJoinPool updatePropagationPool;
+
     /**
      * @param context
      *            the context of the pattern matcher, conveying all information from the outside world.
@@ -140,10 +143,24 @@ public class ReteEngine implements IQueryBackend {
 
     }
 
+    /**
+     * Sets the pool used to propagate updates through independent parts of the network in parallel when
+     * {@link #flushUpdates()} is called.
+     *
+     * @param updatePropagationPool the pool, or {@code null} to propagate updates on the calling thread
+     */
+    public void setUpdatePropagationPool(ForkJoinPool updatePropagationPool) {
+        this.updatePropagationPool = updatePropagationPool;
+    }
+
     @Override
     public void flushUpdates() {
         for (ReteContainer container : this.reteNet.getContainers()) {
-            container.deliverMessagesSingleThreaded();
+            if (updatePropagationPool == null) {
+                container.deliverMessagesSingleThreaded();
+            } else {
+                container.deliverMessagesInParallel(updatePropagationPool);
+            }
         }
     }
 
@@ -34,6 +34,7 @@ import tools.refinery.interpreter.rete.single.TrimmerNode;
 import tools.refinery.interpreter.rete.util.Options;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 /**
@@ -583,6 +584,20 @@ public final class ReteContainer {
         }
     }
 
+    /**
+     * Sends out all pending messages to their receivers, delivering independent parts of the network in parallel on
+     * the given pool. Falls back to {@link #deliverMessagesSingleThreaded()} for timely evaluation.
+     */
+    public void deliverMessagesInParallel(ForkJoinPool pool) {
+        if (isTimelyEvaluation()) {
+            deliverMessagesSingleThreaded();
+            return;
+        }
+        if (!backendContext.areUpdatesDelayed()) {
+            tracker.deliverMessagesInParallel(pool);
+        }
+    }
+
     private void localUpdateTermination(long incrementedClock) {
         network.reportLocalUpdateTermination(this, incrementedClock, terminationCriteria);
         terminationCriteria.clear();
@@ -28,6 +28,10 @@ import tools.refinery.interpreter.rete.single.TransitiveClosureNode;
 import tools.refinery.interpreter.rete.single.TrimmerNode;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An instance of this class is associated with every {@link ReteContainer}. The tracker serves two purposes: <br>
@@ -78,6 +82,28 @@ public abstract class CommunicationTracker {
     // groups should have a simple integer flag which represents its position in a priority queue
     // priority queue only contains the ACTIVE groups
 
+    /**
+     * Incremented whenever the dependency graph changes to invalidate {@link #independentComponents}.
+     */
+    private int structureVersion;
+
+    private int independentComponentsVersion = -1;
+
+    /**
+     * Node -> index of the weakly connected component of the dependency graph without the shared input nodes
+     */
+    private Map<Node, Integer> independentComponents = Map.of();
+
+    /**
+     * Component index -> queue of active groups while delivering messages in parallel, null otherwise
+     */
+    private volatile Map<Integer, Queue<CommunicationGroup>> componentQueues;
+
+    /**
+     * Callbacks to external listeners postponed until the end of parallel message delivery
+     */
+    private final Queue<Runnable> deferredCallbacks = new ConcurrentLinkedQueue<>();
+
     public CommunicationTracker(Logger logger) {
         this.dependencyGraph = new Graph<Node>();
 		this.componentDetector = new NetworkComponentDetector(logger, dependencyGraph);
@@ -260,15 +286,190 @@ public abstract class CommunicationTracker {
     }
 
     public void activateUnenqueued(final CommunicationGroup group) {
-        groupQueue.add(group);
+        final Map<Integer, Queue<CommunicationGroup>> queues = componentQueues;
+        if (queues == null) {
+            groupQueue.add(group);
+        } else {
+            final Queue<CommunicationGroup> queue = queues.get(getComponent(group));
+            if (queue == null) {
+                throw new IllegalStateException("Group " + group
+                        + " was activated from another component while delivering messages in parallel");
+            }
+            queue.add(group);
+        }
         group.isEnqueued = true;
     }
 
     public void deactivate(final CommunicationGroup group) {
-        groupQueue.remove(group);
+        final Map<Integer, Queue<CommunicationGroup>> queues = componentQueues;
+        final Queue<CommunicationGroup> queue = queues == null ? null : queues.get(getComponent(group));
+        if (queue == null) {
+            groupQueue.remove(group);
+        } else {
+            queue.remove(group);
+        }
         group.isEnqueued = false;
     }
 
+    /**
+     * Returns true if messages are being delivered in parallel by {@link #deliverMessagesInParallel(ForkJoinPool)}.
+     * Nodes must not call back into external code from worker threads, see {@link #deferCallback(Runnable)}.
+     */
+    public boolean isDeliveringInParallel() {
+        return componentQueues != null;
+    }
+
+    /**
+     * Postpones a callback to external code until parallel message delivery finishes. Callbacks deferred by the same
+     * component are executed in the order they were deferred on the thread that initiated message delivery.
+     */
+    public void deferCallback(final Runnable callback) {
+        deferredCallbacks.add(callback);
+    }
+
+    /**
+     * Delivers all pending messages, processing independent parts of the network on the given pool.
+     * <p>
+     * The groups of nodes that receive updates from outside the network are shared by all queries, so they are
+     * delivered first on the calling thread. Afterwards, the active groups are partitioned according to the weakly
+     * connected components of the dependency graph without the shared input nodes and their indexers. Components
+     * cannot exchange messages, so each component delivers its groups in topological order on a separate worker,
+     * while joins only read the (already settled) indexers of the shared input nodes.
+     */
+    public void deliverMessagesInParallel(final ForkJoinPool pool) {
+        while (!groupQueue.isEmpty()) {
+            deliverSharedGroups();
+            final Map<Integer, Queue<CommunicationGroup>> queues = new HashMap<>();
+            for (final CommunicationGroup group : groupQueue) {
+                queues.computeIfAbsent(getComponent(group), ignored -> new PriorityQueue<>()).add(group);
+            }
+            if (queues.size() <= 1) {
+                // Not worth to fork for a single component.
+                while (!groupQueue.isEmpty()) {
+                    getAndRemoveFirstGroup().deliverMessages();
+                }
+                return;
+            }
+            groupQueue.clear();
+            final List<Callable<Void>> tasks = new ArrayList<>(queues.size());
+            for (final Queue<CommunicationGroup> queue : queues.values()) {
+                tasks.add(() -> {
+                    deliverAll(queue);
+                    return null;
+                });
+            }
+            componentQueues = queues;
+            try {
+                for (final var future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while delivering messages", e);
+            } catch (ExecutionException e) {
+                // All workers have finished, but the failed ones have left their remaining groups enqueued.
+                requeuePendingGroups(queues);
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Failed to deliver messages", cause);
+            } finally {
+                componentQueues = null;
+            }
+            Runnable callback;
+            while ((callback = deferredCallbacks.poll()) != null) {
+                callback.run();
+            }
+        }
+    }
+
+    private void deliverSharedGroups() {
+        final List<CommunicationGroup> sharedGroups = new ArrayList<>();
+        for (final CommunicationGroup group : groupQueue) {
+            if (getComponent(group) < 0) {
+                sharedGroups.add(group);
+            }
+        }
+        // Shared groups have no incoming dependencies, so they can be delivered before all other groups.
+        // They do not activate each other, either.
+        Collections.sort(sharedGroups);
+        for (final CommunicationGroup group : sharedGroups) {
+            deactivate(group);
+            group.deliverMessages();
+        }
+    }
+
+    /**
+     * Moves the groups a failed parallel delivery could not deliver back to the sequential queue, so that they remain
+     * consistent with their {@code isEnqueued} flags and will be delivered by the next call to deliver messages.
+     */
+    private void requeuePendingGroups(final Map<Integer, Queue<CommunicationGroup>> queues) {
+        for (final Queue<CommunicationGroup> queue : queues.values()) {
+            groupQueue.addAll(queue);
+            queue.clear();
+        }
+    }
+
+    private static void deliverAll(final Queue<CommunicationGroup> queue) {
+        while (!queue.isEmpty()) {
+            final CommunicationGroup group = queue.poll();
+            group.isEnqueued = false;
+            group.deliverMessages();
+        }
+    }
+
+    /**
+     * Returns the index of the independent component of the group, or -1 if the group must be delivered on the
+     * calling thread.
+     */
+    private int getComponent(final CommunicationGroup group) {
+        if (independentComponentsVersion != structureVersion) {
+            independentComponents = computeIndependentComponents();
+            independentComponentsVersion = structureVersion;
+        }
+        return independentComponents.getOrDefault(group.getRepresentative(), -1);
+    }
+
+    private Map<Node, Integer> computeIndependentComponents() {
+        final Map<Node, Integer> components = new HashMap<>();
+        final Deque<Node> stack = new ArrayDeque<>();
+        int nextComponent = 0;
+        for (final Node root : dependencyGraph.getAllNodes()) {
+            if (isSharedNode(root) || components.containsKey(root)) {
+                continue;
+            }
+            final int component = nextComponent;
+            nextComponent++;
+            components.put(root, component);
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                final Node node = stack.pop();
+                for (final Node neighbor : dependencyGraph.getSourceNodes(node).distinctValues()) {
+                    if (!isSharedNode(neighbor) && components.putIfAbsent(neighbor, component) == null) {
+                        stack.push(neighbor);
+                    }
+                }
+                for (final Node neighbor : dependencyGraph.getTargetNodes(node).distinctValues()) {
+                    if (!isSharedNode(neighbor) && components.putIfAbsent(neighbor, component) == null) {
+                        stack.push(neighbor);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    private static boolean isSharedNode(final Node node) {
+        if (node instanceof Indexer indexer) {
+            return indexer.getActiveNode() instanceof ExternalInputEnumeratorNode;
+        }
+        return node instanceof ExternalInputEnumeratorNode;
+    }
+
     public CommunicationGroup getAndRemoveFirstGroup() {
         final CommunicationGroup group = groupQueue.poll();
 		if (group == null) {
@@ -306,6 +507,7 @@ public abstract class CommunicationTracker {
         dependencyGraph.insertNode(target);
 
         if (!this.dependencyGraph.getTargetNodes(source).containsNonZero(target)) {
+            structureVersion++;
 
             // query all these information before the actual edge insertion
             // because SCCs may be unified during the process
@@ -395,6 +597,7 @@ public abstract class CommunicationTracker {
     public void unregisterDependency(final Node source, final Node target) {
         // delete the edge first, and then query the SCC info provider
         this.dependencyGraph.deleteEdgeIfExists(source, target);
+        structureVersion++;
 
         final Node sourceRepresentative = getRepresentative(source);
         final Node targetRepresentative = getRepresentative(target);
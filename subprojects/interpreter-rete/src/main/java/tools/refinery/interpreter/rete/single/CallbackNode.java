@@ -9,6 +9,7 @@
 package tools.refinery.interpreter.rete.single;
 
 import tools.refinery.interpreter.rete.network.ReteContainer;
+import tools.refinery.interpreter.rete.network.communication.CommunicationTracker;
 import tools.refinery.interpreter.rete.network.communication.Timestamp;
 import tools.refinery.interpreter.matchers.backend.IUpdateable;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
@@ -31,7 +32,14 @@ public class CallbackNode extends SimpleReceiver {
 
     @Override
     public void update(Direction direction, Tuple updateElement, Timestamp timestamp) {
-        updateable.update(updateElement, direction == Direction.INSERT);
+        final boolean isInsertion = direction == Direction.INSERT;
+        final CommunicationTracker tracker = reteContainer.getCommunicationTracker();
+        if (tracker.isDeliveringInParallel()) {
+            // External listeners are not prepared to be called from multiple threads.
+            tracker.deferCallback(() -> updateable.update(updateElement, isInsertion));
+        } else {
+            updateable.update(updateElement, isInsertion);
+        }
     }
 
 }
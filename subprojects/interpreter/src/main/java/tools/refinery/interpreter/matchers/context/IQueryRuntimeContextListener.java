@@ -10,6 +10,8 @@ package tools.refinery.interpreter.matchers.context;
 
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 
+import java.util.Collection;
+
 /**
  * Listens for changes in the runtime context.
  * @author Bergmann Gabor
@@ -24,4 +26,21 @@ public interface IQueryRuntimeContextListener {
      * @param isInsertion true if it was an insertion, false otherwise.
      */
     public void update(IInputKey key, Tuple updateTuple, boolean isInsertion);
+
+    /**
+     * All of the given tuples were inserted into or removed from the input relation indicated by the given key.
+     * <p>
+     * Runtime contexts may call this method instead of {@link #update(IInputKey, Tuple, boolean)} to report a batch
+     * of changes, e.g., when the model is restored to a different version. Listeners that can process the whole
+     * batch at once should override it.
+     *
+     * @param key the key identifying the input relation that was updated
+     * @param updateTuples the tuples that were inserted or removed
+     * @param isInsertion true if they were insertions, false otherwise.
+     */
+    public default void updateAll(IInputKey key, Collection<Tuple> updateTuples, boolean isInsertion) {
+        for (Tuple updateTuple : updateTuples) {
+            update(key, updateTuple, isInsertion);
+        }
+    }
 }
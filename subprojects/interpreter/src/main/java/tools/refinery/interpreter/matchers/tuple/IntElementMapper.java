@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Maps between {@code int} values stored in an {@link IntFlatTuple} and the elements exposed by the tuple.
+ * <p>
+ * Implementations must be consistent with the {@link Object#equals(Object)} and {@link Object#hashCode()} methods of
+ * the mapped elements, so that int-specialized tuples are equal to other tuples with the same elements.
+ * </p>
+ */
+public interface IntElementMapper {
+	/**
+	 * Gets the element represented by an {@code int} value.
+	 *
+	 * @param value The {@code int} value.
+	 * @return The element, which must be equal to the elements returned for the same value earlier.
+	 */
+	Object toElement(int value);
+
+	/**
+	 * Computes the hash code of the element represented by an {@code int} value without creating the element.
+	 *
+	 * @param value The {@code int} value.
+	 * @return The hash code of {@code toElement(value)}.
+	 */
+	int elementHashCode(int value);
+}
@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Base class for flat tuples that store their elements as {@code int} values.
+ * <p>
+ * Elements are only materialized by the {@link IntElementMapper} when they are accessed with {@link #get(int)}.
+ * Hashing, comparison with other int-specialized tuples, and projection with a {@link TupleMask} work directly on the
+ * {@code int} values. Obtain instances via {@link Tuples#intFlatTupleOf(IntElementMapper, int...)}.
+ * </p>
+ */
+public abstract sealed class IntFlatTuple extends BaseFlatTuple permits IntFlatTuple1, IntFlatTuple2,
+		IntFlatTuple3, IntFlatTuple4, WideIntFlatTuple {
+	protected final IntElementMapper mapper;
+
+	protected IntFlatTuple(IntElementMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	public IntElementMapper getMapper() {
+		return mapper;
+	}
+
+	public abstract int getInt(int index);
+
+	@Override
+	public Object get(int index) {
+		return mapper.toElement(getInt(index));
+	}
+
+	/**
+	 * Creates a new int-specialized tuple from the given positions of this tuple.
+	 *
+	 * @param indices The positions to keep.
+	 * @return The projected tuple.
+	 */
+	public Tuple project(int[] indices) {
+		return switch (indices.length) {
+			case 0 -> FlatTuple0.INSTANCE;
+			case 1 -> new IntFlatTuple1(mapper, getInt(indices[0]));
+			case 2 -> new IntFlatTuple2(mapper, getInt(indices[0]), getInt(indices[1]));
+			case 3 -> new IntFlatTuple3(mapper, getInt(indices[0]), getInt(indices[1]), getInt(indices[2]));
+			case 4 -> new IntFlatTuple4(mapper, getInt(indices[0]), getInt(indices[1]), getInt(indices[2]),
+					getInt(indices[3]));
+			default -> {
+				var values = new int[indices.length];
+				for (int i = 0; i < indices.length; i++) {
+					values[i] = getInt(indices[i]);
+				}
+				yield new WideIntFlatTuple(mapper, values);
+			}
+		};
+	}
+
+	@Override
+	protected int doCalcHash() {
+		// Must agree with the hash code of flat tuples holding the same elements.
+		int hash = 1;
+		int size = getSize();
+		for (int i = 0; i < size; i++) {
+			hash = 31 * hash + mapper.elementHashCode(getInt(i));
+		}
+		return hash;
+	}
+
+	@Override
+	protected boolean internalEquals(ITuple other) {
+		if (other instanceof IntFlatTuple otherIntTuple && mapper == otherIntTuple.mapper) {
+			int size = getSize();
+			if (size != otherIntTuple.getSize()) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (getInt(i) != otherIntTuple.getInt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return super.internalEquals(other);
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Int-specialized flat tuple with statically known arity of 1.
+ */
+public final class IntFlatTuple1 extends IntFlatTuple {
+	private final int value0;
+
+	IntFlatTuple1(IntElementMapper mapper, int value0) {
+		super(mapper);
+		this.value0 = value0;
+		calcHash();
+	}
+
+	@Override
+	public int getSize() {
+		return 1;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return switch (index) {
+			case 0 -> value0;
+			default -> throw raiseIndexingError(index);
+		};
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Int-specialized flat tuple with statically known arity of 2.
+ */
+public final class IntFlatTuple2 extends IntFlatTuple {
+	private final int value0;
+	private final int value1;
+
+	IntFlatTuple2(IntElementMapper mapper, int value0, int value1) {
+		super(mapper);
+		this.value0 = value0;
+		this.value1 = value1;
+		calcHash();
+	}
+
+	@Override
+	public int getSize() {
+		return 2;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return switch (index) {
+			case 0 -> value0;
+			case 1 -> value1;
+			default -> throw raiseIndexingError(index);
+		};
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Int-specialized flat tuple with statically known arity of 3.
+ */
+public final class IntFlatTuple3 extends IntFlatTuple {
+	private final int value0;
+	private final int value1;
+	private final int value2;
+
+	IntFlatTuple3(IntElementMapper mapper, int value0, int value1, int value2) {
+		super(mapper);
+		this.value0 = value0;
+		this.value1 = value1;
+		this.value2 = value2;
+		calcHash();
+	}
+
+	@Override
+	public int getSize() {
+		return 3;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return switch (index) {
+			case 0 -> value0;
+			case 1 -> value1;
+			case 2 -> value2;
+			default -> throw raiseIndexingError(index);
+		};
+	}
+}
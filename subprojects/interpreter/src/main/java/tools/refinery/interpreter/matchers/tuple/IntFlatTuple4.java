@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Int-specialized flat tuple with statically known arity of 4.
+ */
+public final class IntFlatTuple4 extends IntFlatTuple {
+	private final int value0;
+	private final int value1;
+	private final int value2;
+	private final int value3;
+
+	IntFlatTuple4(IntElementMapper mapper, int value0, int value1, int value2, int value3) {
+		super(mapper);
+		this.value0 = value0;
+		this.value1 = value1;
+		this.value2 = value2;
+		this.value3 = value3;
+		calcHash();
+	}
+
+	@Override
+	public int getSize() {
+		return 4;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return switch (index) {
+			case 0 -> value0;
+			case 1 -> value1;
+			case 2 -> value2;
+			case 3 -> value3;
+			default -> throw raiseIndexingError(index);
+		};
+	}
+}
@@ -307,6 +307,10 @@ public class TupleMask {
      * @since 1.7
      */
     public Tuple transform(ITuple original) {
+        if (original instanceof IntFlatTuple intFlatTuple) {
+            // Avoid materializing the elements of int-specialized tuples.
+            return intFlatTuple.project(indices);
+        }
         switch (indices.length) {
         case 0:
             return FlatTuple0.INSTANCE;
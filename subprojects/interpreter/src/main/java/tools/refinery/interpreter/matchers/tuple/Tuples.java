@@ -50,6 +50,27 @@ public class Tuples {
             return new FlatTuple(elements);
         }
     }
+    /**
+     * Creates a flat tuple that stores its elements as {@code int} values.
+     * The elements of the tuple are obtained from the values via the given mapper on demand,
+     * so the tuple will be equal to a {@link #flatTupleOf(Object...) flat tuple} of the mapped elements.
+     */
+    public static Tuple intFlatTupleOf(IntElementMapper mapper, int... values) {
+        switch (values.length) {
+        case 0:
+            return FlatTuple0.INSTANCE;
+        case 1:
+            return new IntFlatTuple1(mapper, values[0]);
+        case 2:
+            return new IntFlatTuple2(mapper, values[0], values[1]);
+        case 3:
+            return new IntFlatTuple3(mapper, values[0], values[1], values[2]);
+        case 4:
+            return new IntFlatTuple4(mapper, values[0], values[1], values[2], values[3]);
+        default:
+            return new WideIntFlatTuple(mapper, values.clone());
+        }
+    }
     /**
      * Creates a left inheritance tuple that extends an ancestor tuple
      *  by the given "local" elements.
@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+import java.util.Arrays;
+
+/**
+ * Int-specialized flat tuple with statically unknown arity.
+ */
+public final class WideIntFlatTuple extends IntFlatTuple {
+	private final int[] values;
+
+	WideIntFlatTuple(IntElementMapper mapper, int[] values) {
+		super(mapper);
+		this.values = values;
+		calcHash();
+	}
+
+	@Override
+	public int getSize() {
+		return values.length;
+	}
+
+	@Override
+	public int getInt(int index) {
+		if (index < 0 || index >= values.length) {
+			throw raiseIndexingError(index);
+		}
+		return values[index];
+	}
+
+	@Override
+	protected boolean internalEquals(ITuple other) {
+		if (other instanceof WideIntFlatTuple otherWideTuple && mapper == otherWideTuple.mapper) {
+			return Arrays.equals(values, otherWideTuple.values);
+		}
+		return super.internalEquals(other);
+	}
+}
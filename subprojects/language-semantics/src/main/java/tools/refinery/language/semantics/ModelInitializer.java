@@ -6,6 +6,7 @@
 package tools.refinery.language.semantics;
 
 import com.google.inject.Inject;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.language.library.BuiltinLibrary;
 import tools.refinery.language.model.problem.*;
 import tools.refinery.language.scoping.imports.ImportAdapterProvider;
@@ -84,7 +85,8 @@ public class ModelInitializer {
 
 	private Problem problem;
 
-	private final Set<Problem> importedProblems = new HashSet<>();
+	// Use a deterministic iteration order so that equal problems are translated to equal node identifiers and symbols.
+	private final Set<Problem> importedProblems = new LinkedHashSet<>();
 
 	private BuiltinSymbols builtinSymbols;
 
@@ -112,13 +114,46 @@ public class ModelInitializer {
 
 	private int ruleCount;
 
+	private boolean problemRead;
+
+	private SymbolTable reusedSymbols;
+
+	private final Map<String, PartialRelation> partialRelationsByName = new LinkedHashMap<>();
+
+	private final Map<String, List<Rule>> rulesByName = new LinkedHashMap<>();
+
 	public void readProblem(Problem problem) {
+		loadProblem(problem);
+		readProblem();
+	}
+
+	/**
+	 * Sets the problem to translate and collects its imports without translating it.
+	 * <p>
+	 * Afterwards, {@link #getImportedProblems()} may be used to decide whether the symbols of a previous translation
+	 * can be {@link #setReusedSymbols(SymbolTable) reused} before translating the problem with {@link #readProblem()}.
+	 * </p>
+	 *
+	 * @param problem The problem to translate.
+	 */
+	public void loadProblem(Problem problem) {
 		if (this.problem != null) {
 			throw new IllegalArgumentException("Problem was already set");
 		}
 		this.problem = problem;
 		loadImportedProblems();
 		importedProblems.add(problem);
+	}
+
+	/**
+	 * Translates the problem set by {@link #loadProblem(Problem)}.
+	 */
+	public void readProblem() {
+		checkProblem();
+		if (problemRead) {
+			throw new IllegalStateException("Problem was already read");
+		}
+		problemRead = true;
 		mutableRelationCollector.collectMutableRelations(importedProblems);
 		problemTrace.setProblem(problem);
 		queryCompiler.setProblemTrace(problemTrace);
@@ -227,6 +262,36 @@ public class ModelInitializer {
 		return getModelSeed();
 	}
 
+	/**
+	 * Makes the translation reuse the partial relations and rules of a previous translation if they have the same
+	 * name.
+	 * <p>
+	 * Must be called before {@link #readProblem()}. The previous translation must be of a problem with the same
+	 * structure, i.e., one that only differs from the current problem in its assertions.
+	 * </p>
+	 *
+	 * @param reusedSymbols The symbols of the previous translation, or {@code null} to always create new symbols.
+	 */
+	public void setReusedSymbols(@Nullable SymbolTable reusedSymbols) {
+		if (problemRead) {
+			throw new IllegalStateException("Problem was already read");
+		}
+		this.reusedSymbols = reusedSymbols;
+	}
+
+	/**
+	 * Gets the partial relations and rules created by this initializer.
+	 * <p>
+	 * Rules are only created by {@link #configureStoreBuilder(ModelStoreBuilder)}.
+	 * </p>
+	 *
+	 * @return The symbols indexed by their names.
+	 */
+	public SymbolTable getSymbolTable() {
+		checkProblem();
+		return new SymbolTable(partialRelationsByName, rulesByName);
+	}
+
 	public ProblemTrace getProblemTrace() {
 		checkProblem();
 		return problemTrace;
@@ -237,6 +302,16 @@ public class ModelInitializer {
 		return modelSeed;
 	}
 
+	/**
+	 * Gets the problems that were read by this initializer.
+	 *
+	 * @return The transitively imported problems in the order of translation followed by the problem itself.
+	 */
+	public Collection<Problem> getImportedProblems() {
+		checkProblem();
+		return Collections.unmodifiableSet(importedProblems);
+	}
+
 	private void collectNodes() {
 		for (var importedProblem : importedProblems) {
 			for (var statement : importedProblem.getStatements()) {
@@ -324,13 +399,22 @@ public class ModelInitializer {
 												TruthValue defaultValue) {
 		return relationInfoMap.computeIfAbsent(relation, key -> {
 			var name = getName(relation);
-			var info = new RelationInfo(name, arity, value, defaultValue);
+			var info = new RelationInfo(getOrCreatePartialRelation(name, arity), value, defaultValue);
 			partialRelationInfoMap.put(info.partialRelation(), info);
 			problemTrace.putRelation(relation, info.partialRelation());
 			return info;
 		});
 	}
 
+	private PartialRelation getOrCreatePartialRelation(String name, int arity) {
+		var partialRelation = reusedSymbols == null ? null : reusedSymbols.getPartialRelation(name, arity);
+		if (partialRelation == null) {
+			partialRelation = new PartialRelation(name, arity);
+		}
+		partialRelationsByName.put(name, partialRelation);
+		return partialRelation;
+	}
+
 	private String getName(Relation relation) {
 		return semanticsUtils.getNameWithoutRootPrefix(relation).orElseGet(() -> "::" + relationInfoMap.size());
 	}
@@ -763,10 +847,6 @@ public class ModelInitializer {
 
 	private record RelationInfo(PartialRelation partialRelation, MutableSeed<TruthValue> assertions,
 								MutableSeed<TruthValue> defaultAssertions) {
-		public RelationInfo(String name, int arity, TruthValue value, TruthValue defaultValue) {
-			this(new PartialRelation(name, arity), value, defaultValue);
-		}
-
 		public RelationInfo(PartialRelation partialRelation, TruthValue value, TruthValue defaultValue) {
 			this(partialRelation, MutableSeed.of(partialRelation.arity(), value),
 					MutableSeed.of(partialRelation.arity(), defaultValue));
@@ -801,34 +881,35 @@ public class ModelInitializer {
 			ruleCount++;
 			switch (ruleDefinition.getKind()) {
 			case DECISION -> {
-				var rule = ruleCompiler.toDecisionRule(name, ruleDefinition);
+				var rule = reuseRule(name, ruleCompiler.toDecisionRule(name, ruleDefinition));
 				problemTrace.putRuleDefinition(ruleDefinition, rule);
 				storeBuilder.tryGetAdapter(DesignSpaceExplorationBuilder.class)
 						.ifPresent(dseBuilder -> dseBuilder.transformation(rule));
 			}
 			case PROPAGATION -> {
-				var rules = new ArrayList<Rule>();
-				var propagationRules = ruleCompiler.toPropagationRules(name, ruleDefinition,
-						ConcretenessSpecification.PARTIAL);
-				var concretizationRules = ruleCompiler.toPropagationRules(name, ruleDefinition,
-						ConcretenessSpecification.CANDIDATE);
-				rules.addAll(propagationRules);
-				rules.addAll(concretizationRules);
-				problemTrace.putPropagationRuleDefinition(ruleDefinition, List.copyOf(rules));
+				var compiledRules = new ArrayList<Rule>();
+				compiledRules.addAll(ruleCompiler.toPropagationRules(name, ruleDefinition,
+						ConcretenessSpecification.PARTIAL));
+				int propagationRuleCount = compiledRules.size();
+				compiledRules.addAll(ruleCompiler.toPropagationRules(name, ruleDefinition,
+						ConcretenessSpecification.CANDIDATE));
+				var rules = reuseRules(name, compiledRules);
+				problemTrace.putPropagationRuleDefinition(ruleDefinition, rules);
 				storeBuilder.tryGetAdapter(PropagationBuilder.class).ifPresent(propagationBuilder -> {
-					propagationBuilder.rules(propagationRules);
-					propagationBuilder.concretizationRules(concretizationRules);
+					propagationBuilder.rules(rules.subList(0, propagationRuleCount));
+					propagationBuilder.concretizationRules(rules.subList(propagationRuleCount, rules.size()));
 				});
 			}
 			case CONCRETIZATION -> {
-				var rules = ruleCompiler.toPropagationRules(name, ruleDefinition, ConcretenessSpecification.CANDIDATE);
+				var rules = reuseRules(name, ruleCompiler.toPropagationRules(name, ruleDefinition,
+						ConcretenessSpecification.CANDIDATE));
 				problemTrace.putPropagationRuleDefinition(ruleDefinition, rules);
 				storeBuilder.tryGetAdapter(PropagationBuilder.class)
 						.ifPresent(propagationBuilder -> propagationBuilder.concretizationRules(rules));
 			}
 			case REFINEMENT -> {
 				// Rules not marked for decision or propagation are not invoked automatically.
-				var rule = ruleCompiler.toRule(name, ruleDefinition);
+				var rule = reuseRule(name, ruleCompiler.toRule(name, ruleDefinition));
 				problemTrace.putRuleDefinition(ruleDefinition, rule);
 			}
 			}
@@ -844,4 +925,18 @@ public class ModelInitializer {
 			throw TracedException.addTrace(ruleDefinition, e);
 		}
 	}
+
+	private Rule reuseRule(String name, Rule compiledRule) {
+		return reuseRules(name, List.of(compiledRule)).getFirst();
+	}
+
+	private List<Rule> reuseRules(String name, Collection<Rule> compiledRules) {
+		// We still compile the rules to report errors in their definitions, but the model store must be used with the
+		// rules it was built with.
+		var reusedRules = reusedSymbols == null ? null : reusedSymbols.getRules(name);
+		var rules = reusedRules != null && reusedRules.size() == compiledRules.size() ? reusedRules :
+				List.copyOf(compiledRules);
+		rulesByName.put(name, rules);
+		return rules;
+	}
 }
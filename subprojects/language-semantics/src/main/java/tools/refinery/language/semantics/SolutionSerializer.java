@@ -37,6 +37,7 @@ import tools.refinery.store.tuple.Tuple;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
@@ -69,6 +70,9 @@ public class SolutionSerializer {
 	@Inject
 	private SignatureProvider signatureProvider;
 
+	@Inject
+	private Provider<SolutionWriter> solutionWriterProvider;
+
 	private ProblemTrace trace;
 	private Model model;
 	private ReasoningAdapter reasoningAdapter;
@@ -127,6 +131,12 @@ public class SolutionSerializer {
 		return problem;
 	}
 
+	public void writeSolution(ProblemTrace trace, Model model, Writer writer) throws IOException {
+		var solutionWriter = solutionWriterProvider.get();
+		solutionWriter.setPreserveNewNodes(preserveNewNodes);
+		solutionWriter.writeSolution(trace, model, writer);
+	}
+
 	private static boolean shouldRemoveStatement(Statement statement) {
 		return statement instanceof Assertion || statement instanceof ScopeDeclaration;
 	}
@@ -0,0 +1,435 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.semantics;
+
+import com.google.inject.Inject;
+import org.eclipse.collections.api.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.IScopeProvider;
+import org.eclipse.xtext.serializer.ISerializer;
+import tools.refinery.language.model.problem.*;
+import tools.refinery.language.scoping.imports.ImportAdapterProvider;
+import tools.refinery.language.typesystem.SignatureProvider;
+import tools.refinery.language.utils.ProblemUtil;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.interpretation.PartialInterpretation;
+import tools.refinery.store.reasoning.literal.Concreteness;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.translator.typehierarchy.InferredType;
+import tools.refinery.store.reasoning.translator.typehierarchy.TypeHierarchyTranslator;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Writes a concrete model as the text of a {@code .problem} file without building an EMF copy of the problem.
+ * <p>
+ * The output has the same statements as the {@link Problem} created by {@link SolutionSerializer}, but assertions
+ * for reference and predicate tuples are written in the order of the interpretation cursors instead of being sorted.
+ * Apart from the text of the original problem, only the names of the nodes are kept in memory.
+ * </p>
+ */
+public class SolutionWriter {
+	private static final String NEW_LINE = "\n";
+
+	@Inject
+	private IScopeProvider scopeProvider;
+
+	@Inject
+	private IQualifiedNameConverter qualifiedNameConverter;
+
+	@Inject
+	private ImportAdapterProvider importAdapterProvider;
+
+	@Inject
+	private SignatureProvider signatureProvider;
+
+	@Inject
+	private ISerializer serializer;
+
+	private ProblemTrace trace;
+	private Model model;
+	private Writer writer;
+	private ReasoningAdapter reasoningAdapter;
+	private PartialInterpretation<TruthValue, Boolean> existsInterpretation;
+	private Problem problem;
+	private IScope nodeScope;
+	private IScope relationScope;
+	private final Map<Relation, String> relationNames = new HashMap<>();
+	private final MutableObjectIntMap<String> nodeNameIndices = ObjectIntMaps.mutable.empty();
+	private String[] nodeNames;
+	private boolean hasNodeDeclaration;
+	private boolean preserveNewNodes;
+
+	public boolean isPreserveNewNodes() {
+		return preserveNewNodes;
+	}
+
+	public void setPreserveNewNodes(boolean preserveNewNodes) {
+		this.preserveNewNodes = preserveNewNodes;
+	}
+
+	public void writeSolution(ProblemTrace trace, Model model, Writer writer) throws IOException {
+		if (this.writer != null) {
+			throw new IllegalStateException("Solution was already written");
+		}
+		this.trace = trace;
+		this.model = model;
+		this.writer = writer;
+		reasoningAdapter = model.getAdapter(ReasoningAdapter.class);
+		existsInterpretation = reasoningAdapter.getPartialInterpretation(Concreteness.CANDIDATE,
+				ReasoningAdapter.EXISTS_SYMBOL);
+		problem = trace.getProblem();
+		nodeScope = scopeProvider.getScope(problem, ProblemPackage.Literals.NODE_ASSERTION_ARGUMENT__NODE);
+		relationScope = scopeProvider.getScope(problem, ProblemPackage.Literals.ASSERTION__RELATION);
+		nodeNames = new String[reasoningAdapter.getNodeCount()];
+		writeStatements();
+		// Sort the original nodes to make sure to output exists assertions in a deterministic order.
+		var sortedOriginalNodes = new TreeMap<Integer, Node>();
+		for (var pair : trace.getNodeTrace().keyValuesView()) {
+			sortedOriginalNodes.put(pair.getTwo(), pair.getOne());
+		}
+		writeNodeDeclaration(sortedOriginalNodes);
+		writeExistsAssertions(sortedOriginalNodes);
+		writeClassAssertions();
+		writeReferenceAssertions();
+		writeBasePredicateAssertions();
+		writeComputedPredicateAssertions();
+		writer.flush();
+	}
+
+	private void writeStatements() throws IOException {
+		boolean first = true;
+		for (var statement : problem.getStatements()) {
+			if (statement instanceof Assertion || statement instanceof ScopeDeclaration) {
+				continue;
+			}
+			var text = getStatementText(statement);
+			if (first) {
+				// The module header of the original problem is not preserved.
+				text = text.stripLeading();
+				first = false;
+			}
+			writer.write(text);
+		}
+		if (!first) {
+			writer.write(NEW_LINE);
+			writer.write(NEW_LINE);
+		}
+	}
+
+	private String getStatementText(Statement statement) {
+		var node = NodeModelUtils.getNode(statement);
+		if (node != null) {
+			return node.getText();
+		}
+		return NEW_LINE + serializer.serialize(statement);
+	}
+
+	private boolean isExistingNode(int nodeId) {
+		var exists = existsInterpretation.get(Tuple.of(nodeId));
+		if (!exists.isConcrete()) {
+			throw new IllegalStateException("Invalid EXISTS %s for node %d".formatted(exists, nodeId));
+		}
+		return exists.may();
+	}
+
+	private boolean isPreservedNode(Node originalNode, int nodeId) {
+		if (ProblemUtil.isMultiNode(originalNode)) {
+			// If a node is a new node of the class, we should replace it with a normal node unless
+			// {@code preserveNewNodes} is set.
+			return preserveNewNodes && isExistingNode(nodeId);
+		}
+		return isExistingNode(nodeId);
+	}
+
+	private void writeNodeDeclaration(Map<Integer, Node> sortedOriginalNodes) throws IOException {
+		for (var entry : sortedOriginalNodes.entrySet()) {
+			int nodeId = entry.getKey();
+			var originalNode = entry.getValue();
+			if (isPreservedNode(originalNode, nodeId)) {
+				var name = getCrossReferenceName(nodeScope, originalNode);
+				nodeNames[nodeId] = name;
+				// Implicit nodes were declared by the assertions that we do not copy.
+				if (ProblemUtil.isImplicitNode(originalNode) && originalNode.eResource() == problem.eResource()) {
+					writeDeclaredNodeName(name);
+				}
+			}
+		}
+		var typeInterpretation = model.getInterpretation(TypeHierarchyTranslator.TYPE_SYMBOL);
+		int nodeCount = nodeNames.length;
+		for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+			if (nodeNames[nodeId] != null || !isExistingNode(nodeId)) {
+				continue;
+			}
+			var candidateRelation = getCandidateRelation(typeInterpretation, nodeId);
+			// Type assertions for enum literals are added implicitly.
+			if (candidateRelation != null && !(candidateRelation instanceof EnumDeclaration)) {
+				var name = getNextNodeName(candidateRelation.getName());
+				nodeNames[nodeId] = name;
+				writeDeclaredNodeName(name);
+			}
+		}
+		if (hasNodeDeclaration) {
+			writer.write(".");
+			writer.write(NEW_LINE);
+		}
+	}
+
+	private void writeDeclaredNodeName(String name) throws IOException {
+		writer.write(hasNodeDeclaration ? ", " : "declare ");
+		writer.write(name);
+		hasNodeDeclaration = true;
+	}
+
+	private Relation getCandidateRelation(Interpretation<InferredType> typeInterpretation, int nodeId) {
+		var candidateTypeSymbol = typeInterpretation.get(Tuple.of(nodeId)).candidateType();
+		return candidateTypeSymbol == null ? null : trace.getRelation(candidateTypeSymbol);
+	}
+
+	private String getNextNodeName(String typeName) {
+		String namePrefix;
+		if (typeName == null || typeName.isEmpty()) {
+			namePrefix = "node";
+		} else {
+			namePrefix = typeName.substring(0, 1).toLowerCase(Locale.ROOT) + typeName.substring(1);
+		}
+		// Keep names generated for different types distinct if a type name ends with a digit.
+		char lastCharacter = namePrefix.charAt(namePrefix.length() - 1);
+		var separator = Character.isDigit(lastCharacter) || lastCharacter == '_' ? "_" : "";
+		int index = nodeNameIndices.getIfAbsent(namePrefix, 0);
+		QualifiedName qualifiedName;
+		do {
+			index++;
+			qualifiedName = QualifiedName.create(namePrefix + separator + index);
+		} while (nodeScope.getSingleElement(qualifiedName) != null);
+		nodeNameIndices.put(namePrefix, index);
+		return qualifiedNameConverter.toString(qualifiedName);
+	}
+
+	private String getCrossReferenceName(IScope scope, EObject target) {
+		var targetUri = EcoreUtil2.getPlatformResourceOrNormalizedURI(target);
+		QualifiedName shortestName = null;
+		for (var description : scope.getElements(target)) {
+			var qualifiedName = description.getName();
+			if (shortestName != null && qualifiedName.getSegmentCount() >= shortestName.getSegmentCount()) {
+				continue;
+			}
+			var iterator = scope.getElements(qualifiedName).iterator();
+			if (iterator.hasNext() && targetUri.equals(iterator.next().getEObjectURI()) && !iterator.hasNext()) {
+				shortestName = qualifiedName;
+			}
+		}
+		if (shortestName == null) {
+			throw new IllegalStateException("No unique name for %s in scope".formatted(target));
+		}
+		return qualifiedNameConverter.toString(shortestName);
+	}
+
+	private String getRelationName(Relation relation) {
+		var name = relationNames.get(relation);
+		if (name == null) {
+			name = getCrossReferenceName(relationScope, relation);
+			relationNames.put(relation, name);
+		}
+		return name;
+	}
+
+	private String getPartialRelationName(PartialRelation partialRelation) {
+		return getRelationName(trace.getRelation(partialRelation));
+	}
+
+	private void writeExistsAssertions(Map<Integer, Node> sortedOriginalNodes) throws IOException {
+		var builtinSymbols = importAdapterProvider.getBuiltinSymbols(problem);
+		var existsName = getRelationName(builtinSymbols.exists());
+		for (var entry : sortedOriginalNodes.entrySet()) {
+			int nodeId = entry.getKey();
+			var originalNode = entry.getValue();
+			if (ProblemUtil.isMultiNode(originalNode)) {
+				if (isPreservedNode(originalNode, nodeId)) {
+					var nodeName = nodeNames[nodeId];
+					writeAssertion(existsName, TruthValue.TRUE, nodeName);
+					writeAssertion(getRelationName(builtinSymbols.equals()), TruthValue.TRUE, nodeName, nodeName);
+					continue;
+				}
+				// If the ::new node exists but is not preserved, it was declared with a fresh name instead.
+			} else if (!ProblemUtil.isDeclaredNode(originalNode) || isExistingNode(nodeId)) {
+				// Since non-existing implicit nodes are not declared, we only need to add !exists assertions to
+				// ::new nodes and explicitly declared nodes that do not exist.
+				continue;
+			}
+			writeAssertion(existsName, TruthValue.FALSE, getCrossReferenceName(nodeScope, originalNode));
+		}
+	}
+
+	private void writeClassAssertions() throws IOException {
+		var preservedTypes = trace.getMetamodel().typeHierarchy().getPreservedTypes();
+		var typeInterpretation = model.getInterpretation(TypeHierarchyTranslator.TYPE_SYMBOL);
+		int nodeCount = nodeNames.length;
+		for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+			var nodeName = nodeNames[nodeId];
+			if (nodeName == null) {
+				continue;
+			}
+			var candidateTypeSymbol = typeInterpretation.get(Tuple.of(nodeId)).candidateType();
+			if (candidateTypeSymbol == null ||
+					trace.getRelation(candidateTypeSymbol) instanceof EnumDeclaration) {
+				continue;
+			}
+			writeAssertion(getPartialRelationName(candidateTypeSymbol), TruthValue.TRUE, nodeName);
+			for (var subtype : preservedTypes.get(candidateTypeSymbol).getDirectSubtypes()) {
+				writeAssertion(getPartialRelationName(subtype), TruthValue.FALSE, nodeName);
+			}
+		}
+	}
+
+	private void writeReferenceAssertions() throws IOException {
+		var metamodel = trace.getMetamodel();
+		for (var partialRelation : metamodel.containmentHierarchy().keySet()) {
+			// No need to add a default value, because in a concrete model, each contained node has only a single
+			// container.
+			writeAssertions(partialRelation);
+		}
+		for (var partialRelation : metamodel.directedCrossReferences().keySet()) {
+			writeDefaultAssertion(partialRelation);
+			writeAssertions(partialRelation);
+		}
+		// No need to add directed opposite references, because their default value is {@code unknown} and their
+		// actual value will always be computed from the value of the directed forward reference.
+		// However, undirected cross-references have to be serialized in both directions due to the default value of
+		// {@code false}.
+		for (var partialRelation : metamodel.undirectedCrossReferences().keySet()) {
+			writeDefaultAssertion(partialRelation);
+			writeAssertions(partialRelation);
+		}
+	}
+
+	private void writeBasePredicateAssertions() throws IOException {
+		for (var entry : trace.getRelationTrace().entrySet()) {
+			if (entry.getKey() instanceof PredicateDefinition predicateDefinition &&
+					ProblemUtil.isBasePredicate(predicateDefinition)) {
+				var partialRelation = entry.getValue();
+				writeDefaultAssertion(partialRelation);
+				writeAssertions(partialRelation);
+			}
+		}
+	}
+
+	private void writeAssertions(PartialRelation partialRelation) throws IOException {
+		var relationName = getPartialRelationName(partialRelation);
+		var cursor = reasoningAdapter.getPartialInterpretation(Concreteness.CANDIDATE, partialRelation).getAll();
+		while (cursor.move()) {
+			var tuple = cursor.getKey();
+			var arguments = getArguments(tuple);
+			if (arguments == null) {
+				continue;
+			}
+			var value = cursor.getValue();
+			if (value == TruthValue.FALSE) {
+				throw new IllegalStateException("Invalid %s %s for tuple %s".formatted(partialRelation, value, tuple));
+			}
+			writeAssertion(relationName, value, arguments);
+		}
+	}
+
+	private String[] getArguments(Tuple tuple) {
+		int arity = tuple.getSize();
+		var arguments = new String[arity];
+		for (int i = 0; i < arity; i++) {
+			var nodeName = nodeNames[tuple.get(i)];
+			if (nodeName == null) {
+				return null;
+			}
+			arguments[i] = nodeName;
+		}
+		return arguments;
+	}
+
+	private void writeDefaultAssertion(PartialRelation partialRelation) throws IOException {
+		var relation = trace.getRelation(partialRelation);
+		writer.write("default !");
+		writer.write(getRelationName(relation));
+		writer.write("(");
+		int arity = signatureProvider.getArity(relation);
+		for (int i = 0; i < arity; i++) {
+			if (i > 0) {
+				writer.write(", ");
+			}
+			writer.write("*");
+		}
+		writer.write(").");
+		writer.write(NEW_LINE);
+	}
+
+	private void writeComputedPredicateAssertions() throws IOException {
+		for (var entry : trace.getRelationTrace().entrySet()) {
+			if (entry.getKey() instanceof PredicateDefinition predicateDefinition &&
+					ProblemUtil.isComputedValuePredicate(predicateDefinition) &&
+					predicateDefinition.eContainer() instanceof PredicateDefinition parentDefinition &&
+					!ProblemUtil.isError(parentDefinition)) {
+				var computedRelation = entry.getValue();
+				var partialRelation = trace.getPartialRelation(parentDefinition);
+				writeComputedAssertions(computedRelation, partialRelation);
+			}
+		}
+	}
+
+	private void writeComputedAssertions(PartialRelation computedRelation, PartialRelation partialRelation)
+			throws IOException {
+		var relationName = getPartialRelationName(partialRelation);
+		var assertedInterpretation = reasoningAdapter.getPartialInterpretation(Concreteness.CANDIDATE,
+				partialRelation);
+		var cursor = reasoningAdapter.getPartialInterpretation(Concreteness.CANDIDATE, computedRelation).getAll();
+		while (cursor.move()) {
+			var tuple = cursor.getKey();
+			var arguments = getArguments(tuple);
+			if (arguments == null) {
+				continue;
+			}
+			var value = assertedInterpretation.get(tuple);
+			if (!Objects.equals(value, cursor.getValue())) {
+				if (value == TruthValue.UNKNOWN) {
+					throw new IllegalStateException("Invalid %s %s asserted for tuple %s"
+							.formatted(partialRelation, value, tuple));
+				}
+				writeAssertion(relationName, value, arguments);
+			}
+		}
+	}
+
+	private void writeAssertion(String relationName, TruthValue value, String... arguments) throws IOException {
+		if (value == TruthValue.FALSE) {
+			writer.write("!");
+		} else if (value == TruthValue.UNKNOWN) {
+			writer.write("?");
+		}
+		writer.write(relationName);
+		writer.write("(");
+		for (int i = 0; i < arguments.length; i++) {
+			if (i > 0) {
+				writer.write(", ");
+			}
+			writer.write(arguments[i]);
+		}
+		writer.write(value == TruthValue.ERROR ? "): error." : ").");
+		writer.write(NEW_LINE);
+	}
+}
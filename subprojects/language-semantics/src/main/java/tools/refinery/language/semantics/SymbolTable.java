@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.semantics;
+
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial relations and rules created by a {@link ModelInitializer}, indexed by the names of the problem elements
+ * they were translated from.
+ * <p>
+ * Partial symbols and rules are compared by identity, so a model store can only be used with model seeds and problem
+ * traces that refer to the symbols the store was built with. Problems with the same structure are translated to
+ * symbols with the same names, so the symbols of the problem a model store was built from can be
+ * {@link ModelInitializer#setReusedSymbols(SymbolTable) reused} to translate other problems for the same store.
+ * </p>
+ * <p>
+ * The symbol table does not refer to the problem, so keeping it alive does not keep the problem in memory.
+ * </p>
+ */
+public final class SymbolTable {
+	private final Map<String, PartialRelation> partialRelations;
+	private final Map<String, List<Rule>> rules;
+
+	SymbolTable(Map<String, PartialRelation> partialRelations, Map<String, List<Rule>> rules) {
+		this.partialRelations = Map.copyOf(partialRelations);
+		this.rules = Map.copyOf(rules);
+	}
+
+	@Nullable
+	PartialRelation getPartialRelation(String name, int arity) {
+		var partialRelation = partialRelations.get(name);
+		if (partialRelation == null || partialRelation.arity() != arity) {
+			return null;
+		}
+		return partialRelation;
+	}
+
+	@Nullable
+	List<Rule> getRules(String name) {
+		return rules.get(name);
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.semantics;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.language.tests.utils.ProblemParseHelper;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.strategy.BestFirstStoreManager;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
+import tools.refinery.store.reasoning.literal.Concreteness;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@InjectWithRefinery
+class SolutionWriterTest {
+	@Inject
+	private ProblemParseHelper parseHelper;
+
+	@Inject
+	private Provider<ModelInitializer> initializerProvider;
+
+	@Inject
+	private Provider<SolutionWriter> writerProvider;
+
+	@ParameterizedTest
+	@MethodSource
+	void solutionWriterTest(String prefix, String input, boolean preserveNewNodes,
+							String expectedOutput) throws IOException {
+		var problem = parseHelper.parse(prefix + "\n" + input).problem();
+		var storeBuilder = ModelStore.builder()
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder())
+				.with(ReasoningAdapter.builder()
+						.requiredInterpretations(Set.of(Concreteness.CANDIDATE)));
+		var initializer = initializerProvider.get();
+		var modelSeed = initializer.createModel(problem, storeBuilder);
+		var store = storeBuilder.build();
+		var model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(modelSeed);
+		var initialVersion = model.commit();
+		var bestFirst = new BestFirstStoreManager(store, 1);
+		bestFirst.startExploration(initialVersion, 0);
+		model.restore(bestFirst.getSolutionStore().getSolutions().getFirst().version());
+		var solutionWriter = writerProvider.get();
+		solutionWriter.setPreserveNewNodes(preserveNewNodes);
+		var writer = new StringWriter();
+		solutionWriter.writeSolution(initializer.getProblemTrace(), model, writer);
+		var actualOutput = writer.toString().replace("\r\n", "\n");
+		var normalizedPrefix = (prefix + "\n").replace("\r\n", "\n");
+		assertThat(actualOutput, startsWith(normalizedPrefix));
+		// Tuples are written in the order of the interpretation cursors, so we only compare the sets of lines.
+		var actualLines = getNormalizedLines(actualOutput.substring(normalizedPrefix.length()));
+		var expectedLines = getNormalizedLines(expectedOutput.replace("\r\n", "\n"));
+		assertThat(actualLines, containsInAnyOrder(expectedLines.toArray()));
+	}
+
+	private static List<String> getNormalizedLines(String text) {
+		return text.lines()
+				.map(line -> {
+					if (!line.startsWith("declare ")) {
+						return line;
+					}
+					var names = line.substring("declare ".length(), line.length() - 1).split(", ");
+					Arrays.sort(names);
+					return "declare " + String.join(", ", names) + ".";
+				})
+				.toList();
+	}
+
+	static Stream<Arguments> solutionWriterTest() {
+		return Stream.of(Arguments.of("""
+				class Foo.
+				""", """
+				scope Foo = 3.
+				""", false, """
+				declare foo1, foo2, foo3.
+				!exists(Foo::new).
+				Foo(foo1).
+				Foo(foo2).
+				Foo(foo3).
+				"""), Arguments.of("""
+				class Person {
+					Person[2] friend opposite friend
+				}
+				""", """
+				friend(a, b).
+				friend(a, c).
+				friend(b, c).
+
+				scope Person += 0.
+				""", false, """
+				declare a, b, c.
+				!exists(Person::new).
+				Person(a).
+				Person(b).
+				Person(c).
+				default !friend(*, *).
+				friend(a, b).
+				friend(a, c).
+				friend(b, a).
+				friend(b, c).
+				friend(c, a).
+				friend(c, b).
+				"""), Arguments.of("""
+				class Foo {
+					Bar bar
+				}
+
+				enum Bar {
+					BAR_A,
+					BAR_B
+				}
+				""", """
+				bar(foo, BAR_A).
+
+				scope Foo += 0.
+				""", false, """
+				declare foo.
+				!exists(Foo::new).
+				Foo(foo).
+				default !bar(*, *).
+				bar(foo, BAR_A).
+				"""), Arguments.of("""
+				class Foo.
+				class Bar extends Foo.
+				""", """
+				scope Foo = 1, Bar = 0.
+				""", false, """
+				declare foo1.
+				!exists(Foo::new).
+				!exists(Bar::new).
+				Foo(foo1).
+				!Bar(foo1).
+				"""), Arguments.of("""
+				class Foo {
+					Foo[] ref
+				}
+				""", """
+				ref(a, b).
+				!exists(b).
+
+				scope Foo += 0.
+				""", false, """
+				declare a.
+				!exists(Foo::new).
+				Foo(a).
+				default !ref(*, *).
+				"""), Arguments.of("""
+				declare a.
+				class Foo.
+				""", """
+				Foo(a).
+				?exists(a).
+				scope Foo = 1, Foo += 1.
+				""", false, """
+				declare foo1.
+				!exists(a).
+				!exists(Foo::new).
+				Foo(foo1).
+				"""), Arguments.of("""
+				class A {
+					B[] foo
+				}
+				class B.
+				""", """
+				foo(A::new, B::new).
+				foo(A::new, b).
+				scope A = 1, B = 1.
+				""", true, """
+				declare b.
+				exists(A::new).
+				equals(A::new, A::new).
+				!exists(B::new).
+				A(A::new).
+				B(b).
+				default !foo(*, *).
+				foo(A::new, b).
+				"""), Arguments.of("""
+				class A {
+					B[] foo
+				}
+				class B.
+				""", """
+				foo(A::new, B::new).
+				foo(A::new, b).
+				scope A = 1, B = 1.
+				""", false, """
+				declare b, a1.
+				!exists(A::new).
+				!exists(B::new).
+				A(a1).
+				B(b).
+				default !foo(*, *).
+				foo(a1, b).
+				"""), Arguments.of("""
+				class Foo1.
+				class Foo.
+				""", """
+				scope Foo1 = 1, Foo = 1.
+				""", false, """
+				declare foo1_1, foo1.
+				!exists(Foo1::new).
+				!exists(Foo::new).
+				Foo1(foo1_1).
+				Foo(foo1).
+				"""), Arguments.of("""
+				import builtin::strategy.
+
+				class Foo {
+					@concretize(false)
+					Bar[] baz
+
+					@concretize(false)
+					Bar[] quux
+				}
+
+				class Bar.
+
+				pred query(a, b) <-> baz(a, b); quux(a, b).
+				""", """
+				scope Foo = 1, Bar = 3.
+				baz(foo1, bar1).
+				query(foo1, bar2).
+				Bar(bar3).
+				""", false, """
+				declare foo1, bar1, bar2, bar3.
+				!exists(Foo::new).
+				!exists(Bar::new).
+				Foo(foo1).
+				Bar(bar1).
+				Bar(bar2).
+				Bar(bar3).
+				default !baz(*, *).
+				baz(foo1, bar1).
+				?baz(foo1, bar2).
+				?baz(foo1, bar3).
+				default !quux(*, *).
+				?quux(foo1, bar1).
+				?quux(foo1, bar2).
+				?quux(foo1, bar3).
+				query(foo1, bar2).
+				"""));
+	}
+}
@@ -1,17 +1,25 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.language.web.generator;
 
 import org.eclipse.xtext.util.CancelIndicator;
+import org.jetbrains.annotations.Nullable;
 
 public class ModelGenerationManager {
 	private final Object lockObject = new Object();
 	private ModelGenerationWorker worker;
 	private boolean disposed;
 
+	@Nullable
+	ModelGenerationWorker getActiveModelGenerationWorker() {
+		synchronized (lockObject) {
+			return worker;
+		}
+	}
+
 	boolean setActiveModelGenerationWorker(ModelGenerationWorker worker, CancelIndicator cancelIndicator) {
 		synchronized (lockObject) {
 			cancel();
@@ -0,0 +1,252 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.refinery.language.web.xtext.server.HeapPressureMonitor;
+import tools.refinery.language.web.xtext.server.ThreadPoolExecutorServiceProvider;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Admits model generation tasks and starts them on the model generation executor.
+ * <p>
+ * Tasks are rejected if their estimated number of nodes is too large, if the heap is close to being exhausted, if
+ * their session already has too many tasks, or if the queue is full. Accepted tasks wait in a separate queue for each
+ * session, and the queues are served in a round-robin fashion, so a session with many tasks can not starve the
+ * others. While the heap is under pressure, at most one task is running at a time.
+ * </p>
+ */
+@Singleton
+public class ModelGenerationScheduler {
+	private static final Logger LOG = LoggerFactory.getLogger(ModelGenerationScheduler.class);
+
+	private final Object lockObject = new Object();
+
+	/**
+	 * Queues of waiting tasks of sessions in the order in which they will be served.
+	 */
+	private final LinkedHashMap<Object, ArrayDeque<ModelGenerationWorker>> queues = new LinkedHashMap<>();
+
+	private final Map<ModelGenerationWorker, Object> sessionKeys = new HashMap<>();
+
+	private final Map<Object, Integer> sessionTaskCounts = new HashMap<>();
+
+	private final Set<ModelGenerationWorker> runningWorkers = new HashSet<>();
+
+	private final int maxQueueLength;
+
+	private final int sessionQuota;
+
+	private final int maxNodeCount;
+
+	private int queueLength;
+
+	private int maxRunningCount;
+
+	private ExecutorService executorService;
+
+	private HeapPressureMonitor heapPressureMonitor;
+
+	public ModelGenerationScheduler() {
+		this(ThreadPoolExecutorServiceProvider.getCount("REFINERY_MODEL_GENERATION_QUEUE_LENGTH").orElse(32),
+				ThreadPoolExecutorServiceProvider.getCount("REFINERY_MODEL_GENERATION_SESSION_QUOTA").orElse(2),
+				ThreadPoolExecutorServiceProvider.getCount("REFINERY_MODEL_GENERATION_MAX_NODE_COUNT")
+						.orElse(100_000));
+	}
+
+	ModelGenerationScheduler(int maxQueueLength, int sessionQuota, int maxNodeCount) {
+		this.maxQueueLength = maxQueueLength;
+		this.sessionQuota = sessionQuota;
+		this.maxNodeCount = maxNodeCount;
+	}
+
+	@Inject
+	public void setExecutorServiceProvider(ThreadPoolExecutorServiceProvider provider) {
+		setExecutorService(provider.get(ModelGenerationService.MODEL_GENERATION_EXECUTOR),
+				provider.getThreadCount(ModelGenerationService.MODEL_GENERATION_EXECUTOR));
+	}
+
+	void setExecutorService(ExecutorService executorService, int threadCount) {
+		this.executorService = executorService;
+		maxRunningCount = threadCount == 0 ? Integer.MAX_VALUE : threadCount;
+	}
+
+	@Inject
+	public void setHeapPressureMonitor(HeapPressureMonitor heapPressureMonitor) {
+		this.heapPressureMonitor = heapPressureMonitor;
+	}
+
+	/**
+	 * Submits a model generation task.
+	 *
+	 * @param worker             The worker to run.
+	 * @param sessionKey         The session that has submitted the task.
+	 * @param estimatedNodeCount The estimated number of nodes in the generated model.
+	 * @return The status of the submitted task.
+	 */
+	public ModelGenerationStartedResult submit(ModelGenerationWorker worker, Object sessionKey,
+											   int estimatedNodeCount) {
+		return submit(worker, sessionKey, estimatedNodeCount, null);
+	}
+
+	/**
+	 * Submits a model generation task that replaces a previous task of the same session.
+	 * <p>
+	 * The previous task is not counted towards the quota of the session and the length of the queue, because the
+	 * caller will cancel it if the new task is accepted. If the new task is rejected, the previous task is left intact.
+	 * </p>
+	 *
+	 * @param worker             The worker to run.
+	 * @param sessionKey         The session that has submitted the task.
+	 * @param estimatedNodeCount The estimated number of nodes in the generated model.
+	 * @param replacedWorker     The worker of the task to be replaced, or {@code null} if there is none.
+	 * @return The status of the submitted task.
+	 */
+	public ModelGenerationStartedResult submit(ModelGenerationWorker worker, Object sessionKey,
+											   int estimatedNodeCount, @Nullable ModelGenerationWorker replacedWorker) {
+		var uuid = worker.getUuid();
+		if (estimatedNodeCount > maxNodeCount) {
+			return reject(uuid, "Model is too large to generate on this server (about %d objects, at most %d allowed)"
+					.formatted(estimatedNodeCount, maxNodeCount));
+		}
+		if (heapPressureMonitor.isUnderPressure()) {
+			return reject(uuid, "Server is low on memory, please try again later");
+		}
+		synchronized (lockObject) {
+			int sessionTaskCount = sessionTaskCounts.getOrDefault(sessionKey, 0);
+			boolean replacesTask = replacedWorker != null && sessionKey.equals(sessionKeys.get(replacedWorker));
+			boolean replacesQueuedTask = replacesTask && !runningWorkers.contains(replacedWorker);
+			if (sessionTaskCount - (replacesTask ? 1 : 0) >= sessionQuota) {
+				return reject(uuid, "Too many model generation tasks are running in this session, please wait " +
+						"for them to finish");
+			}
+			if (queueLength - (replacesQueuedTask ? 1 : 0) >= maxQueueLength) {
+				return reject(uuid, "Model generation queue is full, please try again later");
+			}
+			sessionTaskCounts.put(sessionKey, sessionTaskCount + 1);
+			sessionKeys.put(worker, sessionKey);
+			queues.computeIfAbsent(sessionKey, ignored -> new ArrayDeque<>()).addLast(worker);
+			queueLength++;
+			LOG.debug("Enqueueing model generation: {}", uuid);
+		}
+		dispatch(false);
+		synchronized (lockObject) {
+			if (!runningWorkers.contains(worker) && sessionKeys.containsKey(worker)) {
+				return new ModelGenerationStartedResult(uuid, getWaitingStatus(worker), null);
+			}
+		}
+		return new ModelGenerationStartedResult(uuid, null, null);
+	}
+
+	private static ModelGenerationStartedResult reject(UUID uuid, String message) {
+		LOG.debug("Rejecting model generation {}: {}", uuid, message);
+		return new ModelGenerationStartedResult(uuid, null, message);
+	}
+
+	/**
+	 * Removes a task from the scheduler after it was finished or cancelled.
+	 * <p>
+	 * Calling this method multiple times for the same task has no effect.
+	 * </p>
+	 *
+	 * @param worker The worker of the task.
+	 */
+	void finished(ModelGenerationWorker worker) {
+		boolean removedFromQueue = false;
+		synchronized (lockObject) {
+			var sessionKey = sessionKeys.remove(worker);
+			if (sessionKey == null) {
+				return;
+			}
+			if (!runningWorkers.remove(worker)) {
+				var queue = queues.get(sessionKey);
+				if (queue != null && queue.remove(worker)) {
+					queueLength--;
+					removedFromQueue = true;
+					if (queue.isEmpty()) {
+						queues.remove(sessionKey);
+					}
+				}
+			}
+			int sessionTaskCount = sessionTaskCounts.getOrDefault(sessionKey, 0) - 1;
+			if (sessionTaskCount <= 0) {
+				sessionTaskCounts.remove(sessionKey);
+			} else {
+				sessionTaskCounts.put(sessionKey, sessionTaskCount);
+			}
+		}
+		dispatch(removedFromQueue);
+	}
+
+	private void dispatch(boolean queueChanged) {
+		var workersToStart = new ArrayList<ModelGenerationWorker>();
+		var waitingStatuses = new LinkedHashMap<ModelGenerationWorker, String>();
+		synchronized (lockObject) {
+			while (!queues.isEmpty() && runningWorkers.size() < maxRunningCount &&
+					(runningWorkers.isEmpty() || !heapPressureMonitor.isUnderPressure())) {
+				var iterator = queues.entrySet().iterator();
+				var entry = iterator.next();
+				var sessionKey = entry.getKey();
+				var queue = entry.getValue();
+				var worker = queue.removeFirst();
+				queueLength--;
+				// Move the session to the end of the round-robin order.
+				iterator.remove();
+				if (!queue.isEmpty()) {
+					queues.put(sessionKey, queue);
+				}
+				runningWorkers.add(worker);
+				workersToStart.add(worker);
+			}
+			if (queueChanged || !workersToStart.isEmpty()) {
+				for (var queue : queues.values()) {
+					for (var worker : queue) {
+						waitingStatuses.put(worker, getWaitingStatus(worker));
+					}
+				}
+			}
+		}
+		for (var worker : workersToStart) {
+			worker.start(executorService);
+		}
+		for (var entry : waitingStatuses.entrySet()) {
+			entry.getKey().notifyStatus(entry.getValue());
+		}
+	}
+
+	private String getWaitingStatus(ModelGenerationWorker worker) {
+		var sessionKey = sessionKeys.get(worker);
+		int round = getIndexInQueue(queues.get(sessionKey), worker);
+		// Each session before this one in the round-robin order will start one more task in this round.
+		int position = 1;
+		boolean before = true;
+		for (var entry : queues.entrySet()) {
+			if (entry.getKey().equals(sessionKey)) {
+				before = false;
+			}
+			int size = entry.getValue().size();
+			position += Math.min(size, before ? round + 1 : round);
+		}
+		return "Waiting for other model generation tasks (position %d in queue)".formatted(position);
+	}
+
+	private static int getIndexInQueue(Deque<ModelGenerationWorker> queue, ModelGenerationWorker worker) {
+		int index = 0;
+		for (var queuedWorker : queue) {
+			if (queuedWorker == worker) {
+				return index;
+			}
+			index++;
+		}
+		throw new IllegalStateException("Model generation %s is not in the queue".formatted(worker.getUuid()));
+	}
+}
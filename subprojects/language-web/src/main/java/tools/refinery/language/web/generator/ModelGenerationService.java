@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -12,6 +12,7 @@ import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 import org.eclipse.xtext.web.server.model.IXtextWebDocument;
+import tools.refinery.language.model.problem.*;
 import tools.refinery.language.web.semantics.SemanticsService;
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 import tools.refinery.language.web.xtext.server.push.PushWebDocumentAccess;
@@ -28,6 +29,9 @@ public class ModelGenerationService {
 	@Inject
 	private Provider<ModelGenerationWorker> workerProvider;
 
+	@Inject
+	private ModelGenerationScheduler scheduler;
+
 	private final long timeoutSec;
 
 	public ModelGenerationService() {
@@ -42,17 +46,57 @@ public class ModelGenerationService {
 				var worker = workerProvider.get();
 				worker.setState(pushState, randomSeed, timeoutSec);
 				var manager = pushState.getModelGenerationManager();
-				worker.start();
+				// The previous model generation of the document is only cancelled if the new one is accepted, so it
+				// must not count towards the quota of the session.
+				var result = scheduler.submit(worker, pushState.getSessionKey(), estimateNodeCount(state),
+						manager.getActiveModelGenerationWorker());
+				if (result.error() != null) {
+					return result;
+				}
 				boolean canceled = manager.setActiveModelGenerationWorker(worker, cancelIndicator);
 				if (canceled) {
 					worker.cancel();
 					operationCanceledManager.throwOperationCanceledException();
 				}
-				return new ModelGenerationStartedResult(worker.getUuid());
+				return result;
 			}
 		});
 	}
 
+	/**
+	 * Estimates the number of nodes in the generated model from the nodes and scopes declared in the problem.
+	 *
+	 * @param state The document to generate a model for.
+	 * @return The estimated number of nodes.
+	 */
+	private static int estimateNodeCount(IXtextWebDocument state) {
+		var contents = state.getResource().getContents();
+		if (contents.isEmpty() || !(contents.getFirst() instanceof Problem problem)) {
+			return 0;
+		}
+		long nodeCount = problem.getNodes().size();
+		for (var statement : problem.getStatements()) {
+			if (statement instanceof NodeDeclaration nodeDeclaration) {
+				nodeCount += nodeDeclaration.getNodes().size();
+			} else if (statement instanceof ScopeDeclaration scopeDeclaration) {
+				for (var typeScope : scopeDeclaration.getTypeScopes()) {
+					nodeCount += getMaximumScopeSize(typeScope.getMultiplicity());
+				}
+			}
+		}
+		return (int) Math.min(nodeCount, Integer.MAX_VALUE);
+	}
+
+	private static int getMaximumScopeSize(Multiplicity multiplicity) {
+		return switch (multiplicity) {
+			case ExactMultiplicity exactMultiplicity -> exactMultiplicity.getExactValue();
+			// Unbounded scopes are estimated by their lower bound.
+			case RangeMultiplicity rangeMultiplicity -> rangeMultiplicity.getUpperBound() < 0 ?
+					rangeMultiplicity.getLowerBound() : rangeMultiplicity.getUpperBound();
+			case null, default -> 0;
+		};
+	}
+
 	public ModelGenerationCancelledResult cancelModelGeneration(PushWebDocumentAccess document) {
 		document.cancelModelGeneration();
 		return new ModelGenerationCancelledResult();
@@ -1,13 +1,22 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.language.web.generator;
 
 import org.eclipse.xtext.web.server.IServiceResult;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
-public record ModelGenerationStartedResult(UUID uuid) implements IServiceResult {
+/**
+ * Response to a model generation request.
+ *
+ * @param uuid   The identifier of the model generation task.
+ * @param status The status of the task if it is waiting to be started.
+ * @param error  The reason why the task was rejected, or {@code null} if it was accepted.
+ */
+public record ModelGenerationStartedResult(UUID uuid, @Nullable String status, @Nullable String error)
+		implements IServiceResult {
 }
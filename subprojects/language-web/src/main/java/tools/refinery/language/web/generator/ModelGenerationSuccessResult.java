@@ -1,18 +1,18 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.language.web.generator;
 
-import com.google.gson.JsonObject;
 import tools.refinery.language.semantics.metadata.NodeMetadata;
 import tools.refinery.language.semantics.metadata.RelationMetadata;
+import tools.refinery.language.web.semantics.JsonFragment;
 
 import java.util.List;
 import java.util.UUID;
 
 public record ModelGenerationSuccessResult(
-		UUID uuid, List<NodeMetadata> nodes, List<RelationMetadata> relations, JsonObject partialInterpretation,
+		UUID uuid, List<NodeMetadata> nodes, List<RelationMetadata> relations, JsonFragment partialInterpretation,
 		String source) implements ModelGenerationResult {
 }
@@ -15,24 +15,14 @@ import tools.refinery.language.web.xtext.server.ThreadPoolExecutorServiceProvide
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 import tools.refinery.store.util.CancellationToken;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.io.StringWriter;
 import java.util.UUID;
 import java.util.concurrent.*;
 
 public class ModelGenerationWorker implements Runnable {
 	private static final Logger LOG = LoggerFactory.getLogger(ModelGenerationWorker.class);
 
-	/**
-	 * To avoid excessive memory usage by the Xtext serializer, we limit the number of objects in a serialized model.
-	 * <p>
-	 * Model with more objects than this limit will only be returned as JSON.
-	 * </p>
-	 */
-	private static final int MAX_SERIALIZED_MODEL_SIZE = 200;
-
 	private final UUID uuid = UUID.randomUUID();
 
 	private PushWebDocument state;
@@ -55,9 +45,10 @@ public class ModelGenerationWorker implements Runnable {
 	@Inject
 	private PartialInterpretation2Json partialInterpretation2Json;
 
-	private final Object lockObject = new Object();
+	@Inject
+	private ModelGenerationScheduler scheduler;
 
-	private ExecutorService executorService;
+	private final Object lockObject = new Object();
 
 	private ScheduledExecutorService scheduledExecutorService;
 
@@ -67,6 +58,8 @@ public class ModelGenerationWorker implements Runnable {
 
 	private Future<?> future;
 
+	private boolean started;
+
 	private ScheduledFuture<?> timeoutFuture;
 
 	private final CancellationToken cancellationToken = () -> {
@@ -77,7 +70,6 @@ public class ModelGenerationWorker implements Runnable {
 
 	@Inject
 	public void setExecutorServiceProvider(ThreadPoolExecutorServiceProvider provider) {
-		executorService = provider.get(ModelGenerationService.MODEL_GENERATION_EXECUTOR);
 		scheduledExecutorService = provider.getScheduled(ModelGenerationService.MODEL_GENERATION_TIMEOUT_EXECUTOR);
 	}
 
@@ -92,11 +84,16 @@ public class ModelGenerationWorker implements Runnable {
 		return uuid;
 	}
 
-	public void start() {
+	void start(ExecutorService executorService) {
 		synchronized (lockObject) {
-			LOG.debug("Enqueueing model generation: {}", uuid);
-			future = executorService.submit(this);
+			if (!cancelled) {
+				LOG.debug("Submitting model generation: {}", uuid);
+				future = executorService.submit(this);
+				return;
+			}
 		}
+		// The worker was cancelled while waiting in the queue of the scheduler.
+		scheduler.finished(this);
 	}
 
 	public void startTimeout() {
@@ -107,14 +104,25 @@ public class ModelGenerationWorker implements Runnable {
 		}
 	}
 
-	// We catch {@code Throwable} to handle {@code OperationCancelledError}, but we rethrow fatal JVM errors.
-	@SuppressWarnings("squid:S1181")
 	@Override
 	public void run() {
-		startTimeout();
-		notifyResult(new ModelGenerationStatusResult(uuid, "Initializing model generator"));
+		try {
+			doRunAndNotify();
+		} finally {
+			scheduler.finished(this);
+		}
+	}
+
+	// We catch {@code Throwable} to handle {@code OperationCancelledError}, but we rethrow fatal JVM errors.
+	@SuppressWarnings("squid:S1181")
+	private void doRunAndNotify() {
 		ModelGenerationResult result;
 		try {
+			synchronized (lockObject) {
+				started = true;
+			}
+			startTimeout();
+			notifyResult(new ModelGenerationStatusResult(uuid, "Initializing model generator"));
 			result = doRun();
 		} catch (Throwable e) {
 			if (operationCanceledManager.isOperationCanceledException(e)) {
@@ -133,6 +141,10 @@ public class ModelGenerationWorker implements Runnable {
 		notifyResult(result);
 	}
 
+	void notifyStatus(String status) {
+		notifyResult(new ModelGenerationStatusResult(uuid, status));
+	}
+
 	private void notifyResult(ModelGenerationResult result) {
 		state.notifyPrecomputationListeners(ModelGenerationService.SERVICE_NAME, result);
 	}
@@ -163,15 +175,11 @@ public class ModelGenerationWorker implements Runnable {
 		cancellationToken.checkCancelled();
 		var partialInterpretation = partialInterpretation2Json.getPartialInterpretation(generator, cancellationToken);
 		String source;
-		if (nodesMetadata.list().size() <= MAX_SERIALIZED_MODEL_SIZE) {
-			try {
-				source = serializeSolution(generator);
-			} catch (IOException e) {
-				LOG.error("Error while serializing generated model", e);
-				return new ModelGenerationErrorResult(uuid, "Failed to save solution: " + e.getMessage());
-			}
-		} else {
-			source = null;
+		try {
+			source = serializeSolution(generator);
+		} catch (IOException e) {
+			LOG.error("Error while serializing generated model", e);
+			return new ModelGenerationErrorResult(uuid, "Failed to save solution: " + e.getMessage());
 		}
 		return new ModelGenerationSuccessResult(uuid, nodesMetadata.list(), relationsMetadata, partialInterpretation,
 				source);
@@ -179,11 +187,9 @@ public class ModelGenerationWorker implements Runnable {
 
 	private String serializeSolution(ModelGenerator generator) throws IOException {
 		cancellationToken.checkCancelled();
-		var serializedSolution = generator.serialize();
-		try (var outputStream = new ByteArrayOutputStream()) {
-			serializedSolution.eResource().save(outputStream, Map.of());
-			return outputStream.toString(StandardCharsets.UTF_8);
-		}
+		var writer = new StringWriter();
+		generator.serialize(writer);
+		return writer.toString();
 	}
 
 	public void cancel() {
@@ -191,6 +197,7 @@ public class ModelGenerationWorker implements Runnable {
 	}
 
 	public void cancel(boolean timedOut) {
+		boolean wasStarted;
 		synchronized (lockObject) {
 			LOG.trace("Cancelling model generation: {}", uuid);
 			this.timedOut = timedOut;
@@ -203,6 +210,11 @@ public class ModelGenerationWorker implements Runnable {
 				timeoutFuture.cancel(true);
 				timeoutFuture = null;
 			}
+			wasStarted = started;
+		}
+		if (!wasStarted) {
+			// Cancelled tasks that have not started running will never notify the scheduler that they have finished.
+			scheduler.finished(this);
 		}
 	}
 }
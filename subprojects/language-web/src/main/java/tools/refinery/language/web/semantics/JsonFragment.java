@@ -0,0 +1,15 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+/**
+ * Already serialized JSON value that is written verbatim into the message sent to the client.
+ *
+ * @param json The serialized JSON value.
+ */
+public record JsonFragment(String json) {
+	public static final JsonFragment EMPTY_OBJECT = new JsonFragment("{}");
+}
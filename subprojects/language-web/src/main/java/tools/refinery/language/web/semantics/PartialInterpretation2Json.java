@@ -5,8 +5,7 @@
  */
 package tools.refinery.language.web.semantics;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import tools.refinery.generator.ModelFacade;
@@ -21,63 +20,216 @@ import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslat
 import tools.refinery.store.tuple.Tuple;
 import tools.refinery.store.util.CancellationToken;
 
-import java.util.TreeMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
+/**
+ * Writes partial interpretations as JSON objects mapping relation names to arrays of tuples, where each tuple is an
+ * array of node ids followed by the serialized value.
+ * <p>
+ * The tuples read from the interpretation cursors are sorted in arrays to keep the output stable, and then written
+ * directly with a {@link JsonWriter}, so no JSON tree is built for the partial interpretation.
+ * </p>
+ */
 @Singleton
 public class PartialInterpretation2Json {
+	private static final String COUNT_NAME = "builtin::count";
+
 	@Inject
 	private SemanticsUtils semanticsUtils;
 
-	public JsonObject getPartialInterpretation(ModelFacade facade, CancellationToken cancellationToken) {
-		var model = facade.getModel();
-		var json = new JsonObject();
+	public JsonFragment getPartialInterpretation(ModelFacade facade, CancellationToken cancellationToken) {
+		return getPartialInterpretation(getSnapshot(facade, null, cancellationToken));
+	}
+
+	PartialInterpretationSnapshot getSnapshot(ModelFacade facade, String stateId,
+											  CancellationToken cancellationToken) {
+		var relations = new LinkedHashMap<String, PartialInterpretationSnapshot.Relation>();
 		for (var entry : facade.getProblemTrace().getRelationTrace().entrySet()) {
 			var relation = entry.getKey();
 			var partialSymbol = entry.getValue();
-			var tuples = getTuplesJson(facade, partialSymbol);
 			var name = semanticsUtils.getNameWithoutRootPrefix(relation).orElse(partialSymbol.name());
-			json.add(name, tuples);
+			relations.put(name, getRelation(facade, partialSymbol));
 			cancellationToken.checkCancelled();
 		}
-		json.add("builtin::count", getCountJson(model, facade.getConcreteness()));
-		return json;
+		relations.put(COUNT_NAME, getCountRelation(facade.getModel(), facade.getConcreteness()));
+		return new PartialInterpretationSnapshot(stateId, relations);
 	}
 
-	private static JsonArray getTuplesJson(ModelFacade facade, PartialRelation partialSymbol) {
-		var interpretation = facade.getPartialInterpretation(partialSymbol);
-		var cursor = interpretation.getAll();
-		return getTuplesJson(cursor);
+	JsonFragment getPartialInterpretation(PartialInterpretationSnapshot snapshot) {
+		var stringWriter = new StringWriter();
+		try (var writer = new JsonWriter(stringWriter)) {
+			writer.beginObject();
+			for (var entry : snapshot.relations().entrySet()) {
+				writer.name(entry.getKey());
+				writeRelation(writer, entry.getValue());
+			}
+			writer.endObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write partial interpretation", e);
+		}
+		return new JsonFragment(stringWriter.toString());
 	}
 
-	private static JsonArray getTuplesJson(Cursor<Tuple, ?> cursor) {
-		return getTuplesJson(cursor, Function.identity());
+	/**
+	 * Writes the changes between two partial interpretations.
+	 * <p>
+	 * The resulting JSON object contains the state id of the {@code base} interpretation, the tuples which were
+	 * added or changed their values in the {@code changed} object, and the tuples which were removed (without any
+	 * value) in the {@code removed} object. Relations without any changes are omitted.
+	 * </p>
+	 *
+	 * @param base    The partial interpretation already known by the client.
+	 * @param current The new partial interpretation.
+	 * @return The delta that turns {@code base} into {@code current}.
+	 */
+	JsonFragment getPartialInterpretationDelta(PartialInterpretationSnapshot base,
+											   PartialInterpretationSnapshot current) {
+		var changedWriter = new StringWriter();
+		var removedWriter = new StringWriter();
+		try (var changed = new JsonWriter(changedWriter); var removed = new JsonWriter(removedWriter)) {
+			changed.beginObject();
+			removed.beginObject();
+			var baseRelations = base.relations();
+			var currentRelations = current.relations();
+			for (var entry : currentRelations.entrySet()) {
+				var name = entry.getKey();
+				var baseRelation = baseRelations.getOrDefault(name, PartialInterpretationSnapshot.Relation.EMPTY);
+				writeRelationDelta(name, baseRelation, entry.getValue(), changed, removed);
+			}
+			for (var entry : baseRelations.entrySet()) {
+				var name = entry.getKey();
+				if (!currentRelations.containsKey(name)) {
+					writeRelationDelta(name, entry.getValue(), PartialInterpretationSnapshot.Relation.EMPTY,
+							changed, removed);
+				}
+			}
+			changed.endObject();
+			removed.endObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write partial interpretation delta", e);
+		}
+		var stringWriter = new StringWriter();
+		try (var writer = new JsonWriter(stringWriter)) {
+			writer.beginObject();
+			writer.name("base").value(base.stateId());
+			writer.name("changed").jsonValue(changedWriter.toString());
+			writer.name("removed").jsonValue(removedWriter.toString());
+			writer.endObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write partial interpretation delta", e);
+		}
+		return new JsonFragment(stringWriter.toString());
 	}
 
-	private static <T, R> JsonArray getTuplesJson(Cursor<Tuple, T> cursor, Function<T, R> transform) {
-		var map = new TreeMap<Tuple, Object>();
-		while (cursor.move()) {
-			map.put(cursor.getKey(), transform.apply(cursor.getValue()));
+	private static void writeRelation(JsonWriter writer, PartialInterpretationSnapshot.Relation relation)
+			throws IOException {
+		var tuples = relation.tuples();
+		var values = relation.values();
+		writer.beginArray();
+		for (int i = 0; i < tuples.length; i++) {
+			writeTuple(writer, tuples[i], values[i]);
+		}
+		writer.endArray();
+	}
+
+	private static void writeRelationDelta(String name, PartialInterpretationSnapshot.Relation base,
+										   PartialInterpretationSnapshot.Relation current, JsonWriter changed,
+										   JsonWriter removed) throws IOException {
+		var baseTuples = base.tuples();
+		var currentTuples = current.tuples();
+		int baseSize = base.size();
+		int currentSize = current.size();
+		int baseIndex = 0;
+		int currentIndex = 0;
+		boolean hasChanged = false;
+		boolean hasRemoved = false;
+		// Both relations are sorted, so we can compute the changes by merging them.
+		while (baseIndex < baseSize || currentIndex < currentSize) {
+			int comparison;
+			if (baseIndex == baseSize) {
+				comparison = 1;
+			} else if (currentIndex == currentSize) {
+				comparison = -1;
+			} else {
+				comparison = baseTuples[baseIndex].compareTo(currentTuples[currentIndex]);
+			}
+			if (comparison < 0) {
+				hasRemoved = beginRelation(removed, name, hasRemoved);
+				writeTuple(removed, baseTuples[baseIndex], null);
+				baseIndex++;
+				continue;
+			}
+			var value = current.values()[currentIndex];
+			if (comparison > 0 || !value.equals(base.values()[baseIndex])) {
+				hasChanged = beginRelation(changed, name, hasChanged);
+				writeTuple(changed, currentTuples[currentIndex], value);
+			}
+			if (comparison == 0) {
+				baseIndex++;
+			}
+			currentIndex++;
+		}
+		if (hasChanged) {
+			changed.endArray();
 		}
-		var tuples = new JsonArray();
-		for (var entry : map.entrySet()) {
-			tuples.add(toArray(entry.getKey(), entry.getValue()));
+		if (hasRemoved) {
+			removed.endArray();
 		}
-		return tuples;
 	}
 
-	private static JsonArray toArray(Tuple tuple, Object value) {
+	private static boolean beginRelation(JsonWriter writer, String name, boolean alreadyBegun) throws IOException {
+		if (!alreadyBegun) {
+			writer.name(name);
+			writer.beginArray();
+		}
+		return true;
+	}
+
+	private static void writeTuple(JsonWriter writer, Tuple tuple, String value) throws IOException {
+		writer.beginArray();
 		int arity = tuple.getSize();
-		var json = new JsonArray(arity + 1);
 		for (int i = 0; i < arity; i++) {
-			json.add(tuple.get(i));
+			writer.value(tuple.get(i));
+		}
+		if (value != null) {
+			writer.value(value);
+		}
+		writer.endArray();
+	}
+
+	private static PartialInterpretationSnapshot.Relation getRelation(ModelFacade facade,
+																	  PartialRelation partialSymbol) {
+		var interpretation = facade.getPartialInterpretation(partialSymbol);
+		var cursor = interpretation.getAll();
+		return getRelation(cursor, Function.identity());
+	}
+
+	private static <T, R> PartialInterpretationSnapshot.Relation getRelation(Cursor<Tuple, T> cursor,
+																			 Function<T, R> transform) {
+		var entries = new ArrayList<Map.Entry<Tuple, String>>();
+		while (cursor.move()) {
+			entries.add(Map.entry(cursor.getKey(), transform.apply(cursor.getValue()).toString()));
+		}
+		entries.sort(Map.Entry.comparingByKey());
+		int size = entries.size();
+		var tuples = new Tuple[size];
+		var values = new String[size];
+		for (int i = 0; i < size; i++) {
+			var entry = entries.get(i);
+			tuples[i] = entry.getKey();
+			values[i] = entry.getValue();
 		}
-		json.add(value.toString());
-		return json;
+		return new PartialInterpretationSnapshot.Relation(tuples, values);
 	}
 
-	private static JsonArray getCountJson(Model model, Concreteness concreteness) {
+	private static PartialInterpretationSnapshot.Relation getCountRelation(Model model, Concreteness concreteness) {
 		var interpretation = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
 		var cursor = interpretation.getAll();
 		UnaryOperator<CardinalityInterval> transform = switch (concreteness) {
@@ -85,6 +237,6 @@ public class PartialInterpretation2Json {
 			case CANDIDATE -> count -> count.lowerBound() == 0 ? CardinalityIntervals.NONE :
 					count.meet(CardinalityIntervals.LONE);
 		};
-		return getTuplesJson(cursor, transform);
+		return getRelation(cursor, transform);
 	}
 }
@@ -0,0 +1,32 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Map;
+
+/**
+ * Partial interpretation sent to the client for a document state.
+ *
+ * @param stateId   The state of the document the partial interpretation was computed for.
+ * @param relations The tuples of each relation by the name sent to the client.
+ */
+record PartialInterpretationSnapshot(String stateId, Map<String, Relation> relations) {
+	/**
+	 * Tuples of a relation with their serialized values.
+	 *
+	 * @param tuples The tuples in ascending order.
+	 * @param values The values of the tuples at the same indices.
+	 */
+	record Relation(Tuple[] tuples, String[] values) {
+		public static final Relation EMPTY = new Relation(new Tuple[0], new String[0]);
+
+		public int size() {
+			return tuples.length;
+		}
+	}
+}
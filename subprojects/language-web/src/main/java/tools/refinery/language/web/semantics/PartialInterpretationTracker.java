@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Remembers the last partial interpretation sent to the client of a document.
+ * <p>
+ * The client acknowledges the state of the partial interpretation it has applied with each document update. If it
+ * matches the partial interpretation sent last, the next semantics result only contains the tuples that changed
+ * since then. Otherwise, e.g., because the client dropped a stale push message, the whole partial interpretation is
+ * sent again.
+ * </p>
+ */
+public class PartialInterpretationTracker {
+	private String acknowledgedStateId;
+	private PartialInterpretationSnapshot sentSnapshot;
+
+	/**
+	 * Sets the state of the partial interpretation the client has applied.
+	 *
+	 * @param stateId The state id of the applied partial interpretation, or {@code null} if the client has none.
+	 */
+	public synchronized void acknowledge(@Nullable String stateId) {
+		acknowledgedStateId = stateId;
+	}
+
+	@Nullable
+	synchronized PartialInterpretationSnapshot getAcknowledgedSnapshot() {
+		if (sentSnapshot == null || !sentSnapshot.stateId().equals(acknowledgedStateId)) {
+			return null;
+		}
+		return sentSnapshot;
+	}
+
+	synchronized void setSentSnapshot(PartialInterpretationSnapshot snapshot) {
+		sentSnapshot = snapshot;
+	}
+}
@@ -1,17 +1,34 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.language.web.semantics;
 
-import com.google.gson.JsonObject;
 import tools.refinery.language.semantics.metadata.NodeMetadata;
 import tools.refinery.language.semantics.metadata.RelationMetadata;
 
 import java.util.List;
 
+/**
+ * Semantics of a document sent to the client.
+ * <p>
+ * Exactly one of {@code partialInterpretation} and {@code partialInterpretationDelta} is set. The delta is only
+ * sent if the client has acknowledged the partial interpretation it is based on.
+ * </p>
+ *
+ * @param nodes                      The metadata of the nodes.
+ * @param relations                  The metadata of the relations.
+ * @param partialInterpretation      The whole partial interpretation.
+ * @param partialInterpretationDelta The changes of the partial interpretation since the acknowledged one.
+ */
 public record SemanticsModelResult(List<NodeMetadata> nodes, List<RelationMetadata> relations,
-								   JsonObject partialInterpretation) {
-	public static SemanticsModelResult EMPTY = new SemanticsModelResult(List.of(), List.of(), new JsonObject());
+								   JsonFragment partialInterpretation, JsonFragment partialInterpretationDelta) {
+	public static SemanticsModelResult EMPTY = new SemanticsModelResult(List.of(), List.of(),
+			JsonFragment.EMPTY_OBJECT);
+
+	public SemanticsModelResult(List<NodeMetadata> nodes, List<RelationMetadata> relations,
+								JsonFragment partialInterpretation) {
+		this(nodes, relations, partialInterpretation, null);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -18,6 +18,7 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.web.xtext.server.HeapPressureMonitor;
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 
 import java.util.Optional;
@@ -39,6 +40,9 @@ public class SemanticsService extends AbstractCachedService<SemanticsResult> {
 	@Inject
 	private ValidationService validationService;
 
+	@Inject
+	private HeapPressureMonitor heapPressureMonitor;
+
 	private ExecutorService executorService;
 
 	private final long timeoutMs;
@@ -77,8 +81,14 @@ public class SemanticsService extends AbstractCachedService<SemanticsResult> {
 		if (problem == null) {
 			return new SemanticsResult(SemanticsModelResult.EMPTY);
 		}
+		if (heapPressureMonitor.isUnderPressure()) {
+			LOG.debug("Not computing semantics for {} ({}) due to heap pressure", doc.getResourceId(),
+					doc.getStateId());
+			return new SemanticsResult("Server is low on memory, please try again later");
+		}
 		var worker = workerProvider.get();
-		worker.setProblem(problem, pushDoc.isConcretize(), cancelIndicator);
+		worker.setProblem(problem, pushDoc.isConcretize(), pushDoc.getSemanticsSession(), cancelIndicator);
+		worker.setPartialInterpretationTracker(pushDoc.getPartialInterpretationTracker(), doc.getStateId());
 		var future = executorService.submit(worker);
 		var result = handleFuture(future);
 		if (LOG.isTraceEnabled()) {
@@ -20,6 +20,8 @@ import org.eclipse.xtext.web.server.validation.ValidationResult;
 import tools.refinery.generator.ModelFacadeResult;
 import tools.refinery.generator.ModelSemantics;
 import tools.refinery.generator.ModelSemanticsFactory;
+import tools.refinery.generator.ModelSemanticsSession;
+import tools.refinery.generator.ModelStoreCache;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.model.problem.ProblemPackage;
 import tools.refinery.language.model.problem.ScopeDeclaration;
@@ -47,16 +49,24 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 	@Inject
 	private ModelSemanticsFactory semanticsFactory;
 
+	@Inject
+	private ModelStoreCache modelStoreCache;
+
 	@Inject
 	private PartialInterpretation2Json partialInterpretation2Json;
 
 	private Problem problem;
 	private boolean concretize;
+	private ModelSemanticsSession session;
 	private CancellationToken cancellationToken;
+	private PartialInterpretationTracker partialInterpretationTracker;
+	private String stateId;
 
-	public void setProblem(Problem problem, boolean concretize, CancelIndicator parentIndicator) {
+	public void setProblem(Problem problem, boolean concretize, ModelSemanticsSession session,
+						   CancelIndicator parentIndicator) {
 		this.problem = problem;
 		this.concretize = concretize;
+		this.session = session;
 		cancellationToken = () -> {
 			if (Thread.interrupted() || parentIndicator.isCanceled()) {
 				operationCanceledManager.throwOperationCanceledException();
@@ -64,6 +74,12 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 		};
 	}
 
+	public void setPartialInterpretationTracker(PartialInterpretationTracker partialInterpretationTracker,
+												String stateId) {
+		this.partialInterpretationTracker = partialInterpretationTracker;
+		this.stateId = stateId;
+	}
+
 	@Override
 	public SemanticsResult call() {
 		cancellationToken.checkCancelled();
@@ -73,6 +89,8 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 					.cancellationToken(cancellationToken)
 					.keepNonExistingObjects(true)
 					.concretize(concretize)
+					.modelStoreCache(modelStoreCache)
+					.session(session)
 					.tryCreateSemantics(problem);
 		} catch (TranslationException e) {
 			return new SemanticsResult(e.getMessage());
@@ -82,9 +100,12 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 			var message = cause == null ? e.getMessage() : cause.getMessage();
 			return getTracedErrorResult(e.getSourceElement(), message);
 		}
-		cancellationToken.checkCancelled();
-		var modelResult = createSemanticsModelResult(semantics);
-		return createSemanticsResult(modelResult, semantics.getProblemTrace(), semantics.getInitializationResult());
+		try (semantics) {
+			cancellationToken.checkCancelled();
+			var modelResult = createSemanticsModelResult(semantics);
+			return createSemanticsResult(modelResult, semantics.getProblemTrace(),
+					semantics.getInitializationResult());
+		}
 	}
 
 	private SemanticsResult getTracedErrorResult(EObject sourceElement, String message) {
@@ -137,8 +158,24 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 		cancellationToken.checkCancelled();
 		var relationsMetadata = semantics.getRelationsMetadata();
 		cancellationToken.checkCancelled();
-		var partialInterpretation = partialInterpretation2Json.getPartialInterpretation(semantics, cancellationToken);
-		return new SemanticsModelResult(nodesMetadata.list(), relationsMetadata, partialInterpretation);
+		if (partialInterpretationTracker == null) {
+			var partialInterpretation = partialInterpretation2Json.getPartialInterpretation(semantics,
+					cancellationToken);
+			return new SemanticsModelResult(nodesMetadata.list(), relationsMetadata, partialInterpretation);
+		}
+		var snapshot = partialInterpretation2Json.getSnapshot(semantics, stateId, cancellationToken);
+		var base = partialInterpretationTracker.getAcknowledgedSnapshot();
+		SemanticsModelResult result;
+		if (base == null) {
+			var partialInterpretation = partialInterpretation2Json.getPartialInterpretation(snapshot);
+			result = new SemanticsModelResult(nodesMetadata.list(), relationsMetadata, partialInterpretation);
+		} else {
+			var delta = partialInterpretation2Json.getPartialInterpretationDelta(base, snapshot);
+			result = new SemanticsModelResult(nodesMetadata.list(), relationsMetadata, null, delta);
+		}
+		cancellationToken.checkCancelled();
+		partialInterpretationTracker.setSentSnapshot(snapshot);
+		return result;
 	}
 
 	private SemanticsResult createSemanticsResult(
@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.xtext.server;
+
+import com.google.inject.Singleton;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Detects whether the heap is close to being exhausted, so that no new memory-intensive tasks should be started.
+ * <p>
+ * The heap usage is measured after the last garbage collection if the JVM reports it, because the current heap usage
+ * also includes garbage that is not collected yet.
+ * </p>
+ */
+@Singleton
+public class HeapPressureMonitor {
+	private final int thresholdPercent;
+	private final List<MemoryPoolMXBean> heapPools;
+
+	public HeapPressureMonitor() {
+		thresholdPercent = ThreadPoolExecutorServiceProvider.getCount("REFINERY_HEAP_PRESSURE_THRESHOLD_PERCENT")
+				.orElse(90);
+		heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+				.toList();
+	}
+
+	public boolean isUnderPressure() {
+		// Setting the threshold to 100% or more disables backpressure.
+		return thresholdPercent < 100 && getHeapUsagePercent() >= thresholdPercent;
+	}
+
+	public int getHeapUsagePercent() {
+		long maxMemory = Runtime.getRuntime().maxMemory();
+		if (maxMemory == Long.MAX_VALUE) {
+			return 0;
+		}
+		return (int) (getUsedMemory() * 100 / maxMemory);
+	}
+
+	private long getUsedMemory() {
+		long usedAfterCollection = 0;
+		for (var pool : heapPools) {
+			var usage = pool.getCollectionUsage();
+			if (usage != null) {
+				usedAfterCollection += usage.getUsed();
+			}
+		}
+		if (usedAfterCollection > 0) {
+			return usedAfterCollection;
+		}
+		var runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -76,10 +76,20 @@ public class ThreadPoolExecutorServiceProvider extends ExecutorServiceProvider {
 		generatorExecutorThreadCount = getCount("REFINERY_MODEL_GENERATION_THREAD_COUNT").orElse(executorThreadCount);
 	}
 
-	private static Optional<Integer> getCount(String name) {
+	public static Optional<Integer> getCount(String name) {
 		return Optional.ofNullable(System.getenv(name)).map(Integer::parseUnsignedInt);
 	}
 
+	/**
+	 * Gets the number of threads of an executor.
+	 *
+	 * @param key The key of the executor.
+	 * @return The number of threads, or 0 if the executor has an unbounded number of threads.
+	 */
+	public int getThreadCount(String key) {
+		return getSize(key);
+	}
+
 	public ScheduledExecutorService getScheduled(String key) {
 		return scheduledInstanceCache.computeIfAbsent(key, this::createScheduledInstance);
 	}
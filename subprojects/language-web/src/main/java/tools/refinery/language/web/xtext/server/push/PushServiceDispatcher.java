@@ -107,6 +107,8 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 			throw new InvalidRequestException.InvalidParametersException("The parameter 'resource' is required.");
 		}
 		var concretize = PushWebDocumentProvider.getConcretize(context);
+		// State of the partial interpretation already applied by the client, so we can only send the changes.
+		String semanticsStateId = context.getParameter("semanticsStateId");
 		String fullText = context.getParameter("fullText");
 		XtextWebDocument document = getResourceDocument(resourceId, context);
 		boolean initializedFromFullText = (document == null);
@@ -140,6 +142,7 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 			serviceDescriptor.setService(() -> {
 				try {
 					concretize.ifPresent(pushDocument::setConcretize);
+					pushDocument.getPartialInterpretationTracker().acknowledge(semanticsStateId);
 					return updateDocumentService.updateDeltaText(documentAccess, deltaText, deltaOffset,
 							deltaReplaceLength);
 				} catch (Throwable throwable) {
@@ -157,6 +160,7 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 						return updateDocumentService.getStateId(documentAccess);
 					} else {
 						concretize.ifPresent(pushDocument::setConcretize);
+						pushDocument.getPartialInterpretationTracker().acknowledge(semanticsStateId);
 						return updateDocumentService.updateFullText(documentAccess, fullText);
 					}
 				} catch (Throwable throwable) {
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -13,7 +13,9 @@ import org.eclipse.xtext.web.server.model.DocumentSynchronizer;
 import org.eclipse.xtext.web.server.model.XtextWebDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tools.refinery.generator.ModelSemanticsSession;
 import tools.refinery.language.web.generator.ModelGenerationManager;
+import tools.refinery.language.web.semantics.PartialInterpretationTracker;
 import tools.refinery.language.web.xtext.server.ResponseHandlerException;
 
 import java.util.ArrayList;
@@ -27,6 +29,10 @@ public class PushWebDocument extends XtextWebDocument {
 
 	private final ModelGenerationManager modelGenerationManager = new ModelGenerationManager();
 
+	private final ModelSemanticsSession semanticsSession = new ModelSemanticsSession();
+
+	private final PartialInterpretationTracker partialInterpretationTracker = new PartialInterpretationTracker();
+
 	private final DocumentSynchronizer synchronizer;
 
 	private final AtomicBoolean concretize;
@@ -45,10 +51,30 @@ public class PushWebDocument extends XtextWebDocument {
 		this.concretize.set(concretize);
 	}
 
+	/**
+	 * Gets an object identifying the client session this document belongs to.
+	 * <p>
+	 * All documents opened in the same session share their {@link DocumentSynchronizer}.
+	 * </p>
+	 *
+	 * @return The key of the session.
+	 */
+	public Object getSessionKey() {
+		return synchronizer;
+	}
+
 	public ModelGenerationManager getModelGenerationManager() {
 		return modelGenerationManager;
 	}
 
+	public ModelSemanticsSession getSemanticsSession() {
+		return semanticsSession;
+	}
+
+	public PartialInterpretationTracker getPartialInterpretationTracker() {
+		return partialInterpretationTracker;
+	}
+
 	public void addPrecomputationListener(PrecomputationListener listener) {
 		synchronized (precomputationListeners) {
 			if (precomputationListeners.contains(listener)) {
@@ -106,5 +132,6 @@ public class PushWebDocument extends XtextWebDocument {
 	public void dispose() {
 		synchronizer.setCanceled(true);
 		modelGenerationManager.dispose();
+		semanticsSession.close();
 	}
 }
@@ -0,0 +1,26 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.xtext.servlet;
+
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import tools.refinery.language.web.semantics.JsonFragment;
+
+import java.io.IOException;
+
+public class JsonFragmentTypeAdapter extends TypeAdapter<JsonFragment> {
+	@Override
+	public void write(JsonWriter out, JsonFragment value) throws IOException {
+		out.jsonValue(value == null ? null : value.json());
+	}
+
+	@Override
+	public JsonFragment read(JsonReader in) {
+		return new JsonFragment(JsonParser.parseReader(in).toString());
+	}
+}
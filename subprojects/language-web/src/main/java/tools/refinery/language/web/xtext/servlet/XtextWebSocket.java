@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import tools.refinery.language.semantics.metadata.NodeKind;
 import tools.refinery.language.semantics.metadata.PredicateDetailKind;
 import tools.refinery.language.semantics.metadata.RelationDetail;
+import tools.refinery.language.web.semantics.JsonFragment;
 import tools.refinery.language.web.xtext.server.ResponseHandler;
 import tools.refinery.language.web.xtext.server.ResponseHandlerException;
 import tools.refinery.language.web.xtext.server.TransactionExecutor;
@@ -54,6 +55,7 @@ public class XtextWebSocket implements ResponseHandler {
 					.registerSubtype(RelationDetail.Predicate.class, "pred"))
 			.registerTypeAdapter(NodeKind.class, new LowercaseTypeAdapter<>(NodeKind.class))
 			.registerTypeAdapter(PredicateDetailKind.class, new LowercaseTypeAdapter<>(PredicateDetailKind.class))
+			.registerTypeAdapter(JsonFragment.class, new JsonFragmentTypeAdapter())
 			.create();
 
 	private final TransactionExecutor executor;
@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.generator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.web.xtext.server.HeapPressureMonitor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class ModelGenerationSchedulerTest {
+	private static final Object SESSION_A = "a";
+
+	private static final Object SESSION_B = "b";
+
+	private final StubHeapPressureMonitor heapPressureMonitor = new StubHeapPressureMonitor();
+
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void beforeEach() {
+		executorService = mock(ExecutorService.class);
+	}
+
+	@Test
+	void sessionQuotaTest() {
+		var scheduler = createScheduler(32, 2, 1);
+		var first = mock(ModelGenerationWorker.class);
+		var second = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(first, SESSION_A, 0));
+		assertWaiting(scheduler.submit(second, SESSION_A, 0));
+		assertRejected(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 0));
+		// Other sessions have their own quota.
+		assertWaiting(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_B, 0));
+		scheduler.finished(first);
+		verify(second).start(executorService);
+		assertWaiting(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 0));
+	}
+
+	@Test
+	void queueBoundTest() {
+		var scheduler = createScheduler(2, 10, 1);
+		var running = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(running, SESSION_A, 0));
+		verify(running).start(executorService);
+		assertWaiting(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 0));
+		assertWaiting(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_B, 0));
+		assertRejected(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_B, 0));
+		scheduler.finished(running);
+		assertWaiting(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_B, 0));
+	}
+
+	@Test
+	void maxNodeCountTest() {
+		var scheduler = createScheduler(32, 2, 1);
+		var worker = mock(ModelGenerationWorker.class);
+		assertRejected(scheduler.submit(worker, SESSION_A, 101));
+		verify(worker, never()).start(any());
+		assertAccepted(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 100));
+	}
+
+	@Test
+	void replaceTaskTest() {
+		var scheduler = createScheduler(1, 1, 1);
+		var running = mock(ModelGenerationWorker.class);
+		var queued = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(running, SESSION_B, 0));
+		assertWaiting(scheduler.submit(queued, SESSION_A, 0));
+		var replacement = mock(ModelGenerationWorker.class);
+		assertRejected(scheduler.submit(replacement, SESSION_A, 0));
+		// The replaced task neither counts towards the quota nor the length of the queue.
+		assertWaiting(scheduler.submit(replacement, SESSION_A, 0, queued));
+		// A task of another session can not be replaced.
+		assertRejected(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 0, running));
+		scheduler.finished(queued);
+		scheduler.finished(running);
+		verify(replacement).start(executorService);
+	}
+
+	@Test
+	void roundRobinTest() {
+		var scheduler = createScheduler(32, 3, 1);
+		var a1 = mock(ModelGenerationWorker.class);
+		var a2 = mock(ModelGenerationWorker.class);
+		var a3 = mock(ModelGenerationWorker.class);
+		var b1 = mock(ModelGenerationWorker.class);
+		var b2 = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(a1, SESSION_A, 0));
+		assertWaiting(scheduler.submit(a2, SESSION_A, 0));
+		assertWaiting(scheduler.submit(a3, SESSION_A, 0));
+		assertWaiting(scheduler.submit(b1, SESSION_B, 0));
+		assertWaiting(scheduler.submit(b2, SESSION_B, 0));
+		scheduler.finished(a1);
+		scheduler.finished(a2);
+		scheduler.finished(b1);
+		scheduler.finished(a3);
+		var inOrder = inOrder(a1, a2, a3, b1, b2);
+		inOrder.verify(a1).start(executorService);
+		inOrder.verify(a2).start(executorService);
+		inOrder.verify(b1).start(executorService);
+		inOrder.verify(a3).start(executorService);
+		inOrder.verify(b2).start(executorService);
+	}
+
+	@Test
+	void cancelQueuedTest() {
+		var scheduler = createScheduler(32, 2, 1);
+		var running = mock(ModelGenerationWorker.class);
+		var cancelled = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(running, SESSION_A, 0));
+		assertWaiting(scheduler.submit(cancelled, SESSION_A, 0));
+		// Cancelled workers that were not started notify the scheduler, possibly multiple times.
+		scheduler.finished(cancelled);
+		scheduler.finished(cancelled);
+		var next = mock(ModelGenerationWorker.class);
+		assertWaiting(scheduler.submit(next, SESSION_A, 0));
+		assertRejected(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_A, 0));
+		scheduler.finished(running);
+		verify(cancelled, never()).start(any());
+		verify(next).start(executorService);
+	}
+
+	@Test
+	void cancelBeforeStartTest() {
+		var scheduler = createScheduler(32, 2, 1);
+		var cancelled = mock(ModelGenerationWorker.class);
+		// Workers cancelled after they were dispatched notify the scheduler when they are started.
+		doAnswer(invocation -> {
+			scheduler.finished(cancelled);
+			return null;
+		}).when(cancelled).start(executorService);
+		assertAccepted(scheduler.submit(cancelled, SESSION_A, 0));
+		var next = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(next, SESSION_A, 0));
+		verify(next).start(executorService);
+		scheduler.finished(cancelled);
+		// Finishing the cancelled worker again must not free the slot of the running one.
+		var waiting = mock(ModelGenerationWorker.class);
+		assertWaiting(scheduler.submit(waiting, SESSION_B, 0));
+		verify(waiting, never()).start(any());
+		verify(cancelled).start(executorService);
+	}
+
+	@Test
+	void heapPressureTest() {
+		var scheduler = createScheduler(32, 10, 2);
+		var first = mock(ModelGenerationWorker.class);
+		var second = mock(ModelGenerationWorker.class);
+		var third = mock(ModelGenerationWorker.class);
+		var fourth = mock(ModelGenerationWorker.class);
+		assertAccepted(scheduler.submit(first, SESSION_A, 0));
+		assertAccepted(scheduler.submit(second, SESSION_A, 0));
+		assertWaiting(scheduler.submit(third, SESSION_A, 0));
+		assertWaiting(scheduler.submit(fourth, SESSION_A, 0));
+		heapPressureMonitor.underPressure = true;
+		assertRejected(scheduler.submit(mock(ModelGenerationWorker.class), SESSION_B, 0));
+		scheduler.finished(first);
+		// While the heap is under pressure, only a single task may run.
+		verify(third, never()).start(any());
+		scheduler.finished(second);
+		verify(third).start(executorService);
+		verify(fourth, never()).start(any());
+		heapPressureMonitor.underPressure = false;
+		scheduler.finished(third);
+		verify(fourth).start(executorService);
+	}
+
+	private ModelGenerationScheduler createScheduler(int maxQueueLength, int sessionQuota, int threadCount) {
+		var scheduler = new ModelGenerationScheduler(maxQueueLength, sessionQuota, 100);
+		scheduler.setExecutorService(executorService, threadCount);
+		scheduler.setHeapPressureMonitor(heapPressureMonitor);
+		return scheduler;
+	}
+
+	private static void assertAccepted(ModelGenerationStartedResult result) {
+		assertThat(result.error(), nullValue());
+		assertThat(result.status(), nullValue());
+	}
+
+	private static void assertWaiting(ModelGenerationStartedResult result) {
+		assertThat(result.error(), nullValue());
+		assertThat(result.status(), startsWith("Waiting"));
+	}
+
+	private static void assertRejected(ModelGenerationStartedResult result) {
+		assertThat(result.error(), notNullValue());
+	}
+
+	private static class StubHeapPressureMonitor extends HeapPressureMonitor {
+		private boolean underPressure;
+
+		@Override
+		public boolean isUnderPressure() {
+			return underPressure;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -18,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.refinery.language.web.semantics.SemanticsModelResult;
+import tools.refinery.language.web.semantics.SemanticsResult;
 import tools.refinery.language.web.semantics.SemanticsService;
 import tools.refinery.language.web.tests.AwaitTerminationExecutorServiceProvider;
 import tools.refinery.language.web.tests.ProblemWebInjectorProvider;
@@ -25,6 +27,7 @@ import tools.refinery.language.web.xtext.server.ResponseHandler;
 import tools.refinery.language.web.xtext.server.ResponseHandlerException;
 import tools.refinery.language.web.xtext.server.TransactionExecutor;
 import tools.refinery.language.web.xtext.server.message.XtextWebOkResponse;
+import tools.refinery.language.web.xtext.server.message.XtextWebPushMessage;
 import tools.refinery.language.web.xtext.server.message.XtextWebRequest;
 import tools.refinery.language.web.xtext.server.message.XtextWebResponse;
 
@@ -106,6 +109,38 @@ class TransactionExecutorTest {
 		assertHighlightingResponse(newStateId, captor.getAllValues().get(1));
 	}
 
+	@Test
+	void updateDeltaTextSemanticsDeltaTest() throws ResponseHandlerException {
+		var stateId = updateFullText();
+		var responseHandler = sendRequestAndWaitForAllResponses(
+				new XtextWebRequest("bar", Map.of("resource", RESOURCE_NAME, "serviceType", "update", "requiredStateId",
+						stateId, "semanticsStateId", stateId, "deltaText", "friend(b, c).\n", "deltaOffset",
+						Integer.toString(TEST_PROBLEM.length()), "deltaReplaceLength", "0")));
+
+		var captor = newCaptor();
+		verify(responseHandler, times(4)).onResponse(captor.capture());
+		var model = getSemanticsModel(captor.getAllValues().get(3));
+		assertThat(model.partialInterpretation(), nullValue());
+		assertThat(model.partialInterpretationDelta().json(), allOf(
+				startsWith("{\"base\":\"" + stateId + "\","),
+				containsString("\"Person::friend\":[")));
+	}
+
+	@Test
+	void updateDeltaTextSemanticsNotAcknowledgedTest() throws ResponseHandlerException {
+		var stateId = updateFullText();
+		var responseHandler = sendRequestAndWaitForAllResponses(
+				new XtextWebRequest("bar", Map.of("resource", RESOURCE_NAME, "serviceType", "update", "requiredStateId",
+						stateId, "semanticsStateId", "-1", "deltaText", "friend(b, c).\n", "deltaOffset",
+						Integer.toString(TEST_PROBLEM.length()), "deltaReplaceLength", "0")));
+
+		var captor = newCaptor();
+		verify(responseHandler, times(4)).onResponse(captor.capture());
+		var model = getSemanticsModel(captor.getAllValues().get(3));
+		assertThat(model.partialInterpretation(), notNullValue());
+		assertThat(model.partialInterpretationDelta(), nullValue());
+	}
+
 	@Test
 	void fullTextWithoutResourceTest() throws ResponseHandlerException {
 		var resourceServiceProvider = resourceServiceProviderRegistry
@@ -150,6 +185,14 @@ class TransactionExecutorTest {
 		return ((DocumentStateResult) ((XtextWebOkResponse) okResponse).getResponseData()).getStateId();
 	}
 
+	private SemanticsModelResult getSemanticsModel(XtextWebResponse semanticsResponse) {
+		assertThat(semanticsResponse, hasProperty("service", equalTo("semantics")));
+		assertThat(semanticsResponse, hasProperty("pushData", instanceOf(SemanticsResult.class)));
+		var result = (SemanticsResult) ((XtextWebPushMessage) semanticsResponse).getPushData();
+		assertThat(result.model(), notNullValue());
+		return result.model();
+	}
+
 	private void assertThatPrecomputedMessagesAreReceived(String stateId, List<XtextWebResponse> responses) {
 		assertHighlightingResponse(stateId, responses.get(1));
 		assertValidationResponse(stateId, responses.get(2));
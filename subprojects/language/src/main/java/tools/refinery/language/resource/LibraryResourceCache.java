@@ -0,0 +1,383 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.resource;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceFactory;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.scoping.impl.GlobalResourceDescriptionProvider;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.eclipse.xtext.validation.Issue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.language.model.problem.AggregatorDeclaration;
+import tools.refinery.language.model.problem.Relation;
+import tools.refinery.language.scoping.imports.ImportAdapter;
+import tools.refinery.language.scoping.imports.ImportAdapterProvider;
+import tools.refinery.language.typesystem.SignatureProvider;
+import tools.refinery.language.utils.ProblemUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Process-wide cache of parsed library modules that can be shared between resource sets.
+ * <p>
+ * Library modules, i.e., modules provided by a {@link tools.refinery.language.library.RefineryLibrary} on the
+ * classpath or found on the {@code REFINERY_LIBRARY_PATH}, are parsed, linked, and validated only once into a shared
+ * resource set. Resource sets prepared with {@link #install(XtextResourceSet)} get the shared resources instead of
+ * loading library modules again. Shared resources are fully resolved, and their resource descriptions and
+ * validation issues are computed before they are handed out, so that they can be read concurrently from multiple
+ * resource sets. They must not be modified.
+ * </p>
+ * <p>
+ * Library modules are resolved with the library paths of the shared resource set. Resource sets with additional
+ * library paths may resolve imports differently, so they should not be prepared with
+ * {@link #install(XtextResourceSet)}.
+ * </p>
+ * <p>
+ * Cached modules are keyed by the hash of their contents. If a module read from a file changes, all cached modules
+ * are discarded, because other library modules may refer to the outdated one. Resource sets that already use the
+ * outdated modules keep using them.
+ * </p>
+ */
+@Singleton
+public class LibraryResourceCache {
+	private static final Logger LOG = Logger.getLogger(LibraryResourceCache.class);
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private IResourceFactory resourceFactory;
+
+	@Inject
+	private ImportAdapterProvider importAdapterProvider;
+
+	@Inject
+	private IResourceValidator resourceValidator;
+
+	@Inject
+	private GlobalResourceDescriptionProvider globalResourceDescriptionProvider;
+
+	@Inject
+	private SignatureProvider signatureProvider;
+
+	private final Map<URI, Entry> entries = new HashMap<>();
+	private XtextResourceSet sharedResourceSet;
+	private ImportAdapter sharedImportAdapter;
+
+	/**
+	 * Makes a resource set look up library modules in this cache.
+	 * <p>
+	 * Resources already in the resource set and resources added later take precedence over cached modules. Shared
+	 * resources are not contained in the resource set, so {@link Resource#getResourceSet()} will return the shared
+	 * resource set for them.
+	 * </p>
+	 *
+	 * @param resourceSet The resource set to prepare.
+	 */
+	public void install(XtextResourceSet resourceSet) {
+		var uriResourceMap = resourceSet.getURIResourceMap();
+		if (uriResourceMap instanceof LibraryResourceMap) {
+			return;
+		}
+		var libraryResourceMap = new LibraryResourceMap(this);
+		if (uriResourceMap != null) {
+			libraryResourceMap.putAll(uriResourceMap);
+		}
+		resourceSet.setURIResourceMap(libraryResourceMap);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		sharedResourceSet = null;
+		sharedImportAdapter = null;
+	}
+
+	@Nullable
+	synchronized Resource getResource(URI uri) {
+		var entry = entries.get(uri);
+		if (entry != null) {
+			if (isUpToDate(entry)) {
+				return entry.resource();
+			}
+			LOG.info("Library module %s has changed, discarding cached library modules".formatted(uri));
+			clear();
+		}
+		if (sharedResourceSet == null) {
+			sharedResourceSet = resourceSetProvider.get();
+			sharedImportAdapter = importAdapterProvider.getOrInstall(sharedResourceSet);
+		}
+		if (!isLibraryUri(uri) || sharedResourceSet.getResource(uri, false) != null) {
+			// Modules that failed to load into the shared resource set are loaded by each resource set separately
+			// to report the error.
+			return null;
+		}
+		try {
+			return load(uri);
+		} catch (IOException e) {
+			LOG.debug("Failed to load library module " + uri, e);
+			return null;
+		}
+	}
+
+	private boolean isLibraryUri(URI uri) {
+		var libraryPaths = sharedImportAdapter.getLibraryPaths();
+		if (sharedImportAdapter.getLibrary().computeQualifiedName(uri, libraryPaths).isPresent()) {
+			return true;
+		}
+		var path = getPath(uri);
+		if (path == null || !ProblemUtil.MODULE_EXTENSION.equals(uri.fileExtension())) {
+			return false;
+		}
+		for (var libraryPath : libraryPaths) {
+			if (path.startsWith(libraryPath)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Resource load(URI uri) throws IOException {
+		var contents = readContents(uri);
+		var resource = resourceFactory.createResource(uri);
+		sharedResourceSet.getResources().add(resource);
+		try (var inputStream = new ByteArrayInputStream(contents)) {
+			resource.load(inputStream, Map.of());
+			register(resource, contents);
+			// Make sure that the builtin library is loaded and its symbols are computed before sharing them.
+			sharedImportAdapter.getBuiltinSymbols();
+			registerTransitiveImports();
+		} catch (IOException | RuntimeException e) {
+			clear();
+			throw e;
+		}
+		return resource;
+	}
+
+	private void registerTransitiveImports() throws IOException {
+		var resources = sharedResourceSet.getResources();
+		// Registering a resource may load further resources into the shared resource set, so we can't use an
+		// iterator here.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < resources.size(); i++) {
+			var resource = resources.get(i);
+			var uri = resource.getURI();
+			if (entries.containsKey(uri)) {
+				continue;
+			}
+			byte[] contents;
+			try {
+				// Imported modules were loaded by the shared resource set, so we have to read them again to compute
+				// their hashes.
+				contents = readContents(uri);
+			} catch (IOException e) {
+				// Missing imports are reported by the validation of the importing module.
+				LOG.debug("Failed to read imported library module " + uri, e);
+				continue;
+			}
+			register(resource, contents);
+		}
+	}
+
+	private void register(Resource resource, byte[] contents) throws IOException {
+		var uri = resource.getURI();
+		EcoreUtil.resolveAll(resource);
+		var resourceDescription = globalResourceDescriptionProvider.getResourceDescription(resource);
+		// Force the lazily computed lookup tables of the resource description to be built before we share it.
+		resourceDescription.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.EMPTY, false);
+		var issues = List.copyOf(resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl));
+		computeSignatures(resource);
+		resource.eAdapters().add(new SharedLibraryAdapter(resourceDescription, issues));
+		var path = getPath(uri);
+		var attributes = path == null ? null : Files.readAttributes(path, BasicFileAttributes.class);
+		entries.put(uri, new Entry(resource, hash(contents), path,
+				attributes == null ? null : attributes.lastModifiedTime(),
+				attributes == null ? -1 : attributes.size()));
+	}
+
+	private void computeSignatures(Resource resource) {
+		// Signatures of shared relations are requested from multiple resource sets, so we have to make sure that their
+		// cache adapters are installed before the resource is shared.
+		var iterator = resource.getAllContents();
+		while (iterator.hasNext()) {
+			computeSignature(iterator.next());
+		}
+	}
+
+	private void computeSignature(EObject eObject) {
+		try {
+			if (eObject instanceof Relation relation) {
+				signatureProvider.getSignature(relation);
+			} else if (eObject instanceof AggregatorDeclaration aggregatorDeclaration) {
+				signatureProvider.getAggregatorName(aggregatorDeclaration);
+			}
+		} catch (IllegalArgumentException e) {
+			// Invalid declarations are reported by validation.
+			LOG.debug("Failed to compute signature of " + eObject, e);
+		}
+	}
+
+	private boolean isUpToDate(Entry entry) {
+		var path = entry.path();
+		if (path == null) {
+			// Modules on the classpath can't change while the application is running.
+			return true;
+		}
+		try {
+			var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+			if (attributes.lastModifiedTime().equals(entry.lastModifiedTime()) && attributes.size() == entry.size()) {
+				return true;
+			}
+			// The file was touched, but it is only outdated if its contents have changed.
+			if (!Arrays.equals(hash(Files.readAllBytes(path)), entry.hash())) {
+				return false;
+			}
+			entries.put(entry.resource().getURI(), new Entry(entry.resource(), entry.hash(), path,
+					attributes.lastModifiedTime(), attributes.size()));
+			return true;
+		} catch (IOException e) {
+			LOG.debug("Failed to check library module " + path, e);
+			return false;
+		}
+	}
+
+	private byte[] readContents(URI uri) throws IOException {
+		try (var inputStream = sharedResourceSet.getURIConverter().createInputStream(uri)) {
+			return inputStream.readAllBytes();
+		}
+	}
+
+	@Nullable
+	private static Path getPath(URI uri) {
+		if (!uri.isFile() || !uri.hasAbsolutePath()) {
+			return null;
+		}
+		return Path.of(uri.toFileString()).toAbsolutePath().normalize();
+	}
+
+	private static byte[] hash(byte[] contents) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Hash algorithm %s is not available".formatted(HASH_ALGORITHM), e);
+		}
+		return digest.digest(contents);
+	}
+
+	/**
+	 * Gets the resource description computed when a shared library module was cached.
+	 *
+	 * @param resource The resource of the module.
+	 * @return The resource description, or {@code null} if the resource is not a shared library module.
+	 */
+	@Nullable
+	public static IResourceDescription getCachedResourceDescription(@NotNull Resource resource) {
+		var adapter = getAdapter(resource);
+		return adapter == null ? null : adapter.resourceDescription();
+	}
+
+	/**
+	 * Gets the validation issues found when a shared library module was cached.
+	 * <p>
+	 * Shared library modules must not be validated again, because validation would modify the caches of their
+	 * resources while they may be read from other threads.
+	 * </p>
+	 *
+	 * @param resource The resource of the module.
+	 * @return The validation issues, or {@code null} if the resource is not a shared library module.
+	 */
+	@Nullable
+	public static List<Issue> getCachedIssues(@NotNull Resource resource) {
+		var adapter = getAdapter(resource);
+		return adapter == null ? null : adapter.issues();
+	}
+
+	@Nullable
+	private static SharedLibraryAdapter getAdapter(Resource resource) {
+		return (SharedLibraryAdapter) EcoreUtil.getAdapter(resource.eAdapters(), SharedLibraryAdapter.class);
+	}
+
+	private record Entry(Resource resource, byte[] hash, @Nullable Path path, @Nullable FileTime lastModifiedTime,
+						 long size) {
+	}
+
+	private static class SharedLibraryAdapter extends AdapterImpl {
+		private final IResourceDescription resourceDescription;
+		private final List<Issue> issues;
+
+		SharedLibraryAdapter(IResourceDescription resourceDescription, List<Issue> issues) {
+			this.resourceDescription = resourceDescription;
+			this.issues = issues;
+		}
+
+		public IResourceDescription resourceDescription() {
+			return resourceDescription;
+		}
+
+		public List<Issue> issues() {
+			return issues;
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == SharedLibraryAdapter.class;
+		}
+	}
+
+	/**
+	 * URI to resource map of a resource set that falls back to the shared library modules.
+	 * <p>
+	 * The shared modules are remembered for the lifetime of the resource set, so that a resource set sees a
+	 * consistent set of library modules even if the cache is cleared in the meantime.
+	 * </p>
+	 */
+	private static class LibraryResourceMap extends HashMap<URI, Resource> {
+		private final transient LibraryResourceCache cache;
+		private final transient Map<URI, Optional<Resource>> libraryResources = new HashMap<>();
+
+		LibraryResourceMap(LibraryResourceCache cache) {
+			this.cache = cache;
+		}
+
+		@Override
+		public Resource get(Object key) {
+			var resource = super.get(key);
+			if (resource != null || !(key instanceof URI uri)) {
+				return resource;
+			}
+			return libraryResources.computeIfAbsent(uri, ignored -> Optional.ofNullable(cache.getResource(uri)))
+					.orElse(null);
+		}
+	}
+}
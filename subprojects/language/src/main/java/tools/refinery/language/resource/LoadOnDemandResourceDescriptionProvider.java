@@ -45,6 +45,10 @@ public class LoadOnDemandResourceDescriptionProvider {
 		if (importedResource == null) {
 			return null;
 		}
+		var cachedResourceDescription = LibraryResourceCache.getCachedResourceDescription(importedResource);
+		if (cachedResourceDescription != null) {
+			return cachedResourceDescription;
+		}
 		// Force the {@code importedResource} to have all of its derived resource state installed.
 		EcoreUtil.resolveAll(importedResource);
 		return globalResourceDescriptionProvider.getResourceDescription(importedResource);
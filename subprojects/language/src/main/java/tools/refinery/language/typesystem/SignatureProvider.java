@@ -12,9 +12,18 @@ import org.eclipse.xtext.util.IResourceScopeCache;
 import tools.refinery.language.model.problem.*;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Computes the signatures of relations and caches them in the resources the relations are declared in.
+ * <p>
+ * Shared library modules (see {@link tools.refinery.language.resource.LibraryResourceCache}) are used by multiple
+ * resource sets concurrently, so the caches are thread-safe. The caches of shared modules are filled before the
+ * modules are shared, because the {@link IResourceScopeCache} has to install an adapter into a resource when it is
+ * first accessed.
+ * </p>
+ */
 @Singleton
 public class SignatureProvider {
 	private static final String PREFIX = "tools.refinery.language.typesystem.SignatureProvider.";
@@ -29,7 +38,8 @@ public class SignatureProvider {
 	private IResourceScopeCache cache;
 
 	public Signature getSignature(Relation relation) {
-		var signatures = cache.get(SIGNATURE_CACHE, relation.eResource(), () -> new HashMap<Relation, Signature>());
+		var signatures = cache.get(SIGNATURE_CACHE, relation.eResource(),
+				() -> new ConcurrentHashMap<Relation, Signature>());
 		return signatures.computeIfAbsent(relation, this::computeSignature);
 	}
 
@@ -78,7 +88,7 @@ public class SignatureProvider {
 
 	public DataExprType getDataType(DatatypeDeclaration datatypeDeclaration) {
 		var dataTypes = cache.get(DATATYPE_CACHE, datatypeDeclaration.eResource(),
-				() -> new HashMap<DatatypeDeclaration, DataExprType>());
+				() -> new ConcurrentHashMap<DatatypeDeclaration, DataExprType>());
 		return dataTypes.computeIfAbsent(datatypeDeclaration, this::computeDataType);
 	}
 
@@ -92,7 +102,7 @@ public class SignatureProvider {
 
 	public AggregatorName getAggregatorName(AggregatorDeclaration aggregatorDeclaration) {
 		var dataTypes = cache.get(AGGREGATOR_CACHE, aggregatorDeclaration.eResource(),
-				() -> new HashMap<AggregatorDeclaration, AggregatorName>());
+				() -> new ConcurrentHashMap<AggregatorDeclaration, AggregatorName>());
 		return dataTypes.computeIfAbsent(aggregatorDeclaration, this::computeAggregatorName);
 	}
 
@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+/**
+ * Receives measurements from the explorers of a design-space exploration.
+ * <p>
+ * Methods are called from the threads of the explorers, possibly concurrently, so implementations must be
+ * thread-safe and should return quickly. Explorers only take measurements if the metrics are not {@link #NONE}.
+ * </p>
+ */
+public interface ExplorationMetrics {
+	/**
+	 * Phases of the exploration whose latency is measured.
+	 */
+	enum Phase {
+		/**
+		 * Selecting and firing an activation.
+		 */
+		FIRE,
+
+		/**
+		 * Running the propagators after firing an activation.
+		 */
+		PROPAGATE,
+
+		/**
+		 * Propagating model changes to the query engine.
+		 */
+		FLUSH,
+
+		/**
+		 * Calculating the state code of a model.
+		 */
+		STATE_CODE,
+
+		/**
+		 * Committing a new state.
+		 */
+		COMMIT,
+
+		/**
+		 * Restoring a state from the frontier.
+		 */
+		RESTORE
+	}
+
+	/**
+	 * Metrics that ignore all measurements.
+	 */
+	ExplorationMetrics NONE = new ExplorationMetrics() {
+		@Override
+		public void phaseCompleted(Phase phase, long durationNanos) {
+			// Nothing to record.
+		}
+
+		@Override
+		public void stateVisited(boolean isNew) {
+			// Nothing to record.
+		}
+
+		@Override
+		public void stateRestored(long distance) {
+			// Nothing to record.
+		}
+
+		@Override
+		public void propagationRejected() {
+			// Nothing to record.
+		}
+	};
+
+	/**
+	 * Called when an explorer has finished a phase.
+	 *
+	 * @param phase         The phase.
+	 * @param durationNanos The wall-clock duration of the phase in nanoseconds.
+	 */
+	void phaseCompleted(Phase phase, long durationNanos);
+
+	/**
+	 * Called when an explorer has calculated the state code of a state that was not excluded.
+	 *
+	 * @param isNew {@code true} if the state was not visited before, {@code false} if it was a duplicate.
+	 */
+	void stateVisited(boolean isNew);
+
+	/**
+	 * Called when an explorer has restored a state from the frontier.
+	 *
+	 * @param distance The distance from the previous state of the model as estimated by
+	 *                 {@link tools.refinery.store.model.ModelStore#estimateDistance}.
+	 */
+	void stateRestored(long distance);
+
+	/**
+	 * Called when a propagator rejected the state after firing an activation.
+	 */
+	void propagationRejected();
+}
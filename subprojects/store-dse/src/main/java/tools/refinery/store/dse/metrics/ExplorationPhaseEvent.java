@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("tools.refinery.ExplorationPhase")
+@Label("Exploration Phase")
+@Description("A phase of firing an activation or restoring a state during design-space exploration")
+@Category({"Refinery", "Design-Space Exploration"})
+// There may be hundreds of thousands of phases per second, so these events have to be enabled explicitly.
+@Enabled(false)
+@StackTrace(false)
+class ExplorationPhaseEvent extends Event {
+	@Label("Phase")
+	String phase;
+
+	@Label("Phase Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long phaseDuration;
+}
@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exploration metrics that aggregate the measurements in memory so that they can be queried during or after the
+ * exploration.
+ */
+public class ExplorationStatistics implements ExplorationMetrics {
+	private final long startNanos = System.nanoTime();
+	private final LongAdder newStates = new LongAdder();
+	private final LongAdder duplicateStates = new LongAdder();
+	private final LongAdder rejectedPropagations = new LongAdder();
+	private final Histogram restoreDistances = new Histogram();
+	private final Map<Phase, Histogram> phaseLatencies = new EnumMap<>(Phase.class);
+
+	public ExplorationStatistics() {
+		// Populate the map eagerly so that it is never modified concurrently.
+		for (var phase : Phase.values()) {
+			phaseLatencies.put(phase, new Histogram());
+		}
+	}
+
+	@Override
+	public void phaseCompleted(Phase phase, long durationNanos) {
+		phaseLatencies.get(phase).record(durationNanos);
+	}
+
+	@Override
+	public void stateVisited(boolean isNew) {
+		if (isNew) {
+			newStates.increment();
+		} else {
+			duplicateStates.increment();
+		}
+	}
+
+	@Override
+	public void stateRestored(long distance) {
+		restoreDistances.record(distance);
+	}
+
+	@Override
+	public void propagationRejected() {
+		rejectedPropagations.increment();
+	}
+
+	public long getNewStateCount() {
+		return newStates.sum();
+	}
+
+	public long getDuplicateStateCount() {
+		return duplicateStates.sum();
+	}
+
+	/**
+	 * Gets the ratio of visited states that turned out to be equivalent to an already visited state.
+	 * <p>
+	 * A high ratio means that explorers spend much of their time on rediscovering states.
+	 * </p>
+	 *
+	 * @return The ratio between {@code 0} and {@code 1}.
+	 */
+	public double getDuplicateStateRatio() {
+		long duplicates = getDuplicateStateCount();
+		long total = getNewStateCount() + duplicates;
+		return total == 0 ? 0 : (double) duplicates / total;
+	}
+
+	/**
+	 * Gets the average number of new states discovered per second since the creation of this object.
+	 *
+	 * @return The number of new states per second.
+	 */
+	public double getStatesPerSecond() {
+		long elapsedNanos = System.nanoTime() - startNanos;
+		return elapsedNanos <= 0 ? 0 : getNewStateCount() * 1e9 / elapsedNanos;
+	}
+
+	public long getRejectedPropagationCount() {
+		return rejectedPropagations.sum();
+	}
+
+	public HistogramSnapshot getRestoreDistances() {
+		return restoreDistances.snapshot();
+	}
+
+	/**
+	 * Gets the latencies of a phase of the exploration.
+	 *
+	 * @param phase The phase.
+	 * @return The latencies in nanoseconds.
+	 */
+	public HistogramSnapshot getPhaseLatencies(Phase phase) {
+		return phaseLatencies.get(phase).snapshot();
+	}
+
+	@Override
+	public String toString() {
+		var builder = new StringBuilder();
+		builder.append("ExplorationStatistics[newStates=").append(getNewStateCount())
+				.append(", duplicateStateRatio=").append(getDuplicateStateRatio())
+				.append(", statesPerSecond=").append(getStatesPerSecond())
+				.append(", rejectedPropagations=").append(getRejectedPropagationCount())
+				.append(", restoreDistances=").append(getRestoreDistances());
+		for (var phase : Phase.values()) {
+			builder.append(", ").append(phase).append('=').append(getPhaseLatencies(phase));
+		}
+		return builder.append(']').toString();
+	}
+}
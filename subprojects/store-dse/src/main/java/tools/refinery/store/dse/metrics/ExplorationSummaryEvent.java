@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("tools.refinery.ExplorationSummary")
+@Label("Exploration Summary")
+@Description("Periodic summary of the progress of design-space exploration")
+@Category({"Refinery", "Design-Space Exploration"})
+@Period("1 s")
+@StackTrace(false)
+class ExplorationSummaryEvent extends Event {
+	@Label("New States")
+	long newStates;
+
+	@Label("Duplicate States")
+	long duplicateStates;
+
+	@Label("States per Second")
+	double statesPerSecond;
+
+	@Label("Rejected Propagations")
+	long rejectedPropagations;
+
+	@Label("Mean Restore Distance")
+	double meanRestoreDistance;
+
+	@Label("Mean Propagation Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long meanPropagationDuration;
+
+	@Label("Mean State Coding Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long meanStateCodeDuration;
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with buckets for powers of two.
+ * <p>
+ * Bucket {@code i > 0} counts the values {@code v} with {@code 2^(i-1) <= v < 2^i}, while bucket {@code 0} counts the
+ * zero values. This keeps recording cheap and the memory constant at the price of reporting percentiles only up to a
+ * factor of two.
+ * </p>
+ */
+public class Histogram {
+	// Non-negative values have at most 63 significant bits.
+	static final int BUCKET_COUNT = Long.SIZE;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long value) {
+		long nonNegativeValue = Math.max(value, 0);
+		buckets.incrementAndGet(getBucket(nonNegativeValue));
+		count.increment();
+		sum.add(nonNegativeValue);
+		max.accumulateAndGet(nonNegativeValue, Math::max);
+	}
+
+	public HistogramSnapshot snapshot() {
+		var bucketCounts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			bucketCounts[i] = buckets.get(i);
+		}
+		return new HistogramSnapshot(count.sum(), sum.sum(), max.get(), bucketCounts);
+	}
+
+	static int getBucket(long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(value);
+	}
+
+	static long getBucketUpperBound(int bucket) {
+		// Overflows to Long.MAX_VALUE for the last bucket as expected.
+		return (1L << bucket) - 1;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+/**
+ * The contents of a {@link Histogram} at some point in time.
+ * <p>
+ * Since the histogram is updated concurrently, the count, sum, maximum and buckets are read one after the other and
+ * may be slightly inconsistent with each other.
+ * </p>
+ */
+public final class HistogramSnapshot {
+	private final long count;
+	private final long sum;
+	private final long max;
+	private final long[] buckets;
+
+	HistogramSnapshot(long count, long sum, long max, long[] buckets) {
+		this.count = count;
+		this.sum = sum;
+		this.max = max;
+		this.buckets = buckets;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Estimates a percentile of the recorded values.
+	 *
+	 * @param percentile The percentile between {@code 0} and {@code 100}.
+	 * @return An upper bound of the percentile that is at most twice the actual value, or {@code 0} if no values were
+	 * recorded.
+	 */
+	public long getPercentile(double percentile) {
+		if (!(percentile >= 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100, got %f instead"
+					.formatted(percentile));
+		}
+		long total = 0;
+		for (long bucketCount : buckets) {
+			total += bucketCount;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100 * total);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank && buckets[i] > 0) {
+				return Math.min(Histogram.getBucketUpperBound(i), max);
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "HistogramSnapshot[count=%d, mean=%.1f, p50=%d, p99=%d, max=%d]".formatted(count, getMean(),
+				getPercentile(50), getPercentile(99), max);
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Exploration statistics that are also exported as Java Flight Recorder events.
+ * <p>
+ * While a recording is running, a {@code tools.refinery.ExplorationSummary} event is emitted periodically with the
+ * aggregated statistics. The {@code tools.refinery.ExplorationPhase} event for each measured phase is disabled by
+ * default because of its volume, but it can be enabled in the recording settings.
+ * </p>
+ * <p>
+ * Call {@link #close()} after the exploration to stop emitting summary events.
+ * </p>
+ */
+public class JfrExplorationMetrics extends ExplorationStatistics implements AutoCloseable {
+	private final Runnable summaryHook = this::emitSummary;
+
+	public JfrExplorationMetrics() {
+		FlightRecorder.addPeriodicEvent(ExplorationSummaryEvent.class, summaryHook);
+	}
+
+	@Override
+	public void phaseCompleted(Phase phase, long durationNanos) {
+		super.phaseCompleted(phase, durationNanos);
+		var event = new ExplorationPhaseEvent();
+		if (event.isEnabled()) {
+			event.phase = phase.name();
+			event.phaseDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+	private void emitSummary() {
+		var event = new ExplorationSummaryEvent();
+		event.newStates = getNewStateCount();
+		event.duplicateStates = getDuplicateStateCount();
+		event.statesPerSecond = getStatesPerSecond();
+		event.rejectedPropagations = getRejectedPropagationCount();
+		event.meanRestoreDistance = getRestoreDistances().getMean();
+		event.meanPropagationDuration = (long) getPhaseLatencies(Phase.PROPAGATE).getMean();
+		event.meanStateCodeDuration = (long) getPhaseLatencies(Phase.STATE_CODE).getMean();
+		event.commit();
+	}
+
+	@Override
+	public void close() {
+		FlightRecorder.removePeriodicEvent(summaryHook);
+	}
+}
@@ -5,8 +5,13 @@
  */
 package tools.refinery.store.dse.propagation;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.model.ModelStoreBuilder;
+import tools.refinery.store.representation.AnySymbol;
+
+import java.util.Set;
 
 @FunctionalInterface
 public interface Propagator {
@@ -14,4 +19,20 @@ public interface Propagator {
 	}
 
 	BoundPropagator bindToModel(Model model);
+
+	/**
+	 * Gets the symbols whose interpretations are read by this propagator.
+	 * <p>
+	 * Once the propagator reached its fixed point, it is only run again after the interpretation of one of these
+	 * symbols changes. There is no need to declare the symbols written by the propagator, because changes are
+	 * detected by listening to the interpretations of the model.
+	 * </p>
+	 *
+	 * @param store The model store after all of its adapters were built.
+	 * @return The input symbols of this propagator, or {@code null} if the propagator may depend on any symbol.
+	 */
+	@Nullable
+	default Set<AnySymbol> getInputSymbols(ModelStore store) {
+		return null;
+	}
 }
@@ -7,11 +7,21 @@ package tools.refinery.store.dse.propagation.impl;
 
 import tools.refinery.store.dse.propagation.*;
 import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelListener;
+import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
+
+import java.util.Arrays;
+import java.util.Objects;
 
 class PropagationAdapterImpl implements PropagationAdapter {
 	private final Model model;
 	private final PropagationStoreAdapterImpl storeAdapter;
 	private final BoundPropagator[] boundPropagators;
+	private final boolean[] dirtyPropagators;
+	private final int[][] dependentPropagators;
+	private final boolean[] changedSymbols;
+	private boolean anySymbolChanged;
 	private boolean concretizationInProgress;
 
 	public PropagationAdapterImpl(Model model, PropagationStoreAdapterImpl storeAdapter) {
@@ -22,6 +32,36 @@ class PropagationAdapterImpl implements PropagationAdapter {
 		for (int i = 0; i < boundPropagators.length; i++) {
 			boundPropagators[i] = propagators.get(i).bindToModel(model);
 		}
+		dirtyPropagators = new boolean[boundPropagators.length];
+		// Run every propagator at least once, since we don't know whether the initial state is a fixed point.
+		Arrays.fill(dirtyPropagators, true);
+		var dependencies = storeAdapter.getDependencies();
+		var watchedSymbols = dependencies.watchedSymbols();
+		dependentPropagators = dependencies.dependentPropagators();
+		changedSymbols = new boolean[watchedSymbols.size()];
+		for (int i = 0; i < changedSymbols.length; i++) {
+			watchSymbol(watchedSymbols.get(i), i);
+		}
+		model.addListener(new ModelListener() {
+			@Override
+			public void afterRestore() {
+				// Restoring the model doesn't notify non-restore interpretation listeners.
+				markAllAsDirty();
+			}
+		});
+	}
+
+	private void watchSymbol(AnySymbol symbol, int symbolIndex) {
+		watchSymbol((Symbol<?>) symbol, symbolIndex);
+	}
+
+	private <T> void watchSymbol(Symbol<T> symbol, int symbolIndex) {
+		model.getInterpretation(symbol).addListener((key, fromValue, toValue, restoring) -> {
+			if (!Objects.equals(fromValue, toValue)) {
+				changedSymbols[symbolIndex] = true;
+				anySymbolChanged = true;
+			}
+		}, false);
 	}
 
 	@Override
@@ -62,13 +102,32 @@ class PropagationAdapterImpl implements PropagationAdapter {
 	}
 
 	private PropagationResult propagate(PropagationRequest request) {
+		boolean concretizing = request == PropagationRequest.CONCRETIZE;
+		if (concretizing) {
+			// Propagators only track their fixed point with respect to propagation requests.
+			markAllAsDirty();
+		}
+		collectChanges(-1);
 		PropagationResult result = PropagationResult.UNCHANGED;
-		PropagationResult lastResult;
-		do {
+		PropagationResult lastResult = PropagationResult.UNCHANGED;
+		int propagatorIndex = getNextDirtyPropagator(0);
+		while (propagatorIndex >= 0) {
 			model.checkCancelled();
-			lastResult = propagateOne(request);
+			lastResult = propagateUntilFixedPoint(propagatorIndex, request);
 			result = result.andThen(lastResult);
-		} while (lastResult.isChanged());
+			if (result.isRejected()) {
+				// We can't rely on the fixed points of the propagators in a rejected state.
+				markAllAsDirty();
+				break;
+			}
+			dirtyPropagators[propagatorIndex] = false;
+			// The propagator has reached its own fixed point, so we only have to notify the other propagators.
+			collectChanges(propagatorIndex);
+			propagatorIndex = getNextDirtyPropagator(propagatorIndex + 1);
+		}
+		if (concretizing) {
+			markAllAsDirty();
+		}
 		if (lastResult instanceof PropagationRejectedResult rejectedResult &&
 				rejectedResult.fatal() &&
 				storeAdapter.isThrowOnFatalRejection()) {
@@ -77,17 +136,38 @@ class PropagationAdapterImpl implements PropagationAdapter {
 		return result;
 	}
 
-	private PropagationResult propagateOne(PropagationRequest request) {
-		PropagationResult result = PropagationResult.UNCHANGED;
-		for (int i = 0; i < boundPropagators.length; i++) {
-			model.checkCancelled();
-			var lastResult = propagateUntilFixedPoint(i, request);
-			result = result.andThen(lastResult);
-			if (result.isRejected()) {
-				break;
+	private void markAllAsDirty() {
+		Arrays.fill(dirtyPropagators, true);
+	}
+
+	private void collectChanges(int excludedPropagatorIndex) {
+		if (!anySymbolChanged) {
+			return;
+		}
+		anySymbolChanged = false;
+		for (int i = 0; i < changedSymbols.length; i++) {
+			if (!changedSymbols[i]) {
+				continue;
+			}
+			changedSymbols[i] = false;
+			for (int dependent : dependentPropagators[i]) {
+				if (dependent != excludedPropagatorIndex) {
+					dirtyPropagators[dependent] = true;
+				}
 			}
 		}
-		return result;
+	}
+
+	private int getNextDirtyPropagator(int startIndex) {
+		// Visit propagators in a round-robin fashion to keep the order in which they were registered.
+		int length = dirtyPropagators.length;
+		for (int offset = 0; offset < length; offset++) {
+			int index = (startIndex + offset) % length;
+			if (dirtyPropagators[index]) {
+				return index;
+			}
+		}
+		return -1;
 	}
 
 	private PropagationResult propagateUntilFixedPoint(int propagatorIndex, PropagationRequest request) {
@@ -8,10 +8,14 @@ package tools.refinery.store.dse.propagation.impl;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.dse.propagation.PropagationStoreAdapter;
 import tools.refinery.store.dse.propagation.Propagator;
+import org.eclipse.collections.api.factory.primitive.IntLists;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.AnySymbol;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 // This should not be a record, because we don't want auto-generated {@code equals} and {@code hashCode} methods.
 @SuppressWarnings("ClassCanBeRecord")
@@ -19,6 +23,7 @@ class PropagationStoreAdapterImpl implements PropagationStoreAdapter {
 	private final ModelStore store;
 	private final List<Propagator> propagators;
 	private final boolean throwOnFatalRejection;
+	private Dependencies dependencies;
 
 	PropagationStoreAdapterImpl(ModelStore store, List<Propagator> propagators, boolean throwOnFatalRejection) {
 		this.store = store;
@@ -40,6 +45,47 @@ class PropagationStoreAdapterImpl implements PropagationStoreAdapter {
 		return propagators;
 	}
 
+	synchronized Dependencies getDependencies() {
+		// Propagators may only analyze their dependencies once all other store adapters have been built.
+		if (dependencies == null) {
+			dependencies = computeDependencies();
+		}
+		return dependencies;
+	}
+
+	private Dependencies computeDependencies() {
+		int propagatorCount = propagators.size();
+		var inputSymbolsList = new ArrayList<Set<AnySymbol>>(propagatorCount);
+		for (var propagator : propagators) {
+			inputSymbolsList.add(propagator.getInputSymbols(store));
+		}
+		var watchedSymbols = new ArrayList<AnySymbol>();
+		var dependentPropagators = new ArrayList<int[]>();
+		for (var symbol : store.getSymbols()) {
+			var dependents = IntLists.mutable.empty();
+			for (int i = 0; i < propagatorCount; i++) {
+				var inputSymbols = inputSymbolsList.get(i);
+				if (inputSymbols == null || inputSymbols.contains(symbol)) {
+					dependents.add(i);
+				}
+			}
+			if (!dependents.isEmpty()) {
+				watchedSymbols.add(symbol);
+				dependentPropagators.add(dependents.toArray());
+			}
+		}
+		return new Dependencies(List.copyOf(watchedSymbols), dependentPropagators.toArray(new int[0][]));
+	}
+
+	/**
+	 * Symbols that are inputs of some propagators.
+	 *
+	 * @param watchedSymbols       The symbols to listen to.
+	 * @param dependentPropagators The indices of the propagators depending on each symbol in {@code watchedSymbols}.
+	 */
+	record Dependencies(List<AnySymbol> watchedSymbols, int[][] dependentPropagators) {
+	}
+
 	boolean isThrowOnFatalRejection() {
 		return throwOnFatalRejection;
 	}
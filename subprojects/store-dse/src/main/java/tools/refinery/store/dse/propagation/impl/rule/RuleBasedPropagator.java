@@ -5,14 +5,20 @@
  */
 package tools.refinery.store.dse.propagation.impl.rule;
 
+import tools.refinery.logic.dnf.RelationalQuery;
 import tools.refinery.store.dse.propagation.BoundPropagator;
 import tools.refinery.store.dse.propagation.Propagator;
 import tools.refinery.store.dse.transition.Rule;
 import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.query.ModelQueryBuilder;
+import tools.refinery.store.query.utils.SymbolDependencies;
+import tools.refinery.store.representation.AnySymbol;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class RuleBasedPropagator implements Propagator {
 	private final List<Rule> propagationRules;
@@ -34,6 +40,18 @@ public class RuleBasedPropagator implements Propagator {
 		}
 	}
 
+	@Override
+	public Set<AnySymbol> getInputSymbols(ModelStore store) {
+		var preconditions = new ArrayList<RelationalQuery>(propagationRules.size() + concretizationRules.size());
+		for (var propagationRule : propagationRules) {
+			preconditions.add(propagationRule.getPrecondition());
+		}
+		for (var concretizationRule : concretizationRules) {
+			preconditions.add(concretizationRule.getPrecondition());
+		}
+		return SymbolDependencies.getSymbols(store, preconditions);
+	}
+
 	@Override
 	public BoundPropagator bindToModel(Model model) {
 		return new BoundRuleBasedPropagator(model, propagationRules, concretizationRules);
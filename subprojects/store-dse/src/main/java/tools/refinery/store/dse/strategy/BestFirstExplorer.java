@@ -5,6 +5,7 @@
  */
 package tools.refinery.store.dse.strategy;
 
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.model.Model;
 
 import java.util.Random;
@@ -25,11 +26,16 @@ public class BestFirstExplorer extends BestFirstWorker {
 
 	private boolean shouldRun() {
 		model.checkCancelled();
-		return !hasEnoughSolution();
+		storeManager.checkpointIfDue();
+		return !hasEnoughSolution() && !storeManager.isExplorationStopped();
 	}
 
 	public void explore() {
-		var lastBest = submit().newVersion();
+		explore(submit().newVersion());
+	}
+
+	void explore(VersionWithObjectiveValue initialBest) {
+		var lastBest = initialBest;
 		while (shouldRun()) {
 			if (lastBest == null) {
 				if (random.nextInt(10) == 0) {
@@ -38,6 +44,9 @@ public class BestFirstExplorer extends BestFirstWorker {
 					lastBest = restoreToBest();
 				}
 				if (lastBest == null) {
+					if (storeManager.waitForUnexploredVersions(model)) {
+						continue;
+					}
 					return;
 				}
 			}
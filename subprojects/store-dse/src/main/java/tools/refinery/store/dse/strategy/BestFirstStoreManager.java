@@ -1,29 +1,54 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.strategy;
 
+import tools.refinery.store.checkpoint.ModelCheckpointWriter;
+import tools.refinery.store.dse.metrics.ExplorationMetrics;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationStoreAdapter;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
 import tools.refinery.store.dse.transition.statespace.EquivalenceClassStore;
 import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
-import tools.refinery.store.dse.transition.statespace.internal.ActivationStoreImpl;
+import tools.refinery.store.dse.transition.statespace.internal.ConcurrentActivationStore;
+import tools.refinery.store.dse.transition.statespace.internal.ConcurrentEquivalenceClassStore;
+import tools.refinery.store.dse.transition.statespace.internal.ConcurrentObjectivePriorityQueue;
 import tools.refinery.store.dse.transition.statespace.internal.FastEquivalenceClassStore;
 import tools.refinery.store.dse.transition.statespace.internal.ObjectivePriorityQueueImpl;
+import tools.refinery.store.dse.transition.statespace.internal.PackedActivationStore;
+import tools.refinery.store.dse.transition.statespace.internal.ParetoObjectivePriorityQueue;
 import tools.refinery.store.dse.transition.statespace.internal.SolutionStoreImpl;
 import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.statecoding.StateCoderStoreAdapter;
 import tools.refinery.visualization.statespace.VisualizationStore;
 import tools.refinery.visualization.statespace.internal.VisualizationStoreImpl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 public class BestFirstStoreManager {
+	// Idle explorers still have to notice cancellation, which is not signalled, so they wake up periodically.
+	private static final long IDLE_POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
 	ModelStore modelStore;
 	ObjectivePriorityQueue objectiveStore;
@@ -31,26 +56,105 @@ public class BestFirstStoreManager {
 	SolutionStore solutionStore;
 	EquivalenceClassStore equivalenceClassStore;
 	VisualizationStore visualizationStore;
+	private RestoreTargetPolicy restoreTargetPolicy = RestoreTargetPolicy.BEST;
+	private final AtomicInteger activeExplorers = new AtomicInteger();
+	private final AtomicInteger idleExplorers = new AtomicInteger();
+	private final Lock idleLock = new ReentrantLock();
+	private final Condition frontierChanged = idleLock.newCondition();
+	private volatile boolean explorationStopped;
+	private Version initialVersion;
+	private long initialFingerprint;
+	private long initialRandomSeed;
+	private Path checkpointPath;
+	private long checkpointIntervalNanos;
+	private final AtomicLong nextCheckpointNanos = new AtomicLong();
+	private int maxFrontierSize = Integer.MAX_VALUE;
+	private ExplorationMetrics metrics = ExplorationMetrics.NONE;
+
+	/**
+	 * Implementation strategy of the state-space stores shared between explorers.
+	 */
+	public enum StateSpaceStoreStrategy {
+		/**
+		 * Stores guarded by a single monitor each. Suitable for a single explorer.
+		 */
+		SYNCHRONIZED,
+
+		/**
+		 * Lock-free or striped stores that scale with the number of explorers.
+		 */
+		CONCURRENT
+	}
+
+	/**
+	 * Ordering of the versions in the frontier if there are multiple objectives.
+	 */
+	public enum ObjectiveOrdering {
+		/**
+		 * Prefer versions with the lowest first objective, and use further objectives to break ties.
+		 */
+		LEXICOGRAPHIC,
+
+		/**
+		 * Prefer versions on the Pareto front of non-dominated objective values.
+		 */
+		PARETO
+	}
 
 	public BestFirstStoreManager(ModelStore modelStore, int maxNumberOfSolutions) {
+		this(modelStore, maxNumberOfSolutions, StateSpaceStoreStrategy.SYNCHRONIZED);
+	}
+
+	public BestFirstStoreManager(ModelStore modelStore, int maxNumberOfSolutions,
+								 StateSpaceStoreStrategy storeStrategy) {
+		this(modelStore, maxNumberOfSolutions, storeStrategy, ObjectiveOrdering.LEXICOGRAPHIC);
+	}
+
+	public BestFirstStoreManager(ModelStore modelStore, int maxNumberOfSolutions,
+								 StateSpaceStoreStrategy storeStrategy, ObjectiveOrdering objectiveOrdering) {
 		this.modelStore = modelStore;
 		DesignSpaceExplorationStoreAdapter storeAdapter =
 				modelStore.getAdapter(DesignSpaceExplorationStoreAdapter.class);
+		var stateCoderStoreAdapter = modelStore.getAdapter(StateCoderStoreAdapter.class);
+		int numberOfTransformations = storeAdapter.getTransformations().size();
+		var comparator = ObjectivePriorityQueueImpl.getDefaultComparator(storeAdapter.getObjectives());
 
-		objectiveStore = new ObjectivePriorityQueueImpl(storeAdapter.getObjectives());
-		Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> objectiveStore.remove(x);
-		activationStore = new ActivationStoreImpl(storeAdapter.getTransformations().size(), whenAllActivationsVisited);
-		solutionStore = new SolutionStoreImpl(maxNumberOfSolutions);
-		equivalenceClassStore = new FastEquivalenceClassStore(modelStore.getAdapter(StateCoderStoreAdapter.class)) {
-			@Override
-			protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
-				throw new UnsupportedOperationException("This equivalence storage is not prepared to resolve " +
-						"symmetries!");
-			}
-		};
+		switch (storeStrategy) {
+		case SYNCHRONIZED -> {
+			objectiveStore = createObjectiveStore(objectiveOrdering, comparator, false);
+			Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> objectiveStore.remove(x);
+			activationStore = new PackedActivationStore(numberOfTransformations, whenAllActivationsVisited);
+			equivalenceClassStore = new FastEquivalenceClassStore(stateCoderStoreAdapter) {
+				@Override
+				protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
+					throw new UnsupportedOperationException("This equivalence storage is not prepared to resolve " +
+							"symmetries!");
+				}
+			};
+		}
+		case CONCURRENT -> {
+			objectiveStore = createObjectiveStore(objectiveOrdering, comparator, true);
+			Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> objectiveStore.remove(x);
+			activationStore = new ConcurrentActivationStore(numberOfTransformations, whenAllActivationsVisited);
+			equivalenceClassStore = new ConcurrentEquivalenceClassStore(stateCoderStoreAdapter);
+		}
+		default -> throw new IllegalArgumentException("Unknown state-space store strategy: " + storeStrategy);
+		}
+		solutionStore = new SolutionStoreImpl(maxNumberOfSolutions, objectiveStore.getComparator());
 		visualizationStore = new VisualizationStoreImpl();
 	}
 
+	private static ObjectivePriorityQueue createObjectiveStore(
+			ObjectiveOrdering objectiveOrdering, Comparator<VersionWithObjectiveValue> comparator,
+			boolean concurrent) {
+		return switch (objectiveOrdering) {
+			case LEXICOGRAPHIC -> concurrent ? new ConcurrentObjectivePriorityQueue(comparator) :
+					new ObjectivePriorityQueueImpl(comparator);
+			// There is no lock-free Pareto front yet, so we share the synchronized one between explorers.
+			case PARETO -> new ParetoObjectivePriorityQueue();
+		};
+	}
+
 	public ModelStore getModelStore() {
 		return modelStore;
 	}
@@ -75,13 +179,350 @@ public class BestFirstStoreManager {
 		return visualizationStore;
 	}
 
+	public RestoreTargetPolicy getRestoreTargetPolicy() {
+		return restoreTargetPolicy;
+	}
+
+	/**
+	 * Sets how explorers choose the version to restore from the frontier.
+	 * <p>
+	 * Must be called before starting the exploration.
+	 * </p>
+	 *
+	 * @param restoreTargetPolicy The policy to use.
+	 */
+	public void setRestoreTargetPolicy(RestoreTargetPolicy restoreTargetPolicy) {
+		this.restoreTargetPolicy = restoreTargetPolicy;
+	}
+
+	public ExplorationMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the receiver of measurements taken by the explorers.
+	 * <p>
+	 * Use {@link tools.refinery.store.dse.metrics.ExplorationStatistics} to query the measurements or
+	 * {@link tools.refinery.store.dse.metrics.JfrExplorationMetrics} to also record them with Java Flight Recorder.
+	 * No measurements are taken with {@link ExplorationMetrics#NONE}, which is the default. Must be called before
+	 * starting the exploration.
+	 * </p>
+	 *
+	 * @param metrics The receiver of the measurements.
+	 */
+	public void setMetrics(ExplorationMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public int getMaxFrontierSize() {
+		return maxFrontierSize;
+	}
+
+	/**
+	 * Bounds the memory used by the exploration by limiting the number of versions in the frontier.
+	 * <p>
+	 * If the frontier grows beyond the limit, the least preferred versions are evicted along with their activations.
+	 * Their state codes are kept in the equivalence class store, so evicted versions are never explored again, and
+	 * their model versions may be garbage collected unless they are ancestors of versions still in the frontier or
+	 * among the solutions. Versions are also released once all of their activations were visited, regardless of the
+	 * limit. Therefore, the exploration may run indefinitely in a bounded heap, but it is no longer complete: it may
+	 * miss solutions only reachable from evicted versions.
+	 * </p>
+	 * <p>
+	 * Since the visualization store records every visited version, it is disabled if the frontier is bounded. Must
+	 * be called before starting the exploration.
+	 * </p>
+	 *
+	 * @param maxFrontierSize The maximal number of versions in the frontier, or {@link Integer#MAX_VALUE} for an
+	 *                        unbounded frontier.
+	 */
+	public void setMaxFrontierSize(int maxFrontierSize) {
+		if (maxFrontierSize < 1) {
+			throw new IllegalArgumentException("Maximal frontier size must be positive, got %d instead"
+					.formatted(maxFrontierSize));
+		}
+		this.maxFrontierSize = maxFrontierSize;
+		if (maxFrontierSize < Integer.MAX_VALUE) {
+			visualizationStore = null;
+		}
+	}
+
+	void evictIfNeeded() {
+		if (maxFrontierSize == Integer.MAX_VALUE) {
+			return;
+		}
+		while (objectiveStore.getSize() > maxFrontierSize) {
+			var evicted = objectiveStore.removeWorst();
+			if (evicted == null) {
+				return;
+			}
+			activationStore.remove(evicted);
+		}
+	}
+
 	public void startExploration(Version initial) {
 		startExploration(initial, 1);
 	}
 
 	public void startExploration(Version initial, long randomSeed) {
-		BestFirstExplorer bestFirstExplorer = new BestFirstExplorer(this, modelStore.createModelForState(initial),
-				randomSeed);
-		bestFirstExplorer.explore();
+		startExploration(initial, randomSeed, 1);
+	}
+
+	/**
+	 * Explores the state space with multiple explorers running in parallel.
+	 * <p>
+	 * Each explorer works on its own {@link Model} created from the shared {@link ModelStore}, but they share the
+	 * state-space stores of this manager. Explorer {@code i} uses {@code randomSeed + i} as its random seed, so the
+	 * single-threaded exploration is reproduced when {@code numberOfExplorers} is {@code 1}. The exploration stops
+	 * when enough solutions were found, when every explorer ran out of unexplored versions, or when any of the
+	 * explorers fails.
+	 * </p>
+	 *
+	 * @param initial           The version to start the exploration from.
+	 * @param randomSeed        The random seed of the first explorer.
+	 * @param numberOfExplorers The number of explorers (and threads) to use.
+	 */
+	public void startExploration(Version initial, long randomSeed, int numberOfExplorers) {
+		var firstExplorer = prepareExploration(initial, randomSeed, numberOfExplorers);
+		// Submit the initial version before starting the other explorers so that they find it in the frontier.
+		var initialBest = firstExplorer.submit().newVersion();
+		runExplorers(firstExplorer, initialBest, initial, randomSeed, numberOfExplorers);
+	}
+
+	/**
+	 * Continues an exploration from a checkpoint written by {@link #writeCheckpoint(Path)}.
+	 * <p>
+	 * The {@code initial} version must be re-created exactly as the version passed to
+	 * {@link #startExploration(Version, long, int)} when the checkpoint was written (e.g., from the same model seed),
+	 * because the checkpoint only stores the changes relative to it. The same {@code randomSeed} must also be used.
+	 * </p>
+	 *
+	 * @param initial           The version the checkpointed exploration was started from.
+	 * @param checkpoint        The checkpoint file.
+	 * @param randomSeed        The random seed of the first explorer.
+	 * @param numberOfExplorers The number of explorers (and threads) to use.
+	 * @throws IOException              If the checkpoint cannot be read.
+	 * @throws IllegalArgumentException If the checkpoint was written by an exploration from a different initial
+	 *                                  version or with a different random seed.
+	 */
+	public void resumeExploration(Version initial, Path checkpoint, long randomSeed, int numberOfExplorers)
+			throws IOException {
+		var firstExplorer = prepareExploration(initial, randomSeed, numberOfExplorers);
+		StateSpaceCheckpoint.read(firstExplorer, initial, initialFingerprint, randomSeed, checkpoint);
+		runExplorers(firstExplorer, null, initial, randomSeed, numberOfExplorers);
+	}
+
+	private BestFirstExplorer prepareExploration(Version initial, long randomSeed, int numberOfExplorers) {
+		if (numberOfExplorers < 1) {
+			throw new IllegalArgumentException("Number of explorers must be positive, got %d instead"
+					.formatted(numberOfExplorers));
+		}
+		var firstExplorer = new BestFirstExplorer(this, modelStore.createModelForState(initial), randomSeed);
+		initialVersion = initial;
+		// Identifies the exploration in checkpoints, so that we never resume from the checkpoint of another one.
+		initialFingerprint = ModelCheckpointWriter.fingerprint(firstExplorer.model);
+		initialRandomSeed = randomSeed;
+		activeExplorers.set(numberOfExplorers);
+		explorationStopped = false;
+		if (checkpointPath != null) {
+			nextCheckpointNanos.set(System.nanoTime() + checkpointIntervalNanos);
+		}
+		return firstExplorer;
+	}
+
+	private void runExplorers(BestFirstExplorer firstExplorer, VersionWithObjectiveValue initialBest,
+							  Version initial, long randomSeed, int numberOfExplorers) {
+		if (numberOfExplorers == 1) {
+			firstExplorer.explore(initialBest);
+		} else {
+			runConcurrentExplorers(firstExplorer, initialBest, initial, randomSeed, numberOfExplorers);
+		}
+		deleteCheckpoint();
+	}
+
+	private void runConcurrentExplorers(BestFirstExplorer firstExplorer, VersionWithObjectiveValue initialBest,
+										Version initial, long randomSeed, int numberOfExplorers) {
+		try (var executorService = Executors.newFixedThreadPool(numberOfExplorers - 1)) {
+			var futures = new ArrayList<Future<?>>(numberOfExplorers - 1);
+			for (int i = 1; i < numberOfExplorers; i++) {
+				long explorerSeed = randomSeed + i;
+				futures.add(executorService.submit(() -> runExplorer(() -> {
+					var explorer = new BestFirstExplorer(this, modelStore.createModelForState(initial),
+							explorerSeed);
+					explorer.explore(null);
+				})));
+			}
+			runExplorer(() -> firstExplorer.explore(initialBest));
+			for (var future : futures) {
+				getExplorerResult(future);
+			}
+		}
+	}
+
+	/**
+	 * Writes the current state of the exploration to a checkpoint file.
+	 * <p>
+	 * The file is replaced atomically, so a previous checkpoint at the same path stays intact if writing fails. May
+	 * be called concurrently with the explorers.
+	 * </p>
+	 *
+	 * @param path The checkpoint file.
+	 * @throws IOException If the checkpoint cannot be written.
+	 * @throws IllegalStateException If the exploration was not started yet.
+	 */
+	public void writeCheckpoint(Path path) throws IOException {
+		if (initialVersion == null) {
+			throw new IllegalStateException("Exploration was not started yet");
+		}
+		StateSpaceCheckpoint.write(this, initialVersion, initialFingerprint, initialRandomSeed, path);
+	}
+
+	private void deleteCheckpoint() {
+		if (checkpointPath == null) {
+			return;
+		}
+		// The exploration has finished, so there is nothing left to resume.
+		try {
+			Files.deleteIfExists(checkpointPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to delete checkpoint " + checkpointPath, e);
+		}
+	}
+
+	/**
+	 * Makes the explorers periodically write checkpoints during the exploration.
+	 * <p>
+	 * The checkpoint is deleted once the exploration finishes, i.e., when enough solutions were found or there are no
+	 * more unexplored versions, but it is kept if the exploration is cancelled or fails. Must be called before
+	 * starting the exploration.
+	 * </p>
+	 *
+	 * @param path     The checkpoint file, or {@code null} to disable periodic checkpoints.
+	 * @param interval The time between two checkpoints.
+	 */
+	public void setCheckpoint(Path path, Duration interval) {
+		if (path != null && (interval.isNegative() || interval.isZero())) {
+			throw new IllegalArgumentException("Checkpoint interval must be positive, got %s instead"
+					.formatted(interval));
+		}
+		checkpointPath = path;
+		checkpointIntervalNanos = path == null ? 0 : interval.toNanos();
+	}
+
+	void checkpointIfDue() {
+		if (checkpointPath == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		long due = nextCheckpointNanos.get();
+		// Only the explorer that manages to move the deadline forward writes the checkpoint.
+		if (now - due < 0 || !nextCheckpointNanos.compareAndSet(due, now + checkpointIntervalNanos)) {
+			return;
+		}
+		try {
+			writeCheckpoint(checkpointPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write checkpoint " + checkpointPath, e);
+		}
+	}
+
+	private void runExplorer(Runnable explorer) {
+		try {
+			explorer.run();
+		} catch (RuntimeException | Error e) {
+			// Make sure that the other explorers also stop if one of them fails.
+			explorationStopped = true;
+			throw e;
+		} finally {
+			// Idle explorers have to check whether the exploration is finished.
+			signalIdleExplorers();
+		}
+	}
+
+	private static void getExplorerResult(Future<?> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for explorers", e);
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Explorer failed", cause);
+		}
+	}
+
+	boolean isExplorationStopped() {
+		return explorationStopped;
+	}
+
+	/**
+	 * Wakes up the explorers waiting in {@link #waitForUnexploredVersions(Model)}.
+	 * <p>
+	 * Must be called after adding a version to the frontier. Does not acquire any lock if no explorers are waiting.
+	 * </p>
+	 */
+	void signalIdleExplorers() {
+		if (idleExplorers.get() <= 0) {
+			return;
+		}
+		idleLock.lock();
+		try {
+			frontierChanged.signalAll();
+		} finally {
+			idleLock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until some other explorer adds a version to the frontier.
+	 * <p>
+	 * The calling explorer is considered idle while waiting. Since only active explorers may add versions to the
+	 * frontier, the exploration is finished once all explorers are idle and the frontier is empty.
+	 * </p>
+	 *
+	 * @param model The model of the calling explorer used to check for cancellation.
+	 * @return {@code true} if the explorer should try to restore a version from the frontier again, {@code false}
+	 * if the exploration has finished.
+	 */
+	boolean waitForUnexploredVersions(Model model) {
+		// Register as waiting before checking the frontier, so that explorers adding a version after our check will
+		// see us in signalIdleExplorers.
+		idleExplorers.incrementAndGet();
+		idleLock.lock();
+		try {
+			if (activeExplorers.decrementAndGet() <= 0) {
+				// Other idle explorers have to notice that the exploration is finished.
+				frontierChanged.signalAll();
+			}
+			while (true) {
+				model.checkCancelled();
+				if (explorationStopped || solutionStore.hasEnoughSolution()) {
+					return false;
+				}
+				// Read the number of active explorers before the size of the frontier, because the frontier can
+				// only grow while some explorer is active.
+				boolean noActiveExplorers = activeExplorers.get() <= 0;
+				if (objectiveStore.getSize() > 0) {
+					activeExplorers.incrementAndGet();
+					return true;
+				}
+				if (noActiveExplorers) {
+					return false;
+				}
+				frontierChanged.awaitNanos(IDLE_POLL_INTERVAL_NANOS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for unexplored versions", e);
+		} finally {
+			idleLock.unlock();
+			idleExplorers.decrementAndGet();
+		}
 	}
 }
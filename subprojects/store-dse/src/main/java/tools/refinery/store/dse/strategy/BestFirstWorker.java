@@ -1,11 +1,12 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.strategy;
 
 import org.jetbrains.annotations.Nullable;
+import tools.refinery.store.dse.metrics.ExplorationMetrics;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
 import tools.refinery.store.dse.transition.ObjectiveValue;
@@ -29,6 +30,8 @@ public class BestFirstWorker {
 	final @Nullable PropagationAdapter propagationAdapter;
 	final VisualizationStore visualizationStore;
 	final boolean isVisualizationEnabled;
+	final ExplorationMetrics metrics;
+	final boolean isMetricsEnabled;
 
 	public BestFirstWorker(BestFirstStoreManager storeManager, Model model) {
 		this.storeManager = storeManager;
@@ -42,6 +45,8 @@ public class BestFirstWorker {
 				explorationAdapter.getTransformations());
 		visualizationStore = storeManager.getVisualizationStore();
 		isVisualizationEnabled = visualizationStore != null;
+		metrics = storeManager.getMetrics();
+		isMetricsEnabled = metrics != ExplorationMetrics.NONE;
 	}
 
 	protected VersionWithObjectiveValue last = null;
@@ -55,8 +60,13 @@ public class BestFirstWorker {
 			return new SubmitResult(false, false, null, null);
 		}
 
+		long startNanos = startPhase();
 		var code = stateCoderAdapter.calculateStateCode();
+		endPhase(ExplorationMetrics.Phase.STATE_CODE, startNanos);
 		boolean isNew = storeManager.getEquivalenceClassStore().submit(code);
+		if (isMetricsEnabled) {
+			metrics.stateVisited(isNew);
+		}
 		if (isNew) {
 			return submitNew();
 		}
@@ -65,14 +75,23 @@ public class BestFirstWorker {
 	}
 
 	private SubmitResult submitNew() {
+		long startNanos = startPhase();
 		Version version = model.commit();
+		endPhase(ExplorationMetrics.Phase.COMMIT, startNanos);
 		ObjectiveValue objectiveValue = explorationAdapter.getObjectiveValue();
 		var versionWithObjectiveValue = new VersionWithObjectiveValue(version, objectiveValue);
 		last = versionWithObjectiveValue;
 		var accepted = explorationAdapter.checkAccept();
 
-		storeManager.getObjectiveStore().submit(last);
-		storeManager.getActivationStore().markNewAsVisited(last, activationStoreWorker.calculateEmptyActivationSize());
+		// Register the activations before publishing the version in the frontier, because other explorers may
+		// restore the version and start firing its activations as soon as it is in the frontier.
+		var visitResult = storeManager.getActivationStore().markNewAsVisited(last,
+				activationStoreWorker.calculateEmptyActivationSize());
+		if (visitResult.mayHaveMore()) {
+			storeManager.getObjectiveStore().submit(last);
+			storeManager.evictIfNeeded();
+			storeManager.signalIdleExplorers();
+		}
 		if (accepted) {
 			versionWithObjectiveValue = concretizeIfNeeded(versionWithObjectiveValue);
 			accepted = versionWithObjectiveValue != null;
@@ -132,6 +151,29 @@ public class BestFirstWorker {
 		return explorationAdapter.checkAccept() ? versionWithObjectiveValue : null;
 	}
 
+	/**
+	 * Adds a version restored from a checkpoint to the frontier.
+	 * <p>
+	 * The version is assumed to be already recorded in the equivalence class store, so no state code is calculated.
+	 * </p>
+	 *
+	 * @param version The restored version.
+	 */
+	void submitRestored(VersionWithObjectiveValue version) {
+		if (!version.version().equals(model.getState())) {
+			model.restore(version.version());
+		}
+		queryAdapter.flushChanges();
+		last = version;
+		var visitResult = storeManager.getActivationStore().markNewAsVisited(version,
+				activationStoreWorker.calculateEmptyActivationSize());
+		if (visitResult.mayHaveMore()) {
+			storeManager.getObjectiveStore().submit(version);
+			storeManager.evictIfNeeded();
+			storeManager.signalIdleExplorers();
+		}
+	}
+
 	public void restoreToLast() {
 		if (explorationAdapter.getModel().hasUncommittedChanges()) {
 			explorationAdapter.getModel().restore(last.version());
@@ -139,23 +181,54 @@ public class BestFirstWorker {
 	}
 
 	public VersionWithObjectiveValue restoreToBest() {
-		var bestVersion = storeManager.getObjectiveStore().getBest();
+		var restoreTargetPolicy = storeManager.getRestoreTargetPolicy();
+		VersionWithObjectiveValue bestVersion;
+		if (restoreTargetPolicy.isDistanceAware()) {
+			bestVersion = getClosestBest(restoreTargetPolicy);
+		} else {
+			bestVersion = storeManager.getObjectiveStore().getBest();
+		}
 		last = bestVersion;
 		if (bestVersion != null) {
-			this.model.restore(bestVersion.version());
+			restoreFromFrontier(bestVersion.version());
 		}
 		return last;
 	}
 
-	public VersionWithObjectiveValue restoreToRandom(Random random) {
-		var objectiveStore = storeManager.getObjectiveStore();
-		if (objectiveStore.getSize() == 0) {
+	private VersionWithObjectiveValue getClosestBest(RestoreTargetPolicy restoreTargetPolicy) {
+		var candidates = storeManager.getObjectiveStore().getBest(restoreTargetPolicy.candidateCount());
+		if (candidates.isEmpty()) {
 			return null;
 		}
-		var randomVersion = objectiveStore.getRandom(random);
+		var best = candidates.getFirst();
+		var modelStore = model.getStore();
+		var currentVersion = model.getState();
+		VersionWithObjectiveValue closest = null;
+		long closestDistance = Long.MAX_VALUE;
+		for (var candidate : candidates) {
+			if (!restoreTargetPolicy.isNearEqual(best.objectiveValue(), candidate.objectiveValue())) {
+				// Never trade objective value beyond the tolerance for a cheaper restore.
+				continue;
+			}
+			long distance = modelStore.estimateDistance(currentVersion, candidate.version());
+			if (distance < closestDistance) {
+				closest = candidate;
+				closestDistance = distance;
+				if (distance == 0) {
+					break;
+				}
+			}
+		}
+		return closest;
+	}
+
+	public VersionWithObjectiveValue restoreToRandom(Random random) {
+		// Other explorers may empty the frontier concurrently, so we rely on getRandom returning null instead of
+		// checking the size of the frontier first.
+		var randomVersion = storeManager.getObjectiveStore().getRandom(random);
 		last = randomVersion;
 		if (randomVersion != null) {
-			this.model.restore(randomVersion.version());
+			restoreFromFrontier(randomVersion.version());
 		}
 		return last;
 	}
@@ -173,19 +246,28 @@ public class BestFirstWorker {
 			throw new IllegalStateException("The model has uncommitted changes!");
 		}
 
+		long fireStartNanos = startPhase();
 		var visitResult = activationStoreWorker.fireRandomActivation(this.last, random);
+		endPhase(ExplorationMetrics.Phase.FIRE, fireStartNanos);
 
 		if (!visitResult.successfulVisit()) {
 			return new RandomVisitResult(null, visitResult.mayHaveMore());
 		}
 
 		if (propagationAdapter != null) {
+			long propagateStartNanos = startPhase();
 			var propagationResult = propagationAdapter.propagate();
+			endPhase(ExplorationMetrics.Phase.PROPAGATE, propagateStartNanos);
 			if (propagationResult.isRejected()) {
+				if (isMetricsEnabled) {
+					metrics.propagationRejected();
+				}
 				return new RandomVisitResult(null, visitResult.mayHaveMore());
 			}
 		}
+		long flushStartNanos = startPhase();
 		queryAdapter.flushChanges();
+		endPhase(ExplorationMetrics.Phase.FLUSH, flushStartNanos);
 
 		Version oldVersion = null;
 		if (isVisualizationEnabled) {
@@ -204,6 +286,28 @@ public class BestFirstWorker {
 		return storeManager.solutionStore.hasEnoughSolution();
 	}
 
+	private void restoreFromFrontier(Version version) {
+		if (!isMetricsEnabled) {
+			model.restore(version);
+			return;
+		}
+		metrics.stateRestored(model.getStore().estimateDistance(model.getState(), version));
+		long startNanos = System.nanoTime();
+		model.restore(version);
+		metrics.phaseCompleted(ExplorationMetrics.Phase.RESTORE, System.nanoTime() - startNanos);
+	}
+
+	private long startPhase() {
+		// Avoid the cost of reading the clock if nobody is interested in the measurements.
+		return isMetricsEnabled ? System.nanoTime() : 0;
+	}
+
+	private void endPhase(ExplorationMetrics.Phase phase, long startNanos) {
+		if (isMetricsEnabled) {
+			metrics.phaseCompleted(phase, System.nanoTime() - startNanos);
+		}
+	}
+
 	private void checkSynchronized() {
 		if (last != null && !last.version().equals(model.getState())) {
 			throw new AssertionError("Worker is not synchronized with model state");
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import tools.refinery.store.dse.transition.ObjectiveValue;
+
+/**
+ * Policy for choosing the version to restore when an explorer continues from the best version of the frontier.
+ * <p>
+ * Restoring a version far away from the current state of the model causes many updates in the incremental query
+ * engine. Among the {@code candidateCount} best versions of the frontier, explorers choose the one closest to their
+ * current state whose objective value differs from the best one by at most {@code objectiveTolerance} in each
+ * objective. The distance is estimated by {@link tools.refinery.store.model.ModelStore#estimateDistance}.
+ * </p>
+ *
+ * @param candidateCount     The number of best versions to consider. If it is {@code 1}, the best version is always
+ *                           restored.
+ * @param objectiveTolerance The maximal difference from the best objective value.
+ */
+public record RestoreTargetPolicy(int candidateCount, double objectiveTolerance) {
+	/**
+	 * Always restore the best version, regardless of restore cost.
+	 */
+	public static final RestoreTargetPolicy BEST = new RestoreTargetPolicy(1, 0);
+
+	/**
+	 * Choose the closest version among the best versions with equal objective values.
+	 */
+	public static final RestoreTargetPolicy CLOSEST_AMONG_EQUAL = new RestoreTargetPolicy(8, 0);
+
+	public RestoreTargetPolicy {
+		if (candidateCount < 1) {
+			throw new IllegalArgumentException("Number of candidates must be positive, got %d instead"
+					.formatted(candidateCount));
+		}
+		if (!(objectiveTolerance >= 0)) {
+			throw new IllegalArgumentException("Objective tolerance must be non-negative, got %f instead"
+					.formatted(objectiveTolerance));
+		}
+	}
+
+	public boolean isDistanceAware() {
+		return candidateCount > 1;
+	}
+
+	boolean isNearEqual(ObjectiveValue best, ObjectiveValue candidate) {
+		int size = best.getSize();
+		for (int i = 0; i < size; i++) {
+			if (Math.abs(candidate.get(i) - best.get(i)) > objectiveTolerance) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import tools.refinery.store.checkpoint.CheckpointInput;
+import tools.refinery.store.checkpoint.CheckpointOutput;
+import tools.refinery.store.checkpoint.ModelCheckpointReader;
+import tools.refinery.store.checkpoint.ModelCheckpointWriter;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Persists the state of a {@link BestFirstStoreManager} so that an interrupted exploration can be resumed.
+ * <p>
+ * A checkpoint starts with the {@link ModelCheckpointWriter#fingerprint(Model) fingerprint} of the initial version
+ * and the random seed of the exploration, which must match when resuming. It continues with a model checkpoint with
+ * the versions in the frontier and the solutions, followed by the objective values of those versions and the model
+ * codes of all visited equivalence classes. The activations already fired from versions in the frontier are not
+ * recorded, so they are fired again after resuming. Since their targets are already recorded as visited, this only
+ * costs some time, but no duplicate states are explored.
+ * </p>
+ */
+final class StateSpaceCheckpoint {
+	private StateSpaceCheckpoint() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	static void write(BestFirstStoreManager storeManager, Version base, long baseFingerprint, long randomSeed,
+					  Path path) throws IOException {
+		// Take the snapshot of the visited model codes first, because versions are only added to the frontier after
+		// their code was recorded. This way, every version discovered concurrently with the checkpoint is either in
+		// the checkpointed frontier or will be discovered again after resuming.
+		var codes = storeManager.getEquivalenceClassStore().getCodes();
+		var frontier = storeManager.getObjectiveStore().getVersions();
+		var solutions = storeManager.getSolutionStore().getSolutions();
+		var modelWriter = new ModelCheckpointWriter(storeManager.getModelStore(), base);
+		var stateSpaceOutput = new CheckpointOutput();
+		writeVersions(stateSpaceOutput, modelWriter, frontier);
+		writeVersions(stateSpaceOutput, modelWriter, solutions);
+		stateSpaceOutput.writeVarInt(codes.length);
+		for (int code : codes) {
+			stateSpaceOutput.writeInt(code);
+		}
+		var output = new CheckpointOutput();
+		output.writeLong(baseFingerprint);
+		output.writeLong(randomSeed);
+		modelWriter.writeTo(output);
+		output.write(stateSpaceOutput);
+		// Replace the previous checkpoint atomically so that a crash while writing never leaves us without one.
+		var temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+		output.writeTo(temporaryPath);
+		Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeVersions(CheckpointOutput output, ModelCheckpointWriter modelWriter,
+									  List<VersionWithObjectiveValue> versions) {
+		output.writeVarInt(versions.size());
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < versions.size(); i++) {
+			var version = versions.get(i);
+			output.writeVarInt(modelWriter.addVersion(version.version()));
+			var objectiveValue = version.objectiveValue();
+			int size = objectiveValue.getSize();
+			output.writeVarInt(size);
+			for (int j = 0; j < size; j++) {
+				output.writeDouble(objectiveValue.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Restores the state space from a checkpoint.
+	 *
+	 * @param worker          The worker used to re-create the versions. Its model will be in an arbitrary restored
+	 *                        version afterwards.
+	 * @param base            The version corresponding to the base of the checkpoint.
+	 * @param baseFingerprint The fingerprint of {@code base}.
+	 * @param randomSeed      The random seed of the resumed exploration.
+	 * @param path            The checkpoint file.
+	 * @throws IOException              If the checkpoint cannot be read.
+	 * @throws IllegalArgumentException If the checkpoint was written by an exploration from a different initial
+	 *                                  version or with a different random seed.
+	 */
+	static void read(BestFirstWorker worker, Version base, long baseFingerprint, long randomSeed, Path path)
+			throws IOException {
+		var input = CheckpointInput.open(path);
+		long checkpointBaseFingerprint = input.readLong();
+		long checkpointRandomSeed = input.readLong();
+		if (checkpointBaseFingerprint != baseFingerprint || checkpointRandomSeed != randomSeed) {
+			throw new IllegalArgumentException(("Checkpoint %s was written by an exploration from a different " +
+					"initial model or with a different random seed").formatted(path));
+		}
+		var storeManager = worker.storeManager;
+		var modelReader = new ModelCheckpointReader(storeManager.getModelStore(), input);
+		var restoredVersions = new Version[modelReader.getVersionCount()];
+		int frontierSize = input.readCount();
+		for (int i = 0; i < frontierSize; i++) {
+			var version = readVersion(input, worker, base, modelReader, restoredVersions);
+			worker.submitRestored(version);
+		}
+		int solutionCount = input.readCount();
+		for (int i = 0; i < solutionCount; i++) {
+			var version = readVersion(input, worker, base, modelReader, restoredVersions);
+			storeManager.getSolutionStore().submit(version);
+		}
+		int codeCount = input.readCount();
+		var codes = new int[codeCount];
+		for (int i = 0; i < codeCount; i++) {
+			codes[i] = input.readInt();
+		}
+		storeManager.getEquivalenceClassStore().addCodes(codes);
+	}
+
+	private static VersionWithObjectiveValue readVersion(CheckpointInput input, BestFirstWorker worker, Version base,
+														 ModelCheckpointReader modelReader,
+														 Version[] restoredVersions) {
+		int index = input.readCount();
+		if (index >= restoredVersions.length) {
+			throw new IllegalArgumentException("Invalid version index in checkpoint: " + index);
+		}
+		var version = restoredVersions[index];
+		if (version == null) {
+			version = modelReader.restore(worker.model, base, index);
+			restoredVersions[index] = version;
+		}
+		int size = input.readCount();
+		var values = new double[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = input.readDouble();
+		}
+		var objectiveValue = switch (size) {
+			case 1 -> ObjectiveValue.of(values[0]);
+			case 2 -> ObjectiveValue.of(values[0], values[1]);
+			default -> ObjectiveValue.of(values);
+		};
+		return new VersionWithObjectiveValue(version, objectiveValue);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition;
+
+import java.util.Comparator;
+
+/**
+ * Orderings of versions by their objective values. Lower objective values are considered better.
+ */
+public final class ObjectiveComparators {
+	/**
+	 * Compares objective values lexicographically, i.e., the first objective is the most important, and further
+	 * objectives are only used to break ties. This order is a linear extension of {@link #dominates(ObjectiveValue,
+	 * ObjectiveValue) Pareto dominance}: if a value dominates another, it is also lexicographically smaller.
+	 */
+	public static final Comparator<ObjectiveValue> LEXICOGRAPHIC = ObjectiveComparators::compareLexicographically;
+
+	/**
+	 * Compares versions {@link #LEXICOGRAPHIC lexicographically} by their objective values.
+	 */
+	public static final Comparator<VersionWithObjectiveValue> LEXICOGRAPHIC_VERSIONS =
+			(o1, o2) -> compareLexicographically(o1.objectiveValue(), o2.objectiveValue());
+
+	private ObjectiveComparators() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	public static int compareLexicographically(ObjectiveValue o1, ObjectiveValue o2) {
+		if (o1 instanceof ObjectiveValues.ObjectiveValue1(double first1) &&
+				o2 instanceof ObjectiveValues.ObjectiveValue1(double first2)) {
+			return Double.compare(first1, first2);
+		}
+		if (o1 instanceof ObjectiveValues.ObjectiveValue2(double first1, double second1) &&
+				o2 instanceof ObjectiveValues.ObjectiveValue2(double first2, double second2)) {
+			int result = Double.compare(first1, first2);
+			return result == 0 ? Double.compare(second1, second2) : result;
+		}
+		int size1 = o1.getSize();
+		int size2 = o2.getSize();
+		int size = Math.min(size1, size2);
+		for (int i = 0; i < size; i++) {
+			int result = Double.compare(o1.get(i), o2.get(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(size1, size2);
+	}
+
+	/**
+	 * Determines whether an objective value Pareto-dominates another one.
+	 *
+	 * @param o1 The potentially dominating objective value.
+	 * @param o2 The potentially dominated objective value.
+	 * @return {@code true} if {@code o1} is not worse than {@code o2} in any objective, and it is strictly better in
+	 * at least one objective.
+	 */
+	public static boolean dominates(ObjectiveValue o1, ObjectiveValue o2) {
+		if (o1 instanceof ObjectiveValues.ObjectiveValue2(double first1, double second1) &&
+				o2 instanceof ObjectiveValues.ObjectiveValue2(double first2, double second2)) {
+			return first1 <= first2 && second1 <= second2 && (first1 < first2 || second1 < second2);
+		}
+		int size = o1.getSize();
+		if (size != o2.getSize()) {
+			throw new IllegalArgumentException("Cannot compare objective values of size %d and %d"
+					.formatted(size, o2.getSize()));
+		}
+		boolean strictlyBetter = false;
+		for (int i = 0; i < size; i++) {
+			double value1 = o1.get(i);
+			double value2 = o2.get(i);
+			if (value1 > value2) {
+				return false;
+			}
+			if (value1 < value2) {
+				strictlyBetter = true;
+			}
+		}
+		return strictlyBetter;
+	}
+}
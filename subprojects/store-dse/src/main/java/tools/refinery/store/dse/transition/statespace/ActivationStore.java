@@ -15,4 +15,15 @@ public interface ActivationStore {
 	VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes);
 	boolean hasUnmarkedActivation(VersionWithObjectiveValue version);
 	VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random);
+
+	/**
+	 * Forgets the activations of a version, e.g., because it was evicted from the frontier.
+	 * <p>
+	 * Afterwards, the version is treated as if all of its activations were visited. Stores also forget the
+	 * activations of versions once all of them were visited, so that fully expanded versions may be garbage collected.
+	 * </p>
+	 *
+	 * @param version The version to forget.
+	 */
+	void remove(VersionWithObjectiveValue version);
 }
@@ -14,4 +14,24 @@ public interface EquivalenceClassStore {
 	boolean hasUnresolvedSymmetry();
 	void resolveOneSymmetry();
 	int getNumberOfUnresolvedSymmetries();
+
+	/**
+	 * Gets a snapshot of the model codes of the visited equivalence classes.
+	 *
+	 * @return The model codes.
+	 * @throws UnsupportedOperationException If the store cannot export its equivalence classes.
+	 */
+	default int[] getCodes() {
+		throw new UnsupportedOperationException("This equivalence storage cannot export its equivalence classes");
+	}
+
+	/**
+	 * Marks the equivalence classes with the given model codes as visited.
+	 *
+	 * @param codes The model codes previously returned by {@link #getCodes()}.
+	 * @throws UnsupportedOperationException If the store cannot import equivalence classes.
+	 */
+	default void addCodes(int[] codes) {
+		throw new UnsupportedOperationException("This equivalence storage cannot import equivalence classes");
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -9,6 +9,7 @@ import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.map.Version;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Random;
 
 public interface ObjectivePriorityQueue {
@@ -16,6 +17,55 @@ public interface ObjectivePriorityQueue {
 	void submit(VersionWithObjectiveValue versionWithObjectiveValue);
 	void remove(VersionWithObjectiveValue versionWithObjectiveValue);
 	int getSize();
+
+	/**
+	 * Gets the most preferred version in the queue.
+	 *
+	 * @return The best version, or {@code null} if the queue is empty.
+	 */
 	VersionWithObjectiveValue getBest();
+
+	/**
+	 * Gets the best versions in the queue.
+	 * <p>
+	 * Queues that do not order all of their versions totally may return only the result of {@link #getBest()}.
+	 * </p>
+	 *
+	 * @param count The maximal number of versions to return.
+	 * @return At most {@code count} versions, starting with the best one.
+	 */
+	default List<VersionWithObjectiveValue> getBest(int count) {
+		var best = getBest();
+		return best == null ? List.of() : List.of(best);
+	}
+
+	/**
+	 * Gets a uniformly random version from the queue.
+	 * <p>
+	 * Since the queue may be shared between explorers, callers must not assume that it is non-empty just because
+	 * {@link #getSize()} returned a positive value earlier.
+	 * </p>
+	 *
+	 * @param random The source of randomness.
+	 * @return A random version, or {@code null} if the queue is empty.
+	 */
 	VersionWithObjectiveValue getRandom(Random random);
+
+	/**
+	 * Removes the least preferred version from the queue.
+	 * <p>
+	 * Used to keep the size of the frontier bounded. Queues that do not order all of their versions totally may
+	 * remove any version that is not among the most preferred ones.
+	 * </p>
+	 *
+	 * @return The removed version, or {@code null} if the queue was empty.
+	 */
+	VersionWithObjectiveValue removeWorst();
+
+	/**
+	 * Gets a snapshot of all versions in the queue.
+	 *
+	 * @return The versions in the queue, in no particular order.
+	 */
+	List<VersionWithObjectiveValue> getVersions();
 }
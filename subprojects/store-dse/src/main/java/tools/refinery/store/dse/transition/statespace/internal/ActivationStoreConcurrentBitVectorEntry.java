@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Activation store entry that can be shared between multiple explorers without locking.
+ * <p>
+ * Visiting an activation first reserves one of the unvisited activations by decrementing the counter of unvisited
+ * activations, then claims a bit of the bit vector with compare-and-set. Because every successful reservation
+ * corresponds to a distinct unclaimed bit, claiming a bit after a successful reservation always succeeds.
+ * </p>
+ */
+public class ActivationStoreConcurrentBitVectorEntry extends ActivationStoreEntry {
+	private static final int ELEMENT_POSITION = 6; // size of Long.SIZE
+	private static final int ELEMENT_BITMASK = (1 << ELEMENT_POSITION) - 1;
+
+	private final AtomicLongArray selected;
+	private final AtomicInteger unvisited;
+
+	ActivationStoreConcurrentBitVectorEntry(int numberOfActivations) {
+		super(numberOfActivations);
+		selected = new AtomicLongArray((numberOfActivations >> ELEMENT_POSITION) + 1);
+		unvisited = new AtomicInteger(numberOfActivations);
+	}
+
+	@Override
+	public int getNumberOfVisitedActivations() {
+		return numberOfActivations - unvisited.get();
+	}
+
+	@Override
+	public int getNumberOfUnvisitedActivations() {
+		return unvisited.get();
+	}
+
+	@Override
+	public int getAndAddActivationAfter(int index) {
+		int activation = tryGetAndAddActivationAfter(index);
+		if (activation < 0) {
+			throw new IllegalArgumentException("There is are no unvisited activations!");
+		}
+		return activation;
+	}
+
+	/**
+	 * Marks the first unvisited activation at or after {@code index} as visited.
+	 *
+	 * @param index The activation to start searching from.
+	 * @return The index of the activation marked as visited, or {@code -1} if there are no more unvisited
+	 * activations.
+	 */
+	public int tryGetAndAddActivationAfter(int index) {
+		if (!reserve()) {
+			return -1;
+		}
+		int position = index;
+		while (true) {
+			final int selectedElement = position >> ELEMENT_POSITION;
+			final long selectedBit = 1L << (position & ELEMENT_BITMASK);
+			long current = selected.get(selectedElement);
+			if ((current & selectedBit) == 0) {
+				if (selected.compareAndSet(selectedElement, current, current | selectedBit)) {
+					return position;
+				}
+				// Another explorer changed the same word, re-read it without advancing the position.
+				continue;
+			}
+			if (position < numberOfActivations - 1) {
+				position++;
+			} else {
+				position = 0;
+			}
+		}
+	}
+
+	private boolean reserve() {
+		int current;
+		do {
+			current = unvisited.get();
+			if (current <= 0) {
+				return false;
+			}
+		} while (!unvisited.compareAndSet(current, current - 1));
+		return true;
+	}
+}
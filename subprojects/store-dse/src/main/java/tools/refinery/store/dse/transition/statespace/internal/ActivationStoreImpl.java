@@ -41,6 +41,7 @@ public class ActivationStoreImpl implements ActivationStore {
 			}
 		}
 		if (!hasMore) {
+			versionToActivations.remove(to);
 			actionWhenAllActivationVisited.accept(to);
 		}
 		return new VisitResult(successful[0], hasMore, -1, -1);
@@ -49,6 +50,9 @@ public class ActivationStoreImpl implements ActivationStore {
 	public synchronized VisitResult visitActivation(VersionWithObjectiveValue from, int transformationIndex,
 													int activationIndex) {
 		var entries = versionToActivations.get(from);
+		if (entries == null) {
+			return new VisitResult(false, false, -1, -1);
+		}
 		var entry = entries.get(transformationIndex);
 		final int unvisited = entry.getNumberOfUnvisitedActivations();
 
@@ -81,6 +85,7 @@ public class ActivationStoreImpl implements ActivationStore {
 		}
 
 		if (!hasMore) {
+			versionToActivations.remove(from);
 			actionWhenAllActivationVisited.accept(from);
 		}
 
@@ -90,6 +95,9 @@ public class ActivationStoreImpl implements ActivationStore {
 	@Override
 	public synchronized boolean hasUnmarkedActivation(VersionWithObjectiveValue version) {
 		var entries = versionToActivations.get(version);
+		if (entries == null) {
+			return false;
+		}
 		boolean hasMore = false;
 		for (var entry : entries) {
 			if (entry.getNumberOfUnvisitedActivations() > 0) {
@@ -103,6 +111,10 @@ public class ActivationStoreImpl implements ActivationStore {
 	@Override
 	public synchronized VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
 		var entries = versionToActivations.get(version);
+		if (entries == null) {
+			// The version was already fully expanded or evicted.
+			return new VisitResult(false, false, -1, -1);
+		}
 
 		var weights = new double[entries.size()];
 		double totalWeight = 0;
@@ -117,6 +129,7 @@ public class ActivationStoreImpl implements ActivationStore {
 		}
 
 		if (numberOfAllUnvisitedActivations == 0) {
+			versionToActivations.remove(version);
 			this.actionWhenAllActivationVisited.accept(version);
 			return new VisitResult(false, false, -1, -1);
 		}
@@ -135,4 +148,9 @@ public class ActivationStoreImpl implements ActivationStore {
 
 		throw new AssertionError("Unvisited activation %f not found".formatted(offset));
 	}
+
+	@Override
+	public synchronized void remove(VersionWithObjectiveValue version) {
+		versionToActivations.remove(version);
+	}
 }
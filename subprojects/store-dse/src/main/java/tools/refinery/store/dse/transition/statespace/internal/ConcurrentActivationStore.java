@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ActivationStore;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Activation store for exploring the state space with multiple explorers.
+ * <p>
+ * Unlike {@link ActivationStoreImpl}, this store holds no global lock. Entries of different versions are held in a
+ * {@link ConcurrentHashMap}, and activations of a version are claimed with compare-and-set in
+ * {@link ActivationStoreConcurrentBitVectorEntry}. The callback when all activations were visited may be called
+ * multiple times for the same version, so it must be idempotent.
+ * </p>
+ * <p>
+ * Entries of fully expanded versions are dropped, but explorers that have already looked up the entries of a version
+ * may keep using them until they notice that no activations are left.
+ * </p>
+ */
+public class ConcurrentActivationStore implements ActivationStore {
+	final int numberOfTransformations;
+	final Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited;
+	final Map<VersionWithObjectiveValue, ActivationStoreConcurrentBitVectorEntry[]> versionToActivations;
+
+	public ConcurrentActivationStore(final int numberOfTransformations,
+									 Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited) {
+		this.numberOfTransformations = numberOfTransformations;
+		this.actionWhenAllActivationVisited = actionWhenAllActivationVisited;
+		versionToActivations = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes) {
+		var newEntries = new ActivationStoreConcurrentBitVectorEntry[emptyEntrySizes.length];
+		for (int i = 0; i < newEntries.length; i++) {
+			newEntries[i] = new ActivationStoreConcurrentBitVectorEntry(emptyEntrySizes[i]);
+		}
+		var oldEntries = versionToActivations.putIfAbsent(to, newEntries);
+		boolean successful = oldEntries == null;
+		var entries = successful ? newEntries : oldEntries;
+		boolean hasMore = hasUnvisited(entries);
+		if (!hasMore) {
+			allActivationsVisited(to);
+		}
+		return new VisitResult(successful, hasMore, -1, -1);
+	}
+
+	@Override
+	public boolean hasUnmarkedActivation(VersionWithObjectiveValue version) {
+		var entries = versionToActivations.get(version);
+		return entries != null && hasUnvisited(entries);
+	}
+
+	@Override
+	public VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
+		var entries = versionToActivations.get(version);
+		if (entries == null) {
+			// The version was already fully expanded or evicted.
+			return new VisitResult(false, false, -1, -1);
+		}
+		var weights = new double[entries.length];
+		while (true) {
+			double totalWeight = 0;
+			for (int i = 0; i < weights.length; i++) {
+				double weight = entries[i].getNumberOfUnvisitedActivations();
+				weights[i] = weight;
+				totalWeight += weight;
+			}
+
+			if (totalWeight == 0) {
+				allActivationsVisited(version);
+				return new VisitResult(false, false, -1, -1);
+			}
+
+			int transformation = selectTransformation(weights, random.nextDouble(totalWeight));
+			var entry = entries[transformation];
+			int activation = entry.tryGetAndAddActivationAfter(random.nextInt(entry.getNumberOfActivations()));
+			if (activation >= 0) {
+				boolean hasMore = hasUnvisited(entries);
+				if (!hasMore) {
+					allActivationsVisited(version);
+				}
+				return new VisitResult(true, hasMore, transformation, activation);
+			}
+			// Another explorer visited the last activation of the selected transformation in the meantime, so we
+			// have to select again with the updated weights.
+		}
+	}
+
+	@Override
+	public void remove(VersionWithObjectiveValue version) {
+		versionToActivations.remove(version);
+	}
+
+	private void allActivationsVisited(VersionWithObjectiveValue version) {
+		versionToActivations.remove(version);
+		actionWhenAllActivationVisited.accept(version);
+	}
+
+	private static int selectTransformation(double[] weights, double offset) {
+		double remaining = offset;
+		int lastNonZero = -1;
+		for (int transformation = 0; transformation < weights.length; transformation++) {
+			double weight = weights[transformation];
+			if (weight > 0) {
+				if (remaining < weight) {
+					return transformation;
+				}
+				lastNonZero = transformation;
+			}
+			remaining -= weight;
+		}
+		if (lastNonZero < 0) {
+			throw new AssertionError("Unvisited activation %f not found".formatted(offset));
+		}
+		// Guard against floating point rounding errors in the total weight.
+		return lastNonZero;
+	}
+
+	private static boolean hasUnvisited(ActivationStoreEntry[] entries) {
+		for (var entry : entries) {
+			if (entry.getNumberOfUnvisitedActivations() > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.EquivalenceClassStore;
+import tools.refinery.store.statecoding.StateCoderResult;
+import tools.refinery.store.statecoding.StateCoderStoreAdapter;
+
+/**
+ * Equivalence class store for exploring the state space with multiple explorers.
+ * <p>
+ * Like {@link FastEquivalenceClassStore}, it only stores model codes and does not resolve symmetries, but the codes
+ * are stored in a {@link StripedIntHashSet} instead of a single set guarded by the monitor of the store.
+ * </p>
+ */
+public class ConcurrentEquivalenceClassStore extends AbstractEquivalenceClassStore
+		implements EquivalenceClassStore {
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+	private final StripedIntHashSet codes;
+
+	public ConcurrentEquivalenceClassStore(StateCoderStoreAdapter stateCoderStoreAdapter) {
+		this(stateCoderStoreAdapter, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	public ConcurrentEquivalenceClassStore(StateCoderStoreAdapter stateCoderStoreAdapter, int concurrencyLevel) {
+		super(stateCoderStoreAdapter);
+		codes = new StripedIntHashSet(concurrencyLevel);
+	}
+
+	@Override
+	protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
+		throw new UnsupportedOperationException("This equivalence storage is not prepared to resolve symmetries!");
+	}
+
+	@Override
+	protected boolean tryToAdd(StateCoderResult stateCoderResult, VersionWithObjectiveValue newVersion,
+							   int[] emptyActivations, boolean accept) {
+		return codes.add(stateCoderResult.modelCode());
+	}
+
+	@Override
+	public boolean tryToAdd(StateCoderResult stateCoderResult) {
+		return codes.add(stateCoderResult.modelCode());
+	}
+
+	@Override
+	public int[] getCodes() {
+		return codes.toArray();
+	}
+
+	@Override
+	public void addCodes(int[] codes) {
+		for (int code : codes) {
+			this.codes.add(code);
+		}
+	}
+
+	@Override
+	public void resolveOneSymmetry() {
+		throw new IllegalArgumentException("This equivalence storage is not prepared to resolve symmetries!");
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.objectives.Objective;
+import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Objective priority queue for exploring the state space with multiple explorers.
+ * <p>
+ * Versions are kept in a {@link ConcurrentSkipListMap} ordered by their objective value, with ties broken by the
+ * order of submission. Submission and removal of a version are serialized per version by a
+ * {@link ConcurrentHashMap}, but explorers working with different versions do not block each other.
+ * </p>
+ * <p>
+ * The skip list can not be indexed, so versions are also kept in an array for random selection in constant time.
+ * Versions are removed from the array by swapping them with the last element. Only access to this array is guarded by
+ * a lock, which is held for a constant amount of time.
+ * </p>
+ */
+public class ConcurrentObjectivePriorityQueue implements ObjectivePriorityQueue {
+	private static final class Entry {
+		private final VersionWithObjectiveValue version;
+		private final long sequenceNumber;
+
+		// The position of this entry in the array used for random selection, guarded by the lock of the array.
+		private int randomAccessIndex = -1;
+
+		Entry(VersionWithObjectiveValue version, long sequenceNumber) {
+			this.version = version;
+			this.sequenceNumber = sequenceNumber;
+		}
+
+		public VersionWithObjectiveValue version() {
+			return version;
+		}
+
+		public long sequenceNumber() {
+			return sequenceNumber;
+		}
+	}
+
+	private final Comparator<VersionWithObjectiveValue> comparator;
+	private final AtomicLong nextSequenceNumber = new AtomicLong();
+	private final ConcurrentSkipListMap<Entry, VersionWithObjectiveValue> frontier;
+	private final ConcurrentHashMap<VersionWithObjectiveValue, Entry> versionToEntry = new ConcurrentHashMap<>();
+	private final Object randomAccessLock = new Object();
+	private final ArrayList<Entry> randomAccessEntries = new ArrayList<>();
+
+	public ConcurrentObjectivePriorityQueue(List<Objective> objectives) {
+		this(ObjectivePriorityQueueImpl.getDefaultComparator(objectives));
+	}
+
+	public ConcurrentObjectivePriorityQueue(Comparator<VersionWithObjectiveValue> comparator) {
+		this.comparator = comparator;
+		frontier = new ConcurrentSkipListMap<>(Comparator
+				.comparing(Entry::version, comparator)
+				.thenComparingLong(Entry::sequenceNumber));
+	}
+
+	@Override
+	public Comparator<VersionWithObjectiveValue> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	public void submit(VersionWithObjectiveValue versionWithObjectiveValue) {
+		versionToEntry.computeIfAbsent(versionWithObjectiveValue, version -> {
+			var entry = new Entry(version, nextSequenceNumber.getAndIncrement());
+			frontier.put(entry, version);
+			addRandomAccessEntry(entry);
+			return entry;
+		});
+	}
+
+	@Override
+	public void remove(VersionWithObjectiveValue versionWithObjectiveValue) {
+		versionToEntry.computeIfPresent(versionWithObjectiveValue, (version, entry) -> {
+			frontier.remove(entry);
+			removeRandomAccessEntry(entry);
+			return null;
+		});
+	}
+
+	private void addRandomAccessEntry(Entry entry) {
+		synchronized (randomAccessLock) {
+			entry.randomAccessIndex = randomAccessEntries.size();
+			randomAccessEntries.add(entry);
+		}
+	}
+
+	private void removeRandomAccessEntry(Entry entry) {
+		synchronized (randomAccessLock) {
+			int index = entry.randomAccessIndex;
+			int lastIndex = randomAccessEntries.size() - 1;
+			var lastEntry = randomAccessEntries.remove(lastIndex);
+			if (index != lastIndex) {
+				randomAccessEntries.set(index, lastEntry);
+				lastEntry.randomAccessIndex = index;
+			}
+			entry.randomAccessIndex = -1;
+		}
+	}
+
+	@Override
+	public int getSize() {
+		return versionToEntry.size();
+	}
+
+	@Override
+	public VersionWithObjectiveValue getBest() {
+		var best = frontier.firstEntry();
+		return best == null ? null : best.getValue();
+	}
+
+	@Override
+	public List<VersionWithObjectiveValue> getBest(int count) {
+		var result = new ArrayList<VersionWithObjectiveValue>(count);
+		// The iterator is weakly consistent, so we may return versions that other explorers have just removed.
+		for (var version : frontier.values()) {
+			if (result.size() >= count) {
+				break;
+			}
+			result.add(version);
+		}
+		return result;
+	}
+
+	@Override
+	public VersionWithObjectiveValue getRandom(Random random) {
+		synchronized (randomAccessLock) {
+			int size = randomAccessEntries.size();
+			if (size == 0) {
+				return null;
+			}
+			return randomAccessEntries.get(random.nextInt(size)).version();
+		}
+	}
+
+	@Override
+	public VersionWithObjectiveValue removeWorst() {
+		while (true) {
+			var worst = frontier.lastEntry();
+			if (worst == null) {
+				return null;
+			}
+			var worstEntry = worst.getKey();
+			boolean[] removed = new boolean[]{false};
+			versionToEntry.computeIfPresent(worst.getValue(), (version, entry) -> {
+				if (entry != worstEntry) {
+					return entry;
+				}
+				frontier.remove(entry);
+				removeRandomAccessEntry(entry);
+				removed[0] = true;
+				return null;
+			});
+			if (removed[0]) {
+				return worst.getValue();
+			}
+			// Another explorer removed the version in the meantime, so we have to look for the worst one again.
+		}
+	}
+
+	@Override
+	public List<VersionWithObjectiveValue> getVersions() {
+		return new ArrayList<>(frontier.values());
+	}
+}
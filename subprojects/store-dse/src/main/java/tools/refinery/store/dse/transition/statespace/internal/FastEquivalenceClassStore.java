@@ -30,6 +30,16 @@ public abstract class FastEquivalenceClassStore extends AbstractEquivalenceClass
 		return this.codes.add(stateCoderResult.modelCode());
 	}
 
+	@Override
+	public synchronized int[] getCodes() {
+		return codes.toArray();
+	}
+
+	@Override
+	public synchronized void addCodes(int[] codes) {
+		this.codes.addAll(codes);
+	}
+
 	@Override
 	public void resolveOneSymmetry() {
 		throw new IllegalArgumentException("This equivalence storage is not prepared to resolve symmetries!");
@@ -1,48 +1,80 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
+import tools.refinery.store.dse.transition.ObjectiveComparators;
 import tools.refinery.store.dse.transition.ObjectiveValues;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.objectives.Objective;
 import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
+import tools.refinery.store.query.utils.OrderStatisticTree;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Random;
+import java.util.*;
 
+/**
+ * Objective priority queue backed by an {@link OrderStatisticTree}.
+ * <p>
+ * Each submitted version gets an entry that acts as a handle for removing it from the tree in logarithmic time.
+ * Since the tree is indexed by rank, uniform random selection is also logarithmic.
+ * </p>
+ */
 public class ObjectivePriorityQueueImpl implements ObjectivePriorityQueue {
 	public static final Comparator<VersionWithObjectiveValue> c1 = (o1, o2) -> Double.compare(
 			((ObjectiveValues.ObjectiveValue1) o1.objectiveValue()).value0(),
 			((ObjectiveValues.ObjectiveValue1) o2.objectiveValue()).value0());
-	// TODO: support multi objective!
-	final PriorityQueue<VersionWithObjectiveValue> priorityQueue;
+	final Comparator<VersionWithObjectiveValue> comparator;
+	final OrderStatisticTree<Entry> priorityQueue = new OrderStatisticTree<>();
+	final Map<VersionWithObjectiveValue, Entry> versionToEntry = new HashMap<>();
+	private long nextSequenceNumber = 0;
 
 	public ObjectivePriorityQueueImpl(List<Objective> objectives) {
+		this(getDefaultComparator(objectives));
+	}
 
-		if(objectives.size() == 1) {
-			this.priorityQueue = new PriorityQueue<>(c1);
-		} else {
-			throw new UnsupportedOperationException("Only single objective comparator is implemented currently!");
-		}
+	public ObjectivePriorityQueueImpl(Comparator<VersionWithObjectiveValue> comparator) {
+		this.comparator = comparator;
 	}
+
+	/**
+	 * Gets the default ordering of versions for the given objectives.
+	 *
+	 * @param objectives The objectives of the exploration.
+	 * @return A comparator optimized for a single objective, or a comparator ordering versions
+	 * {@link ObjectiveComparators#LEXICOGRAPHIC_VERSIONS lexicographically} for multiple objectives.
+	 */
+	public static Comparator<VersionWithObjectiveValue> getDefaultComparator(List<Objective> objectives) {
+		return switch (objectives.size()) {
+			case 0 -> throw new IllegalArgumentException("At least one objective is required");
+			case 1 -> c1;
+			default -> ObjectiveComparators.LEXICOGRAPHIC_VERSIONS;
+		};
+	}
+
 	@Override
 	public Comparator<VersionWithObjectiveValue> getComparator() {
-		return c1;
+		return comparator;
 	}
 
 	@Override
 	public synchronized void submit(VersionWithObjectiveValue versionWithObjectiveValue) {
-		priorityQueue.add(versionWithObjectiveValue);
+		if (versionToEntry.containsKey(versionWithObjectiveValue)) {
+			return;
+		}
+		var entry = new Entry(versionWithObjectiveValue, nextSequenceNumber);
+		nextSequenceNumber++;
+		versionToEntry.put(versionWithObjectiveValue, entry);
+		priorityQueue.add(entry);
 	}
 
 	@Override
 	public synchronized void remove(VersionWithObjectiveValue versionWithObjectiveValue) {
-		priorityQueue.remove(versionWithObjectiveValue);
+		var entry = versionToEntry.remove(versionWithObjectiveValue);
+		if (entry != null) {
+			priorityQueue.remove(entry);
+		}
 	}
 
 	@Override
@@ -52,17 +84,66 @@ public class ObjectivePriorityQueueImpl implements ObjectivePriorityQueue {
 
 	@Override
 	public synchronized VersionWithObjectiveValue getBest() {
-		return priorityQueue.peek();
+		if (priorityQueue.isEmpty()) {
+			return null;
+		}
+		return priorityQueue.get(0).version;
+	}
+
+	@Override
+	public synchronized List<VersionWithObjectiveValue> getBest(int count) {
+		int size = Math.min(count, priorityQueue.size());
+		var result = new ArrayList<VersionWithObjectiveValue>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(priorityQueue.get(i).version);
+		}
+		return result;
 	}
 
 	@Override
 	public synchronized VersionWithObjectiveValue getRandom(Random random) {
-		int randomPosition = random.nextInt(getSize());
-		for (VersionWithObjectiveValue entry : this.priorityQueue) {
-			if (randomPosition-- == 0) {
-				return entry;
+		int size = priorityQueue.size();
+		if (size == 0) {
+			return null;
+		}
+		int randomPosition = random.nextInt(size);
+		return priorityQueue.get(randomPosition).version;
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue removeWorst() {
+		int size = priorityQueue.size();
+		if (size == 0) {
+			return null;
+		}
+		var entry = priorityQueue.get(size - 1);
+		priorityQueue.remove(entry);
+		versionToEntry.remove(entry.version);
+		return entry.version;
+	}
+
+	@Override
+	public synchronized List<VersionWithObjectiveValue> getVersions() {
+		return getBest(priorityQueue.size());
+	}
+
+	final class Entry implements Comparable<Entry> {
+		// Ties between versions with the same objective value are broken by the order of submission.
+		private final VersionWithObjectiveValue version;
+		private final long sequenceNumber;
+
+		Entry(VersionWithObjectiveValue version, long sequenceNumber) {
+			this.version = version;
+			this.sequenceNumber = sequenceNumber;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = comparator.compare(version, other.version);
+			if (result != 0) {
+				return result;
 			}
+			return Long.compare(sequenceNumber, other.sequenceNumber);
 		}
-		throw new IllegalStateException("The priority queue is inconsistent!");
 	}
 }
@@ -0,0 +1,275 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ActivationStore;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Activation store that keeps the visited activations of all versions in primitive arrays.
+ * <p>
+ * Each version is assigned an integer id. The visited activations of a version are stored as one bit vector per
+ * transformation in a shared {@code long[]} arena, while the number of activations and unvisited activations are
+ * stored in {@code int[]} arrays indexed by the id and the transformation. Unlike {@link ActivationStoreImpl}, this
+ * needs no objects per version apart from the entry in the id map.
+ * </p>
+ * <p>
+ * The ids and bit vectors of released versions are reused: free ids are recycled, and the arena is compacted
+ * whenever it has to be grown. Activations are selected in the same way as in {@link ActivationStoreImpl}, so both
+ * stores explore the same states for the same random seed.
+ * </p>
+ */
+public class PackedActivationStore implements ActivationStore {
+	private static final int ELEMENT_POSITION = 6; // size of Long.SIZE
+	private static final int ELEMENT_BITMASK = (1 << ELEMENT_POSITION) - 1;
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int NO_ID = -1;
+	private static final int RELEASED = -1;
+
+	final int numberOfTransformations;
+	final Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited;
+	private final MutableObjectIntMap<VersionWithObjectiveValue> versionToId = ObjectIntMaps.mutable.empty();
+	private final MutableIntList freeIds = IntLists.mutable.empty();
+	private int nextId;
+
+	// Indexed by id * numberOfTransformations + transformation.
+	private int[] sizes;
+	private int[] unvisited;
+
+	// Indexed by id.
+	private int[] offsets;
+	private int[] wordCounts;
+
+	private long[] words = new long[INITIAL_CAPACITY];
+	private int usedWords;
+	private int releasedWords;
+
+	public PackedActivationStore(final int numberOfTransformations,
+								 Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited) {
+		this.numberOfTransformations = numberOfTransformations;
+		this.actionWhenAllActivationVisited = actionWhenAllActivationVisited;
+		sizes = new int[INITIAL_CAPACITY * numberOfTransformations];
+		unvisited = new int[INITIAL_CAPACITY * numberOfTransformations];
+		offsets = new int[INITIAL_CAPACITY];
+		Arrays.fill(offsets, RELEASED);
+		wordCounts = new int[INITIAL_CAPACITY];
+	}
+
+	@Override
+	public synchronized VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes) {
+		if (emptyEntrySizes.length != numberOfTransformations) {
+			throw new IllegalArgumentException("Expected %d activation sizes, got %d instead"
+					.formatted(numberOfTransformations, emptyEntrySizes.length));
+		}
+		int existingId = versionToId.getIfAbsent(to, NO_ID);
+		if (existingId != NO_ID) {
+			return new VisitResult(false, hasUnvisited(existingId), -1, -1);
+		}
+		boolean hasMore = false;
+		for (int size : emptyEntrySizes) {
+			if (size > 0) {
+				hasMore = true;
+				break;
+			}
+		}
+		if (hasMore) {
+			allocate(to, emptyEntrySizes);
+		} else {
+			// There is nothing to remember about versions without activations.
+			actionWhenAllActivationVisited.accept(to);
+		}
+		return new VisitResult(true, hasMore, -1, -1);
+	}
+
+	@Override
+	public synchronized boolean hasUnmarkedActivation(VersionWithObjectiveValue version) {
+		int id = versionToId.getIfAbsent(version, NO_ID);
+		return id != NO_ID && hasUnvisited(id);
+	}
+
+	@Override
+	public synchronized VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
+		int id = versionToId.getIfAbsent(version, NO_ID);
+		if (id == NO_ID) {
+			// The version was already fully expanded or evicted.
+			return new VisitResult(false, false, -1, -1);
+		}
+		int base = id * numberOfTransformations;
+		double totalWeight = 0;
+		for (int i = 0; i < numberOfTransformations; i++) {
+			totalWeight += unvisited[base + i];
+		}
+		if (totalWeight == 0) {
+			release(version, id);
+			actionWhenAllActivationVisited.accept(version);
+			return new VisitResult(false, false, -1, -1);
+		}
+
+		double offset = random.nextDouble(totalWeight);
+		for (int transformation = 0; transformation < numberOfTransformations; transformation++) {
+			double weight = unvisited[base + transformation];
+			if (weight > 0 && offset < weight) {
+				int activation = random.nextInt(sizes[base + transformation]);
+				return visitActivation(version, id, transformation, activation);
+			}
+			offset -= weight;
+		}
+
+		throw new AssertionError("Unvisited activation %f not found".formatted(offset));
+	}
+
+	@Override
+	public synchronized void remove(VersionWithObjectiveValue version) {
+		int id = versionToId.getIfAbsent(version, NO_ID);
+		if (id != NO_ID) {
+			release(version, id);
+		}
+	}
+
+	/**
+	 * Gets the number of versions with unvisited activations.
+	 *
+	 * @return The number of versions currently stored.
+	 */
+	public synchronized int getSize() {
+		return versionToId.size();
+	}
+
+	private VisitResult visitActivation(VersionWithObjectiveValue version, int id, int transformation,
+										int activationIndex) {
+		int index = id * numberOfTransformations + transformation;
+		int activation = markFirstUnvisitedAfter(getWordOffset(id, transformation), sizes[index], activationIndex);
+		unvisited[index]--;
+		boolean hasMore = hasUnvisited(id);
+		if (!hasMore) {
+			release(version, id);
+			actionWhenAllActivationVisited.accept(version);
+		}
+		return new VisitResult(true, hasMore, transformation, activation);
+	}
+
+	private int markFirstUnvisitedAfter(int wordOffset, int size, int index) {
+		int wordCount = getWordCount(size);
+		int word = index >> ELEMENT_POSITION;
+		long candidates = ~words[wordOffset + word] & (-1L << (index & ELEMENT_BITMASK));
+		// Visit the word of the starting index twice to also find the activations before it after wrapping around.
+		for (int i = 0; i <= wordCount; i++) {
+			if (candidates != 0) {
+				int found = (word << ELEMENT_POSITION) | Long.numberOfTrailingZeros(candidates);
+				// The bits after the last activation are never set, so there are no more candidates in this word.
+				if (found < size) {
+					words[wordOffset + word] |= 1L << (found & ELEMENT_BITMASK);
+					return found;
+				}
+			}
+			word++;
+			if (word == wordCount) {
+				word = 0;
+			}
+			candidates = ~words[wordOffset + word];
+		}
+		throw new IllegalArgumentException("There is are no unvisited activations!");
+	}
+
+	private boolean hasUnvisited(int id) {
+		int base = id * numberOfTransformations;
+		for (int i = 0; i < numberOfTransformations; i++) {
+			if (unvisited[base + i] > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int getWordOffset(int id, int transformation) {
+		int base = id * numberOfTransformations;
+		int wordOffset = offsets[id];
+		for (int i = 0; i < transformation; i++) {
+			wordOffset += getWordCount(sizes[base + i]);
+		}
+		return wordOffset;
+	}
+
+	private static int getWordCount(int size) {
+		return (size + ELEMENT_BITMASK) >> ELEMENT_POSITION;
+	}
+
+	private void allocate(VersionWithObjectiveValue version, int[] emptyEntrySizes) {
+		int id = freeIds.isEmpty() ? nextId++ : freeIds.removeAtIndex(freeIds.size() - 1);
+		ensureIdCapacity(id + 1);
+		int base = id * numberOfTransformations;
+		int wordCount = 0;
+		for (int i = 0; i < numberOfTransformations; i++) {
+			int size = emptyEntrySizes[i];
+			sizes[base + i] = size;
+			unvisited[base + i] = size;
+			wordCount += getWordCount(size);
+		}
+		ensureWordCapacity(wordCount);
+		Arrays.fill(words, usedWords, usedWords + wordCount, 0L);
+		offsets[id] = usedWords;
+		wordCounts[id] = wordCount;
+		usedWords += wordCount;
+		versionToId.put(version, id);
+	}
+
+	private void release(VersionWithObjectiveValue version, int id) {
+		versionToId.remove(version);
+		releasedWords += wordCounts[id];
+		offsets[id] = RELEASED;
+		wordCounts[id] = 0;
+		int base = id * numberOfTransformations;
+		Arrays.fill(unvisited, base, base + numberOfTransformations, 0);
+		freeIds.add(id);
+	}
+
+	private void ensureIdCapacity(int capacity) {
+		if (capacity <= offsets.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, offsets.length * 2);
+		sizes = Arrays.copyOf(sizes, newCapacity * numberOfTransformations);
+		unvisited = Arrays.copyOf(unvisited, newCapacity * numberOfTransformations);
+		int oldCapacity = offsets.length;
+		offsets = Arrays.copyOf(offsets, newCapacity);
+		Arrays.fill(offsets, oldCapacity, newCapacity, RELEASED);
+		wordCounts = Arrays.copyOf(wordCounts, newCapacity);
+	}
+
+	private void ensureWordCapacity(int additionalWords) {
+		if (usedWords + additionalWords <= words.length) {
+			return;
+		}
+		// We have to copy the arena anyway, so we only copy the bit vectors of versions that were not released yet.
+		int liveWords = usedWords - releasedWords;
+		int requiredWords = liveWords + additionalWords;
+		int newLength = requiredWords <= words.length / 2 ? words.length : Math.max(requiredWords,
+				words.length * 2);
+		var newWords = new long[newLength];
+		int position = 0;
+		for (int id = 0; id < nextId; id++) {
+			int offset = offsets[id];
+			if (offset == RELEASED) {
+				continue;
+			}
+			int wordCount = wordCounts[id];
+			System.arraycopy(words, offset, newWords, position, wordCount);
+			offsets[id] = position;
+			position += wordCount;
+		}
+		words = newWords;
+		usedWords = position;
+		releasedWords = 0;
+	}
+}
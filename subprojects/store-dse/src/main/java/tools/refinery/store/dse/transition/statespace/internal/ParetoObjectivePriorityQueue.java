@@ -0,0 +1,218 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.dse.transition.ObjectiveComparators;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
+import tools.refinery.store.query.utils.OrderStatisticTree;
+
+import java.util.*;
+
+/**
+ * Objective priority queue for multiple objectives that prefers versions on the Pareto front.
+ * <p>
+ * All versions are kept in an {@link OrderStatisticTree} in {@link ObjectiveComparators#LEXICOGRAPHIC_VERSIONS
+ * lexicographic} order, which supports logarithmic removal and random selection. The non-dominated versions (the
+ * first front of the non-dominated sorting) are maintained separately, and {@link #getBest()} cycles through them, so
+ * that the exploration progresses along the whole front instead of only optimizing the first objective.
+ * </p>
+ * <p>
+ * The front is maintained incrementally. Each dominated version is assigned to a member of the front that dominates
+ * it. Removing a member of the front only has to reconsider the versions assigned to it: since dominance is
+ * transitive, every other dominated version is still dominated by its own front member. The reconsidered versions are
+ * swept in lexicographic order, because a version may only be dominated by lexicographically smaller versions.
+ * </p>
+ */
+public class ParetoObjectivePriorityQueue implements ObjectivePriorityQueue {
+	private final OrderStatisticTree<Entry> versions = new OrderStatisticTree<>();
+	private final Map<VersionWithObjectiveValue, Entry> versionToEntry = new HashMap<>();
+	private final List<Entry> front = new ArrayList<>();
+	private int nextFrontIndex = 0;
+	private long nextSequenceNumber = 0;
+
+	@Override
+	public Comparator<VersionWithObjectiveValue> getComparator() {
+		return ObjectiveComparators.LEXICOGRAPHIC_VERSIONS;
+	}
+
+	@Override
+	public synchronized void submit(VersionWithObjectiveValue versionWithObjectiveValue) {
+		if (versionToEntry.containsKey(versionWithObjectiveValue)) {
+			return;
+		}
+		var entry = new Entry(versionWithObjectiveValue, nextSequenceNumber);
+		nextSequenceNumber++;
+		versionToEntry.put(versionWithObjectiveValue, entry);
+		versions.add(entry);
+		var dominator = findDominatorInFront(entry);
+		if (dominator != null) {
+			dominator.assignDominated(entry);
+			return;
+		}
+		var iterator = front.iterator();
+		while (iterator.hasNext()) {
+			var frontEntry = iterator.next();
+			if (ObjectiveComparators.dominates(entry.getObjectiveValue(), frontEntry.getObjectiveValue())) {
+				iterator.remove();
+				frontEntry.inFront = false;
+				// Versions dominated by the demoted front member are also dominated by the new version.
+				for (var dominated : frontEntry.dominated) {
+					entry.assignDominated(dominated);
+				}
+				frontEntry.dominated.clear();
+				entry.assignDominated(frontEntry);
+			}
+		}
+		addToFront(entry);
+	}
+
+	@Override
+	public synchronized void remove(VersionWithObjectiveValue versionWithObjectiveValue) {
+		var entry = versionToEntry.remove(versionWithObjectiveValue);
+		if (entry == null) {
+			return;
+		}
+		versions.remove(entry);
+		if (!entry.inFront) {
+			entry.dominator.dominated.remove(entry);
+			entry.dominator = null;
+			return;
+		}
+		front.remove(entry);
+		entry.inFront = false;
+		// Only the versions dominated by the removed front member may join the front.
+		for (var dominated : entry.dominated) {
+			var dominator = findDominatorInFront(dominated);
+			if (dominator == null) {
+				dominated.dominator = null;
+				addToFront(dominated);
+			} else {
+				dominator.assignDominated(dominated);
+			}
+		}
+		entry.dominated.clear();
+	}
+
+	@Override
+	public synchronized int getSize() {
+		return versions.size();
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue getBest() {
+		if (front.isEmpty()) {
+			return null;
+		}
+		if (nextFrontIndex >= front.size()) {
+			nextFrontIndex = 0;
+		}
+		var best = front.get(nextFrontIndex);
+		nextFrontIndex++;
+		return best.version;
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue getRandom(Random random) {
+		int size = versions.size();
+		if (size == 0) {
+			return null;
+		}
+		int randomPosition = random.nextInt(size);
+		return versions.get(randomPosition).version;
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue removeWorst() {
+		int size = versions.size();
+		if (size == 0) {
+			return null;
+		}
+		// The lexicographically last version is usually dominated, but it may still be on the front if it has the
+		// best value for some other objective.
+		var entry = versions.get(size - 1);
+		remove(entry.version);
+		return entry.version;
+	}
+
+	@Override
+	public synchronized List<VersionWithObjectiveValue> getVersions() {
+		int size = versions.size();
+		var result = new ArrayList<VersionWithObjectiveValue>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(versions.get(i).version);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of versions on the Pareto front.
+	 *
+	 * @return The number of non-dominated versions.
+	 */
+	public synchronized int getFrontSize() {
+		return front.size();
+	}
+
+	private Entry findDominatorInFront(Entry entry) {
+		var objectiveValue = entry.getObjectiveValue();
+		// Iterate backwards, because recently added front members are the most likely to dominate new versions.
+		for (int i = front.size() - 1; i >= 0; i--) {
+			var frontEntry = front.get(i);
+			if (ObjectiveComparators.dominates(frontEntry.getObjectiveValue(), objectiveValue)) {
+				return frontEntry;
+			}
+		}
+		return null;
+	}
+
+	private void addToFront(Entry entry) {
+		entry.inFront = true;
+		front.add(entry);
+	}
+
+	private static final class Entry implements Comparable<Entry> {
+		// Ties between versions with the same objective value are broken by the order of submission.
+		private final VersionWithObjectiveValue version;
+		private final long sequenceNumber;
+		private boolean inFront;
+
+		/**
+		 * The front member this version is assigned to if it is not on the front.
+		 */
+		private Entry dominator;
+
+		/**
+		 * The versions assigned to this version if it is on the front, in lexicographic order.
+		 */
+		private final TreeSet<Entry> dominated = new TreeSet<>();
+
+		Entry(VersionWithObjectiveValue version, long sequenceNumber) {
+			this.version = version;
+			this.sequenceNumber = sequenceNumber;
+		}
+
+		public ObjectiveValue getObjectiveValue() {
+			return version.objectiveValue();
+		}
+
+		void assignDominated(Entry entry) {
+			entry.dominator = this;
+			dominated.add(entry);
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = ObjectiveComparators.compareLexicographically(getObjectiveValue(),
+					other.getObjectiveValue());
+			if (result != 0) {
+				return result;
+			}
+			return Long.compare(sequenceNumber, other.sequenceNumber);
+		}
+	}
+}
@@ -9,6 +9,7 @@ import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 
@@ -19,8 +20,12 @@ public class SolutionStoreImpl implements SolutionStore {
 	final PriorityQueue<VersionWithObjectiveValue> solutions;
 
 	public SolutionStoreImpl(int maxNumberSolutions) {
+		this(maxNumberSolutions, ObjectivePriorityQueueImpl.c1);
+	}
+
+	public SolutionStoreImpl(int maxNumberSolutions, Comparator<VersionWithObjectiveValue> comparator) {
 		this.maxNumberSolutions = maxNumberSolutions;
-		solutions = new PriorityQueue<>(ObjectivePriorityQueueImpl.c1.reversed());
+		solutions = new PriorityQueue<>(comparator.reversed());
 	}
 
 
@@ -37,12 +42,12 @@ public class SolutionStoreImpl implements SolutionStore {
 	}
 
 	@Override
-	public List<VersionWithObjectiveValue> getSolutions() {
+	public synchronized List<VersionWithObjectiveValue> getSolutions() {
 		return new ArrayList<>(solutions);
 	}
 
 	@Override
-	public boolean hasEnoughSolution() {
+	public synchronized boolean hasEnoughSolution() {
 		if (maxNumberSolutions == UNLIMITED) {
 			return false;
 		} else {
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+
+/**
+ * A primitive {@code int} hash set split into independently locked stripes.
+ * <p>
+ * Each element is assigned to a stripe by the high bits of its Fibonacci hash, so state codes that only differ in
+ * their low bits are still spread evenly. Threads adding elements to different stripes never contend.
+ * </p>
+ */
+class StripedIntHashSet {
+	private static final int FIBONACCI_HASH_MULTIPLIER = 0x9E3779B9;
+
+	private final MutableIntSet[] stripes;
+	private final int shift;
+
+	StripedIntHashSet(int concurrencyLevel) {
+		int numberOfStripes = Integer.highestOneBit(Math.max(concurrencyLevel, 1) - 1) << 1;
+		if (numberOfStripes <= 0) {
+			numberOfStripes = 1;
+		}
+		stripes = new MutableIntSet[numberOfStripes];
+		for (int i = 0; i < numberOfStripes; i++) {
+			stripes[i] = IntSets.mutable.empty();
+		}
+		shift = Integer.SIZE - Integer.numberOfTrailingZeros(numberOfStripes);
+	}
+
+	private MutableIntSet getStripe(int value) {
+		if (stripes.length == 1) {
+			return stripes[0];
+		}
+		return stripes[(value * FIBONACCI_HASH_MULTIPLIER) >>> shift];
+	}
+
+	public boolean add(int value) {
+		var stripe = getStripe(value);
+		synchronized (stripe) {
+			return stripe.add(value);
+		}
+	}
+
+	public boolean contains(int value) {
+		var stripe = getStripe(value);
+		synchronized (stripe) {
+			return stripe.contains(value);
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (var stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Copies the elements of the set into an array.
+	 * <p>
+	 * Stripes are copied one by one, so elements added concurrently may or may not appear in the result.
+	 * </p>
+	 *
+	 * @return The elements of the set.
+	 */
+	public int[] toArray() {
+		var elements = IntLists.mutable.empty();
+		for (var stripe : stripes) {
+			synchronized (stripe) {
+				elements.addAll(stripe);
+			}
+		}
+		return elements.toArray();
+	}
+}
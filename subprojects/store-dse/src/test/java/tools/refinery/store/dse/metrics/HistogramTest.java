@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+	@Test
+	void emptyTest() {
+		var snapshot = new Histogram().snapshot();
+		assertEquals(0, snapshot.getCount());
+		assertEquals(0, snapshot.getMean());
+		assertEquals(0, snapshot.getPercentile(50));
+	}
+
+	@Test
+	void percentileTest() {
+		var histogram = new Histogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		var snapshot = histogram.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(5050, snapshot.getSum());
+		assertEquals(100, snapshot.getMax());
+		assertEquals(50.5, snapshot.getMean());
+		// The 50th value is in the bucket of values between 32 and 63.
+		assertEquals(63, snapshot.getPercentile(50));
+		// The upper bound of the last bucket is limited by the maximum.
+		assertEquals(100, snapshot.getPercentile(100));
+		assertEquals(1, snapshot.getPercentile(0));
+	}
+
+	@Test
+	void extremeValuesTest() {
+		var histogram = new Histogram();
+		histogram.record(0);
+		histogram.record(-1);
+		histogram.record(Long.MAX_VALUE);
+		var snapshot = histogram.snapshot();
+		assertEquals(3, snapshot.getCount());
+		assertEquals(0, snapshot.getPercentile(50));
+		assertEquals(Long.MAX_VALUE, snapshot.getPercentile(100));
+	}
+
+	@Test
+	void statisticsTest() {
+		var statistics = new ExplorationStatistics();
+		statistics.stateVisited(true);
+		statistics.stateVisited(true);
+		statistics.stateVisited(true);
+		statistics.stateVisited(false);
+		statistics.propagationRejected();
+		statistics.phaseCompleted(ExplorationMetrics.Phase.FLUSH, 10);
+		assertEquals(3, statistics.getNewStateCount());
+		assertEquals(0.25, statistics.getDuplicateStateRatio());
+		assertEquals(1, statistics.getRejectedPropagationCount());
+		assertEquals(1, statistics.getPhaseLatencies(ExplorationMetrics.Phase.FLUSH).getCount());
+		assertEquals(0, statistics.getPhaseLatencies(ExplorationMetrics.Phase.COMMIT).getCount());
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.propagation;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PropagationSchedulingTest {
+	private static final Symbol<Boolean> source = Symbol.of("source", 1);
+	private static final Symbol<Boolean> target = Symbol.of("target", 1);
+	private static final Symbol<Boolean> other = Symbol.of("other", 1);
+
+	@Test
+	void runOnlyWhenInputsChangeTest() {
+		var copyPropagator = new CopyPropagator();
+		var otherPropagator = new CountingPropagator(other);
+		var store = ModelStore.builder()
+				.symbols(source, target, other)
+				.with(PropagationAdapter.builder()
+						.propagator(copyPropagator)
+						.propagator(otherPropagator))
+				.build();
+		var model = store.createEmptyModel();
+		var propagationAdapter = model.getAdapter(PropagationAdapter.class);
+		var sourceInterpretation = model.getInterpretation(source);
+		var targetInterpretation = model.getInterpretation(target);
+		var otherInterpretation = model.getInterpretation(other);
+
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(copyPropagator.getCount(), is(1));
+		assertThat(otherPropagator.getCount(), is(1));
+
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(copyPropagator.getCount(), is(1));
+		assertThat(otherPropagator.getCount(), is(1));
+
+		sourceInterpretation.put(Tuple.of(0), true);
+		var initialVersion = model.commit();
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.PROPAGATED));
+		assertThat(targetInterpretation.get(Tuple.of(0)), is(true));
+		assertThat(copyPropagator.getCount(), is(3));
+		assertThat(otherPropagator.getCount(), is(1));
+
+		otherInterpretation.put(Tuple.of(1), true);
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(copyPropagator.getCount(), is(3));
+		assertThat(otherPropagator.getCount(), is(2));
+
+		// Writing the value already present in the model is not a change.
+		sourceInterpretation.put(Tuple.of(0), true);
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(copyPropagator.getCount(), is(3));
+
+		model.restore(initialVersion);
+		assertThat(propagationAdapter.propagate(), is(PropagationResult.PROPAGATED));
+		assertThat(copyPropagator.getCount(), is(5));
+		assertThat(otherPropagator.getCount(), is(3));
+	}
+
+	private static class CountingPropagator implements Propagator {
+		private final AnySymbol inputSymbol;
+		private int count;
+
+		public CountingPropagator(AnySymbol inputSymbol) {
+			this.inputSymbol = inputSymbol;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		@Override
+		public Set<AnySymbol> getInputSymbols(ModelStore store) {
+			return Set.of(inputSymbol);
+		}
+
+		@Override
+		public BoundPropagator bindToModel(Model model) {
+			return () -> {
+				count++;
+				return propagate(model);
+			};
+		}
+
+		protected PropagationResult propagate(Model model) {
+			return PropagationResult.UNCHANGED;
+		}
+	}
+
+	private static class CopyPropagator extends CountingPropagator {
+		public CopyPropagator() {
+			super(source);
+		}
+
+		@Override
+		protected PropagationResult propagate(Model model) {
+			var targetInterpretation = model.getInterpretation(target);
+			var newKeys = new ArrayList<Tuple>();
+			var cursor = model.getInterpretation(source).getAll();
+			while (cursor.move()) {
+				var key = cursor.getKey();
+				if (!targetInterpretation.get(key)) {
+					newKeys.add(key);
+				}
+			}
+			for (var key : newKeys) {
+				targetInterpretation.put(key, true);
+			}
+			return newKeys.isEmpty() ? PropagationResult.UNCHANGED : PropagationResult.PROPAGATED;
+		}
+	}
+}
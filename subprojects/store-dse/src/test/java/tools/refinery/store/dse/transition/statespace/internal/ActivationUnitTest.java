@@ -6,23 +6,36 @@
 package tools.refinery.store.dse.transition.statespace.internal;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ActivationStore;
+import tools.refinery.store.map.Version;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 class ActivationUnitTest {
 	private final static int SMALL_SIZE = 5;
+	private final static int[] PACKED_TEST_SIZES = {3, 0, 70, 300};
 
 	private static Stream<ActivationStoreEntry> entries() {
 		return Stream.of(
 				new ActivationStoreBitVectorEntry(SMALL_SIZE),
-				new ActivationStoreListEntry(SMALL_SIZE)
+				new ActivationStoreListEntry(SMALL_SIZE),
+				new ActivationStoreConcurrentBitVectorEntry(SMALL_SIZE)
 		);
 	}
 
@@ -125,7 +138,118 @@ class ActivationUnitTest {
 	private static Stream<Supplier<ActivationStoreEntry>> entryFactories() {
 		return Stream.of(
 				() -> new ActivationStoreBitVectorEntry(SMALL_SIZE),
-				() -> new ActivationStoreListEntry(SMALL_SIZE)
+				() -> new ActivationStoreListEntry(SMALL_SIZE),
+				() -> new ActivationStoreConcurrentBitVectorEntry(SMALL_SIZE)
 		);
 	}
+
+	private static Stream<Function<Consumer<VersionWithObjectiveValue>, ActivationStore>> storeFactories() {
+		return Stream.of(
+				callback -> new ActivationStoreImpl(2, callback),
+				callback -> new ConcurrentActivationStore(2, callback),
+				callback -> new PackedActivationStore(2, callback)
+		);
+	}
+
+	@Test
+	void packedSameAsImplTest() {
+		var expectedStore = new ActivationStoreImpl(PACKED_TEST_SIZES.length, ignored -> {
+		});
+		var actualStore = new PackedActivationStore(PACKED_TEST_SIZES.length, ignored -> {
+		});
+		var versions = new ArrayList<VersionWithObjectiveValue>();
+		@SuppressWarnings("squid:S2245")
+		var random = new Random(1);
+		@SuppressWarnings("squid:S2245")
+		var expectedRandom = new Random(2);
+		@SuppressWarnings("squid:S2245")
+		var actualRandom = new Random(2);
+		// Keep adding versions while others are fully visited so that released bit vectors are compacted.
+		for (int i = 0; i < 50000; i++) {
+			if (versions.isEmpty() || random.nextInt(20) == 0) {
+				var version = new VersionWithObjectiveValue(new Version() {
+				}, ObjectiveValue.of(i));
+				versions.add(version);
+				var sizes = new int[PACKED_TEST_SIZES.length];
+				for (int j = 0; j < sizes.length; j++) {
+					sizes[j] = random.nextInt(PACKED_TEST_SIZES[j] + 1);
+				}
+				Assertions.assertEquals(expectedStore.markNewAsVisited(version, sizes),
+						actualStore.markNewAsVisited(version, sizes));
+			} else {
+				var version = versions.get(random.nextInt(versions.size()));
+				Assertions.assertEquals(expectedStore.getRandomAndMarkAsVisited(version, expectedRandom),
+						actualStore.getRandomAndMarkAsVisited(version, actualRandom));
+				Assertions.assertEquals(expectedStore.hasUnmarkedActivation(version),
+						actualStore.hasUnmarkedActivation(version));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("storeFactories")
+	void releaseFullyVisitedTest(Function<Consumer<VersionWithObjectiveValue>, ActivationStore> storeFactory) {
+		var visitedVersions = new ArrayList<VersionWithObjectiveValue>();
+		var store = storeFactory.apply(visitedVersions::add);
+		var version = new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(0));
+		Assertions.assertTrue(store.markNewAsVisited(version, new int[]{1, 2}).mayHaveMore());
+		@SuppressWarnings("squid:S2245")
+		var random = new Random(1);
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertTrue(store.getRandomAndMarkAsVisited(version, random).successfulVisit());
+		}
+		Assertions.assertEquals(List.of(version), visitedVersions);
+		Assertions.assertFalse(store.hasUnmarkedActivation(version));
+		var result = store.getRandomAndMarkAsVisited(version, random);
+		Assertions.assertFalse(result.successfulVisit());
+		Assertions.assertFalse(result.mayHaveMore());
+		// Visiting a version whose activations were released must not report it as fully visited again.
+		Assertions.assertEquals(List.of(version), visitedVersions);
+	}
+
+	@ParameterizedTest
+	@MethodSource("storeFactories")
+	void removeTest(Function<Consumer<VersionWithObjectiveValue>, ActivationStore> storeFactory) {
+		var store = storeFactory.apply(ignored -> {
+		});
+		var version = new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(0));
+		store.markNewAsVisited(version, new int[]{3, 3});
+		Assertions.assertTrue(store.hasUnmarkedActivation(version));
+		store.remove(version);
+		Assertions.assertFalse(store.hasUnmarkedActivation(version));
+		@SuppressWarnings("squid:S2245")
+		var random = new Random(1);
+		Assertions.assertFalse(store.getRandomAndMarkAsVisited(version, random).mayHaveMore());
+	}
+
+	@Test
+	void concurrentClaimTest() throws InterruptedException, ExecutionException {
+		final int size = 10000;
+		final int numberOfThreads = 8;
+		var entry = new ActivationStoreConcurrentBitVectorEntry(size);
+		var claimed = ConcurrentHashMap.<Integer>newKeySet();
+		var tasks = new ArrayList<Callable<Void>>(numberOfThreads);
+		for (int i = 0; i < numberOfThreads; i++) {
+			int seed = i;
+			tasks.add(() -> {
+				@SuppressWarnings("squid:S2245")
+				var random = new Random(seed);
+				int activation;
+				while ((activation = entry.tryGetAndAddActivationAfter(random.nextInt(size))) >= 0) {
+					Assertions.assertTrue(claimed.add(activation));
+				}
+				return null;
+			});
+		}
+		try (var executorService = Executors.newFixedThreadPool(numberOfThreads)) {
+			// Rethrow any assertion failures from the tasks.
+			for (var future : executorService.invokeAll(tasks)) {
+				future.get();
+			}
+		}
+		Assertions.assertEquals(size, claimed.size());
+		Assertions.assertEquals(0, entry.getNumberOfUnvisitedActivations());
+	}
 }
@@ -0,0 +1,255 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.tests.DummyObjective;
+import tools.refinery.store.dse.transition.ObjectiveComparators;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.objectives.Objective;
+import tools.refinery.store.map.Version;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectivePriorityQueueTest {
+	private static VersionWithObjectiveValue createVersion(double objective) {
+		return new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(objective));
+	}
+
+	private static VersionWithObjectiveValue createVersion(double objective1, double objective2) {
+		return new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(objective1, objective2));
+	}
+
+	@Test
+	void bestTest() {
+		var queue = new ObjectivePriorityQueueImpl(List.of(new DummyObjective()));
+		assertNull(queue.getBest());
+		var v1 = createVersion(3);
+		var v2 = createVersion(1);
+		var v3 = createVersion(2);
+		queue.submit(v1);
+		queue.submit(v2);
+		queue.submit(v3);
+		assertEquals(3, queue.getSize());
+		assertSame(v2, queue.getBest());
+		queue.remove(v2);
+		assertSame(v3, queue.getBest());
+		queue.remove(v2);
+		assertEquals(2, queue.getSize());
+	}
+
+	@Test
+	void equalObjectiveTest() {
+		var queue = new ObjectivePriorityQueueImpl(List.of(new DummyObjective()));
+		var v1 = createVersion(1);
+		var v2 = createVersion(1);
+		queue.submit(v1);
+		queue.submit(v2);
+		queue.submit(v1);
+		assertEquals(2, queue.getSize());
+		queue.remove(v1);
+		assertEquals(1, queue.getSize());
+		assertSame(v2, queue.getBest());
+	}
+
+	@Test
+	void bestCountTest() {
+		var objectives = List.<Objective>of(new DummyObjective());
+		for (var queue : List.of(new ObjectivePriorityQueueImpl(objectives),
+				new ConcurrentObjectivePriorityQueue(objectives))) {
+			assertEquals(List.of(), queue.getBest(3));
+			var v1 = createVersion(3);
+			var v2 = createVersion(1);
+			var v3 = createVersion(2);
+			var v4 = createVersion(1);
+			queue.submit(v1);
+			queue.submit(v2);
+			queue.submit(v3);
+			queue.submit(v4);
+			assertEquals(List.of(v2, v4, v3), queue.getBest(3));
+			assertEquals(List.of(v2, v4, v3, v1), queue.getBest(10));
+		}
+	}
+
+	@Test
+	void removeWorstTest() {
+		var objectives = List.<Objective>of(new DummyObjective());
+		for (var queue : List.of(new ObjectivePriorityQueueImpl(objectives),
+				new ConcurrentObjectivePriorityQueue(objectives))) {
+			assertNull(queue.removeWorst());
+			var v1 = createVersion(3);
+			var v2 = createVersion(1);
+			var v3 = createVersion(2);
+			var v4 = createVersion(3);
+			queue.submit(v1);
+			queue.submit(v2);
+			queue.submit(v3);
+			queue.submit(v4);
+			assertSame(v4, queue.removeWorst());
+			assertSame(v1, queue.removeWorst());
+			assertEquals(List.of(v2, v3), queue.getBest(10));
+			queue.remove(v3);
+			assertSame(v2, queue.removeWorst());
+			assertEquals(0, queue.getSize());
+		}
+	}
+
+	@Test
+	void randomTest() {
+		var objectives = List.<Objective>of(new DummyObjective());
+		for (var queue : List.of(new ObjectivePriorityQueueImpl(objectives),
+				new ConcurrentObjectivePriorityQueue(objectives))) {
+			var versions = new ArrayList<VersionWithObjectiveValue>();
+			for (int i = 0; i < 100; i++) {
+				var version = createVersion(i % 7);
+				versions.add(version);
+				queue.submit(version);
+			}
+			for (int i = 0; i < 100; i += 2) {
+				queue.remove(versions.get(i));
+			}
+			// Removing a version must keep the random selection consistent.
+			var worst = queue.removeWorst();
+			assertNotNull(worst);
+			@SuppressWarnings("squid:S2245")
+			var random = new Random(1);
+			var seen = new HashSet<VersionWithObjectiveValue>();
+			for (int i = 0; i < 1000; i++) {
+				var version = queue.getRandom(random);
+				assertTrue(versions.indexOf(version) % 2 == 1);
+				assertNotSame(worst, version);
+				seen.add(version);
+			}
+			assertEquals(49, seen.size());
+		}
+	}
+
+	@Test
+	void emptyRandomTest() {
+		var objectives = List.<Objective>of(new DummyObjective());
+		for (var queue : List.of(new ObjectivePriorityQueueImpl(objectives),
+				new ConcurrentObjectivePriorityQueue(objectives))) {
+			@SuppressWarnings("squid:S2245")
+			var random = new Random(1);
+			assertNull(queue.getRandom(random));
+			var version = createVersion(1);
+			queue.submit(version);
+			queue.remove(version);
+			assertNull(queue.getRandom(random));
+		}
+	}
+
+	@Test
+	void lexicographicTest() {
+		var queue = new ObjectivePriorityQueueImpl(List.of(new DummyObjective(), new DummyObjective()));
+		var v1 = createVersion(1, 3);
+		var v2 = createVersion(1, 2);
+		var v3 = createVersion(2, 0);
+		queue.submit(v1);
+		queue.submit(v2);
+		queue.submit(v3);
+		assertSame(v2, queue.getBest());
+		queue.remove(v2);
+		assertSame(v1, queue.getBest());
+		queue.remove(v1);
+		assertSame(v3, queue.getBest());
+	}
+
+	@Test
+	void paretoTest() {
+		var queue = new ParetoObjectivePriorityQueue();
+		var v1 = createVersion(1, 3);
+		var v2 = createVersion(2, 2);
+		var v3 = createVersion(3, 1);
+		var dominated = createVersion(3, 3);
+		queue.submit(dominated);
+		assertEquals(1, queue.getFrontSize());
+		queue.submit(v1);
+		queue.submit(v2);
+		queue.submit(v3);
+		assertEquals(4, queue.getSize());
+		assertEquals(3, queue.getFrontSize());
+		var best = new HashSet<VersionWithObjectiveValue>();
+		for (int i = 0; i < 3; i++) {
+			best.add(queue.getBest());
+		}
+		assertEquals(Set.of(v1, v2, v3), best);
+		queue.remove(v1);
+		queue.remove(v2);
+		assertEquals(1, queue.getFrontSize());
+		assertSame(v3, queue.getBest());
+		queue.remove(v3);
+		assertEquals(1, queue.getFrontSize());
+		assertSame(dominated, queue.getBest());
+		queue.remove(dominated);
+		assertNull(queue.getBest());
+	}
+
+	@Test
+	void paretoRemoveWorstTest() {
+		var queue = new ParetoObjectivePriorityQueue();
+		var v1 = createVersion(1, 3);
+		var v2 = createVersion(3, 1);
+		var dominated = createVersion(2, 3);
+		queue.submit(v1);
+		queue.submit(v2);
+		queue.submit(dominated);
+		assertSame(v2, queue.removeWorst());
+		assertEquals(2, queue.getSize());
+		assertSame(dominated, queue.removeWorst());
+		assertEquals(1, queue.getFrontSize());
+		assertSame(v1, queue.getBest());
+	}
+
+	@Test
+	void paretoIncrementalFrontTest() {
+		var queue = new ParetoObjectivePriorityQueue();
+		var versions = new ArrayList<VersionWithObjectiveValue>();
+		@SuppressWarnings("squid:S2245")
+		var random = new Random(1);
+		for (int i = 0; i < 1000; i++) {
+			if (versions.isEmpty() || random.nextInt(3) != 0) {
+				var version = createVersion(random.nextInt(10), random.nextInt(10));
+				versions.add(version);
+				queue.submit(version);
+			} else {
+				queue.remove(versions.remove(random.nextInt(versions.size())));
+			}
+			assertEquals(getFront(versions), getFront(queue));
+		}
+	}
+
+	private static Set<VersionWithObjectiveValue> getFront(List<VersionWithObjectiveValue> versions) {
+		var front = new HashSet<VersionWithObjectiveValue>();
+		for (var version : versions) {
+			boolean dominated = versions.stream().anyMatch(other -> ObjectiveComparators.dominates(
+					other.objectiveValue(), version.objectiveValue()));
+			if (!dominated) {
+				front.add(version);
+			}
+		}
+		return front;
+	}
+
+	private static Set<VersionWithObjectiveValue> getFront(ParetoObjectivePriorityQueue queue) {
+		int frontSize = queue.getFrontSize();
+		var front = new HashSet<VersionWithObjectiveValue>(frontSize);
+		for (int i = 0; i < frontSize; i++) {
+			front.add(queue.getBest());
+		}
+		assertEquals(frontSize, front.size());
+		return front;
+	}
+}
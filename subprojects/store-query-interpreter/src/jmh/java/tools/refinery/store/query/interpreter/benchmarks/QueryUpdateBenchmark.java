@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+public class QueryUpdateBenchmark {
+	@Benchmark
+	public void restoreBenchmark(QueryUpdateExecutionPlan executionPlan, Blackhole blackhole) {
+		var model = executionPlan.getModel();
+		model.restore(executionPlan.nextVersion());
+		// Restoring only enqueues the changes, so we also have to propagate them through the RETE network.
+		executionPlan.getQueryEngine().flushChanges();
+		blackhole.consume(model);
+	}
+
+	@Benchmark
+	public void flushChangesBenchmark(QueryUpdateExecutionPlan executionPlan, Blackhole blackhole) {
+		executionPlan.putChanges();
+		var queryEngine = executionPlan.getQueryEngine();
+		queryEngine.flushChanges();
+		blackhole.consume(queryEngine);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.logic.dnf.RelationalQuery;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static tools.refinery.logic.literal.Literals.not;
+
+@State(Scope.Benchmark)
+public class QueryUpdateExecutionPlan {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery mutualFriend = Query.of("MutualFriend",
+			(builder, p1, p2) -> builder.clause(
+					personView.call(p1),
+					personView.call(p2),
+					friendView.call(p1, p2),
+					friendView.call(p2, p1)
+			));
+	private static final RelationalQuery friendOfFriend = Query.of("FriendOfFriend",
+			(builder, p1, p2) -> builder.clause(p3 -> List.of(
+					friendView.call(p1, p3),
+					friendView.call(p3, p2)
+			)));
+	private static final RelationalQuery lonely = Query.of("Lonely",
+			(builder, p1) -> builder.clause(
+					personView.call(p1),
+					not(friendView.call(p1, Variable.of()))
+			));
+
+	@Param({"100", "1000"})
+	public int nNodes;
+
+	@Param({"10"})
+	public int nChanges;
+
+	@Param({"100"})
+	public int nVersions;
+
+	private Random random;
+
+	private Model model;
+
+	private ModelQueryAdapter queryEngine;
+
+	private Interpretation<Boolean> personInterpretation;
+
+	private Interpretation<Boolean> friendInterpretation;
+
+	private final List<Version> versions = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(mutualFriend, friendOfFriend, lonely))
+				.build();
+		model = store.createEmptyModel();
+		queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		personInterpretation = model.getInterpretation(person);
+		friendInterpretation = model.getInterpretation(friend);
+		// Use a fixed seed so that results of different runs are comparable.
+		random = new Random(1);
+		for (int i = 0; i < nNodes; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+		}
+		for (int i = 0; i < nVersions; i++) {
+			putChanges();
+			queryEngine.flushChanges();
+			versions.add(model.commit());
+		}
+	}
+
+	public Model getModel() {
+		return model;
+	}
+
+	public ModelQueryAdapter getQueryEngine() {
+		return queryEngine;
+	}
+
+	public void putChanges() {
+		for (int i = 0; i < nChanges; i++) {
+			int node = random.nextInt(nNodes);
+			if (random.nextInt(10) == 0) {
+				personInterpretation.put(Tuple.of(node), random.nextBoolean());
+			} else {
+				friendInterpretation.put(Tuple.of(node, random.nextInt(nNodes)), random.nextBoolean());
+			}
+		}
+	}
+
+	public Version nextVersion() {
+		return versions.get(random.nextInt(versions.size()));
+	}
+}
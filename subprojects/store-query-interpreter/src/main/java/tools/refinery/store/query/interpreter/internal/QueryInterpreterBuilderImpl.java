@@ -16,7 +16,7 @@ import tools.refinery.logic.rewriter.DnfRewriter;
 import tools.refinery.logic.rewriter.DuplicateDnfRemover;
 import tools.refinery.logic.rewriter.InputParameterResolver;
 import tools.refinery.store.query.interpreter.QueryInterpreterBuilder;
-import tools.refinery.store.query.interpreter.internal.localsearch.FlatCostFunction;
+import tools.refinery.store.query.interpreter.internal.localsearch.ModelStatisticsCostFunction;
 import tools.refinery.store.query.interpreter.internal.matcher.RawPatternMatcher;
 import tools.refinery.store.query.interpreter.internal.pquery.Dnf2PQuery;
 import tools.refinery.interpreter.api.IQuerySpecification;
@@ -32,10 +32,14 @@ import java.util.function.Function;
 
 public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<QueryInterpreterStoreAdapterImpl>
 		implements QueryInterpreterBuilder {
+	private static final double DEFAULT_REPLANNING_THRESHOLD = 2.0;
+
 	private InterpreterEngineOptions.Builder engineOptionsBuilder;
 	private QueryEvaluationHint defaultHint = new QueryEvaluationHint(Map.of(
-			// Use a cost function that ignores the initial (empty) model but allows higher arity input keys.
-			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new FlatCostFunction()
+			// Use a cost function that relies on the statistics of the model and allows higher arity input keys.
+			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new ModelStatisticsCostFunction(),
+			// Since the model is initially empty, recompute search plans when the model grows or shrinks.
+			LocalSearchHintOptions.PLANNER_REPLANNING_THRESHOLD, DEFAULT_REPLANNING_THRESHOLD
 	), (IQueryBackendFactory) null);
 	private final CompositeRewriter rewriter;
 	private final Dnf2PQuery dnf2PQuery = new Dnf2PQuery();
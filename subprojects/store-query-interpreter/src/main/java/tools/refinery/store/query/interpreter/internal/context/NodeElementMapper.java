@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.context;
+
+import tools.refinery.interpreter.matchers.tuple.IntElementMapper;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.store.tuple.Tuple;
+import tools.refinery.store.tuple.Tuple1;
+
+/**
+ * Represents nodes, which appear as {@link Tuple1} elements in the interpreter, by their node identifiers.
+ * <p>
+ * Tuples created by this class store node identifiers as {@code int} values, so matching tuples do not hold
+ * references to node wrappers or element arrays.
+ * </p>
+ */
+public enum NodeElementMapper implements IntElementMapper {
+	INSTANCE;
+
+	@Override
+	public Object toElement(int value) {
+		return Tuple.of(value);
+	}
+
+	@Override
+	public int elementHashCode(int value) {
+		return Tuple1.hashCodeOf(value);
+	}
+
+	public static tools.refinery.interpreter.matchers.tuple.Tuple toTuple(Tuple key) {
+		int size = key.getSize();
+		var values = new int[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = key.get(i);
+		}
+		return Tuples.intFlatTupleOf(INSTANCE, values);
+	}
+
+	public static tools.refinery.interpreter.matchers.tuple.Tuple toTuple(Object[] elements) {
+		var values = new int[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			if (!(elements[i] instanceof Tuple1 wrapper)) {
+				// Not all columns are node identifiers.
+				return Tuples.flatTupleOf(elements);
+			}
+			values[i] = wrapper.value0();
+		}
+		return Tuples.intFlatTupleOf(INSTANCE, values);
+	}
+}
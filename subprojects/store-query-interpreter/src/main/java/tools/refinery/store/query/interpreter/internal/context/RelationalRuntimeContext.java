@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -10,7 +10,6 @@ import tools.refinery.interpreter.matchers.context.*;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
-import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.interpreter.matchers.util.Accuracy;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
@@ -19,6 +18,7 @@ import tools.refinery.store.query.interpreter.internal.update.ModelUpdateListene
 import tools.refinery.store.query.view.AnySymbolView;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -93,6 +93,15 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public int countTuples(IInputKey key, TupleMask seedMask, ITuple seed) {
+		var symbolView = checkKey(key);
+		var slots = seedMask.indices;
+		if (symbolView.canCountAdjacent(slots)) {
+			var values = new Object[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				values[i] = seed.get(i);
+			}
+			return symbolView.countAdjacent(model, slots, values);
+		}
 		Iterator<Object[]> iterator = enumerate(key, seedMask, seed).iterator();
 		int result = 0;
 		while (iterator.hasNext()) {
@@ -104,13 +113,40 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public Optional<Long> estimateCardinality(IInputKey key, TupleMask groupMask, Accuracy requiredAccuracy) {
-		return Optional.empty();
+		if (requiredAccuracy != Accuracy.APPROXIMATION && requiredAccuracy != Accuracy.BEST_UPPER_BOUND) {
+			// Symbol views may filter the tuples of their symbol, so the statistics of the symbol only provide an
+			// upper bound for the size of the view.
+			return Optional.empty();
+		}
+		var symbolView = checkKey(key);
+		var symbol = symbolView.getSymbol();
+		int keyArity = symbol.arity();
+		int viewArity = symbolView.arity();
+		if (viewArity != keyArity && viewArity != keyArity + 1) {
+			// We only know the statistics of the columns of views that keep the key of the symbol and may append its
+			// value. Let the caller fall back to other estimates for views that project or rearrange the columns.
+			return Optional.empty();
+		}
+		var interpretation = model.getInterpretation(symbol);
+		long size = interpretation.getSize();
+		long projectionSize = 1;
+		for (int index : groupMask.indices) {
+			long distinctValues = index < keyArity ? interpretation.getDistinctNodeCount(index) : size;
+			projectionSize = saturatingMultiply(projectionSize, distinctValues);
+		}
+		return Optional.of(Math.min(size, projectionSize));
+	}
+
+	private static long saturatingMultiply(long a, long b) {
+		long high = Math.multiplyHigh(a, b);
+		long low = a * b;
+		return high == 0 && low >= 0 ? low : Long.MAX_VALUE;
 	}
 
 	@Override
 	public Iterable<Tuple> enumerateTuples(IInputKey key, TupleMask seedMask, ITuple seed) {
 		var filteredBySeed = enumerate(key, seedMask, seed);
-		return map(filteredBySeed, Tuples::flatTupleOf);
+		return map(filteredBySeed, NodeElementMapper::toTuple);
 	}
 
 	@Override
@@ -123,18 +159,29 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	private Iterable<Object[]> enumerate(IInputKey key, TupleMask seedMask, ITuple seed) {
 		var relationViewKey = checkKey(key);
-		Iterable<Object[]> allObjects = getAllObjects(relationViewKey, seedMask, seed);
-		return filter(allObjects, objectArray -> isMatching(objectArray, seedMask, seed));
-	}
-
-	private Iterable<Object[]> getAllObjects(AnySymbolView key, TupleMask seedMask, ITuple seed) {
-		for (int i = 0; i < seedMask.indices.length; i++) {
+		int length = seedMask.indices.length;
+		var indexedSlots = new int[length];
+		var indexedValues = new Object[length];
+		int indexedCount = 0;
+		for (int i = 0; i < length; i++) {
 			int slot = seedMask.indices[i];
-			if (key.canIndexSlot(slot)) {
-				return key.getAdjacent(model, slot, seed.get(i));
+			if (relationViewKey.canIndexSlot(slot)) {
+				indexedSlots[indexedCount] = slot;
+				indexedValues[indexedCount] = seed.get(i);
+				indexedCount++;
 			}
 		}
-		return key.getAll(model);
+		Iterable<Object[]> objects = switch (indexedCount) {
+			case 0 -> relationViewKey.getAll(model);
+			case 1 -> relationViewKey.getAdjacent(model, indexedSlots[0], indexedValues[0]);
+			default -> relationViewKey.getAdjacent(model, Arrays.copyOf(indexedSlots, indexedCount),
+					Arrays.copyOf(indexedValues, indexedCount));
+		};
+		if (indexedCount == length) {
+			// All bound slots were looked up in the indexes, so there is no need for further filtering.
+			return objects;
+		}
+		return filter(objects, objectArray -> isMatching(objectArray, seedMask, seed));
 	}
 
 	private static boolean isMatching(Object[] tuple, TupleMask seedMask, ITuple seed) {
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
+import tools.refinery.interpreter.localsearch.planner.cost.IConstraintEvaluationContext;
+import tools.refinery.interpreter.localsearch.planner.cost.impl.StatisticsBasedConstraintCostFunction;
+import tools.refinery.interpreter.matchers.context.IInputKey;
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.TypeConstraint;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+import tools.refinery.interpreter.matchers.util.Accuracy;
+
+import java.util.Optional;
+
+/**
+ * Cost function based on the sizes of the interpretations and their indexes in the current model.
+ * <p>
+ * Unlike {@link FlatCostFunction}, this cost function reflects the actual size of the model. Since search plans
+ * are cached, they must be recomputed when the model changes significantly, which the local search backend does
+ * according to {@link LocalSearchHintOptions#PLANNER_REPLANNING_THRESHOLD}.
+ * </p>
+ */
+public class ModelStatisticsCostFunction extends StatisticsBasedConstraintCostFunction {
+	public ModelStatisticsCostFunction() {
+		// No inverse navigation penalty thanks to relational storage.
+		super(0);
+	}
+
+	@Override
+	public Optional<Long> projectionSize(IConstraintEvaluationContext input, IInputKey supplierKey,
+										 TupleMask groupMask, Accuracy requiredAccuracy) {
+		return input.getRuntimeContext().estimateCardinality(supplierKey, groupMask, requiredAccuracy);
+	}
+
+	@Override
+	protected double _calculateCost(TypeConstraint constraint, IConstraintEvaluationContext input) {
+		var supplierKey = constraint.getSupplierKey();
+		int arity = supplierKey.getArity();
+		if (arity <= 2) {
+			return super._calculateCost(constraint, input);
+		}
+		// The superclass only handles unary and binary constraints, so we estimate the number of tuples adjacent to
+		// the most selective bound variable.
+		var boundVariables = input.getBoundVariables();
+		var variables = constraint.getVariablesTuple();
+		var size = projectionSize(input, supplierKey, TupleMask.identity(arity), Accuracy.APPROXIMATION);
+		if (size.isEmpty()) {
+			return DEFAULT_COST;
+		}
+		double cost = size.get();
+		for (int i = 0; i < arity; i++) {
+			if (boundVariables.contains(variables.get(i))) {
+				var distinctValues = projectionSize(input, supplierKey, TupleMask.selectSingle(i, arity),
+						Accuracy.APPROXIMATION);
+				if (distinctValues.isPresent() && distinctValues.get() > 0) {
+					cost = Math.min(cost, (double) size.get() / distinctValues.get());
+				}
+			}
+		}
+		return cost;
+	}
+}
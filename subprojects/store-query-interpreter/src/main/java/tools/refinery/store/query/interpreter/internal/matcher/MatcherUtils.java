@@ -6,9 +6,11 @@
 package tools.refinery.store.query.interpreter.internal.matcher;
 
 import tools.refinery.interpreter.matchers.tuple.ITuple;
-import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.interpreter.matchers.tuple.IntFlatTuple;
 import org.jetbrains.annotations.Nullable;
-import tools.refinery.store.tuple.*;
+import tools.refinery.store.query.interpreter.internal.context.NodeElementMapper;
+import tools.refinery.store.tuple.Tuple;
+import tools.refinery.store.tuple.Tuple1;
 
 import java.util.Iterator;
 
@@ -18,24 +20,7 @@ final class MatcherUtils {
 	}
 
 	public static tools.refinery.interpreter.matchers.tuple.Tuple toInterpreterTuple(Tuple refineryTuple) {
-		return switch (refineryTuple) {
-			case Tuple0 ignored -> Tuples.staticArityFlatTupleOf();
-			case Tuple1 tuple1 -> Tuples.staticArityFlatTupleOf(tuple1);
-			case Tuple2(int value0, int value1) -> Tuples.staticArityFlatTupleOf(Tuple.of(value0), Tuple.of(value1));
-			case Tuple3(int value0, int value1, int value2) ->
-					Tuples.staticArityFlatTupleOf(Tuple.of(value0), Tuple.of(value1), Tuple.of(value2));
-			case Tuple4(int value0, int value1, int value2, int value3) ->
-					Tuples.staticArityFlatTupleOf(Tuple.of(value0), Tuple.of(value1), Tuple.of(value2),
-							Tuple.of(value3));
-			default -> {
-				int arity = refineryTuple.getSize();
-				var values = new Object[arity];
-				for (int i = 0; i < arity; i++) {
-					values[i] = Tuple.of(refineryTuple.get(i));
-				}
-				yield Tuples.flatTupleOf(values);
-			}
-		};
+		return NodeElementMapper.toTuple(refineryTuple);
 	}
 
 	public static Tuple toRefineryTuple(ITuple viatraTuple) {
@@ -81,6 +66,10 @@ final class MatcherUtils {
 	}
 
 	private static int unwrap(ITuple viatraTuple, int index) {
+		if (viatraTuple instanceof IntFlatTuple intFlatTuple &&
+				intFlatTuple.getMapper() == NodeElementMapper.INSTANCE) {
+			return intFlatTuple.getInt(index);
+		}
 		return getWrapper(viatraTuple, index).value0();
 	}
 
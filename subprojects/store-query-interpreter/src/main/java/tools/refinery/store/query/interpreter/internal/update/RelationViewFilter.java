@@ -10,7 +10,9 @@ import tools.refinery.interpreter.matchers.context.IQueryRuntimeContextListener;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 public final class RelationViewFilter {
@@ -30,6 +32,29 @@ public final class RelationViewFilter {
 		}
 	}
 
+	public void updateAll(List<Tuple> updateTuples, boolean isInsertion) {
+		if (updateTuples.isEmpty()) {
+			return;
+		}
+		if (seed == null) {
+			listener.updateAll(inputKey, updateTuples, isInsertion);
+			return;
+		}
+		var matchingTuples = new ArrayList<Tuple>();
+		int size = updateTuples.size();
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < size; i++) {
+			var updateTuple = updateTuples.get(i);
+			if (isMatching(updateTuple)) {
+				matchingTuples.add(updateTuple);
+			}
+		}
+		if (!matchingTuples.isEmpty()) {
+			listener.updateAll(inputKey, matchingTuples, isInsertion);
+		}
+	}
+
 	private boolean isMatching(ITuple tuple) {
 		if (seed == null) {
 			return true;
@@ -10,6 +10,7 @@ import tools.refinery.interpreter.matchers.context.IQueryRuntimeContextListener;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.InterpretationChanges;
 import tools.refinery.store.model.InterpretationListener;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
 import tools.refinery.store.query.view.SymbolView;
@@ -22,6 +23,8 @@ public abstract class SymbolViewUpdateListener<T> implements InterpretationListe
 	private final QueryInterpreterAdapterImpl adapter;
 	private final Interpretation<T> interpretation;
 	private final List<RelationViewFilter> filters = new ArrayList<>();
+	private List<Tuple> pendingDeletions;
+	private List<Tuple> pendingInsertions;
 
 	protected SymbolViewUpdateListener(QueryInterpreterAdapterImpl adapter, Interpretation<T> interpretation) {
 		this.adapter = adapter;
@@ -44,6 +47,15 @@ public abstract class SymbolViewUpdateListener<T> implements InterpretationListe
 	}
 
 	protected void processUpdate(Tuple tuple, boolean isInsertion) {
+		if (pendingInsertions != null) {
+			// We are collecting the changes of a restore operation, which will be sent to the filters at once.
+			if (isInsertion) {
+				pendingInsertions.add(tuple);
+			} else {
+				pendingDeletions.add(tuple);
+			}
+			return;
+		}
 		adapter.markAsPending();
 		int size = filters.size();
 		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
@@ -53,6 +65,36 @@ public abstract class SymbolViewUpdateListener<T> implements InterpretationListe
 		}
 	}
 
+	@Override
+	public void restoring(InterpretationChanges<T> changes) {
+		var deletions = new ArrayList<Tuple>();
+		var insertions = new ArrayList<Tuple>();
+		pendingDeletions = deletions;
+		pendingInsertions = insertions;
+		try {
+			int size = changes.size();
+			for (int i = 0; i < size; i++) {
+				put(changes.getKey(i), changes.getFromValue(i), changes.getToValue(i), true);
+			}
+		} finally {
+			pendingDeletions = null;
+			pendingInsertions = null;
+		}
+		if (deletions.isEmpty() && insertions.isEmpty()) {
+			return;
+		}
+		adapter.markAsPending();
+		int filterCount = filters.size();
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < filterCount; i++) {
+			var filter = filters.get(i);
+			// Send deletions first, because a tuple removed by one key may be re-added by another key of the view.
+			filter.updateAll(deletions, false);
+			filter.updateAll(insertions, true);
+		}
+	}
+
 	public static <T> SymbolViewUpdateListener<T> of(QueryInterpreterAdapterImpl adapter,
                                                      SymbolView<T> view,
                                                      Interpretation<T> interpretation) {
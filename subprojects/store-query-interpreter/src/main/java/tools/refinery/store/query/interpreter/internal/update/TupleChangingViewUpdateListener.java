@@ -7,9 +7,9 @@ package tools.refinery.store.query.interpreter.internal.update;
 
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
+import tools.refinery.store.query.interpreter.internal.context.NodeElementMapper;
 import tools.refinery.store.query.view.SymbolView;
 import tools.refinery.store.tuple.Tuple;
-import tools.refinery.interpreter.matchers.tuple.Tuples;
 
 import java.util.Arrays;
 
@@ -31,15 +31,15 @@ public class TupleChangingViewUpdateListener<T> extends SymbolViewUpdateListener
 			if (toPresent) { // value change
 				var toArray = view.forwardMap(key, toValue);
 				if (!Arrays.equals(fromArray, toArray)) {
-					processUpdate(Tuples.flatTupleOf(fromArray), false);
-					processUpdate(Tuples.flatTupleOf(toArray), true);
+					processUpdate(NodeElementMapper.toTuple(fromArray), false);
+					processUpdate(NodeElementMapper.toTuple(toArray), true);
 				}
 			} else { // fromValue disappears
-				processUpdate(Tuples.flatTupleOf(fromArray), false);
+				processUpdate(NodeElementMapper.toTuple(fromArray), false);
 			}
 		} else if (toPresent) { // toValue appears
 			var toArray = view.forwardMap(key, toValue);
-			processUpdate(Tuples.flatTupleOf(toArray), true);
+			processUpdate(NodeElementMapper.toTuple(toArray), true);
 		}
 	}
 }
@@ -5,9 +5,9 @@
  */
 package tools.refinery.store.query.interpreter.internal.update;
 
-import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
+import tools.refinery.store.query.interpreter.internal.context.NodeElementMapper;
 import tools.refinery.store.query.view.TuplePreservingView;
 import tools.refinery.store.tuple.Tuple;
 
@@ -27,7 +27,7 @@ public class TuplePreservingViewUpdateListener<T> extends SymbolViewUpdateListen
 		if (fromPresent == toPresent) {
 			return;
 		}
-		var translated = Tuples.flatTupleOf(view.forwardMap(key));
+		var translated = NodeElementMapper.toTuple(key);
 		processUpdate(translated, toPresent);
 	}
 }
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class LocalSearchPlanningTest {
+	private static final int SIZE = 50;
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Boolean> parents = Symbol.of("parents", 3);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final AnySymbolView parentsView = new KeyOnlyView<>(parents);
+	private static final QueryEvaluationHint SEARCH_HINT = new QueryEvaluationHint(null,
+			QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH);
+
+	@Test
+	void replanWhenModelGrowsTest() {
+		var query = Query.of("FriendOfParent", (builder, p1, p2) -> builder.clause((p3, p4) -> List.of(
+				personView.call(p1),
+				parentsView.call(p1, p3, p4),
+				friendView.call(p3, p2)
+		)));
+		var store = ModelStore.builder()
+				.symbols(person, friend, parents)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(SEARCH_HINT)
+						.queries(query))
+				.build();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var parentsInterpretation = model.getInterpretation(parents);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var resultSet = queryEngine.getResultSet(query);
+
+		personInterpretation.put(Tuple.of(0), true);
+		parentsInterpretation.put(Tuple.of(0, 1, 2), true);
+		friendInterpretation.put(Tuple.of(1, 3), true);
+		queryEngine.flushChanges();
+		assertResults(Map.of(Tuple.of(0, 3), true), resultSet);
+
+		// Grow the model by orders of magnitude to make the planner recompute the cached search plan.
+		var expected = new HashMap<Tuple, Boolean>();
+		expected.put(Tuple.of(0, 3), true);
+		for (int i = 0; i < SIZE; i++) {
+			friendInterpretation.put(Tuple.of(SIZE + i, 2 * SIZE + i), true);
+			for (int j = 0; j < SIZE; j++) {
+				friendInterpretation.put(Tuple.of(3 * SIZE + i, 3 * SIZE + j), true);
+			}
+		}
+		personInterpretation.put(Tuple.of(4), true);
+		parentsInterpretation.put(Tuple.of(4, SIZE, SIZE + 1), true);
+		expected.put(Tuple.of(4, 2 * SIZE), true);
+		queryEngine.flushChanges();
+		assertResults(expected, resultSet);
+
+		// Shrink the model again.
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				friendInterpretation.put(Tuple.of(3 * SIZE + i, 3 * SIZE + j), false);
+			}
+		}
+		personInterpretation.put(Tuple.of(0), false);
+		expected.remove(Tuple.of(0, 3));
+		queryEngine.flushChanges();
+		assertResults(expected, resultSet);
+	}
+}
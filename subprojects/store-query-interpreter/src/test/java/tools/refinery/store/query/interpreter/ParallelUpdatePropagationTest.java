@@ -0,0 +1,188 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.rete.matcher.ParallelReteBackendFactory;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.logic.dnf.RelationalQuery;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static tools.refinery.logic.literal.Literals.not;
+
+class ParallelUpdatePropagationTest {
+	private static final int NODE_COUNT = 10;
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Boolean> enemy = Symbol.of("enemy", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final AnySymbolView enemyView = new KeyOnlyView<>(enemy);
+	private static final RelationalQuery friendOfPerson = Query.of("FriendOfPerson",
+			(builder, p1, p2) -> builder.clause(
+					personView.call(p1),
+					friendView.call(p1, p2)
+			));
+	private static final RelationalQuery mutualFriend = Query.of("MutualFriend",
+			(builder, p1, p2) -> builder.clause(
+					friendView.call(p1, p2),
+					friendView.call(p2, p1)
+			));
+	private static final RelationalQuery lonely = Query.of("Lonely",
+			(builder, p1) -> builder.clause(
+					personView.call(p1),
+					not(friendView.call(p1, Variable.of()))
+			));
+	private static final RelationalQuery enemyOfFriend = Query.of("EnemyOfFriend",
+			(builder, p1, p2) -> builder.clause(p3 -> List.of(
+					friendView.call(p1, p3),
+					enemyView.call(p3, p2)
+			)));
+	private static final RelationalQuery frenemy = Query.of("Frenemy",
+			(builder, p1, p2) -> builder.clause(
+					enemyView.call(p1, p2),
+					friendView.call(p1, p2)
+			));
+	private static final List<RelationalQuery> QUERIES = List.of(friendOfPerson, mutualFriend, lonely, enemyOfFriend,
+			frenemy);
+
+	private ForkJoinPool pool;
+
+	@BeforeEach
+	void beforeEach() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterEach
+	void afterEach() {
+		pool.shutdown();
+	}
+
+	@Test
+	void sameResultsAsSequentialTest() {
+		var sequentialModel = createStore(null).createEmptyModel();
+		var parallelModel = createStore(pool).createEmptyModel();
+		var random = new Random(1);
+		var versions = new ArrayList<Version>();
+		for (int i = 0; i < 30; i++) {
+			var changes = createRandomChanges(random);
+			applyChanges(sequentialModel, changes);
+			applyChanges(parallelModel, changes);
+			assertSameResults(sequentialModel, parallelModel);
+			versions.add(parallelModel.commit());
+		}
+		for (int i = 0; i < 10; i++) {
+			var version = versions.get(random.nextInt(versions.size()));
+			parallelModel.restore(version);
+			var freshModel = createStore(null).createEmptyModel();
+			applyChanges(freshModel, getContents(parallelModel));
+			assertSameResults(freshModel, parallelModel);
+		}
+	}
+
+	@Test
+	void notifyListenersOnCallingThreadTest() {
+		var model = createStore(pool).createEmptyModel();
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var threads = Collections.synchronizedList(new ArrayList<Thread>());
+		for (var query : QUERIES) {
+			queryEngine.getResultSet(query).addListener((key, fromValue, toValue) ->
+					threads.add(Thread.currentThread()));
+		}
+		var random = new Random(1);
+		for (int i = 0; i < 5; i++) {
+			applyChanges(model, createRandomChanges(random));
+		}
+		var callingThread = Thread.currentThread();
+		assertThat(threads.stream().filter(thread -> thread != callingThread).toList(), is(empty()));
+	}
+
+	private static ModelStore createStore(ForkJoinPool pool) {
+		var builder = QueryInterpreterAdapter.builder()
+				.queries(QUERIES);
+		if (pool != null) {
+			var backendFactory = new ParallelReteBackendFactory(pool);
+			builder.backend(backendFactory).cachingBackend(backendFactory);
+		}
+		return ModelStore.builder()
+				.symbols(person, friend, enemy)
+				.with(builder)
+				.build();
+	}
+
+	private static Map<Symbol<Boolean>, Map<Tuple, Boolean>> createRandomChanges(Random random) {
+		var changes = new HashMap<Symbol<Boolean>, Map<Tuple, Boolean>>();
+		for (int i = 0; i < 20; i++) {
+			int node = random.nextInt(NODE_COUNT);
+			switch (random.nextInt(3)) {
+			case 0 -> changes.computeIfAbsent(person, ignored -> new HashMap<>())
+					.put(Tuple.of(node), random.nextBoolean());
+			case 1 -> changes.computeIfAbsent(friend, ignored -> new HashMap<>())
+					.put(Tuple.of(node, random.nextInt(NODE_COUNT)), random.nextBoolean());
+			case 2 -> changes.computeIfAbsent(enemy, ignored -> new HashMap<>())
+					.put(Tuple.of(node, random.nextInt(NODE_COUNT)), random.nextBoolean());
+			default -> throw new IllegalStateException();
+			}
+		}
+		return changes;
+	}
+
+	private static void applyChanges(Model model, Map<Symbol<Boolean>, Map<Tuple, Boolean>> changes) {
+		for (var entry : changes.entrySet()) {
+			var interpretation = model.getInterpretation(entry.getKey());
+			for (var change : entry.getValue().entrySet()) {
+				interpretation.put(change.getKey(), change.getValue());
+			}
+		}
+		model.getAdapter(ModelQueryAdapter.class).flushChanges();
+	}
+
+	private static Map<Symbol<Boolean>, Map<Tuple, Boolean>> getContents(Model model) {
+		var contents = new HashMap<Symbol<Boolean>, Map<Tuple, Boolean>>();
+		for (var symbol : List.of(person, friend, enemy)) {
+			var tuples = new HashMap<Tuple, Boolean>();
+			var cursor = model.getInterpretation(symbol).getAll();
+			while (cursor.move()) {
+				tuples.put(cursor.getKey(), cursor.getValue());
+			}
+			contents.put(symbol, tuples);
+		}
+		return contents;
+	}
+
+	private static void assertSameResults(Model expectedModel, Model actualModel) {
+		var expectedEngine = expectedModel.getAdapter(ModelQueryAdapter.class);
+		var actualEngine = actualModel.getAdapter(ModelQueryAdapter.class);
+		for (var query : QUERIES) {
+			assertThat(query.name(), getResults(actualEngine, query), is(getResults(expectedEngine, query)));
+		}
+	}
+
+	private static Set<Tuple> getResults(ModelQueryAdapter queryEngine, RelationalQuery query) {
+		var results = new HashSet<Tuple>();
+		var cursor = queryEngine.getResultSet(query).getAll();
+		while (cursor.move()) {
+			results.add(cursor.getKey());
+		}
+		return results;
+	}
+}
@@ -29,7 +29,7 @@ class MatcherUtilsTest {
 		var viatraTuple = MatcherUtils.toInterpreterTuple(Tuple.of(2));
 		assertThat(viatraTuple.getSize(), is(1));
 		assertThat(viatraTuple.get(0), is(Tuple.of(2)));
-		assertThat(viatraTuple, instanceOf(FlatTuple1.class));
+		assertThat(viatraTuple, instanceOf(IntFlatTuple1.class));
 	}
 
 	@Test
@@ -38,7 +38,7 @@ class MatcherUtilsTest {
 		assertThat(viatraTuple.getSize(), is(2));
 		assertThat(viatraTuple.get(0), is(Tuple.of(2)));
 		assertThat(viatraTuple.get(1), is(Tuple.of(3)));
-		assertThat(viatraTuple, instanceOf(FlatTuple2.class));
+		assertThat(viatraTuple, instanceOf(IntFlatTuple2.class));
 	}
 
 	@Test
@@ -48,7 +48,7 @@ class MatcherUtilsTest {
 		assertThat(viatraTuple.get(0), is(Tuple.of(2)));
 		assertThat(viatraTuple.get(1), is(Tuple.of(3)));
 		assertThat(viatraTuple.get(2), is(Tuple.of(5)));
-		assertThat(viatraTuple, instanceOf(FlatTuple3.class));
+		assertThat(viatraTuple, instanceOf(IntFlatTuple3.class));
 	}
 
 	@Test
@@ -59,7 +59,7 @@ class MatcherUtilsTest {
 		assertThat(viatraTuple.get(1), is(Tuple.of(3)));
 		assertThat(viatraTuple.get(2), is(Tuple.of(5)));
 		assertThat(viatraTuple.get(3), is(Tuple.of(8)));
-		assertThat(viatraTuple, instanceOf(FlatTuple4.class));
+		assertThat(viatraTuple, instanceOf(IntFlatTuple4.class));
 	}
 
 	@Test
@@ -71,7 +71,7 @@ class MatcherUtilsTest {
 		assertThat(viatraTuple.get(2), is(Tuple.of(5)));
 		assertThat(viatraTuple.get(3), is(Tuple.of(8)));
 		assertThat(viatraTuple.get(4), is(Tuple.of(13)));
-		assertThat(viatraTuple, instanceOf(FlatTuple.class));
+		assertThat(viatraTuple, instanceOf(WideIntFlatTuple.class));
 	}
 
 	@Test
@@ -133,6 +133,31 @@ class MatcherUtilsTest {
 		assertThat(refineryTuple, instanceOf(TupleN.class));
 	}
 
+	@Test
+	void toInterpreterEqualsFlatTupleTest() {
+		for (var refineryTuple : List.of(Tuple.of(2), Tuple.of(2, 3), Tuple.of(2, 3, 5), Tuple.of(2, 3, 5, 8),
+				Tuple.of(2, 3, 5, 8, 13))) {
+			var viatraTuple = MatcherUtils.toInterpreterTuple(refineryTuple);
+			var elements = new Object[refineryTuple.getSize()];
+			for (int i = 0; i < elements.length; i++) {
+				elements[i] = Tuple.of(refineryTuple.get(i));
+			}
+			var flatTuple = Tuples.flatTupleOf(elements);
+			assertThat(viatraTuple, is(flatTuple));
+			assertThat(flatTuple, is(viatraTuple));
+			assertThat(viatraTuple.hashCode(), is(flatTuple.hashCode()));
+		}
+	}
+
+	@Test
+	void toInterpreterProjectionTest() {
+		var viatraTuple = MatcherUtils.toInterpreterTuple(Tuple.of(2, 3, 5, 8, 13));
+		var projected = TupleMask.fromSelectedIndices(5, new int[]{4, 1}).transform(viatraTuple);
+		assertThat(projected, instanceOf(IntFlatTuple2.class));
+		assertThat(projected, is(Tuples.flatTupleOf(Tuple.of(13), Tuple.of(3))));
+		assertThat(MatcherUtils.toRefineryTuple(projected), is(Tuple.of(13, 3)));
+	}
+
 	@Test
 	void toRefineryInvalidValueTest() {
 		var viatraTuple = Tuples.flatTupleOf(Tuple.of(2), -98);
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.utils;
+
+import tools.refinery.logic.Constraint;
+import tools.refinery.logic.dnf.AnyQuery;
+import tools.refinery.logic.dnf.Dnf;
+import tools.refinery.logic.literal.AbstractCallLiteral;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryStoreAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.representation.AnySymbol;
+
+import java.util.*;
+
+public final class SymbolDependencies {
+	private SymbolDependencies() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	/**
+	 * Collects the symbols whose interpretations may affect the results of some queries.
+	 * <p>
+	 * Queries are analyzed after rewriting them into their canonical form, because rewriters may replace constraints
+	 * of higher abstraction levels with symbol views.
+	 * </p>
+	 *
+	 * @param store   The model store where the queries were registered.
+	 * @param queries The queries to analyze.
+	 * @return The symbols referenced by {@code queries} directly or through other queries called by them.
+	 */
+	public static Set<AnySymbol> getSymbols(ModelStore store, Collection<? extends AnyQuery> queries) {
+		var queryStoreAdapter = store.getAdapter(ModelQueryStoreAdapter.class);
+		var symbols = new LinkedHashSet<AnySymbol>();
+		var visited = new HashSet<Dnf>();
+		var queue = new ArrayDeque<Dnf>();
+		for (var query : queries) {
+			var dnf = queryStoreAdapter.getCanonicalQuery(query).getDnf();
+			if (visited.add(dnf)) {
+				queue.addLast(dnf);
+			}
+		}
+		while (!queue.isEmpty()) {
+			var dnf = queue.removeFirst();
+			for (var clause : dnf.getClauses()) {
+				for (var literal : clause.literals()) {
+					if (literal instanceof AbstractCallLiteral callLiteral) {
+						addTarget(callLiteral.getTarget(), symbols, visited, queue);
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableSet(symbols);
+	}
+
+	private static void addTarget(Constraint target, Set<AnySymbol> symbols, Set<Dnf> visited, Deque<Dnf> queue) {
+		if (target instanceof AnySymbolView symbolView) {
+			symbols.add(symbolView.getSymbol());
+		} else if (target instanceof Dnf dnf && visited.add(dnf)) {
+			queue.addLast(dnf);
+		}
+	}
+}
@@ -45,7 +45,7 @@ public abstract class AbstractFunctionView<T> extends SymbolView<T> {
 	}
 
 	@Override
-	protected boolean doFilter(Tuple key, T value) {
+	protected final boolean doFilter(Tuple key, T value) {
 		return true;
 	}
 
@@ -97,6 +97,12 @@ public abstract class AbstractFunctionView<T> extends SymbolView<T> {
 				this::forwardMap, this::filter));
 	}
 
+	@Override
+	public boolean canCountAdjacent(int[] slots) {
+		// Function views never filter tuples with a non-default value, but the function value is not indexed.
+		return canIndexSlots(slots);
+	}
+
 	@Override
 	public List<Parameter> getParameters() {
 		return parameters;
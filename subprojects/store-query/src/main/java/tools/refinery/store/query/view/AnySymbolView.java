@@ -10,6 +10,7 @@ import tools.refinery.store.model.Model;
 import tools.refinery.logic.Constraint;
 import tools.refinery.store.representation.AnySymbol;
 
+import java.util.Arrays;
 import java.util.Set;
 
 public sealed interface AnySymbolView extends Constraint permits SymbolView {
@@ -36,4 +37,32 @@ public sealed interface AnySymbolView extends Constraint permits SymbolView {
 	default boolean canIndexSlot(int slot) {
 		return false;
 	}
+
+	default Iterable<Object[]> getAdjacent(Model model, int[] slots, Object[] values) {
+		throw new IllegalArgumentException("Cannot index slots " + Arrays.toString(slots));
+	}
+
+	default boolean canIndexSlots(int[] slots) {
+		for (int slot : slots) {
+			if (!canIndexSlot(slot)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	default int countAdjacent(Model model, int[] slots, Object[] values) {
+		throw new IllegalArgumentException("Cannot count adjacent tuples of slots " + Arrays.toString(slots));
+	}
+
+	/**
+	 * Determines whether {@link #countAdjacent(Model, int[], Object[])} can count the matching tuples from the
+	 * indexes of the model without enumerating them.
+	 *
+	 * @param slots The positions in the tuples of this view.
+	 * @return {@code true} if the adjacent tuples at {@code slots} can be counted.
+	 */
+	default boolean canCountAdjacent(int[] slots) {
+		return false;
+	}
 }
@@ -25,6 +25,12 @@ public final class KeyOnlyView<T> extends TuplePreservingView<T> {
 		return true;
 	}
 
+	@Override
+	public boolean canCountAdjacent(int[] slots) {
+		// All tuples with a non-default value are part of the view, so the indexes of the model count them exactly.
+		return canIndexSlots(slots);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
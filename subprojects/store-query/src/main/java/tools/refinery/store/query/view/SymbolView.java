@@ -9,8 +9,11 @@ import tools.refinery.store.map.CursorAsIterator;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
+import tools.refinery.store.tuple.Tuple1;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -60,6 +63,42 @@ public abstract non-sealed class SymbolView<T> implements AnySymbolView {
 		return (() -> new CursorAsIterator<>(model.getInterpretation(symbol).getAll(), this::forwardMap, this::filter));
 	}
 
+	@Override
+	public Iterable<Object[]> getAdjacent(Model model, int[] slots, Object[] values) {
+		if (!canIndexSlots(slots)) {
+			throw new IllegalArgumentException("Cannot index slots " + Arrays.toString(slots));
+		}
+		var nodes = unwrapNodes(values);
+		if (nodes == null) {
+			return Set.of();
+		}
+		return (() -> new CursorAsIterator<>(model.getInterpretation(symbol).getAdjacent(slots, nodes),
+				this::forwardMap, this::filter));
+	}
+
+	@Override
+	public int countAdjacent(Model model, int[] slots, Object[] values) {
+		if (!canCountAdjacent(slots)) {
+			throw new IllegalArgumentException("Cannot count adjacent tuples of slots " + Arrays.toString(slots));
+		}
+		var nodes = unwrapNodes(values);
+		if (nodes == null) {
+			return 0;
+		}
+		return model.getInterpretation(symbol).getAdjacentSize(slots, nodes);
+	}
+
+	private static int[] unwrapNodes(Object[] values) {
+		var nodes = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			if (!(values[i] instanceof Tuple1 wrapper)) {
+				return null;
+			}
+			nodes[i] = wrapper.value0();
+		}
+		return nodes;
+	}
+
 	@Override
 	public String toString() {
 		return name();
@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.scope;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.translator.PartialRelationTranslator;
+import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Random;
+
+// The benchmark is in the same package as BoundScopePropagator to call propagateOne() directly.
+@State(Scope.Benchmark)
+public class ScopePropagatorExecutionPlan {
+	private static final PartialRelation person = new PartialRelation("Person", 1);
+	private static final PartialRelation animal = new PartialRelation("Animal", 1);
+	private static final CardinalityInterval[] COUNTS = {
+			CardinalityIntervals.ONE,
+			CardinalityIntervals.SET,
+			CardinalityIntervals.SOME,
+			CardinalityIntervals.between(2, 4)
+	};
+
+	@Param({"10", "100"})
+	public int nNodes;
+
+	@Param({"true", "false"})
+	public boolean incrementalBounds;
+
+	private Random random;
+
+	private BoundScopePropagator propagator;
+
+	private Interpretation<CardinalityInterval> countInterpretation;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var scopePropagator = new ScopePropagator()
+				.scope(person, CardinalityIntervals.between(nNodes / 2, nNodes * 2))
+				.scope(animal, CardinalityIntervals.atMost(nNodes))
+				.incrementalBounds(incrementalBounds);
+		var store = ModelStore.builder()
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder())
+				.with(ReasoningAdapter.builder())
+				.with(new MultiObjectTranslator())
+				.with(PartialRelationTranslator.of(person)
+						.symbol(Symbol.of("Person", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(PartialRelationTranslator.of(animal)
+						.symbol(Symbol.of("Animal", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(scopePropagator)
+				.build();
+		var modelSeed = ModelSeed.builder(nNodes)
+				.seed(MultiObjectTranslator.COUNT_SYMBOL, builder -> builder
+						.reducedValue(CardinalityIntervals.SET))
+				.seed(person, builder -> builder.reducedValue(TruthValue.UNKNOWN))
+				.seed(animal, builder -> builder.reducedValue(TruthValue.UNKNOWN))
+				.build();
+		var model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(modelSeed);
+		countInterpretation = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
+		propagator = new BoundScopePropagator(model, scopePropagator);
+		// Use a fixed seed so that results of different runs are comparable.
+		random = new Random(1);
+	}
+
+	public BoundScopePropagator getPropagator() {
+		return propagator;
+	}
+
+	public void changeCount() {
+		countInterpretation.put(Tuple.of(random.nextInt(nNodes)), COUNTS[random.nextInt(COUNTS.length)]);
+	}
+}
@@ -37,6 +37,7 @@ class BoundScopePropagator implements BoundPropagator {
 	private final MutableIntObjectMap<MPVariable> variables = IntObjectMaps.mutable.empty();
 	private final MutableIntSet activeVariables = IntSets.mutable.empty();
 	private final TypeScopePropagator[] propagators;
+	private final boolean incrementalBounds;
 	private boolean changed = true;
 
 	public BoundScopePropagator(Model model, ScopePropagator scopePropagator) {
@@ -44,6 +45,7 @@ class BoundScopePropagator implements BoundPropagator {
 		queryEngine = model.getAdapter(ModelQueryAdapter.class);
 		this.scopePropagator = scopePropagator;
 		countInterpretation = model.getInterpretation(scopePropagator.getCountSymbol());
+		incrementalBounds = scopePropagator.isIncrementalBounds();
 		solver = MPSolver.createSolver("GLOP");
 		solver.suppressOutput();
 		objective = solver.objective();
@@ -168,10 +170,13 @@ class BoundScopePropagator implements BoundPropagator {
 				return createRejectedResult("Object with inconsistent existence detected.");
 			}
 		}
-		var result = PropagationResult.UNCHANGED;
 		if (activeVariables.isEmpty()) {
 			return checkEmptiness();
 		}
+		if (incrementalBounds) {
+			return propagateActiveNodes();
+		}
+		var result = PropagationResult.UNCHANGED;
 		var iterator = activeVariables.intIterator();
 		while (iterator.hasNext()) {
 			int nodeId = iterator.next();
@@ -227,19 +232,279 @@ class BoundScopePropagator implements BoundPropagator {
 					.formatted(variable, minimizationResult));
 			}
 
-			var newInterval = CardinalityIntervals.between(lowerBound, upperBound);
-			var oldInterval = countInterpretation.put(Tuple.of(nodeId), newInterval);
-			if (newInterval.lowerBound() < oldInterval.lowerBound() ||
-					newInterval.upperBound().compareTo(oldInterval.upperBound()) > 0) {
-				throw new IllegalArgumentException("Failed to refine multiplicity %s of node %d to %s"
-						.formatted(oldInterval, nodeId, newInterval));
-			}
-			return newInterval.equals(oldInterval) ? PropagationResult.UNCHANGED : PropagationResult.PROPAGATED;
+			return refineCount(nodeId, lowerBound, upperBound);
 		} finally {
 			objective.setCoefficient(variable, 0);
 		}
 	}
 
+	private PropagationResult refineCount(int nodeId, int lowerBound, UpperCardinality upperBound) {
+		var newInterval = CardinalityIntervals.between(lowerBound, upperBound);
+		var oldInterval = countInterpretation.put(Tuple.of(nodeId), newInterval);
+		if (newInterval.lowerBound() < oldInterval.lowerBound() ||
+				newInterval.upperBound().compareTo(oldInterval.upperBound()) > 0) {
+			throw new IllegalArgumentException("Failed to refine multiplicity %s of node %d to %s"
+					.formatted(oldInterval, nodeId, newInterval));
+		}
+		return newInterval.equals(oldInterval) ? PropagationResult.UNCHANGED : PropagationResult.PROPAGATED;
+	}
+
+	/**
+	 * Computes the same bounds as {@link #propagateNode(int, MPVariable)} for all active variables, but avoids
+	 * solving a pair of linear programs for each variable.
+	 * <p>
+	 * Any feasible solution of the linear program is a witness that the minimum (maximum) of a variable is at most
+	 * (at least) its value in the solution. Bounds implied by the individual scope constraints are certificates
+	 * that the minimum (maximum) is at least (at most) some value. Once the rounded witness and certificate agree,
+	 * there is no need to optimize for the variable. We first optimize for the sum of all variables to obtain
+	 * witnesses for many variables in a single solver call, and only optimize for the remaining variables
+	 * individually. Since only the objective changes between calls, the solver can warm-start from the previous
+	 * basis.
+	 * </p>
+	 *
+	 * @return The result of the propagation.
+	 */
+	private PropagationResult propagateActiveNodes() {
+		var nodeIds = activeVariables.toSortedArray();
+		var nodeBounds = new NodeBounds[nodeIds.length];
+		for (int i = 0; i < nodeIds.length; i++) {
+			int nodeId = nodeIds[i];
+			var variable = variables.get(nodeId);
+			if (variable == null) {
+				throw new AssertionError("Missing active variable: " + nodeId);
+			}
+			nodeBounds[i] = new NodeBounds(nodeId, variable);
+		}
+		computeImpliedBounds(nodeBounds);
+		for (var bounds : nodeBounds) {
+			if (bounds.isInconsistent()) {
+				return createRejectedResult();
+			}
+		}
+		var minimizationResult = solveForSum(nodeBounds, false);
+		switch (minimizationResult) {
+		case OPTIMAL -> observeSolution(nodeBounds);
+		case UNBOUNDED -> {
+			// Will be handled by optimizing for the variables individually.
+		}
+		case ABNORMAL, INFEASIBLE -> {
+			return createRejectedResult();
+		}
+		default -> throw new IllegalStateException("Failed to solve for minimum of active variables: " +
+				minimizationResult);
+		}
+		for (var bounds : nodeBounds) {
+			if (!bounds.isLowerBoundResolved() && !solveForLowerBound(nodeBounds, bounds)) {
+				return createRejectedResult();
+			}
+		}
+		if (solveForSum(nodeBounds, true) == MPSolver.ResultStatus.OPTIMAL) {
+			observeSolution(nodeBounds);
+		}
+		for (var bounds : nodeBounds) {
+			if (!bounds.isUpperBoundResolved()) {
+				solveForUpperBound(nodeBounds, bounds);
+			}
+		}
+		var result = PropagationResult.UNCHANGED;
+		for (var bounds : nodeBounds) {
+			result = result.andThen(refineCount(bounds.nodeId, bounds.getLowerBound(), bounds.getUpperBound()));
+		}
+		return result;
+	}
+
+	private void computeImpliedBounds(NodeBounds[] nodeBounds) {
+		for (var propagator : propagators) {
+			model.checkCancelled();
+			var constraint = propagator.constraint;
+			double lowerSum = 0;
+			double finiteUpperSum = 0;
+			int infiniteUpperCount = 0;
+			for (var variable : variables) {
+				double coefficient = constraint.getCoefficient(variable);
+				if (coefficient == 0) {
+					continue;
+				}
+				lowerSum += coefficient * variable.lb();
+				if (variable.ub() == Double.POSITIVE_INFINITY) {
+					infiniteUpperCount++;
+				} else {
+					finiteUpperSum += coefficient * variable.ub();
+				}
+			}
+			for (var bounds : nodeBounds) {
+				var variable = bounds.variable;
+				// Scope constraints only have coefficients 0 and 1.
+				double coefficient = constraint.getCoefficient(variable);
+				if (coefficient <= 0) {
+					continue;
+				}
+				double otherLowerSum = lowerSum - coefficient * variable.lb();
+				double otherUpperSum;
+				if (variable.ub() == Double.POSITIVE_INFINITY) {
+					otherUpperSum = infiniteUpperCount > 1 ? Double.POSITIVE_INFINITY : finiteUpperSum;
+				} else {
+					otherUpperSum = infiniteUpperCount > 0 ? Double.POSITIVE_INFINITY :
+							finiteUpperSum - coefficient * variable.ub();
+				}
+				if (otherUpperSum != Double.POSITIVE_INFINITY) {
+					bounds.certifyLowerBound((constraint.lb() - otherUpperSum) / coefficient);
+				}
+				if (constraint.ub() != Double.POSITIVE_INFINITY) {
+					bounds.certifyUpperBound((constraint.ub() - otherLowerSum) / coefficient);
+				}
+			}
+		}
+	}
+
+	private MPSolver.ResultStatus solveForSum(NodeBounds[] nodeBounds, boolean maximize) {
+		boolean hasUnresolvedBound = false;
+		try {
+			for (var bounds : nodeBounds) {
+				if (!(maximize ? bounds.isUpperBoundResolved() : bounds.isLowerBoundResolved())) {
+					objective.setCoefficient(bounds.variable, 1);
+					hasUnresolvedBound = true;
+				}
+			}
+			if (!hasUnresolvedBound && maximize) {
+				return MPSolver.ResultStatus.NOT_SOLVED;
+			}
+			// We must solve at least once to check the feasibility of the linear program, even if all lower bounds
+			// are already resolved.
+			model.checkCancelled();
+			if (maximize) {
+				objective.setMaximization();
+			} else {
+				objective.setMinimization();
+			}
+			return solver.solve();
+		} finally {
+			for (var bounds : nodeBounds) {
+				objective.setCoefficient(bounds.variable, 0);
+			}
+		}
+	}
+
+	private boolean solveForLowerBound(NodeBounds[] nodeBounds, NodeBounds bounds) {
+		objective.setCoefficient(bounds.variable, 1);
+		try {
+			model.checkCancelled();
+			objective.setMinimization();
+			var minimizationResult = solver.solve();
+			switch (minimizationResult) {
+			case OPTIMAL -> {
+				bounds.resolveLowerBound(objective.value());
+				observeSolution(nodeBounds);
+			}
+			case UNBOUNDED -> bounds.resolveLowerBound(0);
+			case ABNORMAL, INFEASIBLE -> {
+				return false;
+			}
+			default -> throw new IllegalStateException("Failed to solve for minimum of %s: %s"
+					.formatted(bounds.variable, minimizationResult));
+			}
+			return true;
+		} finally {
+			objective.setCoefficient(bounds.variable, 0);
+		}
+	}
+
+	private void solveForUpperBound(NodeBounds[] nodeBounds, NodeBounds bounds) {
+		objective.setCoefficient(bounds.variable, 1);
+		try {
+			model.checkCancelled();
+			objective.setMaximization();
+			var maximizationResult = solver.solve();
+			switch (maximizationResult) {
+			case OPTIMAL -> {
+				bounds.resolveUpperBound(objective.value());
+				observeSolution(nodeBounds);
+			}
+			// See the comment in {@link #propagateNode(int, MPVariable)} about {@code UNBOUNDED_OR_INFEASIBLE}.
+			case ABNORMAL, UNBOUNDED, INFEASIBLE -> bounds.resolveUpperBound(Double.POSITIVE_INFINITY);
+			default -> throw new IllegalStateException("Failed to solve for maximum of %s: %s"
+					.formatted(bounds.variable, maximizationResult));
+			}
+		} finally {
+			objective.setCoefficient(bounds.variable, 0);
+		}
+	}
+
+	private static void observeSolution(NodeBounds[] nodeBounds) {
+		for (var bounds : nodeBounds) {
+			bounds.observe(bounds.variable.solutionValue());
+		}
+	}
+
+	private static final class NodeBounds {
+		private final int nodeId;
+		private final MPVariable variable;
+		// Lower bound for the minimum of the variable.
+		private double lowerCertificate;
+		// Upper bound for the minimum of the variable, i.e., the smallest value seen in a feasible solution.
+		private double lowerWitness = Double.POSITIVE_INFINITY;
+		// Upper bound for the maximum of the variable.
+		private double upperCertificate;
+		// Lower bound for the maximum of the variable, i.e., the largest value seen in a feasible solution.
+		private double upperWitness = Double.NEGATIVE_INFINITY;
+
+		public NodeBounds(int nodeId, MPVariable variable) {
+			this.nodeId = nodeId;
+			this.variable = variable;
+			lowerCertificate = variable.lb();
+			upperCertificate = variable.ub();
+		}
+
+		public void certifyLowerBound(double value) {
+			lowerCertificate = Math.max(lowerCertificate, value);
+		}
+
+		public void certifyUpperBound(double value) {
+			upperCertificate = Math.min(upperCertificate, value);
+		}
+
+		public boolean isInconsistent() {
+			return upperCertificate != Double.POSITIVE_INFINITY &&
+					RoundingUtil.roundUp(lowerCertificate) > RoundingUtil.roundDown(upperCertificate);
+		}
+
+		public void observe(double value) {
+			lowerWitness = Math.min(lowerWitness, value);
+			upperWitness = Math.max(upperWitness, value);
+		}
+
+		public void resolveLowerBound(double value) {
+			lowerCertificate = value;
+			lowerWitness = value;
+		}
+
+		public void resolveUpperBound(double value) {
+			upperCertificate = value;
+			upperWitness = value;
+		}
+
+		public boolean isLowerBoundResolved() {
+			return lowerWitness != Double.POSITIVE_INFINITY &&
+					RoundingUtil.roundUp(lowerWitness) <= RoundingUtil.roundUp(lowerCertificate);
+		}
+
+		public boolean isUpperBoundResolved() {
+			// If no scope constraint bounds the variable from above, we can increase it in any feasible solution
+			// without violating any constraint, because all coefficients are nonnegative.
+			return upperCertificate == Double.POSITIVE_INFINITY || (upperWitness != Double.NEGATIVE_INFINITY &&
+					RoundingUtil.roundDown(upperWitness) >= RoundingUtil.roundDown(upperCertificate));
+		}
+
+		public int getLowerBound() {
+			return RoundingUtil.roundUp(lowerCertificate);
+		}
+
+		public UpperCardinality getUpperBound() {
+			return upperCertificate == Double.POSITIVE_INFINITY ? UpperCardinalities.UNBOUNDED :
+					UpperCardinalities.atMost(RoundingUtil.roundDown(upperCertificate));
+		}
+	}
+
 	@Override
 	public PropagationResult checkConcretization() {
 		for (var propagator : propagators) {
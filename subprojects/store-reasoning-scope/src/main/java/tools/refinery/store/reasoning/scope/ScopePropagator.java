@@ -6,12 +6,19 @@
 package tools.refinery.store.reasoning.scope;
 
 import com.google.ortools.Loader;
+import tools.refinery.logic.dnf.AnyQuery;
+import tools.refinery.store.dse.propagation.BoundPropagator;
 import tools.refinery.store.dse.propagation.PropagationBuilder;
+import tools.refinery.store.dse.propagation.Propagator;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.model.ModelStoreConfiguration;
 import tools.refinery.store.reasoning.representation.PartialRelation;
 import tools.refinery.store.reasoning.translator.TranslationException;
+import tools.refinery.store.query.utils.SymbolDependencies;
 import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator;
+import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
 import tools.refinery.logic.term.uppercardinality.FiniteUpperCardinality;
@@ -22,6 +29,7 @@ public class ScopePropagator implements ModelStoreConfiguration {
 	private final Symbol<CardinalityInterval> countSymbol;
 	private final Map<PartialRelation, CardinalityInterval> scopes = new LinkedHashMap<>();
 	private final List<TypeScopePropagator.Factory> typeScopePropagatorFactories = new ArrayList<>();
+	private boolean incrementalBounds = true;
 
 	public ScopePropagator() {
 		this(MultiObjectTranslator.COUNT_STORAGE);
@@ -65,6 +73,22 @@ public class ScopePropagator implements ModelStoreConfiguration {
 		return this;
 	}
 
+	/**
+	 * Sets whether the bounds of multi-objects should be computed by reusing feasible solutions and the bounds
+	 * implied by the individual scope constraints across nodes.
+	 * <p>
+	 * When disabled, a minimization and a maximization problem is solved for each multi-object. Both modes compute
+	 * the same bounds.
+	 * </p>
+	 *
+	 * @param incrementalBounds {@code true} to avoid solving unnecessary linear programs.
+	 * @return This scope propagator.
+	 */
+	public ScopePropagator incrementalBounds(boolean incrementalBounds) {
+		this.incrementalBounds = incrementalBounds;
+		return this;
+	}
+
 	@Override
 	public void apply(ModelStoreBuilder storeBuilder) {
 		createTypeScopePropagatorFactories();
@@ -72,8 +96,23 @@ public class ScopePropagator implements ModelStoreConfiguration {
 		for (var factory : typeScopePropagatorFactories) {
 			factory.configure(storeBuilder);
 		}
-		storeBuilder.getAdapter(PropagationBuilder.class)
-				.propagator(model -> new BoundScopePropagator(model, this));
+		storeBuilder.getAdapter(PropagationBuilder.class).propagator(new Propagator() {
+			@Override
+			public BoundPropagator bindToModel(Model model) {
+				return new BoundScopePropagator(model, ScopePropagator.this);
+			}
+
+			@Override
+			public Set<AnySymbol> getInputSymbols(ModelStore store) {
+				var queries = new ArrayList<AnyQuery>();
+				for (var factory : typeScopePropagatorFactories) {
+					queries.addAll(factory.getQueries());
+				}
+				var inputSymbols = new LinkedHashSet<>(SymbolDependencies.getSymbols(store, queries));
+				inputSymbols.add(countSymbol);
+				return inputSymbols;
+			}
+		});
 	}
 
 	private void createTypeScopePropagatorFactories() {
@@ -96,6 +135,10 @@ public class ScopePropagator implements ModelStoreConfiguration {
 		return countSymbol;
 	}
 
+	boolean isIncrementalBounds() {
+		return incrementalBounds;
+	}
+
 	List<TypeScopePropagator.Factory> getTypeScopePropagatorFactories() {
 		return typeScopePropagatorFactories;
 	}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.scope;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.translator.PartialRelationTranslator;
+import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class IncrementalBoundsTest {
+	private static final int NODE_COUNT = 6;
+	private static final PartialRelation person = new PartialRelation("Person", 1);
+	private static final PartialRelation animal = new PartialRelation("Animal", 1);
+	private static final TruthValue[] TRUTH_VALUES = {TruthValue.TRUE, TruthValue.UNKNOWN, TruthValue.FALSE};
+	private static final CardinalityInterval[] COUNTS = {
+			CardinalityIntervals.ONE,
+			CardinalityIntervals.SET,
+			CardinalityIntervals.SOME,
+			CardinalityIntervals.between(2, 4)
+	};
+
+	@Test
+	void sameBoundsAsExactTest() {
+		var incrementalStore = createStore(true);
+		var exactStore = createStore(false);
+		var random = new Random(1);
+		for (int i = 0; i < 100; i++) {
+			var modelSeed = createRandomSeed(random);
+			assertThat(getCounts(incrementalStore, modelSeed), is(getCounts(exactStore, modelSeed)));
+		}
+	}
+
+	private static ModelStore createStore(boolean incrementalBounds) {
+		return ModelStore.builder()
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder())
+				.with(ReasoningAdapter.builder())
+				.with(new MultiObjectTranslator())
+				.with(PartialRelationTranslator.of(person)
+						.symbol(Symbol.of("Person", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(PartialRelationTranslator.of(animal)
+						.symbol(Symbol.of("Animal", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(new ScopePropagator()
+						.scope(person, CardinalityIntervals.between(5, 15))
+						.scope(animal, CardinalityIntervals.between(2, 8))
+						.incrementalBounds(incrementalBounds))
+				.build();
+	}
+
+	private static ModelSeed createRandomSeed(Random random) {
+		return ModelSeed.builder(NODE_COUNT)
+				.seed(MultiObjectTranslator.COUNT_SYMBOL, builder -> {
+					builder.reducedValue(CardinalityIntervals.ONE);
+					for (int i = 0; i < NODE_COUNT; i++) {
+						builder.put(Tuple.of(i), COUNTS[random.nextInt(COUNTS.length)]);
+					}
+				})
+				.seed(person, builder -> {
+					for (int i = 0; i < NODE_COUNT; i++) {
+						builder.put(Tuple.of(i), TRUTH_VALUES[random.nextInt(TRUTH_VALUES.length)]);
+					}
+				})
+				.seed(animal, builder -> {
+					for (int i = 0; i < NODE_COUNT; i++) {
+						builder.put(Tuple.of(i), TRUTH_VALUES[random.nextInt(TRUTH_VALUES.length)]);
+					}
+				})
+				.build();
+	}
+
+	private static List<CardinalityInterval> getCounts(ModelStore store, ModelSeed modelSeed) {
+		var reasoningStoreAdapter = store.getAdapter(ReasoningStoreAdapter.class);
+		try {
+			var model = reasoningStoreAdapter.createInitialModel(modelSeed);
+			var countStorage = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
+			var counts = new ArrayList<CardinalityInterval>(NODE_COUNT);
+			for (int i = 0; i < NODE_COUNT; i++) {
+				counts.add(countStorage.get(Tuple.of(i)));
+			}
+			return counts;
+		} catch (IllegalStateException e) {
+			// Both modes must reject the same unsatisfiable seeds.
+			return List.of();
+		}
+	}
+}
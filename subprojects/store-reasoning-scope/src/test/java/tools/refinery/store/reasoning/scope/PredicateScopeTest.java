@@ -50,6 +50,18 @@ class PredicateScopeTest {
 	@ParameterizedTest
 	@ValueSource(ints = {1, 2, 3, 4, 5})
 	void generateTest(int randomSeed) {
+		generate(randomSeed, 1, BestFirstStoreManager.StateSpaceStoreStrategy.SYNCHRONIZED);
+	}
+
+	@Tag("slow")
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 3, 4, 5})
+	void generateParallelTest(int randomSeed) {
+		generate(randomSeed, 4, BestFirstStoreManager.StateSpaceStoreStrategy.CONCURRENT);
+	}
+
+	private void generate(int randomSeed, int numberOfExplorers,
+						  BestFirstStoreManager.StateSpaceStoreStrategy storeStrategy) {
 		var store = createStore();
 		var newIndex = Tuple.of(0);
 		var modelSeed = ModelSeed.builder(1)
@@ -68,8 +80,8 @@ class PredicateScopeTest {
 				.build();
 		var model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(modelSeed);
 		var initialVersion = model.commit();
-		var bestFistSearch = new BestFirstStoreManager(store, 1);
-		bestFistSearch.startExploration(initialVersion, randomSeed);
+		var bestFistSearch = new BestFirstStoreManager(store, 1, storeStrategy);
+		bestFistSearch.startExploration(initialVersion, randomSeed, numberOfExplorers);
 		model.restore(bestFistSearch.getSolutionStore().getSolutions().get(0).version());
 		var reasoningAdapter = model.getAdapter(ReasoningAdapter.class);
 		var firstInterpretation = reasoningAdapter.getPartialInterpretation(Concreteness.CANDIDATE, first);
@@ -13,6 +13,7 @@ import tools.refinery.store.reasoning.seed.ModelSeed;
 import tools.refinery.store.reasoning.seed.PropagatedModel;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ReasoningStoreAdapter extends ModelStoreAdapter {
@@ -30,6 +31,45 @@ public interface ReasoningStoreAdapter extends ModelStoreAdapter {
 
 	PropagatedModel tryCreateInitialModel(ModelSeed modelSeed);
 
+	/**
+	 * Initializes an existing model according to a model seed.
+	 * <p>
+	 * This allows reusing the query engines of a model for several model seeds by restoring the model to a version
+	 * committed before it was initialized and then initializing it again.
+	 * </p>
+	 *
+	 * @param emptyModel A model of this store that contains no facts, e.g., a model restored to a version committed
+	 *                   right after its creation.
+	 * @param modelSeed  The model seed to initialize the model with.
+	 * @return The initialized model and the result of the initial propagation.
+	 */
+	PropagatedModel tryInitializeModel(Model emptyModel, ModelSeed modelSeed);
+
+	/**
+	 * Updates an initialized model according to a model seed that refines the model seed it was initialized with.
+	 * <p>
+	 * Only the facts that differ between the model seeds are merged into the model with the
+	 * {@link tools.refinery.store.reasoning.refinement.PartialInterpretationRefiner} of their partial symbols, and
+	 * then the model is propagated again. This is only possible if both model seeds have the same nodes and partial
+	 * symbols, and every fact of {@code modelSeed} is a refinement of the corresponding fact of
+	 * {@code previousModelSeed}, e.g., because only new assertions were added.
+	 * </p>
+	 * <p>
+	 * Partial symbols are compared by identity, so both model seeds must refer to the partial symbols of this store.
+	 * Model seeds translated from different versions of a problem must share their partial symbols, e.g., by
+	 * translating later versions with the symbols of the first one.
+	 * </p>
+	 *
+	 * @param model             A model that was initialized with {@code previousModelSeed} and propagated without
+	 *                          rejection.
+	 * @param previousModelSeed The model seed the model was initialized or last refined with.
+	 * @param modelSeed         The model seed to refine the model with.
+	 * @return The refined model and the result of the propagation, or an empty optional if the model could not be
+	 * refined. If {@code modelSeed} is not a refinement of {@code previousModelSeed}, the model is left unchanged.
+	 * Otherwise, if some facts could not be merged, the model must be restored and initialized again before use.
+	 */
+	Optional<PropagatedModel> tryRefineModel(Model model, ModelSeed previousModelSeed, ModelSeed modelSeed);
+
 	@Override
 	ReasoningAdapter createModelAdapter(Model model);
 }
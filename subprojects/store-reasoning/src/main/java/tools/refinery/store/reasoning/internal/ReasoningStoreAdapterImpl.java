@@ -5,6 +5,7 @@
  */
 package tools.refinery.store.reasoning.internal;
 
+import tools.refinery.logic.AbstractValue;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.dse.propagation.PropagationResult;
 import tools.refinery.store.model.Model;
@@ -18,16 +19,14 @@ import tools.refinery.store.reasoning.refinement.PartialInterpretationRefiner;
 import tools.refinery.store.reasoning.refinement.PartialModelInitializer;
 import tools.refinery.store.reasoning.refinement.StorageRefiner;
 import tools.refinery.store.reasoning.representation.AnyPartialSymbol;
+import tools.refinery.store.reasoning.representation.PartialSymbol;
 import tools.refinery.store.reasoning.seed.ModelSeed;
 import tools.refinery.store.reasoning.seed.PropagatedModel;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 class ReasoningStoreAdapterImpl implements ReasoningStoreAdapter {
 	private final ModelStore store;
@@ -103,13 +102,87 @@ class ReasoningStoreAdapterImpl implements ReasoningStoreAdapter {
 
 	@Override
 	public PropagatedModel tryCreateInitialModel(ModelSeed modelSeed) {
-		var model = store.createEmptyModel();
+		return tryInitializeModel(store.createEmptyModel(), modelSeed);
+	}
+
+	@Override
+	public PropagatedModel tryInitializeModel(Model model, ModelSeed modelSeed) {
+		if (model.getStore() != store) {
+			throw new IllegalArgumentException("Model does not belong to this store");
+		}
 		model.getInterpretation(ReasoningAdapterImpl.NODE_COUNT_SYMBOL).put(Tuple.of(), modelSeed.getNodeCount());
 		for (var initializer : initializers) {
 			initializer.initialize(model, modelSeed);
 		}
 		var reasoningAdapter = ((ReasoningAdapterImpl) model.getAdapter(ReasoningAdapter.class));
 		reasoningAdapter.afterInitialize(modelSeed);
+		return propagate(model);
+	}
+
+	@Override
+	public Optional<PropagatedModel> tryRefineModel(Model model, ModelSeed previousModelSeed, ModelSeed modelSeed) {
+		if (model.getStore() != store) {
+			throw new IllegalArgumentException("Model does not belong to this store");
+		}
+		if (previousModelSeed.getNodeCount() != modelSeed.getNodeCount() ||
+				!previousModelSeed.getSeededSymbols().equals(modelSeed.getSeededSymbols())) {
+			return Optional.empty();
+		}
+		var changes = new ArrayList<SeedChange<?, ?>>();
+		for (var partialSymbol : modelSeed.getSeededSymbols()) {
+			var typedPartialSymbol = (PartialSymbol<?, ?>) partialSymbol;
+			if (!collectChanges(typedPartialSymbol, previousModelSeed, modelSeed, changes)) {
+				return Optional.empty();
+			}
+		}
+		if (changes.isEmpty()) {
+			return Optional.of(new PropagatedModel(model, PropagationResult.UNCHANGED));
+		}
+		var reasoningAdapter = model.getAdapter(ReasoningAdapter.class);
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < changes.size(); i++) {
+			if (!changes.get(i).merge(reasoningAdapter)) {
+				return Optional.empty();
+			}
+		}
+		return Optional.of(propagate(model));
+	}
+
+	private <A extends AbstractValue<A, C>, C> boolean collectChanges(
+			PartialSymbol<A, C> partialSymbol, ModelSeed previousModelSeed, ModelSeed modelSeed,
+			List<SeedChange<?, ?>> changes) {
+		var previousSeed = previousModelSeed.getSeed(partialSymbol);
+		var seed = modelSeed.getSeed(partialSymbol);
+		if (previousSeed == seed) {
+			return true;
+		}
+		var cursor = modelSeed.getCursor(partialSymbol);
+		boolean changed = false;
+		while (cursor.move()) {
+			var key = cursor.getKey();
+			var value = cursor.getValue();
+			var previousValue = previousSeed.get(key);
+			if (!value.equals(previousValue)) {
+				if (!value.isRefinementOf(previousValue)) {
+					return false;
+				}
+				changes.add(new SeedChange<>(partialSymbol, key, value));
+				changed = true;
+			}
+		}
+		// Facts that are no longer present in the new seed must also be refined by the new seed, e.g., because the
+		// default value of the partial symbol is not more specific than the removed fact.
+		var previousCursor = previousModelSeed.getCursor(partialSymbol);
+		while (previousCursor.move()) {
+			if (!seed.get(previousCursor.getKey()).isRefinementOf(previousCursor.getValue())) {
+				return false;
+			}
+		}
+		return !changed || symbolRefiners.containsKey(partialSymbol);
+	}
+
+	private static PropagatedModel propagate(Model model) {
 		var propagationResult = model.tryGetAdapter(PropagationAdapter.class)
 				.map(PropagationAdapter::propagate)
 				.orElse(PropagationResult.UNCHANGED);
@@ -121,4 +194,11 @@ class ReasoningStoreAdapterImpl implements ReasoningStoreAdapter {
 	public ReasoningAdapterImpl createModelAdapter(Model model) {
 		return new ReasoningAdapterImpl(model, this);
 	}
+
+	private record SeedChange<A extends AbstractValue<A, C>, C>(PartialSymbol<A, C> partialSymbol, Tuple key,
+																A value) {
+		public boolean merge(ReasoningAdapter reasoningAdapter) {
+			return reasoningAdapter.getRefiner(partialSymbol).merge(key, value);
+		}
+	}
 }
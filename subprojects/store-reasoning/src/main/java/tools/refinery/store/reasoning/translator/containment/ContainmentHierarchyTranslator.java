@@ -103,6 +103,8 @@ public class ContainmentHierarchyTranslator implements ModelStoreConfiguration {
 	@Override
 	public void apply(ModelStoreBuilder storeBuilder) {
 		storeBuilder.symbol(containsStorage);
+		storeBuilder.valueCodec(InferredContainment.class,
+				new InferredContainmentCodec(containmentInfoMap.keySet()));
 		translateContains(storeBuilder);
 		translateInvalidContainer(storeBuilder);
 		for (var entry : containmentInfoMap.entrySet()) {
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.translator.containment;
+
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.checkpoint.CheckpointInput;
+import tools.refinery.store.checkpoint.CheckpointOutput;
+import tools.refinery.store.checkpoint.ValueCodec;
+import tools.refinery.store.checkpoint.ValueCodecs;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+
+import java.util.*;
+
+/**
+ * Encodes inferred containments by the indices of the containment links.
+ * <p>
+ * Checkpoints may only be read by a store built from the same containment hierarchy.
+ * </p>
+ */
+class InferredContainmentCodec implements ValueCodec<InferredContainment> {
+	private static final ValueCodec<TruthValue> TRUTH_VALUE_CODEC = ValueCodecs.ofEnum(TruthValue.class);
+
+	private final PartialRelation[] links;
+	private final Map<PartialRelation, Integer> indices;
+
+	public InferredContainmentCodec(Collection<PartialRelation> containmentLinks) {
+		links = containmentLinks.toArray(new PartialRelation[0]);
+		indices = HashMap.newHashMap(links.length);
+		for (int i = 0; i < links.length; i++) {
+			indices.put(links[i], i);
+		}
+	}
+
+	@Override
+	public void write(CheckpointOutput output, InferredContainment value) {
+		TRUTH_VALUE_CODEC.write(output, value.contains());
+		writeLinks(output, value.mustLinks());
+		writeLinks(output, value.forbiddenLinks());
+	}
+
+	private void writeLinks(CheckpointOutput output, Set<PartialRelation> linkSet) {
+		output.writeVarInt(linkSet.size());
+		for (var link : linkSet) {
+			var index = indices.get(link);
+			if (index == null) {
+				throw new IllegalArgumentException("Unknown containment link: " + link);
+			}
+			output.writeVarInt(index);
+		}
+	}
+
+	@Override
+	public InferredContainment read(CheckpointInput input) {
+		var contains = TRUTH_VALUE_CODEC.read(input);
+		var mustLinks = readLinks(input);
+		var forbiddenLinks = readLinks(input);
+		return new InferredContainment(contains, mustLinks, forbiddenLinks);
+	}
+
+	private Set<PartialRelation> readLinks(CheckpointInput input) {
+		int count = input.readCount();
+		if (count == 0) {
+			return Set.of();
+		}
+		var linkSet = LinkedHashSet.<PartialRelation>newLinkedHashSet(count);
+		for (int i = 0; i < count; i++) {
+			int index = input.readCount();
+			if (index >= links.length) {
+				throw new IllegalArgumentException("Invalid containment link index in checkpoint: " + index);
+			}
+			linkSet.add(links[index]);
+		}
+		return Collections.unmodifiableSet(linkSet);
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.translator.multiobject;
+
+import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.uppercardinality.FiniteUpperCardinality;
+import tools.refinery.logic.term.uppercardinality.UpperCardinalities;
+import tools.refinery.store.checkpoint.CheckpointInput;
+import tools.refinery.store.checkpoint.CheckpointOutput;
+import tools.refinery.store.checkpoint.ValueCodec;
+
+enum CardinalityIntervalCodec implements ValueCodec<CardinalityInterval> {
+	INSTANCE;
+
+	@Override
+	public void write(CheckpointOutput output, CardinalityInterval value) {
+		output.writeVarInt(value.lowerBound());
+		// Unbounded upper cardinalities are encoded as -1, which {@link UpperCardinalities#atMost(int)} understands.
+		int upperBound = value.upperBound() instanceof FiniteUpperCardinality finiteUpperCardinality ?
+				finiteUpperCardinality.finiteUpperBound() : -1;
+		output.writeVarInt(upperBound);
+	}
+
+	@Override
+	public CardinalityInterval read(CheckpointInput input) {
+		int lowerBound = input.readCount();
+		int upperBound = input.readVarInt();
+		return CardinalityIntervals.between(lowerBound, UpperCardinalities.atMost(upperBound));
+	}
+}
@@ -18,13 +18,17 @@ import tools.refinery.store.dse.propagation.PropagationResult;
 import tools.refinery.store.dse.propagation.Propagator;
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.query.ModelQueryAdapter;
 import tools.refinery.store.query.ModelQueryBuilder;
 import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.query.utils.SymbolDependencies;
 import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.representation.AnySymbol;
 
 import java.util.List;
+import java.util.Set;
 
 import static tools.refinery.logic.literal.Literals.check;
 import static tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator.LOWER_CARDINALITY_VIEW;
@@ -63,6 +67,11 @@ public class CleanupPropagator implements Propagator {
 		return new BoundCleanupPropagator(model);
 	}
 
+	@Override
+	public Set<AnySymbol> getInputSymbols(ModelStore store) {
+		return keepNonExistingObjects ? Set.of() : SymbolDependencies.getSymbols(store, List.of(CLEANUP_QUERY));
+	}
+
 	private class BoundCleanupPropagator implements BoundPropagator {
 		private final Model model;
 		private final ModelQueryAdapter queryEngine;
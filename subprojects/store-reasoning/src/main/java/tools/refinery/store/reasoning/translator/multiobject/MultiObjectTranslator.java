@@ -53,6 +53,7 @@ public class MultiObjectTranslator implements ModelStoreConfiguration {
 	@Override
 	public void apply(ModelStoreBuilder storeBuilder) {
 		storeBuilder.symbol(COUNT_STORAGE);
+		storeBuilder.valueCodec(CardinalityInterval.class, CardinalityIntervalCodec.INSTANCE);
 
 		var aboveLowerBound = Query.of("count#aboveLowerBound", Integer.class, (builder, node, output) -> builder
 				.clause(
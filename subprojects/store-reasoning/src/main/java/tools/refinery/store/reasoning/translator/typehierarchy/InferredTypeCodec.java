@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.translator.typehierarchy;
+
+import tools.refinery.store.checkpoint.CheckpointInput;
+import tools.refinery.store.checkpoint.CheckpointOutput;
+import tools.refinery.store.checkpoint.ValueCodec;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+
+import java.util.*;
+
+/**
+ * Encodes inferred types by the indices of the types in the type hierarchy.
+ * <p>
+ * Checkpoints may only be read by a store built from the same type hierarchy.
+ * </p>
+ */
+class InferredTypeCodec implements ValueCodec<InferredType> {
+	private final PartialRelation[] types;
+	private final Map<PartialRelation, Integer> indices;
+
+	public InferredTypeCodec(TypeHierarchy typeHierarchy) {
+		var allTypes = typeHierarchy.getAllTypes();
+		types = allTypes.toArray(new PartialRelation[0]);
+		indices = HashMap.newHashMap(types.length);
+		for (int i = 0; i < types.length; i++) {
+			indices.put(types[i], i);
+		}
+	}
+
+	@Override
+	public void write(CheckpointOutput output, InferredType value) {
+		writeTypes(output, value.mustTypes());
+		writeTypes(output, value.mayConcreteTypes());
+		var candidateType = value.candidateType();
+		// Reserve 0 for a missing candidate type.
+		output.writeVarInt(candidateType == null ? 0 : getIndex(candidateType) + 1);
+	}
+
+	private void writeTypes(CheckpointOutput output, Set<PartialRelation> typeSet) {
+		output.writeVarInt(typeSet.size());
+		for (var type : typeSet) {
+			output.writeVarInt(getIndex(type));
+		}
+	}
+
+	private int getIndex(PartialRelation type) {
+		var index = indices.get(type);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown type: " + type);
+		}
+		return index;
+	}
+
+	@Override
+	public InferredType read(CheckpointInput input) {
+		var mustTypes = readTypes(input);
+		var mayConcreteTypes = readTypes(input);
+		int candidateIndex = input.readCount();
+		var candidateType = candidateIndex == 0 ? null : getType(candidateIndex - 1);
+		return new InferredType(mustTypes, mayConcreteTypes, candidateType);
+	}
+
+	private Set<PartialRelation> readTypes(CheckpointInput input) {
+		int count = input.readCount();
+		var typeSet = LinkedHashSet.<PartialRelation>newLinkedHashSet(count);
+		for (int i = 0; i < count; i++) {
+			typeSet.add(getType(input.readCount()));
+		}
+		return typeSet;
+	}
+
+	private PartialRelation getType(int index) {
+		if (index >= types.length) {
+			throw new IllegalArgumentException("Invalid type index in checkpoint: " + index);
+		}
+		return types[index];
+	}
+}
@@ -42,6 +42,7 @@ public class TypeHierarchyTranslator implements ModelStoreConfiguration {
 		}
 
 		storeBuilder.symbol(TYPE_SYMBOL);
+		storeBuilder.valueCodec(InferredType.class, new InferredTypeCodec(typeHierarchy));
 
 		for (var entry : typeHierarchy.getPreservedTypes().entrySet()) {
 			storeBuilder.with(createPreservedTypeTranslator(entry.getKey(), entry.getValue()));
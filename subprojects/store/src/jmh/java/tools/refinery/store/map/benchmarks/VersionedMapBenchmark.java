@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+public class VersionedMapBenchmark {
+	@Benchmark
+	public void commitBenchmark(VersionedMapExecutionPlan executionPlan, Blackhole blackhole) {
+		executionPlan.putChanges();
+		blackhole.consume(executionPlan.getSut().commit());
+	}
+
+	@Benchmark
+	public void restoreBenchmark(VersionedMapExecutionPlan executionPlan, Blackhole blackhole) {
+		var sut = executionPlan.getSut();
+		sut.restore(executionPlan.nextVersion());
+		blackhole.consume(sut);
+	}
+
+	@Benchmark
+	public void diffBenchmark(VersionedMapExecutionPlan executionPlan, Blackhole blackhole) {
+		var cursor = executionPlan.getStore().getDiffCursor(executionPlan.nextVersion(),
+				executionPlan.nextVersion());
+		while (cursor.move()) {
+			blackhole.consume(cursor.getKey());
+			blackhole.consume(cursor.getToValue());
+		}
+	}
+}
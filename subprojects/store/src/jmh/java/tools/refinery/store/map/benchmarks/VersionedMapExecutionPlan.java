@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
+import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
+import tools.refinery.store.map.tests.utils.MapTestEnvironment;
+import tools.refinery.store.model.TupleHashProvider;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Versioned maps with tuple keys, as used by model interpretations.
+ * <p>
+ * Keys are tuples instead of integers, because {@link VersionedMapStoreFactoryBuilder.StoreStrategy#OFF_HEAP} stores
+ * only support tuple keys.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class VersionedMapExecutionPlan {
+	@Param({"STATE", "DELTA", "OFF_HEAP"})
+	public VersionedMapStoreFactoryBuilder.StoreStrategy strategy;
+
+	@Param({"1000", "100000"})
+	public int nKeys;
+
+	@Param({"100"})
+	public int nChanges;
+
+	@Param({"100"})
+	public int nVersions;
+
+	private Tuple[] keys;
+
+	private String[] values;
+
+	private Random random;
+
+	private VersionedMapStore<Tuple, String> store;
+
+	private VersionedMap<Tuple, String> sut;
+
+	private final List<Version> versions = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		keys = new Tuple[nKeys];
+		for (int i = 0; i < nKeys; i++) {
+			keys[i] = Tuple.of(i);
+		}
+		values = MapTestEnvironment.prepareValues(3, true);
+		// Use a fixed seed so that results of different runs are comparable.
+		random = new Random(1);
+		var builder = VersionedMapStore.<Tuple, String>builder()
+				.strategy(strategy)
+				.defaultValue(values[0]);
+		if (strategy == VersionedMapStoreFactoryBuilder.StoreStrategy.STATE) {
+			// Setting a hash provider for other strategies is rejected as a mixed strategy parametrization.
+			builder.stateBasedHashProvider(TupleHashProvider.INSTANCE);
+		}
+		store = builder.build().createOne();
+		sut = store.createMap();
+		for (int i = 0; i < nVersions; i++) {
+			putChanges();
+			versions.add(sut.commit());
+		}
+	}
+
+	public VersionedMapStore<Tuple, String> getStore() {
+		return store;
+	}
+
+	public VersionedMap<Tuple, String> getSut() {
+		return sut;
+	}
+
+	public void putChanges() {
+		for (int i = 0; i < nChanges; i++) {
+			sut.put(keys[random.nextInt(nKeys)], values[random.nextInt(values.length)]);
+		}
+	}
+
+	public Version nextVersion() {
+		return versions.get(random.nextInt(versions.size()));
+	}
+}
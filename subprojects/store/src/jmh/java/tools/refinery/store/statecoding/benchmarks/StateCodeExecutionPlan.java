@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.statecoding.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCodeCalculator;
+import tools.refinery.store.statecoding.neighborhood.IndividualsSet;
+import tools.refinery.store.statecoding.neighborhood.NeighborhoodCalculator;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+import java.util.Random;
+
+@State(Scope.Benchmark)
+public class StateCodeExecutionPlan {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+
+	@Param({"100", "1000"})
+	public int nNodes;
+
+	@Param({"3"})
+	public int nFriendsPerNode;
+
+	private StateCodeCalculator calculator;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.build();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		// Use a fixed seed so that results of different runs are comparable.
+		var random = new Random(1);
+		for (int i = 0; i < nNodes; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+			for (int j = 0; j < nFriendsPerNode; j++) {
+				friendInterpretation.put(Tuple.of(i, random.nextInt(nNodes)), true);
+			}
+		}
+		calculator = NeighborhoodCalculator.factory().create(model,
+				List.of(personInterpretation, friendInterpretation), IndividualsSet.EMPTY);
+	}
+
+	public StateCodeCalculator getCalculator() {
+		return calculator;
+	}
+}
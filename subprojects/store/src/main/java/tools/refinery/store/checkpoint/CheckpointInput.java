@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads checkpoints written by {@link CheckpointOutput}.
+ */
+public final class CheckpointInput {
+	private final ByteBuffer buffer;
+
+	public CheckpointInput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Opens a checkpoint file by mapping it into memory.
+	 * <p>
+	 * The file is read lazily by the operating system, so only the parts of the checkpoint that are actually used
+	 * are loaded into memory.
+	 * </p>
+	 *
+	 * @param path The file to read.
+	 * @return The contents of the file.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static CheckpointInput open(Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel is closed.
+			return new CheckpointInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public boolean hasRemaining() {
+		return buffer.hasRemaining();
+	}
+
+	private void checkRemaining(int bytes) {
+		if (buffer.remaining() < bytes) {
+			throw new IllegalArgumentException("Unexpected end of checkpoint");
+		}
+	}
+
+	public int readByte() {
+		checkRemaining(1);
+		return buffer.get();
+	}
+
+	public boolean readBoolean() {
+		return switch (readByte()) {
+			case 0 -> false;
+			case 1 -> true;
+			default -> throw new IllegalArgumentException("Invalid boolean in checkpoint");
+		};
+	}
+
+	public int readInt() {
+		checkRemaining(Integer.BYTES);
+		return buffer.getInt();
+	}
+
+	public int readVarInt() {
+		int encoded = 0;
+		int shift = 0;
+		int currentByte;
+		do {
+			if (shift >= Integer.SIZE + 3) {
+				throw new IllegalArgumentException("Invalid variable length integer in checkpoint");
+			}
+			currentByte = readByte();
+			encoded |= (currentByte & 0x7F) << shift;
+			shift += 7;
+		} while ((currentByte & 0x80) != 0);
+		return (encoded >>> 1) ^ -(encoded & 1);
+	}
+
+	/**
+	 * Reads a variable length integer that must not be negative, such as a count.
+	 *
+	 * @return The value read.
+	 */
+	public int readCount() {
+		int count = readVarInt();
+		if (count < 0) {
+			throw new IllegalArgumentException("Invalid count in checkpoint: " + count);
+		}
+		return count;
+	}
+
+	public long readLong() {
+		checkRemaining(Long.BYTES);
+		return buffer.getLong();
+	}
+
+	public double readDouble() {
+		checkRemaining(Double.BYTES);
+		return buffer.getDouble();
+	}
+
+	public String readString() {
+		int length = readCount();
+		checkRemaining(length);
+		var bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates a view of the remaining input with an independent position.
+	 *
+	 * @return The new view.
+	 */
+	public CheckpointInput duplicate() {
+		return new CheckpointInput(buffer.duplicate());
+	}
+
+	/**
+	 * Splits off the next {@code length} bytes so that they can be read later, independently of this input.
+	 *
+	 * @param length The number of bytes to split off.
+	 * @return The input for the split off bytes.
+	 */
+	public CheckpointInput slice(int length) {
+		checkRemaining(length);
+		var slice = buffer.slice(buffer.position(), length);
+		buffer.position(buffer.position() + length);
+		return new CheckpointInput(slice);
+	}
+}
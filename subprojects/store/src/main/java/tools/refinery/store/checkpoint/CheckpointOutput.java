@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Growable binary buffer for writing checkpoints.
+ * <p>
+ * Non-negative numbers that are usually small, such as node identifiers and counts, should be written with
+ * {@link #writeVarInt(int)} to keep checkpoints compact.
+ * </p>
+ */
+public final class CheckpointOutput {
+	private static final int INITIAL_CAPACITY = 4096;
+
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+	public int size() {
+		return buffer.position();
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		int required = buffer.position() + additionalBytes;
+		if (required < 0) {
+			throw new IllegalStateException("Checkpoint is too large");
+		}
+		if (required <= buffer.capacity()) {
+			return;
+		}
+		int newCapacity = Math.max(required, buffer.capacity() * 2);
+		if (newCapacity < 0) {
+			newCapacity = Integer.MAX_VALUE;
+		}
+		var newBuffer = ByteBuffer.allocate(newCapacity);
+		buffer.flip();
+		newBuffer.put(buffer);
+		buffer = newBuffer;
+	}
+
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		buffer.put((byte) value);
+	}
+
+	public void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	public void writeInt(int value) {
+		ensureCapacity(Integer.BYTES);
+		buffer.putInt(value);
+	}
+
+	/**
+	 * Writes an {@code int} in a variable length zig-zag encoding, which takes a single byte for values between
+	 * {@code -64} and {@code 63}.
+	 *
+	 * @param value The value to write.
+	 */
+	public void writeVarInt(int value) {
+		int encoded = (value << 1) ^ (value >> 31);
+		ensureCapacity(5);
+		while ((encoded & ~0x7F) != 0) {
+			buffer.put((byte) ((encoded & 0x7F) | 0x80));
+			encoded >>>= 7;
+		}
+		buffer.put((byte) encoded);
+	}
+
+	public void writeLong(long value) {
+		ensureCapacity(Long.BYTES);
+		buffer.putLong(value);
+	}
+
+	public void writeDouble(double value) {
+		ensureCapacity(Double.BYTES);
+		buffer.putDouble(value);
+	}
+
+	public void writeString(String value) {
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		buffer.put(bytes);
+	}
+
+	public void write(CheckpointOutput other) {
+		var contents = other.buffer.duplicate().flip();
+		ensureCapacity(contents.remaining());
+		buffer.put(contents);
+	}
+
+	/**
+	 * Gets the contents of this buffer, e.g., to send them to another machine.
+	 *
+	 * @return A read-only view of the bytes written so far.
+	 */
+	public ByteBuffer asReadOnlyBuffer() {
+		return buffer.asReadOnlyBuffer().flip();
+	}
+
+	/**
+	 * Writes the contents of this buffer to a file through a memory mapping.
+	 *
+	 * @param path The file to write. It is overwritten if it already exists.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void writeTo(Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			var mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size());
+			mappedBuffer.put(buffer.duplicate().flip());
+			mappedBuffer.force();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Objects;
+
+/**
+ * Reads versions of models from a checkpoint written by {@link ModelCheckpointWriter}.
+ * <p>
+ * Versions are decoded lazily, only when they are {@link #restore(Model, Version, int) restored}.
+ * </p>
+ */
+public class ModelCheckpointReader {
+	private final Symbol<?>[] symbols;
+	private final ValueCodec<?>[] codecs;
+	private final CheckpointInput[] versionInputs;
+
+	/**
+	 * Reads the table of contents of the model checkpoint.
+	 * <p>
+	 * Afterwards, {@code input} is positioned right after the model checkpoint, so that other data stored in the
+	 * same file can be read.
+	 * </p>
+	 *
+	 * @param store The store of the models to restore.
+	 * @param input The checkpoint to read.
+	 * @throws IllegalArgumentException If the checkpoint is invalid or was written for a different store.
+	 */
+	public ModelCheckpointReader(ModelStore store, CheckpointInput input) {
+		if (input.readInt() != ModelCheckpointWriter.MAGIC) {
+			throw new IllegalArgumentException("Not a model checkpoint");
+		}
+		int formatVersion = input.readVarInt();
+		if (formatVersion != ModelCheckpointWriter.FORMAT_VERSION) {
+			throw new IllegalArgumentException("Unsupported checkpoint format version: " + formatVersion);
+		}
+		var storeSymbols = store.getSymbols();
+		int symbolCount = input.readCount();
+		if (symbolCount != storeSymbols.size()) {
+			throw new IllegalArgumentException("Checkpoint has %d symbols, but the model store has %d"
+					.formatted(symbolCount, storeSymbols.size()));
+		}
+		symbols = new Symbol<?>[symbolCount];
+		codecs = new ValueCodec<?>[symbolCount];
+		int i = 0;
+		for (var symbol : storeSymbols) {
+			var typedSymbol = (Symbol<?>) symbol;
+			checkSymbol(input, typedSymbol);
+			symbols[i] = typedSymbol;
+			codecs[i] = store.getValueCodec(typedSymbol);
+			i++;
+		}
+		int versionCount = input.readCount();
+		versionInputs = new CheckpointInput[versionCount];
+		for (int j = 0; j < versionCount; j++) {
+			int length = input.readCount();
+			versionInputs[j] = input.slice(length);
+		}
+	}
+
+	private static void checkSymbol(CheckpointInput input, Symbol<?> symbol) {
+		var name = input.readString();
+		int arity = input.readCount();
+		var valueTypeName = input.readString();
+		if (!Objects.equals(name, symbol.name()) || arity != symbol.arity() ||
+				!Objects.equals(valueTypeName, symbol.valueType().getName())) {
+			throw new IllegalArgumentException("Checkpoint symbol %s/%d of type %s does not match %s of type %s"
+					.formatted(name, arity, valueTypeName, symbol, symbol.valueType().getName()));
+		}
+	}
+
+	public int getVersionCount() {
+		return versionInputs.length;
+	}
+
+	/**
+	 * Re-creates a version from the checkpoint.
+	 * <p>
+	 * The model is restored to the base version, the changes stored in the checkpoint are applied, and the model is
+	 * committed. Thus, the model will be in the restored version afterwards.
+	 * </p>
+	 *
+	 * @param model The model to restore.
+	 * @param base  The version that was used as the base of the checkpoint.
+	 * @param index The index of the version in the checkpoint.
+	 * @return The newly committed version.
+	 */
+	public Version restore(Model model, Version base, int index) {
+		if (index < 0 || index >= versionInputs.length) {
+			throw new IndexOutOfBoundsException("Checkpoint has no version with index " + index);
+		}
+		// Read from an independent view so that the same version can be restored multiple times.
+		var input = versionInputs[index].duplicate();
+		model.restore(base);
+		for (int i = 0; i < symbols.length; i++) {
+			readChanges(input, model, symbols[i], codecs[i]);
+		}
+		return model.commit();
+	}
+
+	private static <T> void readChanges(CheckpointInput input, Model model, Symbol<T> symbol, ValueCodec<?> codec) {
+		@SuppressWarnings("unchecked")
+		var typedCodec = (ValueCodec<T>) codec;
+		var interpretation = model.getInterpretation(symbol);
+		int arity = symbol.arity();
+		int changeCount = input.readCount();
+		for (int i = 0; i < changeCount; i++) {
+			var nodes = new int[arity];
+			for (int j = 0; j < arity; j++) {
+				nodes[j] = input.readVarInt();
+			}
+			var value = input.readBoolean() ? typedCodec.read(input) : null;
+			interpretation.put(Tuple.of(nodes), value);
+		}
+	}
+}
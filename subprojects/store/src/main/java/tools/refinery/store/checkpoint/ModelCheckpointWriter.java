@@ -0,0 +1,169 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelDiffCursor;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes versions of models to a checkpoint.
+ * <p>
+ * Each version is stored as its difference from a base version, which must be re-created identically (e.g., from
+ * the same model seed) when the checkpoint is read by {@link ModelCheckpointReader}. Thus, the size of the checkpoint
+ * only depends on the changes made since the base version, and internal data structures of the
+ * {@link tools.refinery.store.map.VersionedMapStore} do not have to be persisted.
+ * </p>
+ */
+public class ModelCheckpointWriter {
+	static final int MAGIC = 0x52464350;
+	static final int FORMAT_VERSION = 1;
+	private static final long PRIME = 31;
+
+	private final ModelStore store;
+	private final Version base;
+	private final Symbol<?>[] symbols;
+	private final ValueCodec<?>[] codecs;
+	private final Map<Version, Integer> versionIndexes = new HashMap<>();
+	private final CheckpointOutput versionsOutput = new CheckpointOutput();
+
+	public ModelCheckpointWriter(ModelStore store, Version base) {
+		this.store = store;
+		this.base = base;
+		var storeSymbols = store.getSymbols();
+		symbols = new Symbol<?>[storeSymbols.size()];
+		codecs = new ValueCodec<?>[symbols.length];
+		int i = 0;
+		for (var symbol : storeSymbols) {
+			var typedSymbol = (Symbol<?>) symbol;
+			symbols[i] = typedSymbol;
+			codecs[i] = store.getValueCodec(typedSymbol);
+			i++;
+		}
+	}
+
+	/**
+	 * Adds a version to the checkpoint.
+	 *
+	 * @param version The version to add.
+	 * @return The index of the version in the checkpoint. Adding the same version again returns the same index.
+	 */
+	public int addVersion(Version version) {
+		var existingIndex = versionIndexes.get(version);
+		if (existingIndex != null) {
+			return existingIndex;
+		}
+		int index = versionIndexes.size();
+		var diffCursor = store.getDiffCursor(base, version);
+		var versionOutput = new CheckpointOutput();
+		for (int i = 0; i < symbols.length; i++) {
+			writeChanges(versionOutput, diffCursor, symbols[i], codecs[i]);
+		}
+		versionsOutput.writeVarInt(versionOutput.size());
+		versionsOutput.write(versionOutput);
+		versionIndexes.put(version, index);
+		return index;
+	}
+
+	private static <T> void writeChanges(CheckpointOutput output, ModelDiffCursor diffCursor, Symbol<T> symbol,
+										 ValueCodec<?> codec) {
+		@SuppressWarnings("unchecked")
+		var typedCodec = (ValueCodec<T>) codec;
+		var changesOutput = new CheckpointOutput();
+		int changeCount = 0;
+		var cursor = diffCursor.getCursor(symbol);
+		int arity = symbol.arity();
+		while (cursor.move()) {
+			var key = cursor.getKey();
+			for (int i = 0; i < arity; i++) {
+				changesOutput.writeVarInt(key.get(i));
+			}
+			var value = cursor.getToValue();
+			if (value == null) {
+				changesOutput.writeBoolean(false);
+			} else {
+				changesOutput.writeBoolean(true);
+				typedCodec.write(changesOutput, value);
+			}
+			changeCount++;
+		}
+		output.writeVarInt(changeCount);
+		output.write(changesOutput);
+	}
+
+	public void writeTo(CheckpointOutput output) {
+		output.writeInt(MAGIC);
+		output.writeVarInt(FORMAT_VERSION);
+		output.writeVarInt(symbols.length);
+		for (var symbol : symbols) {
+			writeSymbol(output, symbol);
+		}
+		output.writeVarInt(versionIndexes.size());
+		output.write(versionsOutput);
+	}
+
+	/**
+	 * Computes a fingerprint of the contents of a model.
+	 * <p>
+	 * Unlike state codes, which may rely on the identity hash codes of values, the fingerprint only depends on the
+	 * node identifiers and the encoding of values by their {@link ValueCodec}. Therefore, it can be stored in a
+	 * checkpoint to check whether the checkpoint is read with the same base version in another process.
+	 * </p>
+	 *
+	 * @param model The model to compute the fingerprint of.
+	 * @return The fingerprint of the current state of the model.
+	 */
+	public static long fingerprint(Model model) {
+		var store = model.getStore();
+		var valueOutput = new CheckpointOutput();
+		long result = 0;
+		for (var symbol : store.getSymbols()) {
+			var typedSymbol = (Symbol<?>) symbol;
+			result = result * PRIME + fingerprint(model, typedSymbol, store.getValueCodec(typedSymbol), valueOutput);
+		}
+		return result;
+	}
+
+	private static <T> long fingerprint(Model model, Symbol<T> symbol, ValueCodec<?> codec,
+										CheckpointOutput valueOutput) {
+		@SuppressWarnings("unchecked")
+		var typedCodec = (ValueCodec<T>) codec;
+		int arity = symbol.arity();
+		long result = 0;
+		var cursor = model.getInterpretation(symbol).getAll();
+		while (cursor.move()) {
+			var key = cursor.getKey();
+			long entryHash = 0;
+			for (int i = 0; i < arity; i++) {
+				entryHash = entryHash * PRIME + key.get(i);
+			}
+			int start = valueOutput.size();
+			var value = cursor.getValue();
+			if (value == null) {
+				valueOutput.writeBoolean(false);
+			} else {
+				valueOutput.writeBoolean(true);
+				typedCodec.write(valueOutput, value);
+			}
+			entryHash = entryHash * PRIME + valueOutput.asReadOnlyBuffer().position(start).hashCode();
+			// Add up the hashes of the entries, because the order of the cursor depends on the map implementation.
+			result += entryHash;
+		}
+		return result;
+	}
+
+	static void writeSymbol(CheckpointOutput output, AnySymbol symbol) {
+		output.writeString(symbol.name());
+		output.writeVarInt(symbol.arity());
+		output.writeString(symbol.valueType().getName());
+	}
+}
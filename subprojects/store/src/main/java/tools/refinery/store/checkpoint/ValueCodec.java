@@ -0,0 +1,21 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+/**
+ * Binary encoding of the values of a symbol in checkpoints.
+ * <p>
+ * Codecs never see {@code null} values, since checkpoints record the presence of values separately.
+ * </p>
+ *
+ * @param <T> The type of the values.
+ * @see tools.refinery.store.model.ModelStoreBuilder#valueCodec(Class, ValueCodec)
+ */
+public interface ValueCodec<T> {
+	void write(CheckpointOutput output, T value);
+
+	T read(CheckpointInput input);
+}
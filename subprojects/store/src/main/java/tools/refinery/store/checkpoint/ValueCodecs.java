@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import java.util.Optional;
+
+public final class ValueCodecs {
+	public static final ValueCodec<Boolean> BOOLEAN = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, Boolean value) {
+			output.writeBoolean(value);
+		}
+
+		@Override
+		public Boolean read(CheckpointInput input) {
+			return input.readBoolean();
+		}
+	};
+
+	public static final ValueCodec<Integer> INTEGER = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, Integer value) {
+			output.writeVarInt(value);
+		}
+
+		@Override
+		public Integer read(CheckpointInput input) {
+			return input.readVarInt();
+		}
+	};
+
+	public static final ValueCodec<Long> LONG = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, Long value) {
+			output.writeLong(value);
+		}
+
+		@Override
+		public Long read(CheckpointInput input) {
+			return input.readLong();
+		}
+	};
+
+	public static final ValueCodec<Double> DOUBLE = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, Double value) {
+			output.writeDouble(value);
+		}
+
+		@Override
+		public Double read(CheckpointInput input) {
+			return input.readDouble();
+		}
+	};
+
+	public static final ValueCodec<String> STRING = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, String value) {
+			output.writeString(value);
+		}
+
+		@Override
+		public String read(CheckpointInput input) {
+			return input.readString();
+		}
+	};
+
+	private ValueCodecs() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	/**
+	 * Encodes the values of an enum by their ordinals.
+	 *
+	 * @param enumType The enum class.
+	 * @param <E>      The enum type.
+	 * @return The codec.
+	 */
+	public static <E extends Enum<E>> ValueCodec<E> ofEnum(Class<E> enumType) {
+		var constants = enumType.getEnumConstants();
+		return new ValueCodec<>() {
+			@Override
+			public void write(CheckpointOutput output, E value) {
+				output.writeVarInt(value.ordinal());
+			}
+
+			@Override
+			public E read(CheckpointInput input) {
+				int ordinal = input.readCount();
+				if (ordinal >= constants.length) {
+					throw new IllegalArgumentException("Invalid %s in checkpoint: %d"
+							.formatted(enumType.getName(), ordinal));
+				}
+				return constants[ordinal];
+			}
+		};
+	}
+
+	/**
+	 * Gets the built-in codec for a value type, if there is one.
+	 *
+	 * @param valueType The type of the values.
+	 * @param <T>       The type of the values.
+	 * @return The codec for booleans, integers, longs, doubles, strings, and enums, or an empty optional for other
+	 * types.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static <T> Optional<ValueCodec<T>> tryGetBuiltIn(Class<T> valueType) {
+		ValueCodec<?> codec;
+		if (valueType == Boolean.class) {
+			codec = BOOLEAN;
+		} else if (valueType == Integer.class) {
+			codec = INTEGER;
+		} else if (valueType == Long.class) {
+			codec = LONG;
+		} else if (valueType == Double.class) {
+			codec = DOUBLE;
+		} else if (valueType == String.class) {
+			codec = STRING;
+		} else if (valueType.isEnum()) {
+			codec = ofEnum((Class) valueType);
+		} else {
+			codec = null;
+		}
+		return Optional.ofNullable((ValueCodec<T>) codec);
+	}
+}
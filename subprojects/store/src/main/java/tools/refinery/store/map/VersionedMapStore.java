@@ -15,6 +15,18 @@ public interface VersionedMapStore<K, V> {
 
 	DiffCursor<K,V> getDiffCursor(Version fromState, Version toState);
 
+	/**
+	 * Estimates the number of changes between two versions without iterating over their contents.
+	 * <p>
+	 * The estimate is proportional to the work required to restore a map from {@code fromState} to {@code toState}
+	 * and is zero if the two versions are the same.
+	 *
+	 * @param fromState The version to start from.
+	 * @param toState   The version to restore.
+	 * @return The estimated number of changed entries.
+	 */
+	long estimateDistance(Version fromState, Version toState);
+
 	static <K,V> VersionedMapStoreFactoryBuilder<K,V> builder() {
 		return new VersionedMapStoreFactoryBuilderImpl<>();
 	}
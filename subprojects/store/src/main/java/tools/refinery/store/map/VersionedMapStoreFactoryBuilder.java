@@ -7,7 +7,16 @@ package tools.refinery.store.map;
 
 public interface VersionedMapStoreFactoryBuilder<K,V> {
 	enum StoreStrategy {
-		STATE, DELTA
+		STATE,
+		DELTA,
+		/**
+		 * Like {@link #DELTA}, but committed changes are stored in direct memory as fixed-layout {@code int} records.
+		 * <p>
+		 * Only applicable to maps with {@link tools.refinery.store.tuple.Tuple} keys of the same arity. Direct memory
+		 * is limited by the {@code -XX:MaxDirectMemorySize} JVM option.
+		 * </p>
+		 */
+		OFF_HEAP
 	}
 
 	enum DeltaTransactionStrategy {
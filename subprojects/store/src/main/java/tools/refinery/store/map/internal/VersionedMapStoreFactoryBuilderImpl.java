@@ -9,6 +9,7 @@ import tools.refinery.store.map.ContinuousHashProvider;
 import tools.refinery.store.map.VersionedMapStoreFactory;
 import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
 import tools.refinery.store.map.internal.delta.DeltaBasedVersionedMapStoreFactory;
+import tools.refinery.store.map.internal.offheap.OffHeapBasedVersionedMapStoreFactory;
 import tools.refinery.store.map.internal.state.StateBasedVersionedMapStoreFactory;
 
 public class VersionedMapStoreFactoryBuilderImpl<K, V> implements VersionedMapStoreFactoryBuilder<K, V> {
@@ -131,9 +132,17 @@ public class VersionedMapStoreFactoryBuilderImpl<K, V> implements VersionedMapSt
 			}
 			case DELTA -> new DeltaBasedVersionedMapStoreFactory<>(defaultValue,
 					getOrDefault(deltaTransactionStrategy, DeltaTransactionStrategy.LIST));
+			case OFF_HEAP -> createOffHeapFactory();
 		};
 	}
 
+	@SuppressWarnings("unchecked")
+	private VersionedMapStoreFactory<K, V> createOffHeapFactory() {
+		// Off-heap stores only support tuple keys, which we can't check here due to type erasure. Using any other
+		// key type will result in a ClassCastException upon commit.
+		return (VersionedMapStoreFactory<K, V>) new OffHeapBasedVersionedMapStoreFactory<>(defaultValue);
+	}
+
 	@Override
 	public String toString() {
 		return "VersionedMapStoreFactoryBuilderImpl{" +
@@ -84,6 +84,24 @@ public class VersionedMapStoreDeltaImpl<K, V> implements VersionedMapStore<K, V>
 		return target;
 	}
 
+	@Override
+	public long estimateDistance(Version fromState, Version toState) {
+		MapTransaction<K, V> fromTransaction = getState(fromState);
+		MapTransaction<K, V> toTransaction = getState(toState);
+		long distance = 0;
+		// Walk up to the common ancestor like in getPath, but only count the deltas to be undone and replayed.
+		while (fromTransaction != toTransaction) {
+			if (fromTransaction == null || (toTransaction != null && fromTransaction.depth() < toTransaction.depth())) {
+				distance += toTransaction.deltas().length;
+				toTransaction = toTransaction.parent();
+			} else {
+				distance += fromTransaction.deltas().length;
+				fromTransaction = fromTransaction.parent();
+			}
+		}
+		return distance;
+	}
+
 	@Override
 	public DiffCursor<K, V> getDiffCursor(Version fromState, Version toState) {
 		List<MapDelta<K, V>[]> backwardTransactions = new ArrayList<>();
@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.VersionedMapStoreFactory;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OffHeapBasedVersionedMapStoreFactory<V> implements VersionedMapStoreFactory<Tuple, V> {
+	private final V defaultValue;
+
+	public OffHeapBasedVersionedMapStoreFactory(V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	@Override
+	public VersionedMapStore<Tuple, V> createOne() {
+		return new VersionedMapStoreOffHeapImpl<>(defaultValue);
+	}
+
+	@Override
+	public List<VersionedMapStore<Tuple, V>> createGroup(int amount) {
+		// Stores in a group share their value pool and the chunks of direct memory.
+		var storage = new OffHeapStorage<>(defaultValue);
+		List<VersionedMapStore<Tuple, V>> result = new ArrayList<>(amount);
+		for (int i = 0; i < amount; i++) {
+			result.add(new VersionedMapStoreOffHeapImpl<>(storage, defaultValue));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import tools.refinery.store.map.AnyVersionedMap;
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.map.internal.delta.MapDelta;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Iterates over the changes of off-heap transactions in the same order as
+ * {@link tools.refinery.store.map.internal.delta.DeltaDiffCursor}.
+ * <p>
+ * Uncommitted changes of a map are iterated directly from their on-heap {@link MapDelta} records before the backward
+ * transactions. They are not encoded as a transaction, because that would add their values to the
+ * {@link OffHeapValuePool}, which is never shrunk.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+class OffHeapDiffCursor<V> implements DiffCursor<Tuple, V> {
+	private final OffHeapValuePool<V> valuePool;
+	private final MapDelta<Tuple, V>[] uncommitted;
+	private final List<OffHeapTransaction> backwardTransactions;
+	private final List<OffHeapTransaction> forwardTransactions;
+
+	private boolean started;
+	/**
+	 * Denotes the direction of traversal. False means backwards, true means
+	 * forward.
+	 */
+	private boolean direction;
+	/**
+	 * Whether the cursor is iterating over the uncommitted changes. In this case, {@link #listIndex} is -1, so that
+	 * the backward transactions are visited next.
+	 */
+	private boolean inUncommitted;
+	private int listIndex;
+	private int arrayIndex;
+	private Tuple key;
+
+	OffHeapDiffCursor(OffHeapValuePool<V> valuePool, List<OffHeapTransaction> backwardTransactions,
+					  List<OffHeapTransaction> forwardTransactions) {
+		this(valuePool, null, backwardTransactions, forwardTransactions);
+	}
+
+	OffHeapDiffCursor(OffHeapValuePool<V> valuePool, MapDelta<Tuple, V>[] uncommitted,
+					  List<OffHeapTransaction> backwardTransactions, List<OffHeapTransaction> forwardTransactions) {
+		this.valuePool = valuePool;
+		this.uncommitted = uncommitted;
+		this.backwardTransactions = backwardTransactions;
+		this.forwardTransactions = forwardTransactions;
+
+		if (uncommitted != null && uncommitted.length > 0) {
+			direction = false;
+			inUncommitted = true;
+			listIndex = -1;
+			arrayIndex = uncommitted.length - 1;
+		} else if (!backwardTransactions.isEmpty()) {
+			direction = false;
+			listIndex = 0;
+			arrayIndex = backwardTransactions.get(listIndex).size() - 1;
+		} else if (!forwardTransactions.isEmpty()) {
+			direction = true;
+			listIndex = forwardTransactions.size() - 1;
+			arrayIndex = 0;
+		} else {
+			direction = true;
+			listIndex = -1;
+		}
+		started = false;
+	}
+
+	private OffHeapTransaction getCurrentTransaction() {
+		return direction ? forwardTransactions.get(listIndex) : backwardTransactions.get(listIndex);
+	}
+
+	@Override
+	public Tuple getKey() {
+		if (key == null) {
+			key = inUncommitted ? uncommitted[arrayIndex].key() : getCurrentTransaction().getKey(arrayIndex);
+		}
+		return key;
+	}
+
+	@Override
+	public V getValue() {
+		return getToValue();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.direction && listIndex == -1;
+	}
+
+	@Override
+	public boolean move() {
+		key = null;
+		if (!started) {
+			started = true;
+			return !isTerminated();
+		}
+		if (isTerminated()) {
+			return false;
+		}
+		if (this.direction) {
+			return moveForward();
+		}
+		return moveBackward();
+	}
+
+	private boolean moveForward() {
+		if (arrayIndex + 1 < forwardTransactions.get(listIndex).size()) {
+			arrayIndex++;
+			return true;
+		}
+		if (listIndex - 1 >= 0) {
+			listIndex--;
+			arrayIndex = 0;
+			return true;
+		}
+		listIndex = -1;
+		return false;
+	}
+
+	private boolean moveBackward() {
+		if (arrayIndex > 0) {
+			arrayIndex--;
+			return true;
+		}
+		inUncommitted = false;
+		if (listIndex + 1 < backwardTransactions.size()) {
+			listIndex++;
+			this.arrayIndex = backwardTransactions.get(listIndex).size() - 1;
+			return true;
+		}
+		this.direction = true;
+		if (!this.forwardTransactions.isEmpty()) {
+			listIndex = forwardTransactions.size() - 1;
+			arrayIndex = 0;
+			return true;
+		}
+		listIndex = -1;
+		return false;
+	}
+
+	@Override
+	public boolean isDirty() {
+		return false;
+	}
+
+	@Override
+	public Set<AnyVersionedMap> getDependingMaps() {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public V getFromValue() {
+		if (inUncommitted) {
+			return uncommitted[arrayIndex].newValue();
+		}
+		var transaction = getCurrentTransaction();
+		int id = this.direction ? transaction.getOldValueId(arrayIndex) : transaction.getNewValueId(arrayIndex);
+		return valuePool.get(id);
+	}
+
+	@Override
+	public V getToValue() {
+		if (inUncommitted) {
+			return uncommitted[arrayIndex].oldValue();
+		}
+		var transaction = getCurrentTransaction();
+		int id = this.direction ? transaction.getNewValueId(arrayIndex) : transaction.getOldValueId(arrayIndex);
+		return valuePool.get(id);
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates direct memory for committed transactions and interns their values.
+ * <p>
+ * Small transactions are carved out of shared chunks to avoid the overhead of allocating and cleaning up a direct
+ * buffer for each commit. Since every slice refers to its chunk, a chunk is released by the garbage collector once
+ * none of the transactions stored in it are reachable.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+final class OffHeapStorage<V> {
+	static final int CHUNK_SIZE = 1 << 20;
+	private static final int MAX_SLICE_SIZE = CHUNK_SIZE / 4;
+
+	private final OffHeapValuePool<V> valuePool;
+	private ByteBuffer chunk;
+	private int chunkPosition;
+
+	OffHeapStorage(V defaultValue) {
+		valuePool = new OffHeapValuePool<>(defaultValue);
+	}
+
+	OffHeapValuePool<V> getValuePool() {
+		return valuePool;
+	}
+
+	synchronized ByteBuffer allocate(int byteSize) {
+		if (byteSize > MAX_SLICE_SIZE) {
+			return ByteBuffer.allocateDirect(byteSize).order(ByteOrder.nativeOrder());
+		}
+		if (chunk == null || chunkPosition + byteSize > CHUNK_SIZE) {
+			chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+			chunkPosition = 0;
+		}
+		// Slices always use big endian byte order, so we have to set the native byte order again.
+		var slice = chunk.slice(chunkPosition, byteSize).order(ByteOrder.nativeOrder());
+		chunkPosition += byteSize;
+		return slice;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import tools.refinery.store.map.Version;
+import tools.refinery.store.tuple.Tuple;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A committed transaction whose changes are stored outside the Java heap.
+ * <p>
+ * Each change is a fixed-size record of {@code arity + 2} {@code int}s: the elements of the key, followed by the
+ * identifiers of the old and new values in the {@link OffHeapValuePool}. Thus, the garbage collector only has to
+ * trace a single small object per transaction, regardless of the number of changes.
+ * </p>
+ */
+final class OffHeapTransaction implements Version {
+	private static final int OLD_VALUE_OFFSET = 0;
+	private static final int NEW_VALUE_OFFSET = 1;
+	private static final int VALUE_ID_COUNT = 2;
+
+	private final ByteBuffer changes;
+	private final int arity;
+	private final int size;
+	private final OffHeapTransaction parent;
+	private final int depth;
+
+	OffHeapTransaction(ByteBuffer changes, int arity, int size, OffHeapTransaction parent, int depth) {
+		this.changes = changes;
+		this.arity = arity;
+		this.size = size;
+		this.parent = parent;
+		this.depth = depth;
+	}
+
+	static int getStride(int arity) {
+		return arity + VALUE_ID_COUNT;
+	}
+
+	static void putChange(ByteBuffer changes, int arity, int index, Tuple key, int oldValueId, int newValueId) {
+		int offset = index * getStride(arity);
+		for (int i = 0; i < arity; i++) {
+			changes.putInt((offset + i) * Integer.BYTES, key.get(i));
+		}
+		changes.putInt((offset + arity + OLD_VALUE_OFFSET) * Integer.BYTES, oldValueId);
+		changes.putInt((offset + arity + NEW_VALUE_OFFSET) * Integer.BYTES, newValueId);
+	}
+
+	int size() {
+		return size;
+	}
+
+	OffHeapTransaction parent() {
+		return parent;
+	}
+
+	int depth() {
+		return depth;
+	}
+
+	private int getInt(int index) {
+		return changes.getInt(index * Integer.BYTES);
+	}
+
+	Tuple getKey(int index) {
+		int offset = index * getStride(arity);
+		return switch (arity) {
+			case 0 -> Tuple.of();
+			case 1 -> Tuple.of(getInt(offset));
+			case 2 -> Tuple.of(getInt(offset), getInt(offset + 1));
+			case 3 -> Tuple.of(getInt(offset), getInt(offset + 1), getInt(offset + 2));
+			case 4 -> Tuple.of(getInt(offset), getInt(offset + 1), getInt(offset + 2), getInt(offset + 3));
+			default -> {
+				var elements = new int[arity];
+				for (int i = 0; i < arity; i++) {
+					elements[i] = getInt(offset + i);
+				}
+				yield Tuple.of(elements);
+			}
+		};
+	}
+
+	int getOldValueId(int index) {
+		return getInt(index * getStride(arity) + arity + OLD_VALUE_OFFSET);
+	}
+
+	int getNewValueId(int index) {
+		return getInt(index * getStride(arity) + arity + NEW_VALUE_OFFSET);
+	}
+
+	@Override
+	public String toString() {
+		return "OffHeapTransaction " + depth + " (" + size + " changes)";
+	}
+}
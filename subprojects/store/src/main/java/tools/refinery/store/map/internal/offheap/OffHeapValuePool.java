@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns {@code int} identifiers to the values stored in off-heap transactions.
+ * <p>
+ * Maps in a model usually contain only a few distinct values (e.g., truth values), so the pool itself stays small
+ * and the off-heap records can have a fixed layout regardless of the value type.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+final class OffHeapValuePool<V> {
+	static final int DEFAULT_VALUE_ID = 0;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Map<V, Integer> ids = new HashMap<>();
+	// Identifiers only escape this class after their values were written, so readers may access the array without
+	// locking. The array is replaced instead of being modified in place when it has to grow.
+	private volatile Object[] values = new Object[INITIAL_CAPACITY];
+	private int size;
+
+	OffHeapValuePool(V defaultValue) {
+		getId(defaultValue);
+	}
+
+	synchronized int getId(V value) {
+		var existingId = ids.get(value);
+		if (existingId != null) {
+			return existingId;
+		}
+		int id = size;
+		var currentValues = values;
+		if (id >= currentValues.length) {
+			currentValues = Arrays.copyOf(currentValues, currentValues.length * 2);
+			currentValues[id] = value;
+			values = currentValues;
+		} else {
+			currentValues[id] = value;
+		}
+		ids.put(value, id);
+		size++;
+		return id;
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(int id) {
+		return (V) values[id];
+	}
+}
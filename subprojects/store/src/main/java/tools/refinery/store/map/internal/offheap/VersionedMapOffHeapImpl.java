@@ -0,0 +1,220 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import tools.refinery.store.map.*;
+import tools.refinery.store.map.internal.delta.MapDelta;
+import tools.refinery.store.map.internal.delta.UncommittedDeltaArrayStore;
+import tools.refinery.store.map.internal.delta.UncommittedDeltaStore;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.*;
+
+/**
+ * Map backed by a {@link VersionedMapStoreOffHeapImpl}.
+ * <p>
+ * Only the current contents and the uncommitted changes of the map are stored on the heap.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+public class VersionedMapOffHeapImpl<V> implements VersionedMap<Tuple, V> {
+	protected final VersionedMapStoreOffHeapImpl<V> store;
+
+	final Map<Tuple, V> current = new LinkedHashMap<>();
+
+	final UncommittedDeltaStore<Tuple, V> uncommittedStore = new UncommittedDeltaArrayStore<>();
+	OffHeapTransaction previous;
+
+	protected final V defaultValue;
+
+	public VersionedMapOffHeapImpl(VersionedMapStoreOffHeapImpl<V> store, V defaultValue) {
+		this.store = store;
+		this.defaultValue = defaultValue;
+	}
+
+	@Override
+	public V getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public Version commit() {
+		MapDelta<Tuple, V>[] deltas = uncommittedStore.extractAndDeleteDeltas();
+		this.previous = this.store.appendTransaction(deltas, previous);
+		return previous;
+	}
+
+	@Override
+	public void restore(Version state) {
+		// 1. restore uncommitted states
+		MapDelta<Tuple, V>[] uncommitted = this.uncommittedStore.extractAndDeleteDeltas();
+		if (uncommitted != null) {
+			backward(uncommitted);
+		}
+
+		// 2. get common ancestor
+		var backward = new ArrayList<OffHeapTransaction>();
+		var forward = new ArrayList<OffHeapTransaction>();
+		this.previous = this.store.getPath(this.previous, state, backward, forward);
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < backward.size(); i++) {
+			backward(backward.get(i));
+		}
+		for (int i = forward.size() - 1; i >= 0; i--) {
+			forward(forward.get(i));
+		}
+	}
+
+	private void forward(OffHeapTransaction transaction) {
+		int size = transaction.size();
+		for (int i = 0; i < size; i++) {
+			setCurrent(transaction.getKey(i), transaction.getNewValueId(i));
+		}
+	}
+
+	private void backward(OffHeapTransaction transaction) {
+		for (int i = transaction.size() - 1; i >= 0; i--) {
+			setCurrent(transaction.getKey(i), transaction.getOldValueId(i));
+		}
+	}
+
+	private void setCurrent(Tuple key, int valueId) {
+		if (valueId == OffHeapValuePool.DEFAULT_VALUE_ID) {
+			current.remove(key);
+		} else {
+			current.put(key, store.getValuePool().get(valueId));
+		}
+	}
+
+	private void backward(MapDelta<Tuple, V>[] changes) {
+		for (int i = changes.length - 1; i >= 0; i--) {
+			final MapDelta<Tuple, V> change = changes[i];
+			Tuple key = change.getKey();
+			V oldValue = change.oldValue();
+
+			if (oldValue == defaultValue) {
+				current.remove(key);
+			} else {
+				current.put(key, oldValue);
+			}
+		}
+	}
+
+	@Override
+	public V get(Tuple key) {
+		return current.getOrDefault(key, defaultValue);
+	}
+
+	@Override
+	public Cursor<Tuple, V> getAll() {
+		return new IteratorAsCursor<>(this, current);
+	}
+
+	@Override
+	public V put(Tuple key, V value) {
+		final V oldValue;
+		if (Objects.equals(value, defaultValue)) {
+			final V res = current.remove(key);
+			if (res == null) {
+				// no changes: default > default
+				oldValue = defaultValue;
+			} else {
+				oldValue = res;
+			}
+		} else {
+			final var mapValue = current.put(key, value);
+			if (mapValue == null) {
+				oldValue = defaultValue;
+			} else {
+				oldValue = mapValue;
+			}
+		}
+		if (!Objects.equals(oldValue, value)) {
+			uncommittedStore.processChange(key, oldValue, value);
+		}
+		return oldValue;
+	}
+
+	@Override
+	public void putAll(Cursor<Tuple, V> cursor) {
+		if (cursor.getDependingMaps().contains(this)) {
+			List<Tuple> keys = new ArrayList<>();
+			List<V> values = new ArrayList<>();
+			while (cursor.move()) {
+				keys.add(cursor.getKey());
+				values.add(cursor.getValue());
+			}
+			for (int i = 0; i < keys.size(); i++) {
+				this.put(keys.get(i), values.get(i));
+			}
+		} else {
+			while (cursor.move()) {
+				this.put(cursor.getKey(), cursor.getValue());
+			}
+		}
+	}
+
+	@Override
+	public long getSize() {
+		return current.size();
+	}
+
+	@Override
+	public DiffCursor<Tuple, V> getDiffCursor(Version state) {
+		MapDelta<Tuple, V>[] uncommitted = this.uncommittedStore.extractDeltas();
+		var backwardTransactions = new ArrayList<OffHeapTransaction>();
+		var forwardTransactions = new ArrayList<OffHeapTransaction>();
+		store.getPath(this.previous, state, backwardTransactions, forwardTransactions);
+		return new OffHeapDiffCursor<>(store.getValuePool(), uncommitted, backwardTransactions, forwardTransactions);
+	}
+
+	@Override
+	public int contentHashCode(ContentHashCode mode) {
+		return this.current.hashCode();
+	}
+
+	@Override
+	public boolean contentEquals(AnyVersionedMap other) {
+		if (other instanceof VersionedMapOffHeapImpl<?> versioned) {
+			if (versioned == this) {
+				return true;
+			} else {
+				return Objects.equals(this.defaultValue, versioned.defaultValue) &&
+						Objects.equals(this.current, versioned.current);
+			}
+		} else {
+			throw new UnsupportedOperationException("Comparing different map implementations is ineffective.");
+		}
+	}
+
+	@Override
+	public void checkIntegrity() {
+		this.uncommittedStore.checkIntegrity();
+
+		for (var entry : this.current.entrySet()) {
+			var value = entry.getValue();
+			if (value == this.defaultValue) {
+				throw new IllegalStateException("Default value stored in map!");
+			} else if (value == null) {
+				throw new IllegalStateException("null value stored in map!");
+			}
+		}
+		var transaction = this.previous;
+		while (transaction != null) {
+			var parent = transaction.parent();
+			if (parent != null) {
+				if (parent.depth() != transaction.depth() - 1) {
+					throw new IllegalStateException("Parent depths are inconsistent!");
+				}
+			} else if (transaction.depth() != 0) {
+				throw new IllegalArgumentException("Root depth is not 0!");
+			}
+			transaction = transaction.parent();
+		}
+	}
+}
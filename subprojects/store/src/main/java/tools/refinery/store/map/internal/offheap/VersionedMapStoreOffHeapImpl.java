@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.offheap;
+
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
+import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.internal.delta.MapDelta;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta-based map store that keeps committed transactions in direct memory.
+ * <p>
+ * Like {@link tools.refinery.store.map.internal.delta.VersionedMapStoreDeltaImpl}, versions form a tree of
+ * transactions and maps hold their current contents in a heap hash map. However, committed changes are encoded as
+ * fixed-layout {@code int} records in direct buffers, so long-lived versions are invisible to the garbage collector.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+public class VersionedMapStoreOffHeapImpl<V> implements VersionedMapStore<Tuple, V> {
+	private final OffHeapStorage<V> storage;
+	private final V defaultValue;
+
+	public VersionedMapStoreOffHeapImpl(V defaultValue) {
+		this(new OffHeapStorage<>(defaultValue), defaultValue);
+	}
+
+	VersionedMapStoreOffHeapImpl(OffHeapStorage<V> storage, V defaultValue) {
+		this.storage = storage;
+		this.defaultValue = defaultValue;
+	}
+
+	OffHeapValuePool<V> getValuePool() {
+		return storage.getValuePool();
+	}
+
+	@Override
+	public VersionedMap<Tuple, V> createMap() {
+		return new VersionedMapOffHeapImpl<>(this, defaultValue);
+	}
+
+	@Override
+	public VersionedMap<Tuple, V> createMap(Version state) {
+		var result = new VersionedMapOffHeapImpl<>(this, defaultValue);
+		result.restore(state);
+		return result;
+	}
+
+	OffHeapTransaction appendTransaction(MapDelta<Tuple, V>[] deltas, OffHeapTransaction previous) {
+		if (deltas == null) {
+			return previous;
+		}
+		int depth = previous == null ? 0 : previous.depth() + 1;
+		return encode(deltas, previous, depth);
+	}
+
+	private OffHeapTransaction encode(MapDelta<Tuple, V>[] deltas, OffHeapTransaction parent, int depth) {
+		int arity = deltas[0].key().getSize();
+		int byteSize = Math.multiplyExact(deltas.length, OffHeapTransaction.getStride(arity) * Integer.BYTES);
+		var changes = storage.allocate(byteSize);
+		var valuePool = storage.getValuePool();
+		for (int i = 0; i < deltas.length; i++) {
+			var delta = deltas[i];
+			var key = delta.key();
+			if (key.getSize() != arity) {
+				throw new IllegalArgumentException("Off-heap map stores require keys of the same arity, got %s and %s"
+						.formatted(deltas[0].key(), key));
+			}
+			OffHeapTransaction.putChange(changes, arity, i, key, valuePool.getId(delta.oldValue()),
+					valuePool.getId(delta.newValue()));
+		}
+		return new OffHeapTransaction(changes, arity, deltas.length, parent, depth);
+	}
+
+	private static OffHeapTransaction getState(Version state) {
+		return (OffHeapTransaction) state;
+	}
+
+	OffHeapTransaction getPath(Version from, Version to, List<OffHeapTransaction> backwardTransactions,
+							   List<OffHeapTransaction> forwardTransactions) {
+		var fromTransaction = getState(from);
+		final var target = getState(to);
+		var toTransaction = target;
+		while (fromTransaction != toTransaction) {
+			if (fromTransaction == null || (toTransaction != null && fromTransaction.depth() < toTransaction.depth())) {
+				forwardTransactions.add(toTransaction);
+				toTransaction = toTransaction.parent();
+			} else {
+				backwardTransactions.add(fromTransaction);
+				fromTransaction = fromTransaction.parent();
+			}
+		}
+		return target;
+	}
+
+	@Override
+	public long estimateDistance(Version fromState, Version toState) {
+		var fromTransaction = getState(fromState);
+		var toTransaction = getState(toState);
+		long distance = 0;
+		while (fromTransaction != toTransaction) {
+			if (fromTransaction == null || (toTransaction != null && fromTransaction.depth() < toTransaction.depth())) {
+				distance += toTransaction.size();
+				toTransaction = toTransaction.parent();
+			} else {
+				distance += fromTransaction.size();
+				fromTransaction = fromTransaction.parent();
+			}
+		}
+		return distance;
+	}
+
+	@Override
+	public DiffCursor<Tuple, V> getDiffCursor(Version fromState, Version toState) {
+		var backwardTransactions = new ArrayList<OffHeapTransaction>();
+		var forwardTransactions = new ArrayList<OffHeapTransaction>();
+		getPath(fromState, toState, backwardTransactions, forwardTransactions);
+		return new OffHeapDiffCursor<>(getValuePool(), backwardTransactions, forwardTransactions);
+	}
+}
@@ -7,6 +7,7 @@ package tools.refinery.store.map.internal.state;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 
 import tools.refinery.store.map.ContinuousHashProvider;
 import tools.refinery.store.map.Version;
@@ -187,6 +188,71 @@ public class ImmutableNode<K, V> extends Node<K, V> implements Version {
 		}
 	}
 
+	/**
+	 * Estimates the number of entries that differ between two tries.
+	 * <p>
+	 * Subtrees shared by reference are skipped, so the running time is proportional to the size of the difference if
+	 * the tries were committed to the same store. Colliding keys and subtrees replacing single entries are only
+	 * approximated.
+	 *
+	 * @param from The root of the first trie, or {@code null} if it is empty.
+	 * @param to   The root of the second trie, or {@code null} if it is empty.
+	 * @return The estimated number of changed entries.
+	 */
+	static long estimateDistance(ImmutableNode<?, ?> from, ImmutableNode<?, ?> to) {
+		if (from == to) {
+			return 0;
+		}
+		if (from == null) {
+			return to.getSize();
+		}
+		if (to == null) {
+			return from.getSize();
+		}
+		long distance = 0;
+		int positions = from.dataMap | from.nodeMap | to.dataMap | to.nodeMap;
+		while (positions != 0) {
+			int bitPosition = Integer.lowestOneBit(positions);
+			positions &= positions - 1;
+			distance += from.estimateDistanceAt(to, bitPosition);
+		}
+		return distance;
+	}
+
+	private long estimateDistanceAt(ImmutableNode<?, ?> other, int bitPosition) {
+		boolean isData = (dataMap & bitPosition) != 0;
+		boolean isOtherData = (other.dataMap & bitPosition) != 0;
+		if (isData && isOtherData) {
+			int keyIndex = 2 * index(dataMap, bitPosition);
+			int otherKeyIndex = 2 * other.index(other.dataMap, bitPosition);
+			if (!Objects.equals(content[keyIndex], other.content[otherKeyIndex])) {
+				return 2;
+			}
+			return Objects.equals(content[keyIndex + 1], other.content[otherKeyIndex + 1]) ? 0 : 1;
+		}
+		var subNode = getSubNodeAt(bitPosition);
+		var otherSubNode = other.getSubNodeAt(bitPosition);
+		if (subNode != null && otherSubNode != null) {
+			return estimateDistance(subNode, otherSubNode);
+		}
+		// One side has a single entry (or nothing) where the other side has a subtree (or a single entry).
+		long distance = isData || isOtherData ? 1 : 0;
+		if (subNode != null) {
+			distance += subNode.getSize();
+		}
+		if (otherSubNode != null) {
+			distance += otherSubNode.getSize();
+		}
+		return distance;
+	}
+
+	private ImmutableNode<?, ?> getSubNodeAt(int bitPosition) {
+		if ((nodeMap & bitPosition) == 0) {
+			return null;
+		}
+		return (ImmutableNode<?, ?>) content[content.length - 1 - index(nodeMap, bitPosition)];
+	}
+
 	@Override
 	public long getSize() {
 		int result = Integer.bitCount(this.dataMap);
@@ -108,6 +108,11 @@ public class VersionedMapStoreStateImpl<K, V> implements VersionedMapStore<K, V>
 		return immutable;
 	}
 
+	@Override
+	public long estimateDistance(Version fromState, Version toState) {
+		return ImmutableNode.estimateDistance(revert(fromState), revert(toState));
+	}
+
 	@Override
 	public DiffCursor<K, V> getDiffCursor(Version fromState, Version toState) {
 		VersionedMapStateImpl<K, V> map1 = (VersionedMapStateImpl<K, V>) createMap(fromState);
@@ -15,4 +15,29 @@ public sealed interface AnyInterpretation permits Interpretation {
 	long getSize();
 
 	int getAdjacentSize(int slot, int node);
+
+	/**
+	 * Gets the number of tuples with a non-default value that contain the given nodes at the given positions.
+	 * <p>
+	 * This method takes constant time if a composite index was configured for {@code slots} with
+	 * {@link ModelStoreBuilder#compositeIndex(AnySymbol, int...)}. Otherwise, the tuples adjacent to the
+	 * least connected node from {@code nodes} are filtered.
+	 * </p>
+	 *
+	 * @param slots The positions in the tuples.
+	 * @param nodes The nodes that must appear at {@code slots}.
+	 * @return The number of matching tuples.
+	 */
+	int getAdjacentSize(int[] slots, int[] nodes);
+
+	/**
+	 * Gets the number of distinct nodes appearing at a given position of the tuples with a non-default value.
+	 * <p>
+	 * Query planners may use this value as a statistic to estimate the number of tuples adjacent to a node.
+	 * </p>
+	 *
+	 * @param slot The position in the tuples.
+	 * @return The number of distinct nodes appearing at {@code slot}.
+	 */
+	int getDistinctNodeCount(int slot);
 }
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.model;
+
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * The changes of a single interpretation between two versions, collected from a {@link DiffCursor} into parallel
+ * arrays.
+ * <p>
+ * Every key appears at most once, in the order of its first appearance in the diff cursor. Diff cursors of delta-based
+ * map stores report a key once for each transaction between the two versions, so such changes are coalesced into a
+ * single change from the first {@code fromValue} to the last {@code toValue}. Keys whose value is the same in both
+ * versions are omitted.
+ * </p>
+ *
+ * @param <T> The type of the values of the interpretation.
+ */
+public final class InterpretationChanges<T> {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private Tuple[] keys;
+	private Object[] fromValues;
+	private Object[] toValues;
+	private int size;
+
+	private InterpretationChanges(int capacity) {
+		keys = new Tuple[capacity];
+		fromValues = new Object[capacity];
+		toValues = new Object[capacity];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public Tuple getKey(int index) {
+		checkIndex(index);
+		return keys[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getFromValue(int index) {
+		checkIndex(index);
+		return (T) fromValues[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getToValue(int index) {
+		checkIndex(index);
+		return (T) toValues[index];
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index %d out of bounds for %d changes".formatted(index, size));
+		}
+	}
+
+	private void add(Tuple key, T fromValue, T toValue) {
+		if (size == keys.length) {
+			int newCapacity = size * 2;
+			keys = Arrays.copyOf(keys, newCapacity);
+			fromValues = Arrays.copyOf(fromValues, newCapacity);
+			toValues = Arrays.copyOf(toValues, newCapacity);
+		}
+		keys[size] = key;
+		fromValues[size] = fromValue;
+		toValues[size] = toValue;
+		size++;
+	}
+
+	private void removeUnchanged() {
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			if (!Objects.equals(fromValues[i], toValues[i])) {
+				keys[newSize] = keys[i];
+				fromValues[newSize] = fromValues[i];
+				toValues[newSize] = toValues[i];
+				newSize++;
+			}
+		}
+		Arrays.fill(keys, newSize, size, null);
+		Arrays.fill(fromValues, newSize, size, null);
+		Arrays.fill(toValues, newSize, size, null);
+		size = newSize;
+	}
+
+	public static <T> InterpretationChanges<T> of(DiffCursor<Tuple, T> diffCursor) {
+		var changes = new InterpretationChanges<T>(INITIAL_CAPACITY);
+		var indices = new HashMap<Tuple, Integer>();
+		boolean coalesced = false;
+		while (diffCursor.move()) {
+			var key = diffCursor.getKey();
+			var existingIndex = indices.putIfAbsent(key, changes.size);
+			if (existingIndex == null) {
+				changes.add(key, diffCursor.getFromValue(), diffCursor.getToValue());
+			} else {
+				changes.toValues[existingIndex] = diffCursor.getToValue();
+				coalesced = true;
+			}
+		}
+		if (coalesced) {
+			changes.removeUnchanged();
+		}
+		return changes;
+	}
+}
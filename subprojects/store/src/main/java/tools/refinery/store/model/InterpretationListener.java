@@ -9,4 +9,20 @@ import tools.refinery.store.tuple.Tuple;
 
 public interface InterpretationListener<T> {
 	void put(Tuple key, T fromValue, T toValue, boolean restoring);
+
+	/**
+	 * Notifies the listener about all changes of the interpretation caused by a restore operation at once.
+	 * <p>
+	 * Called before the interpretation is restored, i.e., while the interpretation still holds the
+	 * {@code fromValue} of each changed key. Listeners that can process the changes in bulk should override this
+	 * method. By default, each change is forwarded to {@link #put(Tuple, Object, Object, boolean)}.
+	 *
+	 * @param changes The changes of the interpretation.
+	 */
+	default void restoring(InterpretationChanges<T> changes) {
+		int size = changes.size();
+		for (int i = 0; i < size; i++) {
+			put(changes.getKey(i), changes.getFromValue(i), changes.getToValue(i), true);
+		}
+	}
 }
@@ -6,9 +6,11 @@
 package tools.refinery.store.model;
 
 import tools.refinery.store.adapter.ModelStoreAdapter;
+import tools.refinery.store.checkpoint.ValueCodec;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.model.internal.ModelStoreBuilderImpl;
 import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -22,6 +24,26 @@ public interface ModelStore {
 
 	ModelDiffCursor getDiffCursor(Version from, Version to);
 
+	/**
+	 * Estimates the cost of restoring a model from one version to another.
+	 *
+	 * @param from The version the model is currently in, or {@link Model#NO_STATE_ID} if it was never committed.
+	 * @param to   The version to restore.
+	 * @return The estimated number of changed tuples over all symbols, which is zero if the versions are the same.
+	 * @see tools.refinery.store.map.VersionedMapStore#estimateDistance(Version, Version)
+	 */
+	long estimateDistance(Version from, Version to);
+
+	/**
+	 * Gets the binary encoding of the values of a symbol in checkpoints.
+	 *
+	 * @param symbol The symbol.
+	 * @param <T>    The type of the values of the symbol.
+	 * @return The codec configured by {@link ModelStoreBuilder#valueCodec(Class, ValueCodec)}, or a built-in codec.
+	 * @throws IllegalArgumentException If the values of the symbol cannot be encoded.
+	 */
+	<T> ValueCodec<T> getValueCodec(Symbol<T> symbol);
+
 	<T extends ModelStoreAdapter> Optional<T> tryGetAdapter(Class<? extends T> adapterType);
 
 	<T extends ModelStoreAdapter> T getAdapter(Class<T> adapterType);
@@ -6,6 +6,8 @@
 package tools.refinery.store.model;
 
 import tools.refinery.store.adapter.ModelAdapterBuilder;
+import tools.refinery.store.checkpoint.ValueCodec;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.util.CancellationToken;
@@ -32,6 +34,46 @@ public interface ModelStoreBuilder {
 
 	<T> ModelStoreBuilder symbol(Symbol<T> symbol);
 
+	/**
+	 * Maintains an index for looking up the tuples of a symbol by the nodes appearing at several positions at once.
+	 * <p>
+	 * Each position of symbols with arity at least 2 is always indexed separately. Composite indexes make
+	 * {@link Interpretation#getAdjacent(int[], int[])} and {@link AnyInterpretation#getAdjacentSize(int[], int[])}
+	 * avoid filtering the tuples adjacent to a single node, at the cost of additional memory and slower updates.
+	 * </p>
+	 *
+	 * @param symbol The symbol to index.
+	 * @param slots  The positions in the tuples of {@code symbol} to index together.
+	 * @return The store builder.
+	 */
+	ModelStoreBuilder compositeIndex(AnySymbol symbol, int... slots);
+
+	/**
+	 * Sets how the versioned maps of the model store persist committed versions.
+	 * <p>
+	 * Defaults to {@link VersionedMapStoreFactoryBuilder.StoreStrategy#DELTA}. Use
+	 * {@link VersionedMapStoreFactoryBuilder.StoreStrategy#OFF_HEAP} to reduce garbage collection overhead when
+	 * keeping a large number of versions.
+	 * </p>
+	 *
+	 * @param storeStrategy The strategy of the versioned maps.
+	 * @return The store builder.
+	 */
+	ModelStoreBuilder storeStrategy(VersionedMapStoreFactoryBuilder.StoreStrategy storeStrategy);
+
+	/**
+	 * Sets the binary encoding of values of the given type in checkpoints.
+	 * <p>
+	 * Booleans, integers, longs, doubles, strings, and enums have built-in encodings, so they need no codec.
+	 * </p>
+	 *
+	 * @param valueType The type of values to encode.
+	 * @param codec     The codec for the values.
+	 * @param <T>       The type of values to encode.
+	 * @return The store builder.
+	 */
+	<T> ModelStoreBuilder valueCodec(Class<T> valueType, ValueCodec<T> codec);
+
 	ModelStoreBuilder with(ModelAdapterBuilder adapterBuilder);
 
 	ModelStoreBuilder with(ModelStoreConfiguration configuration);
@@ -12,13 +12,21 @@ import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
 import tools.refinery.store.map.*;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 class BaseIndexer<T> {
 	private final MutableIntObjectMap<MutableMap<Tuple, T>>[] maps;
+	private final CompositeIndex<T>[] compositeIndexes;
 	private final VersionedMap<Tuple, T> versionedMap;
 
 	public BaseIndexer(int arity, VersionedMap<Tuple, T> map) {
+		this(arity, List.of(), map);
+	}
+
+	public BaseIndexer(int arity, List<int[]> compositeIndexSlots, VersionedMap<Tuple, T> map) {
 		if (arity < 2) {
 			throw new IllegalArgumentException("Only arity >= 2 symbols need to be indexed");
 		}
@@ -29,6 +37,12 @@ class BaseIndexer<T> {
 		for (int i = 0; i < arity; i++) {
 			maps[i] = IntObjectMaps.mutable.empty();
 		}
+		@SuppressWarnings({"unchecked", "squid:S1905"})
+		var uncheckedCompositeIndexes = (CompositeIndex<T>[]) new CompositeIndex[compositeIndexSlots.size()];
+		compositeIndexes = uncheckedCompositeIndexes;
+		for (int i = 0; i < compositeIndexes.length; i++) {
+			compositeIndexes[i] = new CompositeIndex<>(compositeIndexSlots.get(i));
+		}
 		this.versionedMap = map;
 		if (map != null) {
 			var cursor = map.getAll();
@@ -45,6 +59,9 @@ class BaseIndexer<T> {
 			var adjacentTuples = map.getIfAbsentPut(element, Maps.mutable::empty);
 			adjacentTuples.put(key, value);
 		}
+		for (var compositeIndex : compositeIndexes) {
+			compositeIndex.put(key, value);
+		}
 	}
 
 	public void remove(Tuple key) {
@@ -60,6 +77,9 @@ class BaseIndexer<T> {
 				map.remove(element);
 			}
 		}
+		for (var compositeIndex : compositeIndexes) {
+			compositeIndex.remove(key);
+		}
 	}
 
 	private MutableMap<Tuple, T> getAdjacentMap(int slot, int node) {
@@ -78,19 +98,183 @@ class BaseIndexer<T> {
 		return adjacentTuples.size();
 	}
 
+	public int getDistinctNodeCount(int slot) {
+		if (slot < 0 || slot >= maps.length) {
+			throw new IllegalArgumentException("Invalid index: " + slot);
+		}
+		return maps[slot].size();
+	}
+
 	public Cursor<Tuple, T> getAdjacent(int slot, int node) {
 		var adjacentTuples = getAdjacentMap(slot, node);
 		if (adjacentTuples == null) {
 			return Cursors.empty();
 		}
-		return new IndexCursor<>(adjacentTuples, versionedMap);
+		return new IndexCursor<>(adjacentTuples.entrySet().iterator(), versionedMap);
+	}
+
+	public int getAdjacentSize(int[] slots, int[] nodes) {
+		var candidate = getCandidate(slots, nodes);
+		if (candidate.adjacentTuples() == null) {
+			return 0;
+		}
+		if (candidate.exact()) {
+			return candidate.adjacentTuples().size();
+		}
+		int count = 0;
+		for (var key : candidate.adjacentTuples().keySet()) {
+			if (isMatching(key, slots, nodes)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public Cursor<Tuple, T> getAdjacent(int[] slots, int[] nodes) {
+		var candidate = getCandidate(slots, nodes);
+		var adjacentTuples = candidate.adjacentTuples();
+		if (adjacentTuples == null) {
+			return Cursors.empty();
+		}
+		if (candidate.exact()) {
+			return new IndexCursor<>(adjacentTuples.entrySet().iterator(), versionedMap);
+		}
+		var iterator = adjacentTuples.entrySet().stream()
+				.filter(entry -> isMatching(entry.getKey(), slots, nodes))
+				.iterator();
+		return new IndexCursor<>(iterator, versionedMap);
+	}
+
+	private Candidate<T> getCandidate(int[] slots, int[] nodes) {
+		if (slots.length != nodes.length) {
+			throw new IllegalArgumentException("Expected %d nodes, got %d".formatted(slots.length, nodes.length));
+		}
+		if (slots.length == 0) {
+			throw new IllegalArgumentException("No slots were given");
+		}
+		// Look for the index bound by the smallest number of tuples, preferring exact matches to filtering.
+		MutableMap<Tuple, T> best = getAdjacentMap(slots[0], nodes[0]);
+		boolean bestExact = slots.length == 1;
+		if (best == null) {
+			return new Candidate<>(null, true);
+		}
+		for (int i = 1; i < slots.length; i++) {
+			var adjacentTuples = getAdjacentMap(slots[i], nodes[i]);
+			if (adjacentTuples == null) {
+				return new Candidate<>(null, true);
+			}
+			if (adjacentTuples.size() < best.size()) {
+				best = adjacentTuples;
+			}
+		}
+		for (var compositeIndex : compositeIndexes) {
+			if (bestExact) {
+				break;
+			}
+			var projectedNodes = compositeIndex.project(slots, nodes);
+			if (projectedNodes == null) {
+				continue;
+			}
+			var adjacentTuples = compositeIndex.get(projectedNodes);
+			if (adjacentTuples == null) {
+				return new Candidate<>(null, true);
+			}
+			boolean exact = compositeIndex.size() == slots.length;
+			if (exact || adjacentTuples.size() < best.size()) {
+				best = adjacentTuples;
+				bestExact = exact;
+			}
+		}
+		return new Candidate<>(best, bestExact);
+	}
+
+	private static boolean isMatching(Tuple key, int[] slots, int[] nodes) {
+		for (int i = 0; i < slots.length; i++) {
+			if (key.get(slots[i]) != nodes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private record Candidate<T>(MutableMap<Tuple, T> adjacentTuples, boolean exact) {
+	}
+
+	private static class CompositeIndex<T> {
+		private final int[] slots;
+		private final MutableMap<Tuple, MutableMap<Tuple, T>> map = Maps.mutable.empty();
+
+		public CompositeIndex(int[] slots) {
+			this.slots = slots;
+		}
+
+		public int size() {
+			return slots.length;
+		}
+
+		private Tuple project(Tuple key) {
+			var nodes = new int[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				nodes[i] = key.get(slots[i]);
+			}
+			return Tuple.of(nodes);
+		}
+
+		/**
+		 * Selects the nodes bound at the slots of this index.
+		 *
+		 * @param boundSlots The bound slots.
+		 * @param boundNodes The nodes at {@code boundSlots}.
+		 * @return The key in this index, or {@code null} if some slots of this index are not bound.
+		 */
+		public Tuple project(int[] boundSlots, int[] boundNodes) {
+			var nodes = new int[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				int position = indexOf(boundSlots, slots[i]);
+				if (position < 0) {
+					return null;
+				}
+				nodes[i] = boundNodes[position];
+			}
+			return Tuple.of(nodes);
+		}
+
+		private static int indexOf(int[] array, int element) {
+			for (int i = 0; i < array.length; i++) {
+				if (array[i] == element) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		public MutableMap<Tuple, T> get(Tuple projectedNodes) {
+			return map.get(projectedNodes);
+		}
+
+		public void put(Tuple key, T value) {
+			var adjacentTuples = map.getIfAbsentPut(project(key), Maps.mutable::empty);
+			adjacentTuples.put(key, value);
+		}
+
+		public void remove(Tuple key) {
+			var projectedKey = project(key);
+			var adjacentTuples = map.get(projectedKey);
+			if (adjacentTuples == null) {
+				return;
+			}
+			adjacentTuples.remove(key);
+			if (adjacentTuples.isEmpty()) {
+				map.remove(projectedKey);
+			}
+		}
 	}
 
 	private static class IndexCursor<T> extends IteratorBasedCursor<Tuple, T> {
 		private final Set<AnyVersionedMap> dependingMaps;
 
-		public IndexCursor(MutableMap<Tuple, T> map, VersionedMap<Tuple, T> versionedMap) {
-			super(map.entrySet().iterator());
+		public IndexCursor(Iterator<Map.Entry<Tuple, T>> iterator, VersionedMap<Tuple, T> versionedMap) {
+			super(iterator);
 			dependingMaps = versionedMap == null ? Set.of() : Set.of(versionedMap);
 		}
 
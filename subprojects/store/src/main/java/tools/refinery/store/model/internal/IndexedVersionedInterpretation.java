@@ -7,17 +7,20 @@ package tools.refinery.store.model.internal;
 
 import tools.refinery.store.map.Cursor;
 import tools.refinery.store.map.VersionedMap;
+import tools.refinery.store.model.InterpretationChanges;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.List;
 import java.util.Objects;
 
 class IndexedVersionedInterpretation<T> extends VersionedInterpretation<T> {
 	private final BaseIndexer<T> indexer;
 
-	public IndexedVersionedInterpretation(ModelImpl model, Symbol<T> symbol, VersionedMap<Tuple, T> map) {
+	public IndexedVersionedInterpretation(ModelImpl model, Symbol<T> symbol, VersionedMap<Tuple, T> map,
+										  List<int[]> compositeIndexes) {
 		super(model, symbol, map);
-		indexer = new BaseIndexer<>(symbol.arity(), map);
+		indexer = new BaseIndexer<>(symbol.arity(), compositeIndexes, map);
 	}
 
 	@Override
@@ -30,19 +33,53 @@ class IndexedVersionedInterpretation<T> extends VersionedInterpretation<T> {
 		return indexer.getAdjacentSize(slot, node);
 	}
 
+	@Override
+	public Cursor<Tuple, T> getAdjacent(int[] slots, int[] nodes) {
+		if (slots.length < 2) {
+			return super.getAdjacent(slots, nodes);
+		}
+		return indexer.getAdjacent(slots, nodes);
+	}
+
+	@Override
+	public int getAdjacentSize(int[] slots, int[] nodes) {
+		if (slots.length < 2) {
+			return super.getAdjacentSize(slots, nodes);
+		}
+		return indexer.getAdjacentSize(slots, nodes);
+	}
+
+	@Override
+	public int getDistinctNodeCount(int slot) {
+		return indexer.getDistinctNodeCount(slot);
+	}
+
 	@Override
 	protected boolean shouldNotifyRestoreListeners() {
-		// Always call the {@code valueChanged} method to update the index.
+		// Always call the {@code valuesRestoring} method to update the index.
 		return true;
 	}
 
 	@Override
 	protected void valueChanged(Tuple key, T fromValue, T toValue, boolean restoring) {
+		updateIndex(key, toValue);
+		super.valueChanged(key, fromValue, toValue, restoring);
+	}
+
+	@Override
+	protected void valuesRestoring(InterpretationChanges<T> changes) {
+		int size = changes.size();
+		for (int i = 0; i < size; i++) {
+			updateIndex(changes.getKey(i), changes.getToValue(i));
+		}
+		super.valuesRestoring(changes);
+	}
+
+	private void updateIndex(Tuple key, T toValue) {
 		if (Objects.equals(toValue, getSymbol().defaultValue())) {
 			indexer.remove(key);
 		} else {
 			indexer.put(key, toValue);
 		}
-		super.valueChanged(key, fromValue, toValue, restoring);
 	}
 }
@@ -63,8 +63,11 @@ public class ModelImpl implements Model {
 	@Override
 	public ModelDiffCursor getDiffCursor(Version to) {
 		var diffCursors = new HashMap<AnySymbol, DiffCursor<Tuple, ?>>(interpretations.size());
+		int i = 0;
 		for (var entry : interpretations.entrySet()) {
-			diffCursors.put(entry.getKey(), entry.getValue().getDiffCursor(to));
+			var toVersion = to == null ? null : ModelVersion.getInternalVersion(to, i);
+			diffCursors.put(entry.getKey(), entry.getValue().getDiffCursor(toVersion));
+			i++;
 		}
 		return new ModelDiffCursor(diffCursors);
 	}
@@ -7,12 +7,14 @@ package tools.refinery.store.model.internal;
 
 import tools.refinery.store.adapter.AdapterUtils;
 import tools.refinery.store.adapter.ModelAdapterBuilder;
+import tools.refinery.store.checkpoint.ValueCodec;
 import tools.refinery.store.map.VersionedMapStore;
 import tools.refinery.store.map.VersionedMapStoreFactory;
 import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.model.ModelStoreConfiguration;
+import tools.refinery.store.model.TupleHashProvider;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
@@ -25,6 +27,10 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 	private final LinkedHashSet<AnySymbol> allSymbols = new LinkedHashSet<>();
 	private final LinkedHashMap<SymbolEquivalenceClass<?>, List<AnySymbol>> equivalenceClasses = new LinkedHashMap<>();
 	private final List<ModelAdapterBuilder> adapters = new ArrayList<>();
+	private final Map<AnySymbol, List<int[]>> compositeIndexes = new LinkedHashMap<>();
+	private final Map<Class<?>, ValueCodec<?>> valueCodecs = new HashMap<>();
+	private VersionedMapStoreFactoryBuilder.StoreStrategy storeStrategy =
+			VersionedMapStoreFactoryBuilder.StoreStrategy.DELTA;
 
 	@Override
 	public ModelStoreBuilder cancellationToken(CancellationToken cancellationToken) {
@@ -51,6 +57,52 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 		return this;
 	}
 
+	@Override
+	public ModelStoreBuilder compositeIndex(AnySymbol symbol, int... slots) {
+		int arity = symbol.arity();
+		if (slots.length < 2 || slots.length >= arity) {
+			throw new IllegalArgumentException("Composite index of %s must contain between 2 and %d slots"
+					.formatted(symbol, arity - 1));
+		}
+		var sortedSlots = slots.clone();
+		Arrays.sort(sortedSlots);
+		for (int i = 0; i < sortedSlots.length; i++) {
+			int slot = sortedSlots[i];
+			if (slot < 0 || slot >= arity || (i > 0 && sortedSlots[i - 1] == slot)) {
+				throw new IllegalArgumentException("Invalid composite index %s of %s"
+						.formatted(Arrays.toString(slots), symbol));
+			}
+		}
+		var indexesOfSymbol = compositeIndexes.computeIfAbsent(symbol, ignored -> new ArrayList<>());
+		for (var existingSlots : indexesOfSymbol) {
+			if (Arrays.equals(existingSlots, sortedSlots)) {
+				// No need to add index twice.
+				return this;
+			}
+		}
+		indexesOfSymbol.add(sortedSlots);
+		return this;
+	}
+
+	@Override
+	public ModelStoreBuilder storeStrategy(VersionedMapStoreFactoryBuilder.StoreStrategy storeStrategy) {
+		if (storeStrategy == null) {
+			throw new IllegalArgumentException("Store strategy must not be null");
+		}
+		this.storeStrategy = storeStrategy;
+		return this;
+	}
+
+	@Override
+	public <T> ModelStoreBuilder valueCodec(Class<T> valueType, ValueCodec<T> codec) {
+		var existingCodec = valueCodecs.putIfAbsent(valueType, codec);
+		if (existingCodec != null && !existingCodec.equals(codec)) {
+			throw new IllegalArgumentException("Value codec for %s was already configured"
+					.formatted(valueType.getName()));
+		}
+		return this;
+	}
+
 	@Override
 	public ModelStoreBuilder with(ModelAdapterBuilder adapterBuilder) {
 		for (var existingAdapter : adapters) {
@@ -89,8 +141,13 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 		for (var entry : equivalenceClasses.entrySet()) {
 			createStores(stores, entry.getKey(), entry.getValue());
 		}
-		var modelStore = new ModelStoreImpl(stores, adapters.size(), cancellationToken == null ?
-				CancellationToken.NONE : cancellationToken);
+		for (var symbol : compositeIndexes.keySet()) {
+			if (!allSymbols.contains(symbol)) {
+				throw new IllegalArgumentException("Composite index was configured for unknown symbol " + symbol);
+			}
+		}
+		var modelStore = new ModelStoreImpl(stores, compositeIndexes, valueCodecs, adapters.size(),
+				cancellationToken == null ? CancellationToken.NONE : cancellationToken);
 		for (var adapterBuilder : adapters) {
 			var storeAdapter = adapterBuilder.build(modelStore);
 			modelStore.addAdapter(storeAdapter);
@@ -101,11 +158,14 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 	private <T> void createStores(Map<AnySymbol, VersionedMapStore<Tuple, ?>> stores,
 								  SymbolEquivalenceClass<T> equivalenceClass, List<AnySymbol> symbols) {
 		int size = symbols.size();
-		VersionedMapStoreFactory<Tuple, T> mapFactory = VersionedMapStore
+		var mapFactoryBuilder = VersionedMapStore
 				.<Tuple, T>builder()
-				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.DELTA)
-				.defaultValue(equivalenceClass.defaultValue())
-				.build();
+				.strategy(storeStrategy)
+				.defaultValue(equivalenceClass.defaultValue());
+		if (storeStrategy == VersionedMapStoreFactoryBuilder.StoreStrategy.STATE) {
+			mapFactoryBuilder.stateBasedHashProvider(TupleHashProvider.INSTANCE);
+		}
+		VersionedMapStoreFactory<Tuple, T> mapFactory = mapFactoryBuilder.build();
 		var storeGroup = mapFactory.createGroup(size);
 		for (int i = 0; i < size; i++) {
 			stores.put(symbols.get(i), storeGroup.get(i));
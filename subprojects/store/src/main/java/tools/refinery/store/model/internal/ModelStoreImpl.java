@@ -7,12 +7,15 @@ package tools.refinery.store.model.internal;
 
 import tools.refinery.store.adapter.AdapterUtils;
 import tools.refinery.store.adapter.ModelStoreAdapter;
+import tools.refinery.store.checkpoint.ValueCodec;
+import tools.refinery.store.checkpoint.ValueCodecs;
 import tools.refinery.store.map.DiffCursor;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.map.VersionedMapStore;
 import tools.refinery.store.model.ModelDiffCursor;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 import tools.refinery.store.util.CancellationToken;
 
@@ -21,11 +24,16 @@ import java.util.*;
 public class ModelStoreImpl implements ModelStore {
 	private final LinkedHashMap<? extends AnySymbol, ? extends VersionedMapStore<Tuple, ?>> stores;
 	private final List<ModelStoreAdapter> adapters;
+	private final Map<AnySymbol, List<int[]>> compositeIndexes;
+	private final Map<Class<?>, ValueCodec<?>> valueCodecs;
 	private final CancellationToken cancellationToken;
 
-	ModelStoreImpl(LinkedHashMap<? extends AnySymbol, ? extends VersionedMapStore<Tuple, ?>> stores, int adapterCount,
-				   CancellationToken cancellationToken) {
+	ModelStoreImpl(LinkedHashMap<? extends AnySymbol, ? extends VersionedMapStore<Tuple, ?>> stores,
+				   Map<AnySymbol, List<int[]>> compositeIndexes, Map<Class<?>, ValueCodec<?>> valueCodecs,
+				   int adapterCount, CancellationToken cancellationToken) {
 		this.stores = stores;
+		this.compositeIndexes = compositeIndexes;
+		this.valueCodecs = valueCodecs;
 		adapters = new ArrayList<>(adapterCount);
 		this.cancellationToken = cancellationToken;
 	}
@@ -45,7 +53,8 @@ public class ModelStoreImpl implements ModelStore {
 		var interpretations = new LinkedHashMap<AnySymbol, VersionedInterpretation<?>>(stores.size());
 		for (var entry : this.stores.entrySet()) {
 			var symbol = entry.getKey();
-			interpretations.put(symbol, VersionedInterpretation.of(model, symbol, entry.getValue()));
+			interpretations.put(symbol, VersionedInterpretation.of(model, symbol, entry.getValue(),
+					getCompositeIndexes(symbol)));
 		}
 		model.setInterpretations(interpretations);
 		adaptModel(model);
@@ -65,7 +74,8 @@ public class ModelStoreImpl implements ModelStore {
 							model,
 							symbol,
 							entry.getValue(),
-							ModelVersion.getInternalVersion(state,i++)));
+							ModelVersion.getInternalVersion(state,i++),
+							getCompositeIndexes(symbol)));
 		}
 
 		model.setInterpretations(interpretations);
@@ -73,6 +83,10 @@ public class ModelStoreImpl implements ModelStore {
 		return model;
 	}
 
+	private List<int[]> getCompositeIndexes(AnySymbol symbol) {
+		return compositeIndexes.getOrDefault(symbol, List.of());
+	}
+
 	private void adaptModel(ModelImpl model) {
 		for (var storeAdapter : adapters) {
 			var adapter = storeAdapter.createModelAdapter(model);
@@ -83,14 +97,46 @@ public class ModelStoreImpl implements ModelStore {
 	@Override
 	public synchronized ModelDiffCursor getDiffCursor(Version from, Version to) {
 		var diffCursors = new HashMap<AnySymbol, DiffCursor<?, ?>>();
+		int i = 0;
 		for (var entry : stores.entrySet()) {
 			var representation = entry.getKey();
-			var diffCursor = entry.getValue().getDiffCursor(from, to);
+			var fromVersion = from == null ? null : ModelVersion.getInternalVersion(from, i);
+			var toVersion = to == null ? null : ModelVersion.getInternalVersion(to, i);
+			var diffCursor = entry.getValue().getDiffCursor(fromVersion, toVersion);
 			diffCursors.put(representation, diffCursor);
+			i++;
 		}
 		return new ModelDiffCursor(diffCursors);
 	}
 
+	@Override
+	public long estimateDistance(Version from, Version to) {
+		if (Objects.equals(from, to)) {
+			return 0;
+		}
+		long distance = 0;
+		int i = 0;
+		for (var store : stores.values()) {
+			var fromVersion = from == null ? null : ModelVersion.getInternalVersion(from, i);
+			var toVersion = to == null ? null : ModelVersion.getInternalVersion(to, i);
+			distance += store.estimateDistance(fromVersion, toVersion);
+			i++;
+		}
+		return distance;
+	}
+
+	@Override
+	public <T> ValueCodec<T> getValueCodec(Symbol<T> symbol) {
+		var valueType = symbol.valueType();
+		@SuppressWarnings("unchecked")
+		var codec = (ValueCodec<T>) valueCodecs.get(valueType);
+		if (codec != null) {
+			return codec;
+		}
+		return ValueCodecs.tryGetBuiltIn(valueType).orElseThrow(() -> new IllegalArgumentException(
+				"No value codec was configured for %s of symbol %s".formatted(valueType.getName(), symbol)));
+	}
+
 	@Override
 	public <T extends ModelStoreAdapter> Optional<T> tryGetAdapter(Class<? extends T> adapterType) {
 		return AdapterUtils.tryGetAdapter(adapters, adapterType);
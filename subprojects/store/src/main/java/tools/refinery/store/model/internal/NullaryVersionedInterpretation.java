@@ -24,4 +24,9 @@ class NullaryVersionedInterpretation<T> extends VersionedInterpretation<T> {
 	public int getAdjacentSize(int slot, int node) {
 		throw new IllegalArgumentException("Invalid index: " + slot);
 	}
+
+	@Override
+	public int getDistinctNodeCount(int slot) {
+		throw new IllegalArgumentException("Invalid index: " + slot);
+	}
 }
@@ -45,4 +45,11 @@ class UnaryVersionedInterpretation<T> extends VersionedInterpretation<T> {
 		}
 		return 1;
 	}
+
+	@Override
+	public int getDistinctNodeCount(int slot) {
+		validateSlot(slot);
+		// Each tuple with a non-default value contains a different node.
+		return (int) getSize();
+	}
 }
@@ -7,6 +7,7 @@ package tools.refinery.store.model.internal;
 
 import tools.refinery.store.map.*;
 import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.InterpretationChanges;
 import tools.refinery.store.model.InterpretationListener;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.representation.AnySymbol;
@@ -14,6 +15,7 @@ import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class VersionedInterpretation<T> implements Interpretation<T> {
@@ -62,6 +64,32 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		return map.getAll();
 	}
 
+	@Override
+	public Cursor<Tuple, T> getAdjacent(int[] slots, int[] nodes) {
+		checkNodes(slots, nodes);
+		return switch (slots.length) {
+			case 0 -> getAll();
+			case 1 -> getAdjacent(slots[0], nodes[0]);
+			default -> throw new IllegalArgumentException("Invalid indices: " + Arrays.toString(slots));
+		};
+	}
+
+	@Override
+	public int getAdjacentSize(int[] slots, int[] nodes) {
+		checkNodes(slots, nodes);
+		return switch (slots.length) {
+			case 0 -> (int) getSize();
+			case 1 -> getAdjacentSize(slots[0], nodes[0]);
+			default -> throw new IllegalArgumentException("Invalid indices: " + Arrays.toString(slots));
+		};
+	}
+
+	protected static void checkNodes(int[] slots, int[] nodes) {
+		if (slots.length != nodes.length) {
+			throw new IllegalArgumentException("Expected %d nodes, got %d".formatted(slots.length, nodes.length));
+		}
+	}
+
 	protected void valueChanged(Tuple key, T fromValue, T toValue, boolean restoring) {
 		var listenerList = restoring ? restoreListeners : listeners;
 		int listenerCount = listenerList.size();
@@ -118,11 +146,21 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		return !restoreListeners.isEmpty();
 	}
 
+	protected void valuesRestoring(InterpretationChanges<T> changes) {
+		int listenerCount = restoreListeners.size();
+		// Use a for loop instead of a for-each loop to avoid <code>Iterator</code> allocation overhead.
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < listenerCount; i++) {
+			restoreListeners.get(i).restoring(changes);
+		}
+	}
+
 	public void restore(Version state) {
 		if (shouldNotifyRestoreListeners()) {
-			var diffCursor = getDiffCursor(state);
-			while (diffCursor.move()) {
-				valueChanged(diffCursor.getKey(), diffCursor.getFromValue(), diffCursor.getToValue(), true);
+			// Walk the diff cursor only once and hand over all changes to each listener in a single batch.
+			var changes = InterpretationChanges.of(getDiffCursor(state));
+			if (!changes.isEmpty()) {
+				valuesRestoring(changes);
 			}
 		}
 		map.restore(state);
@@ -142,27 +180,28 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		restoreListeners.remove(listener);
 	}
 
-	static <T> VersionedInterpretation<T> of(ModelImpl model, AnySymbol symbol, VersionedMapStore<Tuple, T> store) {
+	static <T> VersionedInterpretation<T> of(ModelImpl model, AnySymbol symbol, VersionedMapStore<Tuple, T> store,
+											 List<int[]> compositeIndexes) {
 		@SuppressWarnings("unchecked")
 		var typedSymbol = (Symbol<T>) symbol;
 		var map = store.createMap();
-		return of(model, typedSymbol, map);
+		return of(model, typedSymbol, map, compositeIndexes);
 	}
 
 	static <T> VersionedInterpretation<T> of(ModelImpl model, AnySymbol symbol, VersionedMapStore<Tuple, T> store,
-											 Version state) {
+											 Version state, List<int[]> compositeIndexes) {
 		@SuppressWarnings("unchecked")
 		var typedSymbol = (Symbol<T>) symbol;
 		var map = store.createMap(state);
-		return of(model, typedSymbol, map);
+		return of(model, typedSymbol, map, compositeIndexes);
 	}
 
 	private static <T> VersionedInterpretation<T> of(ModelImpl model, Symbol<T> typedSymbol,
-													 VersionedMap<Tuple, T> map) {
+													 VersionedMap<Tuple, T> map, List<int[]> compositeIndexes) {
 		return switch (typedSymbol.arity()) {
 			case 0 -> new NullaryVersionedInterpretation<>(model, typedSymbol, map);
 			case 1 -> new UnaryVersionedInterpretation<>(model, typedSymbol, map);
-			default -> new IndexedVersionedInterpretation<>(model, typedSymbol, map);
+			default -> new IndexedVersionedInterpretation<>(model, typedSymbol, map, compositeIndexes);
 		};
 	}
 }
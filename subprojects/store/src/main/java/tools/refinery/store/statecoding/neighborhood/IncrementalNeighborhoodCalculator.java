@@ -0,0 +1,342 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.statecoding.neighborhood;
+
+import org.eclipse.collections.api.factory.primitive.IntLongMaps;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.statecoding.ObjectCode;
+import tools.refinery.store.statecoding.StateCodeCalculator;
+import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
+import tools.refinery.store.statecoding.StateCoderResult;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.*;
+
+/**
+ * Neighborhood-based state code calculator that updates the object codes incrementally.
+ * <p>
+ * The code of an object in round {@code r + 1} is the sum of the contributions of the tuples the object appears in,
+ * where the contribution of a tuple depends on its value and the codes of its objects in round {@code r}. Since the
+ * code is a sum, it can be updated by subtracting the old contribution and adding the new contribution of each
+ * tuple that was changed, or which contains an object whose code changed in the previous round. Changed tuples are
+ * collected with {@link tools.refinery.store.model.InterpretationListener}s, which are also notified when the model
+ * is restored. Thus, the codes always correspond to the current state of the model, regardless of the order of
+ * versions the model went through.
+ * </p>
+ * <p>
+ * Unlike {@link NeighborhoodCalculator}, this calculator always runs a fixed number of rounds, because the codes of
+ * the previous rounds must be available for the incremental update. Therefore, the codes computed by the two
+ * calculators are not comparable with each other.
+ * </p>
+ */
+public class IncrementalNeighborhoodCalculator implements StateCodeCalculator {
+	private static final long PRIME = AbstractNeighborhoodCalculator.PRIME;
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * If more tuples changed than this fraction of all tuples, we recompute the codes from scratch, since the
+	 * incremental update would need to touch most of the model anyway.
+	 */
+	private static final double FULL_RECOMPUTATION_RATIO = 0.25;
+
+	/**
+	 * Marker value for tuples that have the default value of their symbol and thus do not contribute to the codes.
+	 */
+	private static final Object ABSENT = new Object();
+
+	private final Model model;
+	private final int numberOfRounds;
+	private final List<Interpretation<?>> nullaryInterpretations = new ArrayList<>();
+	private final List<Interpretation<?>> interpretations = new ArrayList<>();
+	private final List<long[]> impactValues = new ArrayList<>();
+	private final List<Map<Tuple, Object>> changedTuples = new ArrayList<>();
+	private final long[] individualCodes;
+	private final int[] individualIds;
+	private final ObjectCode objectCode = new IncrementalObjectCode();
+	private long[][] codes;
+	private int[] degrees;
+	private int size;
+	private long lastRoundSum;
+	private int numberOfChanges;
+	private boolean initialized;
+
+	protected IncrementalNeighborhoodCalculator(Model model, List<? extends Interpretation<?>> interpretations,
+												IndividualsSet individuals, int depth) {
+		this.model = model;
+		// NeighborhoodCalculator runs depth + 1 rounds unless the model is too small.
+		numberOfRounds = depth + 1;
+		// Random isn't used for cryptographical purposes but just to assign distinguishable identifiers to symbols.
+		@SuppressWarnings("squid:S2245")
+		Random random = new Random(1);
+		individualIds = individuals.stream().toArray();
+		individualCodes = new long[individualIds.length];
+		for (int i = 0; i < individualIds.length; i++) {
+			individualCodes[i] = random.nextLong();
+		}
+		for (var interpretation : interpretations) {
+			int arity = interpretation.getSymbol().arity();
+			if (arity == 0) {
+				nullaryInterpretations.add(interpretation);
+			} else {
+				long[] impact = new long[arity];
+				for (int i = 0; i < arity; i++) {
+					impact[i] = random.nextInt();
+				}
+				int index = this.interpretations.size();
+				this.interpretations.add(interpretation);
+				impactValues.add(impact);
+				changedTuples.add(new HashMap<>());
+				addListener(index, interpretation);
+			}
+		}
+	}
+
+	private <T> void addListener(int index, Interpretation<T> interpretation) {
+		var changes = changedTuples.get(index);
+		interpretation.addListener((key, fromValue, toValue, restoring) -> {
+			if (initialized && !changes.containsKey(key)) {
+				// Only the value before the first change matters, because the codes of the objects were computed
+				// with that value.
+				changes.put(key, fromValue);
+				numberOfChanges++;
+			}
+		}, true);
+	}
+
+	@Override
+	public StateCoderResult calculateCodes() {
+		model.checkCancelled();
+		if (!initialized || numberOfChanges > getTotalSize() * FULL_RECOMPUTATION_RATIO) {
+			recomputeFully();
+		} else if (numberOfChanges > 0) {
+			updateIncrementally();
+		}
+		for (var changes : changedTuples) {
+			changes.clear();
+		}
+		numberOfChanges = 0;
+		initialized = true;
+		return new StateCoderResult((int) calculateModelCode(), objectCode);
+	}
+
+	private long getTotalSize() {
+		long totalSize = 0;
+		for (var interpretation : interpretations) {
+			totalSize += interpretation.getSize();
+		}
+		return totalSize;
+	}
+
+	private long calculateModelCode() {
+		long result = 0;
+		for (var nullaryInterpretation : nullaryInterpretations) {
+			result = result * PRIME + Objects.hashCode(nullaryInterpretation.get(Tuple.of()));
+		}
+		return result + lastRoundSum * PRIME;
+	}
+
+	private void recomputeFully() {
+		codes = new long[numberOfRounds + 1][INITIAL_CAPACITY];
+		degrees = new int[INITIAL_CAPACITY];
+		size = 0;
+		for (int i = 0; i < individualIds.length; i++) {
+			int individual = individualIds[i];
+			ensureCapacity(individual);
+			codes[0][individual] = individualCodes[i];
+		}
+		for (var interpretation : interpretations) {
+			var cursor = interpretation.getAll();
+			while (cursor.move()) {
+				updateDegrees(cursor.getKey(), 1);
+			}
+		}
+		for (int round = 0; round < numberOfRounds; round++) {
+			model.checkCancelled();
+			var previous = codes[round];
+			var next = codes[round + 1];
+			for (int i = 0; i < interpretations.size(); i++) {
+				var impact = impactValues.get(i);
+				var cursor = interpretations.get(i).getAll();
+				while (cursor.move()) {
+					var key = cursor.getKey();
+					long tupleHash = getTupleHash(key, cursor.getValue(), previous, null);
+					for (int j = 0; j < impact.length; j++) {
+						next[key.get(j)] += impact[j] * tupleHash;
+					}
+				}
+			}
+		}
+		lastRoundSum = 0;
+		var lastRound = codes[numberOfRounds];
+		for (int i = 0; i < size; i++) {
+			lastRoundSum += lastRound[i];
+		}
+	}
+
+	private void updateIncrementally() {
+		var changes = collectChanges();
+		// Codes of round 0 only depend on the individuals, so they never change.
+		MutableIntLongMap oldCodes = IntLongMaps.mutable.empty();
+		for (int round = 0; round < numberOfRounds; round++) {
+			model.checkCancelled();
+			var previous = codes[round];
+			var next = codes[round + 1];
+			MutableIntLongMap nextOldCodes = IntLongMaps.mutable.empty();
+			for (int i = 0; i < interpretations.size(); i++) {
+				var interpretation = interpretations.get(i);
+				var impact = impactValues.get(i);
+				var visited = new HashSet<Tuple>();
+				for (var change : changes.get(i)) {
+					visited.add(change.key());
+					updateContribution(change.key(), change.oldValue(), change.newValue(), impact, previous,
+							oldCodes, next, nextOldCodes);
+				}
+				var dirtyObjects = oldCodes.keysView().intIterator();
+				while (dirtyObjects.hasNext()) {
+					int dirtyObject = dirtyObjects.next();
+					for (int slot = 0; slot < impact.length; slot++) {
+						var cursor = interpretation.getAdjacent(slot, dirtyObject);
+						while (cursor.move()) {
+							var key = cursor.getKey();
+							if (visited.add(key)) {
+								var value = cursor.getValue();
+								updateContribution(key, value, value, impact, previous, oldCodes, next,
+										nextOldCodes);
+							}
+						}
+					}
+				}
+			}
+			// Objects whose code did not change in the end do not influence the next round.
+			nextOldCodes.removeIf((object, oldCode) -> next[object] == oldCode);
+			oldCodes = nextOldCodes;
+		}
+		var lastRound = codes[numberOfRounds];
+		oldCodes.forEachKeyValue((object, oldCode) -> lastRoundSum += lastRound[object] - oldCode);
+	}
+
+	private record Change(Tuple key, Object oldValue, Object newValue) {
+	}
+
+	private List<List<Change>> collectChanges() {
+		var result = new ArrayList<List<Change>>(interpretations.size());
+		for (int i = 0; i < interpretations.size(); i++) {
+			var interpretation = interpretations.get(i);
+			var defaultValue = interpretation.getSymbol().defaultValue();
+			var changes = changedTuples.get(i);
+			var list = new ArrayList<Change>(changes.size());
+			for (var entry : changes.entrySet()) {
+				var key = entry.getKey();
+				var oldValue = entry.getValue();
+				var newValue = interpretation.get(key);
+				boolean wasPresent = !Objects.equals(oldValue, defaultValue);
+				boolean isPresent = !Objects.equals(newValue, defaultValue);
+				if (wasPresent != isPresent) {
+					updateDegrees(key, isPresent ? 1 : -1);
+				}
+				list.add(new Change(key, wasPresent ? oldValue : ABSENT, isPresent ? newValue : ABSENT));
+			}
+			result.add(list);
+		}
+		return result;
+	}
+
+	private void updateContribution(Tuple key, Object oldValue, Object newValue, long[] impact, long[] previous,
+									MutableIntLongMap oldCodes, long[] next, MutableIntLongMap nextOldCodes) {
+		long oldHash = oldValue == ABSENT ? 0 : getTupleHash(key, oldValue, previous, oldCodes);
+		long newHash = newValue == ABSENT ? 0 : getTupleHash(key, newValue, previous, null);
+		for (int j = 0; j < impact.length; j++) {
+			long delta = impact[j] * newHash - impact[j] * oldHash;
+			if (delta != 0) {
+				int object = key.get(j);
+				if (!nextOldCodes.containsKey(object)) {
+					nextOldCodes.put(object, next[object]);
+				}
+				next[object] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Computes the hash of a tuple the same way as {@link AbstractNeighborhoodCalculator}.
+	 *
+	 * @param key      The tuple.
+	 * @param value    The value of the tuple.
+	 * @param codes    The current codes of the objects in the previous round.
+	 * @param oldCodes The codes of the objects that have changed in the previous round before the change, or
+	 *                 {@code null} to use the current codes.
+	 * @return The hash of the tuple.
+	 */
+	private static long getTupleHash(Tuple key, Object value, long[] codes, MutableIntLongMap oldCodes) {
+		int arity = key.getSize();
+		long result = Objects.hashCode(value);
+		for (int i = 0; i < arity; i++) {
+			int object = key.get(i);
+			long code = oldCodes == null ? codes[object] : oldCodes.getIfAbsent(object, codes[object]);
+			result = result * PRIME + code;
+		}
+		if (arity == 2 && key.get(0) == key.get(1)) {
+			result += PRIME;
+			result *= PRIME;
+		}
+		return result;
+	}
+
+	private void updateDegrees(Tuple key, int delta) {
+		int arity = key.getSize();
+		for (int i = 0; i < arity; i++) {
+			int object = key.get(i);
+			ensureCapacity(object);
+			degrees[object] += delta;
+		}
+	}
+
+	private void ensureCapacity(int object) {
+		if (object >= size) {
+			size = object + 1;
+		}
+		int capacity = degrees.length;
+		if (object < capacity) {
+			return;
+		}
+		int newCapacity = capacity * 2;
+		while (object >= newCapacity) {
+			newCapacity *= 2;
+		}
+		degrees = Arrays.copyOf(degrees, newCapacity);
+		for (int i = 0; i < codes.length; i++) {
+			codes[i] = Arrays.copyOf(codes[i], newCapacity);
+		}
+	}
+
+	private class IncrementalObjectCode implements ObjectCode {
+		@Override
+		public long get(int object) {
+			if (object >= size) {
+				return 0;
+			}
+			long code = codes[numberOfRounds][object];
+			// Like ObjectCodeImpl, use 0 only for objects that do not appear in any tuple.
+			return code == 0 && degrees[object] > 0 ? 1 : code;
+		}
+
+		@Override
+		public int getSize() {
+			return size;
+		}
+	}
+
+	public static StateCodeCalculatorFactory factory(int depth) {
+		return (model, interpretations, individuals) -> new IncrementalNeighborhoodCalculator(model,
+				interpretations, individuals, depth);
+	}
+
+	public static StateCodeCalculatorFactory factory() {
+		return factory(NeighborhoodCalculator.DEFAULT_DEPTH);
+	}
+}
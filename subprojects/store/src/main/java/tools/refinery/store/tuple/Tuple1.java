@@ -60,7 +60,17 @@ public final class Tuple1 implements Tuple {
 
 	@Override
 	public int hashCode() {
-		return 31 + value0;
+		return hashCodeOf(value0);
+	}
+
+	/**
+	 * Computes the hash code of {@code Tuple.of(value)} without looking up the tuple.
+	 *
+	 * @param value The element of the tuple.
+	 * @return The hash code of the tuple.
+	 */
+	public static int hashCodeOf(int value) {
+		return 31 + value;
 	}
 
 	@Override
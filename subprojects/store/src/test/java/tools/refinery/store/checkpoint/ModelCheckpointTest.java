@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.checkpoint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelCheckpointTest {
+	private enum Color {
+		RED,
+		GREEN
+	}
+
+	private record Point(int x, int y) {
+	}
+
+	private static final ValueCodec<Point> POINT_CODEC = new ValueCodec<>() {
+		@Override
+		public void write(CheckpointOutput output, Point value) {
+			output.writeVarInt(value.x());
+			output.writeVarInt(value.y());
+		}
+
+		@Override
+		public Point read(CheckpointInput input) {
+			return new Point(input.readVarInt(), input.readVarInt());
+		}
+	};
+
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Integer> age = Symbol.of("age", 1, Integer.class);
+	private static final Symbol<Color> color = Symbol.of("color", 1, Color.class, Color.RED);
+	private static final Symbol<Point> position = Symbol.of("position", 1, Point.class);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void roundTripTest() throws IOException {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var ageInterpretation = model.getInterpretation(age);
+		var colorInterpretation = model.getInterpretation(color);
+		var positionInterpretation = model.getInterpretation(position);
+		var friendInterpretation = model.getInterpretation(friend);
+		personInterpretation.put(Tuple.of(0), true);
+		ageInterpretation.put(Tuple.of(0), 30);
+		var base = model.commit();
+
+		personInterpretation.put(Tuple.of(1), true);
+		ageInterpretation.put(Tuple.of(0), null);
+		ageInterpretation.put(Tuple.of(1), -5);
+		colorInterpretation.put(Tuple.of(1), Color.GREEN);
+		positionInterpretation.put(Tuple.of(1), new Point(3, 1000));
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		var version1 = model.commit();
+
+		personInterpretation.put(Tuple.of(0), false);
+		friendInterpretation.put(Tuple.of(0, 1), false);
+		var version2 = model.commit();
+
+		var writer = new ModelCheckpointWriter(store, base);
+		assertEquals(0, writer.addVersion(version1));
+		assertEquals(1, writer.addVersion(version2));
+		assertEquals(0, writer.addVersion(version1));
+		var output = new CheckpointOutput();
+		writer.writeTo(output);
+		output.writeString("trailer");
+		var path = tempDir.resolve("checkpoint.bin");
+		output.writeTo(path);
+
+		var newStore = createStore();
+		var newModel = newStore.createEmptyModel();
+		newModel.getInterpretation(person).put(Tuple.of(0), true);
+		newModel.getInterpretation(age).put(Tuple.of(0), 30);
+		var newBase = newModel.commit();
+		var input = CheckpointInput.open(path);
+		var reader = new ModelCheckpointReader(newStore, input);
+		assertEquals("trailer", input.readString());
+		assertFalse(input.hasRemaining());
+		assertEquals(2, reader.getVersionCount());
+
+		reader.restore(newModel, newBase, 1);
+		assertFalse(newModel.getInterpretation(person).get(Tuple.of(0)));
+		assertFalse(newModel.getInterpretation(friend).get(Tuple.of(0, 1)));
+
+		reader.restore(newModel, newBase, 0);
+		assertTrue(newModel.getInterpretation(person).get(Tuple.of(0)));
+		assertTrue(newModel.getInterpretation(person).get(Tuple.of(1)));
+		assertNull(newModel.getInterpretation(age).get(Tuple.of(0)));
+		assertEquals(-5, newModel.getInterpretation(age).get(Tuple.of(1)));
+		assertEquals(Color.GREEN, newModel.getInterpretation(color).get(Tuple.of(1)));
+		assertEquals(Color.RED, newModel.getInterpretation(color).get(Tuple.of(0)));
+		assertEquals(new Point(3, 1000), newModel.getInterpretation(position).get(Tuple.of(1)));
+		assertTrue(newModel.getInterpretation(friend).get(Tuple.of(0, 1)));
+		assertEquals(2, newModel.getInterpretation(person).getSize());
+	}
+
+	@Test
+	void differentStoreTest() throws IOException {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var base = model.commit();
+		var writer = new ModelCheckpointWriter(store, base);
+		writer.addVersion(base);
+		var output = new CheckpointOutput();
+		writer.writeTo(output);
+		var path = tempDir.resolve("checkpoint.bin");
+		output.writeTo(path);
+
+		var otherStore = ModelStore.builder().symbols(person, friend).build();
+		var input = CheckpointInput.open(path);
+		assertThrows(IllegalArgumentException.class, () -> new ModelCheckpointReader(otherStore, input));
+	}
+
+	@Test
+	void fingerprintTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		model.getInterpretation(person).put(Tuple.of(0), true);
+		model.getInterpretation(color).put(Tuple.of(0), Color.GREEN);
+		model.getInterpretation(position).put(Tuple.of(1), new Point(3, 1000));
+		var otherModel = store.createEmptyModel();
+		otherModel.getInterpretation(position).put(Tuple.of(1), new Point(3, 1000));
+		otherModel.getInterpretation(color).put(Tuple.of(0), Color.GREEN);
+		otherModel.getInterpretation(person).put(Tuple.of(0), true);
+		assertEquals(ModelCheckpointWriter.fingerprint(model), ModelCheckpointWriter.fingerprint(otherModel));
+
+		otherModel.getInterpretation(position).put(Tuple.of(1), new Point(1000, 3));
+		assertNotEquals(ModelCheckpointWriter.fingerprint(model), ModelCheckpointWriter.fingerprint(otherModel));
+	}
+
+	@Test
+	void missingCodecTest() {
+		var store = ModelStore.builder().symbols(position).build();
+		var model = store.createEmptyModel();
+		var base = model.commit();
+		assertThrows(IllegalArgumentException.class, () -> new ModelCheckpointWriter(store, base));
+	}
+
+	@Test
+	void varIntTest() {
+		var output = new CheckpointOutput();
+		output.writeVarInt(-64);
+		assertEquals(1, output.size());
+		int[] values = {0, 1, -1, 63, 64, 1 << 20, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		for (int value : values) {
+			output.writeVarInt(value);
+		}
+		var input = new CheckpointInput(output.asReadOnlyBuffer());
+		assertEquals(-64, input.readVarInt());
+		for (int value : values) {
+			assertEquals(value, input.readVarInt());
+		}
+		assertFalse(input.hasRemaining());
+	}
+
+	private static ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(person, age, color, position, friend)
+				.valueCodec(Point.class, POINT_CODEC)
+				.build();
+	}
+}
@@ -1,16 +1,27 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.map.tests;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
 import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
 import tools.refinery.store.map.internal.state.VersionedMapStoreStateImpl;
 import tools.refinery.store.model.TupleHashProvider;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class MapUnitTests {
@@ -94,4 +105,134 @@ class MapUnitTests {
 		map.restore(version2);
 		assertEquals(0,map.getSize());
 	}
+
+	@ParameterizedTest
+	@EnumSource(VersionedMapStoreFactoryBuilder.StoreStrategy.class)
+	void estimateDistanceTest(VersionedMapStoreFactoryBuilder.StoreStrategy strategy) {
+		var builder = VersionedMapStore.<Tuple, Integer>builder()
+				.strategy(strategy)
+				.defaultValue(0);
+		if (strategy == VersionedMapStoreFactoryBuilder.StoreStrategy.STATE) {
+			builder.stateBasedHashProvider(TupleHashProvider.INSTANCE);
+		}
+		VersionedMapStore<Tuple, Integer> store = builder.build().createOne();
+		var map = store.createMap();
+		for (int i = 0; i < 10; i++) {
+			map.put(Tuple.of(i), i + 1);
+		}
+		var version1 = map.commit();
+		map.put(Tuple.of(0), 20);
+		map.put(Tuple.of(1), 21);
+		var version2 = map.commit();
+		map.restore(version1);
+		map.put(Tuple.of(2), 22);
+		var version3 = map.commit();
+
+		assertEquals(0, store.estimateDistance(version2, version2));
+		assertEquals(10, store.estimateDistance(null, version1));
+		assertEquals(2, store.estimateDistance(version1, version2));
+		assertEquals(2, store.estimateDistance(version2, version1));
+		assertEquals(3, store.estimateDistance(version2, version3));
+	}
+
+	@Test
+	void offHeapSameAsDeltaTest() {
+		var deltaStore = VersionedMapStore.<Tuple, String>builder()
+				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.DELTA)
+				.defaultValue(null)
+				.build()
+				.createOne();
+		var offHeapStore = VersionedMapStore.<Tuple, String>builder()
+				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.OFF_HEAP)
+				.defaultValue(null)
+				.build()
+				.createOne();
+		var deltaMap = deltaStore.createMap();
+		var offHeapMap = offHeapStore.createMap();
+		var deltaVersions = new ArrayList<Version>();
+		var offHeapVersions = new ArrayList<Version>();
+		var random = new Random(1);
+		for (int i = 0; i < 200; i++) {
+			if (!deltaVersions.isEmpty() && random.nextInt(5) == 0) {
+				int index = random.nextInt(deltaVersions.size());
+				deltaMap.restore(deltaVersions.get(index));
+				offHeapMap.restore(offHeapVersions.get(index));
+			}
+			for (int j = random.nextInt(10); j > 0; j--) {
+				var key = Tuple.of(random.nextInt(8), random.nextInt(8));
+				var value = random.nextInt(3) == 0 ? null : "value" + random.nextInt(4);
+				assertEquals(deltaMap.put(key, value), offHeapMap.put(key, value));
+			}
+			assertEquals(getContents(deltaMap), getContents(offHeapMap));
+			deltaVersions.add(deltaMap.commit());
+			offHeapVersions.add(offHeapMap.commit());
+		}
+		for (int i = 0; i < 20; i++) {
+			int from = random.nextInt(deltaVersions.size());
+			int to = random.nextInt(deltaVersions.size());
+			var deltaDiff = deltaStore.getDiffCursor(deltaVersions.get(from), deltaVersions.get(to));
+			var offHeapDiff = offHeapStore.getDiffCursor(offHeapVersions.get(from), offHeapVersions.get(to));
+			assertEquals(getChanges(deltaDiff), getChanges(offHeapDiff));
+			assertEquals(deltaStore.estimateDistance(deltaVersions.get(from), deltaVersions.get(to)),
+					offHeapStore.estimateDistance(offHeapVersions.get(from), offHeapVersions.get(to)));
+			var restoredMap = offHeapStore.createMap(offHeapVersions.get(to));
+			deltaMap.restore(deltaVersions.get(to));
+			assertEquals(getContents(deltaMap), getContents(restoredMap));
+		}
+	}
+
+	@Test
+	void offHeapUncommittedDiffTest() {
+		var deltaMap = VersionedMapStore.<Tuple, String>builder()
+				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.DELTA)
+				.defaultValue(null)
+				.build()
+				.createOne()
+				.createMap();
+		var offHeapMap = VersionedMapStore.<Tuple, String>builder()
+				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.OFF_HEAP)
+				.defaultValue(null)
+				.build()
+				.createOne()
+				.createMap();
+		var random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			var key = Tuple.of(random.nextInt(4), random.nextInt(4));
+			var value = "value" + random.nextInt(3);
+			deltaMap.put(key, value);
+			offHeapMap.put(key, value);
+		}
+		var deltaVersion = deltaMap.commit();
+		var offHeapVersion = offHeapMap.commit();
+		for (int i = 0; i < 20; i++) {
+			var key = Tuple.of(random.nextInt(4), random.nextInt(4));
+			// Values that were never committed must also be reported by the diff cursor.
+			var value = random.nextInt(3) == 0 ? null : "uncommitted" + i;
+			deltaMap.put(key, value);
+			offHeapMap.put(key, value);
+			assertEquals(getChanges(deltaMap.getDiffCursor(deltaVersion)),
+					getChanges(offHeapMap.getDiffCursor(offHeapVersion)));
+		}
+		deltaMap.restore(deltaVersion);
+		offHeapMap.restore(offHeapVersion);
+		assertEquals(getContents(deltaMap), getContents(offHeapMap));
+	}
+
+	private static Map<Tuple, String> getContents(VersionedMap<Tuple, String> map) {
+		var contents = new HashMap<Tuple, String>();
+		var cursor = map.getAll();
+		while (cursor.move()) {
+			contents.put(cursor.getKey(), cursor.getValue());
+		}
+		return contents;
+	}
+
+	private static Map<Tuple, String> getChanges(DiffCursor<Tuple, String> cursor) {
+		// Only the last change of each key is relevant, because the order of changes between maps may differ.
+		var changes = new HashMap<Tuple, String>();
+		while (cursor.move()) {
+			changes.put(cursor.getKey(), cursor.getToValue());
+		}
+		return changes;
+	}
 }
@@ -7,17 +7,27 @@ package tools.refinery.store.model.tests;
 
 import org.junit.jupiter.api.Test;
 import tools.refinery.store.map.Version;
+import tools.refinery.store.model.InterpretationChanges;
+import tools.refinery.store.model.InterpretationListener;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ModelTest {
 	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
 	private static final Symbol<Integer> age = Symbol.of("age", 1, Integer.class);
 	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Boolean> parents = Symbol.of("parents", 3);
 
 	@Test
 	void modelConstructionTest() {
@@ -159,4 +169,127 @@ class ModelTest {
 		assertTrue(personInterpretation.get(Tuple.of(2)));
 		assertTrue(friendInterpretation.get(Tuple.of(0, 2)));
 	}
+
+	@Test
+	void restoreListenerTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var batches = new ArrayList<Map<Tuple, Boolean>>();
+		friendInterpretation.addListener(new InterpretationListener<>() {
+			@Override
+			public void put(Tuple key, Boolean fromValue, Boolean toValue, boolean restoring) {
+				assertFalse(restoring);
+			}
+
+			@Override
+			public void restoring(InterpretationChanges<Boolean> changes) {
+				var batch = new HashMap<Tuple, Boolean>();
+				for (int i = 0; i < changes.size(); i++) {
+					assertEquals(friendInterpretation.get(changes.getKey(i)), changes.getFromValue(i));
+					batch.put(changes.getKey(i), changes.getToValue(i));
+				}
+				batches.add(batch);
+			}
+		}, true);
+
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		Version state1 = model.commit();
+		friendInterpretation.put(Tuple.of(0, 1), false);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		friendInterpretation.put(Tuple.of(2, 3), true);
+		Version state2 = model.commit();
+
+		model.restore(state1);
+		model.restore(state1);
+		model.restore(state2);
+
+		assertEquals(List.of(
+				Map.of(Tuple.of(0, 1), true, Tuple.of(1, 2), false, Tuple.of(2, 3), false),
+				Map.of(Tuple.of(0, 1), false, Tuple.of(1, 2), true, Tuple.of(2, 3), true)
+		), batches);
+	}
+
+	@Test
+	void restoreListenerCoalesceTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var batches = new ArrayList<List<Tuple>>();
+		friendInterpretation.addListener(new InterpretationListener<>() {
+			@Override
+			public void restoring(InterpretationChanges<Boolean> changes) {
+				var keys = new ArrayList<Tuple>();
+				for (int i = 0; i < changes.size(); i++) {
+					assertEquals(friendInterpretation.get(changes.getKey(i)), changes.getFromValue(i));
+					assertNotEquals(changes.getFromValue(i), changes.getToValue(i));
+					keys.add(changes.getKey(i));
+				}
+				batches.add(keys);
+			}
+		}, true);
+
+		Version state1 = model.commit();
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		model.commit();
+		friendInterpretation.put(Tuple.of(0, 1), false);
+		model.commit();
+		friendInterpretation.put(Tuple.of(1, 2), false);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		friendInterpretation.put(Tuple.of(2, 3), true);
+		model.commit();
+
+		// Each key is reported at most once, and keys changed back to their original value are not reported.
+		model.restore(state1);
+		assertEquals(1, batches.size());
+		var keys = batches.getFirst();
+		assertEquals(2, keys.size());
+		assertEquals(Set.of(Tuple.of(1, 2), Tuple.of(2, 3)), new HashSet<>(keys));
+		assertFalse(friendInterpretation.get(Tuple.of(1, 2)));
+	}
+
+	@Test
+	void compositeIndexTest() {
+		var store = ModelStore.builder()
+				.symbols(parents)
+				.compositeIndex(parents, 2, 1)
+				.build();
+		var model = store.createEmptyModel();
+		var parentsInterpretation = model.getInterpretation(parents);
+
+		parentsInterpretation.put(Tuple.of(0, 1, 2), true);
+		parentsInterpretation.put(Tuple.of(3, 1, 2), true);
+		parentsInterpretation.put(Tuple.of(4, 1, 5), true);
+		parentsInterpretation.put(Tuple.of(0, 6, 2), true);
+		Version state = model.commit();
+
+		assertEquals(2, parentsInterpretation.getAdjacentSize(new int[]{1, 2}, new int[]{1, 2}));
+		assertEquals(2, parentsInterpretation.getAdjacentSize(new int[]{0, 2}, new int[]{0, 2}));
+		assertEquals(0, parentsInterpretation.getAdjacentSize(new int[]{2, 1}, new int[]{1, 2}));
+		assertEquals(4, parentsInterpretation.getAdjacentSize(new int[0], new int[0]));
+		var cursor = parentsInterpretation.getAdjacent(new int[]{2, 1}, new int[]{2, 1});
+		int count = 0;
+		while (cursor.move()) {
+			assertEquals(1, cursor.getKey().get(1));
+			assertEquals(2, cursor.getKey().get(2));
+			count++;
+		}
+		assertEquals(2, count);
+
+		parentsInterpretation.put(Tuple.of(0, 1, 2), false);
+		assertEquals(1, parentsInterpretation.getAdjacentSize(new int[]{1, 2}, new int[]{1, 2}));
+
+		model.restore(state);
+		assertEquals(2, parentsInterpretation.getAdjacentSize(new int[]{1, 2}, new int[]{1, 2}));
+	}
+
+	@Test
+	void invalidCompositeIndexTest() {
+		var builder = ModelStore.builder().symbols(parents);
+		assertThrows(IllegalArgumentException.class, () -> builder.compositeIndex(parents, 1));
+		assertThrows(IllegalArgumentException.class, () -> builder.compositeIndex(parents, 0, 1, 2));
+		assertThrows(IllegalArgumentException.class, () -> builder.compositeIndex(parents, 1, 1));
+		assertThrows(IllegalArgumentException.class, () -> builder.compositeIndex(parents, 0, 3));
+	}
 }
@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.statecoding;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.neighborhood.IncrementalNeighborhoodCalculator;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class IncrementalNeighborhoodCalculatorTest {
+	private static final int NODE_COUNT = 8;
+
+	Symbol<Boolean> person = new Symbol<>("Person", 1, Boolean.class, false);
+	Symbol<Integer> age = new Symbol<>("age", 1, Integer.class, null);
+	Symbol<Boolean> friend = new Symbol<>("friend", 2, Boolean.class, false);
+	Symbol<Boolean> parents = new Symbol<>("parents", 3, Boolean.class, false);
+	Symbol<Integer> population = new Symbol<>("population", 0, Integer.class, 0);
+
+	private ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(person, age, friend, parents, population)
+				.with(StateCoderAdapter.builder()
+						.stateCodeCalculatorFactory(IncrementalNeighborhoodCalculator.factory()))
+				.build();
+	}
+
+	@Test
+	void incrementalChangesTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var random = new Random(1);
+		// Compute the initial codes so that further calls are incremental.
+		model.getAdapter(StateCoderAdapter.class).calculateStateCode();
+		for (int i = 0; i < 50; i++) {
+			randomlyModify(model, random);
+			assertSameAsFreshModel(store, model);
+		}
+	}
+
+	@Test
+	void restoreTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var random = new Random(1);
+		var stateCoder = model.getAdapter(StateCoderAdapter.class);
+		var versions = new ArrayList<Version>();
+		var codes = new ArrayList<long[]>();
+		for (int i = 0; i < 20; i++) {
+			randomlyModify(model, random);
+			versions.add(model.commit());
+			codes.add(toArray(stateCoder.calculateStateCode()));
+		}
+		for (int i = 0; i < 50; i++) {
+			int index = random.nextInt(versions.size());
+			model.restore(versions.get(index));
+			assertArrayEquals(codes.get(index), toArray(stateCoder.calculateStateCode()));
+		}
+	}
+
+	private void randomlyModify(Model model, Random random) {
+		var personInterpretation = model.getInterpretation(person);
+		var ageInterpretation = model.getInterpretation(age);
+		var friendInterpretation = model.getInterpretation(friend);
+		var parentsInterpretation = model.getInterpretation(parents);
+		var populationInterpretation = model.getInterpretation(population);
+		for (int i = 0; i < 5; i++) {
+			int node = random.nextInt(NODE_COUNT);
+			switch (random.nextInt(5)) {
+			case 0 -> personInterpretation.put(Tuple.of(node), random.nextBoolean());
+			case 1 -> ageInterpretation.put(Tuple.of(node), random.nextBoolean() ? random.nextInt(3) : null);
+			case 2 -> friendInterpretation.put(Tuple.of(node, random.nextInt(NODE_COUNT)), random.nextBoolean());
+			case 3 -> parentsInterpretation.put(Tuple.of(node, random.nextInt(NODE_COUNT),
+					random.nextInt(NODE_COUNT)), random.nextBoolean());
+			case 4 -> populationInterpretation.put(Tuple.of(), random.nextInt(3));
+			default -> throw new IllegalStateException();
+			}
+		}
+	}
+
+	private void assertSameAsFreshModel(ModelStore store, Model model) {
+		var actual = model.getAdapter(StateCoderAdapter.class).calculateStateCode();
+		var freshModel = store.createModelForState(model.commit());
+		var expected = freshModel.getAdapter(StateCoderAdapter.class).calculateStateCode();
+		assertArrayEquals(toArray(expected), toArray(actual));
+	}
+
+	private static long[] toArray(StateCoderResult result) {
+		// The object code may be a view of the internal state of the calculator, so we have to copy it.
+		var array = new long[NODE_COUNT + 1];
+		array[0] = result.modelCode();
+		var objectCode = result.objectCode();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			array[i + 1] = objectCode.get(i);
+		}
+		return array;
+	}
+}